@@ -1,11 +1,12 @@
 package com.microsoft.gctoolkit.integration.aggregation;
 
+import com.microsoft.gctoolkit.aggregator.MergeableAggregation;
 import com.microsoft.gctoolkit.event.GarbageCollectionTypes;
 
 import java.io.PrintStream;
 import java.util.HashMap;
 
-public class CollectionCycleCountsSummary extends CollectionCycleCountsAggregation {
+public class CollectionCycleCountsSummary extends CollectionCycleCountsAggregation implements MergeableAggregation<CollectionCycleCountsSummary> {
 
     private HashMap<GarbageCollectionTypes,Integer> collectionCycleCounts = new HashMap<>();
     @Override
@@ -13,6 +14,12 @@ public class CollectionCycleCountsSummary extends CollectionCycleCountsAggregati
         collectionCycleCounts.compute(gcType, (key, value) -> value == null ? 1 : ++value);
     }
 
+    @Override
+    public void merge(CollectionCycleCountsSummary other) {
+        mergeTimeSpan(other);
+        other.collectionCycleCounts.forEach((gcType, count) -> collectionCycleCounts.merge(gcType, count, Integer::sum));
+    }
+
     private String format = "%s : %s\n";
     public void printOn(PrintStream printStream) {
         collectionCycleCounts.keySet().forEach(k -> printStream.printf(format,k, collectionCycleCounts.get(k)));
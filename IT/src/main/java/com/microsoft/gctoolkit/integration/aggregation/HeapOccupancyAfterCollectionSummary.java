@@ -1,6 +1,7 @@
 package com.microsoft.gctoolkit.integration.aggregation;
 
 import com.microsoft.gctoolkit.aggregator.Collates;
+import com.microsoft.gctoolkit.aggregator.MergeableAggregation;
 import com.microsoft.gctoolkit.event.GarbageCollectionTypes;
 import com.microsoft.gctoolkit.integration.collections.XYDataSet;
 import com.microsoft.gctoolkit.time.DateTimeStamp;
@@ -9,7 +10,7 @@ import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
 @Collates(HeapOccupancyAfterCollectionAggregator.class)
-public class HeapOccupancyAfterCollectionSummary extends HeapOccupancyAfterCollectionAggregation {
+public class HeapOccupancyAfterCollectionSummary extends HeapOccupancyAfterCollectionAggregation implements MergeableAggregation<HeapOccupancyAfterCollectionSummary> {
 
     private final Map<GarbageCollectionTypes, XYDataSet> aggregations = new ConcurrentHashMap<>();
 
@@ -17,6 +18,12 @@ public class HeapOccupancyAfterCollectionSummary extends HeapOccupancyAfterColle
         aggregations.computeIfAbsent(gcType, key -> new XYDataSet()).add(timeStamp.getTimeStamp(),heapOccupancy);
     }
 
+    @Override
+    public void merge(HeapOccupancyAfterCollectionSummary other) {
+        mergeTimeSpan(other);
+        other.aggregations.forEach((gcType, series) -> aggregations.computeIfAbsent(gcType, key -> new XYDataSet()).merge(series));
+    }
+
     public Map<GarbageCollectionTypes, XYDataSet> get() {
         return aggregations;
     }
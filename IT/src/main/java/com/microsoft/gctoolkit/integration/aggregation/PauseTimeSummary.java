@@ -1,12 +1,14 @@
 package com.microsoft.gctoolkit.integration.aggregation;
 
+import com.microsoft.gctoolkit.aggregator.MergeableAggregation;
+
 /**
  * An implementation of PauseTimeAggregation which simply accumulates pause times, and
  * provides methods for getting the total pause time and the percentage of time the
  * application was paused. This is an instance of RuntimeAggregation, which gives us
  * the run time represented by the GC log.
  */
-public class PauseTimeSummary extends PauseTimeAggregation {
+public class PauseTimeSummary extends PauseTimeAggregation implements MergeableAggregation<PauseTimeSummary> {
 
     private double totalPauseTime;
 
@@ -25,6 +27,12 @@ public class PauseTimeSummary extends PauseTimeAggregation {
         totalPauseTime += duration;
     }
 
+    @Override
+    public void merge(PauseTimeSummary other) {
+        mergeTimeSpan(other);
+        totalPauseTime += other.totalPauseTime;
+    }
+
     /**
      * Get the total amount of time the application was paused for garbage collection.
      * @return The total pause time.
@@ -1,50 +1,190 @@
 package com.microsoft.gctoolkit.integration.collections;
 
-import java.util.ArrayList;
+import java.nio.DoubleBuffer;
+import java.util.AbstractList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.OptionalDouble;
+import java.util.RandomAccess;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
+/**
+ * A series of (x, y) points, kept in two growable columns of primitive doubles rather than as a list of boxed
+ * points, so that a series of millions of points takes 16 bytes a point. The columns are read through views,
+ * {@link #xValues()}, {@link #yValues()}, {@link #xView()} and {@link #getItems()}, none of which copy them.
+ * The transforms that modify the series, {@link #scaleY(double)} and {@link #scaleAndTranslateX(double, double)},
+ * do so in place; {@link #scaleSeries(double)} and {@link #scaleAndTranslateXAxis(double, double)} return a
+ * transformed copy.
+ */
 public class XYDataSet {
-    private final List<com.microsoft.gctoolkit.integration.collections.XYDataSet.Point> dataSeries;
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private double[] xs;
+    private double[] ys;
+    private int size = 0;
 
     public XYDataSet() {
-        dataSeries = new ArrayList<>();
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param initialCapacity the number of points the series holds before its columns grow
+     */
+    public XYDataSet(int initialCapacity) {
+        xs = new double[Math.max(1, initialCapacity)];
+        ys = new double[xs.length];
     }
 
-    public XYDataSet(com.microsoft.gctoolkit.integration.collections.XYDataSet series) {
-        dataSeries = new ArrayList<>(series.getItems());
+    public XYDataSet(XYDataSet series) {
+        xs = Arrays.copyOf(series.xs, Math.max(1, series.size));
+        ys = Arrays.copyOf(series.ys, xs.length);
+        size = series.size;
+    }
+
+    public void add(double x, double y) {
+        if (size == xs.length) {
+            int capacity = size + (size >> 1) + 1;
+            xs = Arrays.copyOf(xs, capacity);
+            ys = Arrays.copyOf(ys, capacity);
+        }
+        xs[size] = x;
+        ys[size++] = y;
     }
 
     public void add(Number x, Number y) {
-        dataSeries.add(new com.microsoft.gctoolkit.integration.collections.XYDataSet.Point(x, y));
+        add(x.doubleValue(), y.doubleValue());
+    }
+
+    public void add(Point item) {
+        add(item.getX(), item.getY());
     }
 
-    public void add(com.microsoft.gctoolkit.integration.collections.XYDataSet.Point item) {
-        dataSeries.add(item);
+    protected void addAll(List<Point> items) {
+        for (Point item : items)
+            add(item);
     }
 
-    protected void addAll(List<com.microsoft.gctoolkit.integration.collections.XYDataSet.Point> items) {
-        dataSeries.addAll(items);
+    /**
+     * Adds the points of a later series to this one, in order of X. The points are appended if they all
+     * come after those of this series, and interleaved with them otherwise, the points of this series
+     * first when X is the same.
+     * @param other the series to add, which is left unchanged
+     */
+    public void merge(XYDataSet other) {
+        if (other.isEmpty())
+            return;
+        if (isEmpty() || xs[size - 1] <= other.xs[0]) {
+            // the size is read once, as the other series may be this one
+            int count = other.size;
+            for (int i = 0; i < count; i++)
+                add(other.xs[i], other.ys[i]);
+            return;
+        }
+        double[] mergedXs = new double[size + other.size];
+        double[] mergedYs = new double[mergedXs.length];
+        int left = 0;
+        int right = 0;
+        int merged = 0;
+        while (left < size || right < other.size) {
+            if (left == size || (right < other.size && other.xs[right] < xs[left])) {
+                mergedXs[merged] = other.xs[right];
+                mergedYs[merged++] = other.ys[right++];
+            } else {
+                mergedXs[merged] = xs[left];
+                mergedYs[merged++] = ys[left++];
+            }
+        }
+        xs = mergedXs;
+        ys = mergedYs;
+        size = merged;
     }
 
     public boolean isEmpty() {
-        return dataSeries.isEmpty();
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public double getX(int index) {
+        return xs[checkIndex(index)];
+    }
+
+    public double getY(int index) {
+        return ys[checkIndex(index)];
+    }
+
+    private int checkIndex(int index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+        return index;
     }
 
     /**
-     * Returns an immutable List of the items in this DataSet.
+     * Returns an unmodifiable view of the items in this DataSet. The view doesn't copy the series,
+     * and reflects the points added after it was made.
      */
-    public List<com.microsoft.gctoolkit.integration.collections.XYDataSet.Point> getItems() {
-        return List.copyOf(dataSeries);
+    public List<Point> getItems() {
+        return new Points();
     }
 
-    public com.microsoft.gctoolkit.integration.collections.XYDataSet scaleSeries(double scaleFactor) {
-        com.microsoft.gctoolkit.integration.collections.XYDataSet scaled = new com.microsoft.gctoolkit.integration.collections.XYDataSet();
-        for (com.microsoft.gctoolkit.integration.collections.XYDataSet.Point item : dataSeries) {
-            scaled.add(item.getX(), item.getY().doubleValue() * scaleFactor);
-        }
-        return scaled;
+    /**
+     * @return the X values, in the order they were added
+     */
+    public DoubleStream xValues() {
+        return Arrays.stream(xs, 0, size);
+    }
+
+    /**
+     * @return the Y values, in the order they were added
+     */
+    public DoubleStream yValues() {
+        return Arrays.stream(ys, 0, size);
+    }
+
+    /**
+     * @return a read only view of the X values, which is valid until the next point is added
+     */
+    public DoubleBuffer xView() {
+        return DoubleBuffer.wrap(xs, 0, size).slice().asReadOnlyBuffer();
+    }
+
+    /**
+     * @return a read only view of the Y values, which is valid until the next point is added
+     */
+    public DoubleBuffer yView() {
+        return DoubleBuffer.wrap(ys, 0, size).slice().asReadOnlyBuffer();
+    }
+
+    /**
+     * Multiplies the Y values by {@code scaleFactor}, in place.
+     * @param scaleFactor the factor to multiply by
+     * @return this series
+     */
+    public XYDataSet scaleY(double scaleFactor) {
+        for (int i = 0; i < size; i++)
+            ys[i] *= scaleFactor;
+        return this;
+    }
+
+    /**
+     * Multiplies the X values by {@code scale} and adds {@code offset}, in place.
+     * @param scale the factor to multiply by
+     * @param offset the offset to add
+     * @return this series
+     */
+    public XYDataSet scaleAndTranslateX(double scale, double offset) {
+        for (int i = 0; i < size; i++)
+            xs[i] = (scale * xs[i]) + offset;
+        return this;
+    }
+
+    public XYDataSet scaleSeries(double scaleFactor) {
+        return new XYDataSet(this).scaleY(scaleFactor);
     }
 
     /**
@@ -52,43 +192,53 @@ public class XYDataSet {
      * with an empty optional if the dataset is empty.
      */
     public OptionalDouble maxOfY() {
-        return dataSeries.stream()
-                .map(com.microsoft.gctoolkit.integration.collections.XYDataSet.Point::getY)
-                .mapToDouble(Number::doubleValue)
-                .max();
+        return yValues().max();
     }
 
-    public com.microsoft.gctoolkit.integration.collections.XYDataSet scaleAndTranslateXAxis(double scale, double offset) {
-        com.microsoft.gctoolkit.integration.collections.XYDataSet translatedSeries = new com.microsoft.gctoolkit.integration.collections.XYDataSet();
-        for (com.microsoft.gctoolkit.integration.collections.XYDataSet.Point dataPoint : dataSeries) {
-            double scaledXCoordinate = (scale * dataPoint.getX().doubleValue()) + offset;
-            translatedSeries.add(scaledXCoordinate, dataPoint.getY());
+    public XYDataSet scaleAndTranslateXAxis(double scale, double offset) {
+        return new XYDataSet(this).scaleAndTranslateX(scale, offset);
+    }
+
+    /**
+     * Releases the capacity of the columns beyond the points they hold.
+     */
+    public void trimToSize() {
+        if (size < xs.length) {
+            xs = Arrays.copyOf(xs, Math.max(1, size));
+            ys = Arrays.copyOf(ys, xs.length);
         }
-        return translatedSeries;
     }
 
-    public int size() {
-        return dataSeries.size();
+    public Stream<Point> stream() {
+        return IntStream.range(0, size).mapToObj(index -> new Point(xs[index], ys[index]));
     }
 
-    public Stream<com.microsoft.gctoolkit.integration.collections.XYDataSet.Point> stream() {
-        return dataSeries.stream();
+    private final class Points extends AbstractList<Point> implements RandomAccess {
+        @Override
+        public Point get(int index) {
+            return new Point(getX(index), getY(index));
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
     }
 
     public static class Point {
-        private final Number x;
-        private final Number y;
+        private final double x;
+        private final double y;
 
-        public Point(Number x, Number y) {
+        public Point(double x, double y) {
             this.x = x;
             this.y = y;
         }
 
-        public Number getX() {
+        public double getX() {
             return x;
         }
 
-        public Number getY() {
+        public double getY() {
             return y;
         }
 
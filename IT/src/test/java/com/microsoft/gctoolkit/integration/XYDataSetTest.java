@@ -45,4 +45,69 @@ public class XYDataSetTest {
         Assertions.assertTrue(new XYDataSet().maxOfY().isEmpty());
     }
 
+    @Test
+    public void shouldAppendLaterSeriesOnMerge() {
+        var xyDataSet = new XYDataSet();
+        xyDataSet.add(new Point(1, 100));
+        xyDataSet.add(new Point(2, 110));
+        var later = new XYDataSet();
+        later.add(new Point(2, 120));
+        later.add(new Point(3, 130));
+        xyDataSet.merge(later);
+        Assertions.assertEquals("[1.0,100.0, 2.0,110.0, 2.0,120.0, 3.0,130.0]", xyDataSet.getItems().toString());
+        Assertions.assertEquals(2, later.size());
+    }
+
+    @Test
+    public void shouldInterleaveOverlappingSeriesOnMerge() {
+        var xyDataSet = new XYDataSet();
+        xyDataSet.add(new Point(1, 100));
+        xyDataSet.add(new Point(3, 130));
+        var overlapping = new XYDataSet();
+        overlapping.add(new Point(0, 90));
+        overlapping.add(new Point(2, 120));
+        overlapping.add(new Point(4, 140));
+        xyDataSet.merge(overlapping);
+        Assertions.assertEquals("[0.0,90.0, 1.0,100.0, 2.0,120.0, 3.0,130.0, 4.0,140.0]", xyDataSet.getItems().toString());
+    }
+
+    @Test
+    public void shouldMergeWithItself() {
+        var appended = new XYDataSet();
+        appended.add(new Point(1, 100));
+        appended.merge(appended);
+        Assertions.assertEquals("[1.0,100.0, 1.0,100.0]", appended.getItems().toString());
+        var interleaved = new XYDataSet();
+        interleaved.add(new Point(1, 100));
+        interleaved.add(new Point(2, 110));
+        interleaved.merge(interleaved);
+        Assertions.assertEquals("[1.0,100.0, 1.0,100.0, 2.0,110.0, 2.0,110.0]", interleaved.getItems().toString());
+    }
+
+    @Test
+    public void shouldTransformInPlace() {
+        var xyDataSet = new XYDataSet();
+        xyDataSet.add(50, 100);
+        xyDataSet.add(60, 110);
+        Assertions.assertSame(xyDataSet, xyDataSet.scaleY(2).scaleAndTranslateX(2, 20));
+        Assertions.assertArrayEquals(new double[] { 120, 140 }, xyDataSet.xValues().toArray());
+        Assertions.assertArrayEquals(new double[] { 200, 220 }, xyDataSet.yValues().toArray());
+    }
+
+    @Test
+    public void viewsShouldNotCopy() {
+        var xyDataSet = new XYDataSet(1);
+        var items = xyDataSet.getItems();
+        for (int i = 0; i < 100; i++)
+            xyDataSet.add(i, i * 10);
+        Assertions.assertEquals(100, items.size());
+        Assertions.assertEquals(990, items.get(99).getY());
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> items.add(new Point(1, 1)));
+        var view = xyDataSet.yView();
+        Assertions.assertEquals(100, view.remaining());
+        Assertions.assertEquals(500, view.get(50));
+        Assertions.assertTrue(view.isReadOnly());
+        Assertions.assertEquals(4950 * 10, xyDataSet.yValues().sum());
+    }
+
 }
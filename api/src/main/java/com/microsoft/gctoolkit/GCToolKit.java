@@ -5,6 +5,8 @@ package com.microsoft.gctoolkit;
 import com.microsoft.gctoolkit.aggregator.Aggregation;
 import com.microsoft.gctoolkit.aggregator.Aggregator;
 import com.microsoft.gctoolkit.aggregator.EventSource;
+import com.microsoft.gctoolkit.aggregator.MergeableAggregation;
+import com.microsoft.gctoolkit.event.jvm.JVMEvent;
 import com.microsoft.gctoolkit.io.DataSource;
 import com.microsoft.gctoolkit.io.GCLogFile;
 import com.microsoft.gctoolkit.io.RotatingGCLogFile;
@@ -44,6 +46,12 @@ public class GCToolKit {
     private static final String GCTOOLKIT_DEBUG = System.getProperty("gctoolkit.debug");
     private static final boolean DEBUGGING = GCTOOLKIT_DEBUG != null;
 
+    // tell the parsers which events the aggregators consume, so they can skip the rest
+    private static final boolean DEMAND_DRIVEN_PARSING = Boolean.getBoolean("gctoolkit.parser.demandDriven");
+
+    // have the parsers time each of their rules, and log the profile once the log has been analyzed
+    private static final boolean PROFILE_PARSING = Boolean.getBoolean("gctoolkit.parser.profile");
+
     // returns true if gctoolkit.debug is set to "all" or contains "className", but does not contain "-className"
     private static boolean isDebugging(String className) {
         return DEBUGGING
@@ -222,7 +230,7 @@ public class GCToolKit {
         additiveParsers.add(dataSourceParser);
     }
 
-    private Set<EventSource> loadDataSourceParsers(Diary diary) {
+    private List<DataSourceParser> loadDataSourceParsers(Diary diary) {
 
         loadDataSourceChannel();
         loadJVMEventChannel();
@@ -286,15 +294,23 @@ public class GCToolKit {
             dataSourceParser.publishTo(jvmEventChannel);
         }
 
-        return dataSourceParsers.stream()
-                .map(DataSourceParser::eventsProduced)
-                .collect(HashSet::new, Set::addAll, Set::addAll);
+        return dataSourceParsers;
     }
 
     /**
      * Perform an analysis on a GC log file. The analysis will use the Aggregations
      * that were {@link #loadAggregation(Aggregation) registered}, if appropriate for
      * the GC log file.
+     * <p>
+     * When the {@code gctoolkit.parser.demandDriven} system property is {@code true}, the parsers are told which
+     * types of events the Aggregators consume, and they skip building and publishing events that no Aggregator
+     * consumes. Heavily detailed logs parse much faster for a simple analysis. The Aggregations only see the
+     * events that are consumed, which changes the event frequency that the estimated start time of the log is
+     * based on.
+     * <p>
+     * When the {@code gctoolkit.parser.profile} system property is {@code true}, the parsers record the time they
+     * spend on each of their rules. The {@link JavaVirtualMachine#getRuleProfile() profile} is logged as a table
+     * once the log has been analyzed.
      *
      * @param dataSource The log to analyze, typically a
      *                   {@link SingleGCLogFile} or
@@ -305,19 +321,67 @@ public class GCToolKit {
      */
     public JavaVirtualMachine analyze(DataSource<?> dataSource) throws IOException  {
         GCLogFile logFile = (GCLogFile)dataSource;
-        Set<EventSource> events = loadDataSourceParsers(logFile.diary());
+        List<DataSourceParser> dataSourceParsers = loadDataSourceParsers(logFile.diary());
+        Set<EventSource> events = dataSourceParsers.stream()
+                .map(DataSourceParser::eventsProduced)
+                .collect(HashSet::new, Set::addAll, Set::addAll);
         JavaVirtualMachine javaVirtualMachine = loadJavaVirtualMachine(logFile);
+        dataSourceParsers.forEach(dataSourceParser -> dataSourceParser.reportUnmatchedLinesTo(javaVirtualMachine.getUnmatchedLines()));
+        if (PROFILE_PARSING)
+            dataSourceParsers.forEach(dataSourceParser -> dataSourceParser.profileRulesTo(javaVirtualMachine.getRuleProfile()));
         try {
             List<Aggregator<? extends Aggregation>> filteredAggregators = filterAggregations(events);
+            if (DEMAND_DRIVEN_PARSING) {
+                Set<Class<? extends JVMEvent>> eventsConsumed = filteredAggregators.stream()
+                        .map(Aggregator::eventsConsumed)
+                        .collect(HashSet::new, Set::addAll, Set::addAll);
+                LOG_DEBUG_MESSAGE(() -> "Events consumed: " + eventsConsumed);
+                dataSourceParsers.forEach(dataSourceParser -> dataSourceParser.consumes(eventsConsumed));
+            }
             long start = System.currentTimeMillis();
             javaVirtualMachine.analyze(filteredAggregators, jvmEventChannel, dataSourceChannel);
             LOGGER.log(Level.FINE,() -> "Analysis completed in " + (System.currentTimeMillis() - start) + "ms");
+            if (PROFILE_PARSING)
+                LOGGER.log(Level.INFO, () -> "Parse rule profile" + System.lineSeparator() + javaVirtualMachine.getRuleProfile());
         } catch(Throwable t) {
             LOGGER.log(Level.SEVERE, "Internal Error: Cannot invoke analyze method", t);
         }
         return javaVirtualMachine;
     }
 
+    /**
+     * Combines the Aggregations of the shards of a log, such as the segments of a rotating log that were
+     * analyzed separately, into one. The Aggregations are merged in the order of the shards, into a new
+     * instance of {@code aggregationClass}, so the Aggregations of the shards are left unchanged.
+     *
+     * @param aggregationClass the class of the Aggregation, which must implement {@link MergeableAggregation}
+     * @param shards the results of the analyses of the shards, from the earliest to the latest
+     * @param <T> the type of the Aggregation
+     * @return the combined Aggregation, or empty if no shard has an Aggregation of {@code aggregationClass}
+     * @throws IllegalArgumentException if the Aggregation isn't mergeable or has no public no-arg constructor
+     * @see JavaVirtualMachine#getAggregation(Class)
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends Aggregation> Optional<T> combine(Class<T> aggregationClass, List<JavaVirtualMachine> shards) {
+        if (!MergeableAggregation.class.isAssignableFrom(aggregationClass))
+            throw new IllegalArgumentException(aggregationClass.getName() + " does not implement " + MergeableAggregation.class.getName());
+        T combined = null;
+        for (JavaVirtualMachine shard : shards) {
+            Optional<T> aggregation = shard.getAggregation(aggregationClass);
+            if (aggregation.isEmpty())
+                continue;
+            if (combined == null) {
+                try {
+                    combined = aggregationClass.getConstructor().newInstance();
+                } catch (ReflectiveOperationException e) {
+                    throw new IllegalArgumentException("Cannot create a " + aggregationClass.getName(), e);
+                }
+            }
+            ((MergeableAggregation<T>) combined).merge(aggregation.get());
+        }
+        return Optional.ofNullable(combined);
+    }
+
     private List<Aggregator<? extends Aggregation>> filterAggregations(Set<EventSource> events) {
         List<Aggregator<? extends Aggregation>> aggregators = new ArrayList<>();
         for (Aggregation aggregation : registeredAggregations) {
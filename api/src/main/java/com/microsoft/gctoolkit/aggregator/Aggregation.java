@@ -87,6 +87,7 @@ import com.microsoft.gctoolkit.time.DateTimeStamp;
  *
  * @see JavaVirtualMachine#getAggregation(Class)
  * @see Collates
+ * @see MergeableAggregation
  */
 public abstract class Aggregation {
 
@@ -161,6 +162,27 @@ public abstract class Aggregation {
         return timeOfTermination.minus(estimatedStartTime());
     }
 
+    /**
+     * Merges the time span of another Aggregation into this one, for a {@link MergeableAggregation}: the first
+     * event is the earlier of the two, the termination the later, and the event frequencies are combined.
+     * @param other the Aggregation of a shard of the log, which is left unchanged
+     */
+    protected void mergeTimeSpan(Aggregation other) {
+        timeOfFirstEvent = earlier(timeOfFirstEvent, other.timeOfFirstEvent);
+        timeOfLastSeenEvent = earlier(timeOfLastSeenEvent, other.timeOfLastSeenEvent);
+        if (other.timeOfTermination.after(timeOfTermination))
+            timeOfTermination = other.timeOfTermination;
+        varianceCalculator.merge(other.varianceCalculator);
+    }
+
+    private static DateTimeStamp earlier(DateTimeStamp one, DateTimeStamp other) {
+        if (one == null)
+            return other;
+        if (other == null)
+            return one;
+        return other.before(one) ? other : one;
+    }
+
     /**
      * Return true if the Aggregation contains a warning. For example, an Aggregation that
      * looks at GC Cause might return {@code true} if it finds a System.gc() call.
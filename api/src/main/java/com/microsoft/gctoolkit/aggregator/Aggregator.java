@@ -6,8 +6,7 @@ import com.microsoft.gctoolkit.event.jvm.JVMEvent;
 import com.microsoft.gctoolkit.event.jvm.JVMTermination;
 
 import java.util.Arrays;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.Set;
 import java.util.function.Consumer;
 
 /**
@@ -110,6 +109,15 @@ public abstract class Aggregator<A extends Aggregation> {
         jvmEventDispatcher.register(eventClass, process);
     }
 
+    /**
+     * The event classes this Aggregator consumes are the classes that have been registered. Events of
+     * a sub-class of a registered class are consumed as well.
+     * @return the JVMEvent classes that have been {@link #register(Class, Consumer) registered}
+     */
+    public Set<Class<? extends JVMEvent>> eventsConsumed() {
+        return jvmEventDispatcher.registeredEventClasses();
+    }
+
     /**
      * Call back to be run when the JVMTermination event has been
      * @param task to be executed
@@ -118,21 +126,13 @@ public abstract class Aggregator<A extends Aggregation> {
         this.completionTask = task;
     }
 
-    private static final ExecutorService executorService =
-        Executors.newSingleThreadExecutor(runnable -> {
-            // Use a daemon thread for executing the completion task; otherwise, the JVM will not exit.
-            Thread thread = new Thread(runnable, "aggregator-completion");
-            thread.setDaemon(true);
-            return thread;
-        }
-    );
-
     /**
-     * Call a callback when aggregation is completed.
+     * Call a callback when aggregation is completed. The callback runs on the thread that received the
+     * JVMTermination event, once every event before it has been processed.
      */
     private void complete() {
         if (completionTask != null) {
-            executorService.execute(completionTask);
+            completionTask.run();
         }
     }
 
@@ -5,54 +5,51 @@ package com.microsoft.gctoolkit.aggregator;
 import com.microsoft.gctoolkit.event.jvm.JVMEvent;
 
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 
 /**
  * This is a utility class that supports the {@link Aggregator#register(Class, Consumer)} method.
+ * <p>
+ * The consumer of each event class is resolved once, the first time an event of that class is dispatched, and
+ * kept in a {@link ClassValue}, so that dispatching an event is a lookup on its class that neither walks the class
+ * hierarchy nor writes to a shared map. Registering a consumer discards what has been resolved.
  */
 public class JVMEventDispatcher {
 
     private final Map<Class<? extends JVMEvent>, Consumer<? super JVMEvent>> eventConsumers = new ConcurrentHashMap<>();
 
-    private final Consumer<? super JVMEvent> nopConsumer = (evt) -> {};
-
-    @SuppressWarnings("unchecked")
-    private <R extends JVMEvent> Consumer<? super JVMEvent> getConsumerForClass(Class<R> eventClass) {
-        Class<? extends JVMEvent> clazz = eventClass;
-
-        //Fast path that should hit after the event has been seen for the first time
-        Consumer<? super JVMEvent> eventConsumer = eventConsumers.get(clazz);
-        if (eventConsumer != null) {
-            return eventConsumer;
-        }
+    private final Set<Class<? extends JVMEvent>> registeredEventClasses = ConcurrentHashMap.newKeySet();
 
-        do {
-            eventConsumer = eventConsumers.get(clazz);
-
-            if (eventConsumer != null) {
+    private final Consumer<? super JVMEvent> nopConsumer = (evt) -> {};
 
-                if (eventClass != clazz) {
-                    //optimisation to avoid walking up the class tree every time, if we get a hit on
-                    //R maps to eventConsumer, just put it in the map and it will fetch first time in the future
-                    eventConsumers.put(eventClass, eventConsumer);
-                }
+    private volatile ClassValue<Consumer<? super JVMEvent>> dispatchTable = newDispatchTable();
 
-                //visit the most specific ONLY
-                return eventConsumer;
+    private ClassValue<Consumer<? super JVMEvent>> newDispatchTable() {
+        return new ClassValue<>() {
+            @Override
+            protected Consumer<? super JVMEvent> computeValue(Class<?> eventClass) {
+                return getConsumerForClass(eventClass);
             }
+        };
+    }
 
-            if (clazz == JVMEvent.class) {
+    /**
+     * Finds the consumer registered for the most specific class of the hierarchy of the event class.
+     * @param eventClass the class of an event
+     * @return the consumer of the event class, or a consumer that does nothing if none was registered
+     */
+    private Consumer<? super JVMEvent> getConsumerForClass(Class<?> eventClass) {
+        for (Class<?> clazz = eventClass; clazz != null; clazz = clazz.getSuperclass()) {
+            Consumer<? super JVMEvent> eventConsumer = eventConsumers.get(clazz);
+            //visit the most specific ONLY
+            if (eventConsumer != null)
+                return eventConsumer;
+            if (clazz == JVMEvent.class)
                 // Hit the top of the hierarchy
                 break;
-            } else {
-                // Unfortunate cast but assuming register has done its job it is impossible for this cast to fail
-                clazz = (Class<? extends JVMEvent>) clazz.getSuperclass(); // unchecked cast
-            }
-        } while (clazz != null);
-
-        //no handler for eventClass so lets put in a stub so we dont have to figure this out on every event
-        eventConsumers.put(eventClass, nopConsumer);
+        }
         return nopConsumer;
     }
 
@@ -65,6 +62,16 @@ public class JVMEventDispatcher {
     @SuppressWarnings("unchecked")
     public <R extends JVMEvent> void register(Class<R> eventClass, Consumer<? super R> process) {
         eventConsumers.put(eventClass, (Consumer<JVMEvent>)process);
+        registeredEventClasses.add(eventClass);
+        // classes resolved before this registration may now have a more specific consumer
+        dispatchTable = newDispatchTable();
+    }
+
+    /**
+     * @return the JVMEvent classes that have been {@link #register(Class, Consumer) registered}
+     */
+    public Set<Class<? extends JVMEvent>> registeredEventClasses() {
+        return Set.copyOf(registeredEventClasses);
     }
 
     /**
@@ -75,7 +82,7 @@ public class JVMEventDispatcher {
      * @param <R> the type of JVMEvent.
      */
     public <R extends JVMEvent> void dispatch(R event) {
-        getConsumerForClass(event.getClass()).accept(event);
+        dispatchTable.get(event.getClass()).accept(event);
     }
 
 }
@@ -0,0 +1,40 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.aggregator;
+
+import com.microsoft.gctoolkit.GCToolKit;
+
+/**
+ * An {@link Aggregation} that can combine the partial results of two shards of a log, such as the segments of a
+ * rotating log that were analyzed separately, or the logs of the JVMs of a fleet. {@code a.merge(b)} leaves
+ * {@code a} as if it had aggregated the events of {@code a} followed by those of {@code b}.
+ * <p>
+ * A merge must be associative: merging {@code a} with {@code b} and then with {@code c} gives the same
+ * result as merging {@code a} with {@code b} already merged with {@code c}. It need not be commutative. The
+ * argument is the later shard, so a time series appends its points, unless the shards overlap in time in which
+ * case the points are interleaved in time order. Implementations call {@link Aggregation#mergeTimeSpan(Aggregation)}
+ * to merge the time span of the log.
+ *
+ * <pre><code>
+ * public class PauseTimeSummary extends PauseTimeAggregation implements MergeableAggregation{@literal <}PauseTimeSummary{@literal >} {
+ *     private double totalPauseTime;
+ *     ...
+ *     {@literal @}Override
+ *     public void merge(PauseTimeSummary other) {
+ *         mergeTimeSpan(other);
+ *         totalPauseTime += other.totalPauseTime;
+ *     }
+ * }
+ * </code></pre>
+ *
+ * @param <A> the type of the Aggregation, which is the type it merges with
+ * @see GCToolKit#combine(Class, java.util.List)
+ */
+public interface MergeableAggregation<A extends Aggregation> {
+
+    /**
+     * Merges the results of a later shard into this Aggregation.
+     * @param other the Aggregation of the later shard, which is left unchanged
+     */
+    void merge(A other);
+}
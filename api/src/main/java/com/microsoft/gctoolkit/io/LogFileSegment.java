@@ -1,6 +1,7 @@
 package com.microsoft.gctoolkit.io;
 
 import java.nio.file.Path;
+import java.util.Objects;
 import java.util.regex.Pattern;
 import java.util.stream.Stream;
 
@@ -14,4 +15,18 @@ public interface LogFileSegment {
     double getStartTime();
     double getEndTime();
     Stream<String> stream();
+
+    /**
+     * The lines of the segment as a log streams them: trimmed, and without the blank lines.
+     * @return the lines of the segment, or an empty stream if the segment can't be read
+     */
+    default Stream<String> lines() {
+        Stream<String> lines = stream();
+        if (lines == null)
+            return Stream.empty();
+        return lines
+                .filter(Objects::nonNull)
+                .map(String::trim)
+                .filter(s -> s.length() > 0);
+    }
 }
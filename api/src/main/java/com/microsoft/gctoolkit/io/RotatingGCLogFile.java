@@ -47,16 +47,19 @@ public class RotatingGCLogFile extends GCLogFile {
 
     @Override
     public Stream<String> stream() throws IOException {
+        return Stream.concat(segments().flatMap(LogFileSegment::lines), Stream.of(endOfData()));
+    }
+
+    /**
+     * The segments whose {@link LogFileSegment#lines() lines} make up {@link #stream()}, in rotating order.
+     * @return the segments of the log, or none if the log is of a type that can't be streamed
+     * @throws IOException when there is an IO exception
+     */
+    public Stream<LogFileSegment> segments() throws IOException {
         if ( getMetaData().isDirectory() || getMetaData().isPlainText() || getMetaData().isZip())
-            return Stream.concat(
-                    getMetaData().logFiles()
-                    .flatMap(LogFileSegment::stream)
-                    .filter(Objects::nonNull)
-                    .map(String::trim)
-                    .filter(s -> s.length() > 0),
-                    Stream.of(endOfData()));
+            return getMetaData().logFiles();
         else // yes, this is returning an empty stream.
-            return Stream.of(endOfData());
+            return Stream.empty();
     }
 
     private Stream<String> stream(LogFileMetadata metadata, LinkedList<GCLogFileSegment> segments) throws IOException {
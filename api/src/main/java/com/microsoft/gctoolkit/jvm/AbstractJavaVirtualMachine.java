@@ -8,21 +8,35 @@ import com.microsoft.gctoolkit.aggregator.Aggregator;
 import com.microsoft.gctoolkit.aggregator.EventSource;
 import com.microsoft.gctoolkit.io.DataSource;
 import com.microsoft.gctoolkit.io.GCLogFile;
+import com.microsoft.gctoolkit.io.LogFileSegment;
+import com.microsoft.gctoolkit.io.RotatingGCLogFile;
 import com.microsoft.gctoolkit.message.ChannelName;
 import com.microsoft.gctoolkit.message.DataSourceChannel;
 import com.microsoft.gctoolkit.message.JVMEventChannel;
 import com.microsoft.gctoolkit.message.JVMEventChannelAggregator;
+import com.microsoft.gctoolkit.message.JVMEventChannelAggregatorGroup;
+import com.microsoft.gctoolkit.message.LogRecord;
+import com.microsoft.gctoolkit.message.LogRecordDecoder;
+import com.microsoft.gctoolkit.message.Strand;
 import com.microsoft.gctoolkit.time.DateTimeStamp;
 
 import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.ServiceLoader;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.Phaser;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.stream.Stream;
 
 /**
  * The base implementation of JavaVirtualMachine that uses the message API to feed
@@ -33,12 +47,23 @@ public abstract class AbstractJavaVirtualMachine implements JavaVirtualMachine {
     private static final Logger LOGGER = Logger.getLogger(AbstractJavaVirtualMachine.class.getName());
     private static final double LOG_FRAGMENT_THRESHOLD_SECONDS = 60.0d; //todo: replace magic threshold with a heuristic
 
+    // deliver to each Aggregator only the events of the classes it registered, rather than its whole EventSource
+    private static final boolean ROUTE_BY_EVENT_CLASS = Boolean.getBoolean("gctoolkit.aggregator.routeByEventClass");
+
+    // the number of listeners the Aggregators of a channel share, or 0 for a listener per Aggregator
+    private static final int LISTENERS_PER_CHANNEL = Integer.getInteger("gctoolkit.aggregator.listenersPerChannel", 0);
+
+    // run each Aggregator on a strand of its own in the common pool, rather than on the thread of its listener
+    private static final boolean PARALLEL_AGGREGATION = Boolean.getBoolean("gctoolkit.aggregator.parallel");
+
     private GCLogFile dataSource;
     private Diary diary;
     private DateTimeStamp estimatedStartTime;
     private DateTimeStamp timeOfLastEvent;
     private double logDuration = -1.0d;
     private final Map<Class<? extends Aggregation>, Aggregation> aggregatedData = new ConcurrentHashMap<>();
+    private final UnmatchedLines unmatchedLines = new UnmatchedLines();
+    private final RuleProfile ruleProfile = new RuleProfile();
 
     /**
      * Sets the data source
@@ -148,6 +173,74 @@ public abstract class AbstractJavaVirtualMachine implements JavaVirtualMachine {
         return Optional.ofNullable((T) aggregatedData.get(aggregationClass));
     }
 
+    /**
+     * The parsers report the lines they don't match to this summary while the log is analyzed.
+     * @return the lines that weren't matched
+     */
+    @Override
+    public UnmatchedLines getUnmatchedLines() {
+        return unmatchedLines;
+    }
+
+    /**
+     * The parsers record the time spent on each rule to this profile when profiling is turned on.
+     * @return the profile of the parse rules
+     */
+    @Override
+    public RuleProfile getRuleProfile() {
+        return ruleProfile;
+    }
+
+    /**
+     * Lines are decoded once, as they are read, so that the parsers listening on the data source
+     * channel don't each have to decode the same fields. If no decoder accepts the log, the lines are
+     * published undecoded and each parser decodes them for itself.
+     * @return a function that decodes a line from the data source into a LogRecord
+     */
+    private Function<String, LogRecord> logRecordDecoder() {
+        LogRecordDecoder decoder = ServiceLoader.load(LogRecordDecoder.class)
+                .stream()
+                .map(ServiceLoader.Provider::get)
+                .filter(logRecordDecoder -> logRecordDecoder.accepts(diary))
+                .findFirst()
+                .orElse(null);
+        if (decoder == null) {
+            String clazzName = (diary.isUnifiedLogging()) ? "com.microsoft.gctoolkit.parser.jvm.UnifiedLogRecordDecoder" : "com.microsoft.gctoolkit.parser.jvm.PreUnifiedLogRecordDecoder";
+            try {
+                Class<?> clazz = Class.forName(clazzName, true, Thread.currentThread().getContextClassLoader());
+                decoder = (LogRecordDecoder) clazz.getConstructors()[0].newInstance();
+            } catch (ClassNotFoundException | InstantiationException | IllegalAccessException | InvocationTargetException e) {
+                LOGGER.log(Level.FINE, "No LogRecordDecoder found, parsers will decode each line", e);
+                return LogRecord::of;
+            }
+        }
+        decoder.diary(diary);
+        return decoder::decode;
+    }
+
+    /**
+     * The records of a rotating log are streamed one segment at a time, in the order of the segments, and the
+     * first record of each segment is marked with the segment's start time. Parsers may use the marks to parse
+     * the segments independently of each other.
+     * @param decoder decodes a line from the data source into a LogRecord
+     * @return the records of the data source, ending with the end of data record
+     * @throws IOException if there is any issues reading from the data source.
+     */
+    private Stream<LogRecord> records(Function<String, LogRecord> decoder) throws IOException {
+        if (!(dataSource instanceof RotatingGCLogFile))
+            return dataSource.stream().map(decoder);
+        return Stream.concat(
+                ((RotatingGCLogFile) dataSource).segments().flatMap(segment -> records(segment, decoder)),
+                Stream.of(decoder.apply(dataSource.endOfData())));
+    }
+
+    private static Stream<LogRecord> records(LogFileSegment segment, Function<String, LogRecord> decoder) {
+        AtomicBoolean first = new AtomicBoolean(true);
+        return segment.lines()
+                .map(decoder)
+                .map(record -> first.getAndSet(false) ? record.startOfSegment(segment.getStartTime()) : record);
+    }
+
     /**
      * Orchestrate the analysis of a GC log. Step wise
      * 1. find the aggregators that aggregate events generated by the gc log
@@ -164,21 +257,25 @@ public abstract class AbstractJavaVirtualMachine implements JavaVirtualMachine {
     public void analyze(List<Aggregator<? extends Aggregation>> registeredAggregators, JVMEventChannel eventBus, DataSourceChannel dataSourceBus) {
         Phaser finishLine = new Phaser();
         Set<EventSource> generatedEvents = diary.generatesEvents();
+        Map<EventSource, List<JVMEventChannelAggregator>> listeners = new EnumMap<>(EventSource.class);
         for (Aggregator aggregator : registeredAggregators) {
             Aggregation aggregation = aggregator.aggregation();
             aggregatedData.put(aggregation.getClass(), aggregation);
+            Strand strand = PARALLEL_AGGREGATION ? new Strand(ForkJoinPool.commonPool()) : null;
             generatedEvents.stream().filter(aggregator::aggregates).forEach(eventSource -> {
                 GCToolKit.LOG_DEBUG_MESSAGE(() -> "Registering " + aggregator.getClass().getName() + " with " + eventSource.toChannel());
                 finishLine.register();
                 aggregator.onCompletion(finishLine::arriveAndDeregister);
-                JVMEventChannelAggregator eventChannelAggregator = new JVMEventChannelAggregator(eventSource.toChannel(), aggregator);
-                eventBus.registerListener(eventChannelAggregator);
+                listeners.computeIfAbsent(eventSource, source -> new ArrayList<>())
+                        .add(new JVMEventChannelAggregator(eventSource.toChannel(), aggregator, ROUTE_BY_EVENT_CLASS, strand));
             });
         }
+        listeners.forEach((eventSource, aggregators) -> registerListeners(eventBus, eventSource.toChannel(), aggregators));
 
         try {
             if (finishLine.getRegisteredParties() > 0) {
-                dataSource.stream().forEach(message -> dataSourceBus.publish(ChannelName.DATA_SOURCE, message));
+                Function<String, LogRecord> decoder = logRecordDecoder();
+                records(decoder).forEach(message -> dataSourceBus.publish(ChannelName.DATA_SOURCE, message));
                 finishLine.awaitAdvance(0);
             } else {
                 LOGGER.log(Level.INFO, "No Aggregations have been registered, DataSource will not be analysed.");
@@ -200,4 +297,22 @@ public abstract class AbstractJavaVirtualMachine implements JavaVirtualMachine {
             eventBus.close();
         }
     }
+
+    /**
+     * Registers the Aggregators of a channel, each as a listener of its own, or split into
+     * {@code gctoolkit.aggregator.listenersPerChannel} groups that each listen to the channel once.
+     */
+    private static void registerListeners(JVMEventChannel eventBus, ChannelName channel, List<JVMEventChannelAggregator> aggregators) {
+        if (LISTENERS_PER_CHANNEL <= 0) {
+            aggregators.forEach(eventBus::registerListener);
+            return;
+        }
+        int groupCount = Math.min(LISTENERS_PER_CHANNEL, aggregators.size());
+        List<List<JVMEventChannelAggregator>> groups = new ArrayList<>();
+        for (int group = 0; group < groupCount; group++)
+            groups.add(new ArrayList<>());
+        for (int index = 0; index < aggregators.size(); index++)
+            groups.get(index % groupCount).add(aggregators.get(index));
+        groups.forEach(group -> eventBus.registerListener(new JVMEventChannelAggregatorGroup(channel, group)));
+    }
 }
@@ -58,6 +58,7 @@ public class Diary {
 
     private final TripleState[] states;
     private DateTimeStamp timeOfFirstEvent;
+    private String decorators;
 
     public Diary() {
         states = new TripleState[SupportedFlags.values().length];
@@ -401,6 +402,22 @@ public class Diary {
         return this.timeOfFirstEvent != null;
     }
 
+    /**
+     * Record the unified logging decorators (JEP 158) that prefix each line in the log.
+     * @param decorators comma separated decorator names in the order they appear, e.g. uptime,level,tags
+     */
+    public void setDecorators(String decorators) {
+        if ( this.decorators == null)
+            this.decorators = decorators;
+    }
+
+    /**
+     * @return the comma separated decorator names, or {@code null} if the log isn't decorated
+     */
+    public String getDecorators() {
+        return this.decorators;
+    }
+
 /*
     GENERATIONAL,
     CMS,
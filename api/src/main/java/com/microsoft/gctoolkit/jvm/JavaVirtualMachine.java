@@ -117,6 +117,24 @@ public interface JavaVirtualMachine {
      */
     <T extends Aggregation> Optional<T> getAggregation(Class<T> aggregationClass);
 
+    /**
+     * Return a summary of the lines in the GC log that the parsers didn't recognize. The lines are grouped
+     * by shape, with a count and a few examples of each.
+     * @return the lines that weren't matched during the analysis of the GC log file.
+     */
+    default UnmatchedLines getUnmatchedLines() {
+        return new UnmatchedLines();
+    }
+
+    /**
+     * Return the time the parsers spent on each of their rules. The profile is empty unless the
+     * {@code gctoolkit.parser.profile} system property was set to {@code true}.
+     * @return the profile of the parse rules recorded during the analysis of the GC log file.
+     */
+    default RuleProfile getRuleProfile() {
+        return new RuleProfile();
+    }
+
     /**
      * Interface to trigger the analysis of a gc log.
      * @param registeredAggregations all aggregations supplied by the module SPI
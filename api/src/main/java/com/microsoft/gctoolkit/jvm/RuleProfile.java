@@ -0,0 +1,169 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.jvm;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A profile of the time the parsers spend on each of their rules. For every rule of every parser, the profile
+ * counts the lines the rule was tried against and the lines it matched, and adds up the time spent matching the
+ * lines, the misses included, and the time spent handling the lines that matched.
+ * <p>
+ * Profiling is off by default. It is turned on by setting the system property {@code gctoolkit.parser.profile}
+ * to {@code true}, in which case the profile is available from {@link JavaVirtualMachine#getRuleProfile()}
+ * and logged once the log has been analyzed. Parsers may record to the profile from more than one thread.
+ */
+public class RuleProfile {
+
+    private final Map<String, Rule> rules = new ConcurrentHashMap<>();
+
+    /**
+     * The counters of a rule, to be looked up once and recorded to for every line.
+     * @param parser the name of the parser
+     * @param rule the name of the rule
+     * @return the counters of the rule of the parser
+     */
+    public Rule rule(String parser, String rule) {
+        return rules.computeIfAbsent(parser + ": " + rule, key -> new Rule(parser, rule));
+    }
+
+    /**
+     * @return {@code true} if nothing was recorded
+     */
+    public boolean isEmpty() {
+        return rules.isEmpty();
+    }
+
+    /**
+     * @return the profile of each rule, the rule that took the most time first
+     */
+    public List<Rule> getRules() {
+        List<Rule> sorted = new ArrayList<>(rules.values());
+        sorted.sort(Comparator.comparingLong(Rule::getTotalNanos).reversed()
+                .thenComparing(Rule::getParser)
+                .thenComparing(Rule::getRule));
+        return sorted;
+    }
+
+    /**
+     * @return a table of the rules, one rule per line, the rule that took the most time first
+     */
+    @Override
+    public String toString() {
+        StringBuilder table = new StringBuilder();
+        table.append(String.format(Locale.US, "%-32s %-48s %12s %12s %12s %12s %12s",
+                "parser", "rule", "attempts", "hits", "misses", "match ms", "handler ms"));
+        for (Rule rule : getRules()) {
+            table.append(System.lineSeparator())
+                    .append(String.format(Locale.US, "%-32s %-48s %12d %12d %12d %12.3f %12.3f",
+                            rule.getParser(), rule.getRule(), rule.getAttempts(), rule.getHits(), rule.getMisses(),
+                            rule.getMatchNanos() / 1_000_000.0d, rule.getHandlerNanos() / 1_000_000.0d));
+        }
+        return table.toString();
+    }
+
+    /**
+     * The counters of one rule of a parser.
+     */
+    public static class Rule {
+
+        private final String parser;
+        private final String rule;
+        private final LongAdder attempts = new LongAdder();
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder matchNanos = new LongAdder();
+        private final LongAdder handlerNanos = new LongAdder();
+
+        private Rule(String parser, String rule) {
+            this.parser = parser;
+            this.rule = rule;
+        }
+
+        /**
+         * Record an attempt to match a line.
+         * @param nanos the time it took to match the line, or to fail to
+         * @param hit {@code true} if the rule matched the line
+         */
+        public void matched(long nanos, boolean hit) {
+            attempts.increment();
+            if (hit)
+                hits.increment();
+            matchNanos.add(nanos);
+        }
+
+        /**
+         * Record the handling of a line the rule matched.
+         * @param nanos the time it took to handle the line
+         */
+        public void handled(long nanos) {
+            handlerNanos.add(nanos);
+        }
+
+        /**
+         * @return the name of the parser
+         */
+        public String getParser() {
+            return parser;
+        }
+
+        /**
+         * @return the name of the rule
+         */
+        public String getRule() {
+            return rule;
+        }
+
+        /**
+         * @return the number of lines the rule was tried against
+         */
+        public long getAttempts() {
+            return attempts.sum();
+        }
+
+        /**
+         * @return the number of lines the rule matched
+         */
+        public long getHits() {
+            return hits.sum();
+        }
+
+        /**
+         * @return the number of lines the rule didn't match
+         */
+        public long getMisses() {
+            return getAttempts() - getHits();
+        }
+
+        /**
+         * @return the time spent matching lines, the misses included, in nanoseconds
+         */
+        public long getMatchNanos() {
+            return matchNanos.sum();
+        }
+
+        /**
+         * @return the time spent handling the lines that matched, in nanoseconds
+         */
+        public long getHandlerNanos() {
+            return handlerNanos.sum();
+        }
+
+        /**
+         * @return the time spent matching and handling lines, in nanoseconds
+         */
+        public long getTotalNanos() {
+            return getMatchNanos() + getHandlerNanos();
+        }
+
+        @Override
+        public String toString() {
+            return parser + ": " + rule + " " + getHits() + "/" + getAttempts() + " hits, " + getTotalNanos() + "ns";
+        }
+    }
+}
@@ -0,0 +1,169 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.jvm;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects the lines of a GC log that a parser couldn't match to any of its rules. Lines are grouped by
+ * their shape, the line with every run of digits replaced by {@code #} and runs of spaces collapsed, so the
+ * lines of a log that come from the same logging statement fall into a single group. Each group counts its
+ * lines and keeps the first few as examples. A log written with tags or levels that aren't supported can have
+ * millions of such lines, so they are summarized here rather than logged one by one.
+ * <p>
+ * The summary is available from {@link JavaVirtualMachine#getUnmatchedLines()} once the log has been analyzed.
+ * Parsers may report lines from more than one thread.
+ */
+public class UnmatchedLines {
+
+    /**
+     * The number of example lines kept for each shape.
+     */
+    public static final int MAXIMUM_EXAMPLES = 3;
+
+    /**
+     * The number of shapes kept. Lines of any other shape are only counted.
+     */
+    public static final int MAXIMUM_SHAPES = 500;
+
+    // shapes are cut to this length, long lines rarely differ at the end
+    private static final int MAXIMUM_SHAPE_LENGTH = 160;
+
+    private final Map<String, Shape> shapes = new ConcurrentHashMap<>();
+    private final LongAdder count = new LongAdder();
+
+    /**
+     * Record a line that wasn't matched.
+     * @param source the name of the parser that didn't match the line
+     * @param line the line from the GC log
+     */
+    public void record(String source, String line) {
+        count.increment();
+        String key = source + ": " + shapeOf(line);
+        Shape shape = shapes.get(key);
+        if (shape == null) {
+            if (shapes.size() >= MAXIMUM_SHAPES)
+                return;
+            shape = shapes.computeIfAbsent(key, k -> new Shape(source, k.substring(source.length() + 2)));
+        }
+        shape.add(line);
+    }
+
+    /**
+     * @return the number of lines that weren't matched
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * @return {@code true} if every line was matched
+     */
+    public boolean isEmpty() {
+        return getCount() == 0L;
+    }
+
+    /**
+     * @return the shapes of the lines that weren't matched, the most frequent first
+     */
+    public List<Shape> getShapes() {
+        List<Shape> sorted = new ArrayList<>(shapes.values());
+        sorted.sort(Comparator.comparingLong(Shape::getCount).reversed().thenComparing(Shape::getShape));
+        return sorted;
+    }
+
+    /**
+     * @return a report of the unmatched lines, one shape per line with its count
+     */
+    @Override
+    public String toString() {
+        StringBuilder report = new StringBuilder();
+        report.append(getCount()).append(" unmatched lines");
+        for (Shape shape : getShapes()) {
+            report.append(System.lineSeparator())
+                    .append(String.format("%10d  %s: %s", shape.getCount(), shape.getSource(), shape.getShape()));
+        }
+        return report.toString();
+    }
+
+    static String shapeOf(String line) {
+        StringBuilder shape = new StringBuilder(Math.min(line.length(), MAXIMUM_SHAPE_LENGTH));
+        char previous = 0;
+        for (int i = 0; i < line.length() && shape.length() < MAXIMUM_SHAPE_LENGTH; i++) {
+            char c = line.charAt(i);
+            if (Character.isDigit(c))
+                c = '#';
+            if (c == previous && (c == '#' || c == ' '))
+                continue;
+            shape.append(c);
+            previous = c;
+        }
+        return shape.toString();
+    }
+
+    /**
+     * A group of unmatched lines that have the same shape.
+     */
+    public static class Shape {
+
+        private final String source;
+        private final String shape;
+        private final LongAdder count = new LongAdder();
+        private final List<String> examples = new ArrayList<>(MAXIMUM_EXAMPLES);
+
+        private Shape(String source, String shape) {
+            this.source = source;
+            this.shape = shape;
+        }
+
+        private void add(String line) {
+            count.increment();
+            if (examples.size() < MAXIMUM_EXAMPLES) {
+                synchronized (examples) {
+                    if (examples.size() < MAXIMUM_EXAMPLES)
+                        examples.add(line);
+                }
+            }
+        }
+
+        /**
+         * @return the name of the parser that didn't match the lines
+         */
+        public String getSource() {
+            return source;
+        }
+
+        /**
+         * @return the lines with every run of digits replaced by {@code #}
+         */
+        public String getShape() {
+            return shape;
+        }
+
+        /**
+         * @return the number of lines of this shape
+         */
+        public long getCount() {
+            return count.sum();
+        }
+
+        /**
+         * @return the first lines of this shape, at most {@link #MAXIMUM_EXAMPLES} of them
+         */
+        public List<String> getExamples() {
+            synchronized (examples) {
+                return List.copyOf(examples);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return getCount() + " x " + source + ": " + shape;
+        }
+    }
+}
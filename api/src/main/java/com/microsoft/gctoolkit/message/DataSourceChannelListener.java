@@ -1,4 +1,4 @@
 package com.microsoft.gctoolkit.message;
 
-public interface DataSourceChannelListener extends ChannelListener<String> {
+public interface DataSourceChannelListener extends ChannelListener<LogRecord> {
 }
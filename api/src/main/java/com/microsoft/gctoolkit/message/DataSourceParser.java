@@ -1,7 +1,10 @@
 package com.microsoft.gctoolkit.message;
 
 import com.microsoft.gctoolkit.aggregator.EventSource;
+import com.microsoft.gctoolkit.event.jvm.JVMEvent;
 import com.microsoft.gctoolkit.jvm.Diary;
+import com.microsoft.gctoolkit.jvm.RuleProfile;
+import com.microsoft.gctoolkit.jvm.UnmatchedLines;
 
 import java.util.Set;
 
@@ -10,4 +13,25 @@ public interface DataSourceParser extends DataSourceChannelListener {
     void diary(Diary diary);
     boolean accepts(Diary diary);
     Set<EventSource> eventsProduced();
+
+    /**
+     * Tell the parser which types of events the registered Aggregators consume, before any data is published.
+     * A parser may skip building, and publishing, events of other types. An event is consumed if its class, or
+     * one of its super-classes, is in the set. The JVMTermination event is always published.
+     * @param eventTypes the event types that are consumed
+     */
+    default void consumes(Set<Class<? extends JVMEvent>> eventTypes) {}
+
+    /**
+     * Tell the parser where to report the lines that it doesn't match, before any data is published.
+     * @param unmatchedLines the summary of the lines that weren't matched
+     */
+    default void reportUnmatchedLinesTo(UnmatchedLines unmatchedLines) {}
+
+    /**
+     * Have the parser record the time it spends on each of its rules, before any data is published.
+     * A parser that isn't told to profile its rules doesn't time them.
+     * @param ruleProfile the profile to record to
+     */
+    default void profileRulesTo(RuleProfile ruleProfile) {}
 }
@@ -2,15 +2,57 @@ package com.microsoft.gctoolkit.message;
 
 import com.microsoft.gctoolkit.aggregator.Aggregator;
 import com.microsoft.gctoolkit.event.jvm.JVMEvent;
+import com.microsoft.gctoolkit.event.jvm.JVMTermination;
+
+import java.util.Set;
+import java.util.concurrent.Executor;
 
 public class JVMEventChannelAggregator implements JVMEventChannelListener {
 
     private ChannelName channel;
-    private Aggregator aggregator;
+    private Aggregator<?> aggregator;
+    private final boolean routeByEventClass;
+    private final Executor executor;
+    private final Set<Class<? extends JVMEvent>> eventsConsumed;
+
+    // whether the Aggregator consumes events of a class, worked out once per class
+    private final ClassValue<Boolean> consumes = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> eventClass) {
+            return JVMTermination.class.isAssignableFrom(eventClass)
+                    || eventsConsumed.stream().anyMatch(consumed -> consumed.isAssignableFrom(eventClass));
+        }
+    };
 
-    public JVMEventChannelAggregator(ChannelName channel, Aggregator aggregator) {
+    public JVMEventChannelAggregator(ChannelName channel, Aggregator<?> aggregator) {
+        this(channel, aggregator, false);
+    }
+
+    /**
+     * @param channel the channel of the events the Aggregator aggregates
+     * @param aggregator the Aggregator to deliver the events to
+     * @param routeByEventClass whether to deliver only the events the Aggregator registered a consumer for, rather
+     *                          than every event published on the channel
+     */
+    public JVMEventChannelAggregator(ChannelName channel, Aggregator<?> aggregator, boolean routeByEventClass) {
+        this(channel, aggregator, routeByEventClass, null);
+    }
+
+    /**
+     * @param channel the channel of the events the Aggregator aggregates
+     * @param aggregator the Aggregator to deliver the events to
+     * @param routeByEventClass whether to deliver only the events the Aggregator registered a consumer for, rather
+     *                          than every event published on the channel
+     * @param executor the {@link Strand} of the Aggregator, which runs it on a pool rather than on the thread of the
+     *                 channel, or {@code null} to run it on the thread of the channel. An Aggregator that listens to
+     *                 several channels must be given the same strand for each of them.
+     */
+    public JVMEventChannelAggregator(ChannelName channel, Aggregator<?> aggregator, boolean routeByEventClass, Executor executor) {
         this.channel = channel;
         this.aggregator = aggregator;
+        this.routeByEventClass = routeByEventClass;
+        this.executor = executor;
+        this.eventsConsumed = aggregator.eventsConsumed();
     }
 
     @Override
@@ -18,8 +60,22 @@ public class JVMEventChannelAggregator implements JVMEventChannelListener {
         return channel;
     }
 
+    /**
+     * When routing by event class, the Aggregator is only given the events of the classes it registered, and of
+     * their sub-classes, along with the {@link JVMTermination} event that completes it.
+     * @param event an event published on the channel of the Aggregator
+     * @return {@code true} if the Aggregator is to receive the event
+     */
+    @Override
+    public boolean accepts(JVMEvent event) {
+        return !routeByEventClass || consumes.get(event.getClass());
+    }
+
     @Override
     public void receive(JVMEvent payload) {
-        aggregator.receive(payload);
+        if (executor == null)
+            aggregator.receive(payload);
+        else
+            executor.execute(() -> aggregator.receive(payload));
     }
 }
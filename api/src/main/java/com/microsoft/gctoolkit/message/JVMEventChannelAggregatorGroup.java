@@ -0,0 +1,48 @@
+package com.microsoft.gctoolkit.message;
+
+import com.microsoft.gctoolkit.event.jvm.JVMEvent;
+
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Delivers the events of a channel to several Aggregators from a single listener. Each event is received once from
+ * the channel and handed to the Aggregators in turn, rather than delivered by the channel once per Aggregator.
+ * The Aggregators of a group receive the events of the channel one after the other, on the thread of the listener.
+ */
+public class JVMEventChannelAggregatorGroup implements JVMEventChannelListener {
+
+    private static final Logger LOGGER = Logger.getLogger(JVMEventChannelAggregatorGroup.class.getName());
+
+    private final ChannelName channel;
+    private final JVMEventChannelAggregator[] aggregators;
+
+    /**
+     * @param channel the channel of the events the Aggregators aggregate
+     * @param aggregators the listeners of the Aggregators, all of which listen to {@code channel}
+     */
+    public JVMEventChannelAggregatorGroup(ChannelName channel, List<JVMEventChannelAggregator> aggregators) {
+        this.channel = channel;
+        this.aggregators = aggregators.toArray(new JVMEventChannelAggregator[0]);
+    }
+
+    @Override
+    public ChannelName channel() {
+        return channel;
+    }
+
+    @Override
+    public void receive(JVMEvent payload) {
+        for (JVMEventChannelAggregator aggregator : aggregators) {
+            if (!aggregator.accepts(payload))
+                continue;
+            try {
+                aggregator.receive(payload);
+            } catch (Throwable t) {
+                // one Aggregator failing shouldn't keep the event from the others
+                LOGGER.log(Level.WARNING, "Aggregator failed to process " + payload, t);
+            }
+        }
+    }
+}
@@ -2,4 +2,14 @@ package com.microsoft.gctoolkit.message;
 
 import com.microsoft.gctoolkit.event.jvm.JVMEvent;
 
-public interface JVMEventChannelListener extends ChannelListener<JVMEvent> {}
+public interface JVMEventChannelListener extends ChannelListener<JVMEvent> {
+
+    /**
+     * A channel calls this before delivering an event, and doesn't deliver the events the listener has no use for.
+     * @param event an event published on the channel of this listener
+     * @return {@code true} if the event is to be delivered to this listener, which is every event by default
+     */
+    default boolean accepts(JVMEvent event) {
+        return true;
+    }
+}
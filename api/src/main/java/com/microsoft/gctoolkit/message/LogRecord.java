@@ -0,0 +1,138 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.message;
+
+import com.microsoft.gctoolkit.io.GCLogFile;
+import com.microsoft.gctoolkit.time.DateTimeStamp;
+
+/**
+ * A line from a GC log along with the fields that every parser needs from it. The shared fields
+ * (time stamp, tags, level, GC id, and the offset of the body of the message) are decoded once,
+ * by a {@link LogRecordDecoder}, before the record is published on the {@link DataSourceChannel}.
+ * Instances are immutable and may be shared between parsers running on different threads.
+ */
+public final class LogRecord {
+
+    /**
+     * Value returned by {@link #getGcId()} when the line has no GC id.
+     */
+    public static final int NO_GC_ID = -1;
+
+    /**
+     * Value returned by {@link #getSegmentStartTime()} when the line doesn't start a log file segment.
+     */
+    public static final double NOT_START_OF_SEGMENT = Double.NaN;
+
+    private final String line;
+    private final boolean decoded;
+    private final boolean endOfData;
+    private final DateTimeStamp dateTimeStamp;
+    private final String tags;
+    private final String level;
+    private final int gcId;
+    private final int bodyOffset;
+    private final double segmentStartTime;
+
+    /**
+     * Create a decoded record.
+     * @param line the line from the GC log
+     * @param dateTimeStamp the time stamp of the line, or {@code null} if the line doesn't have one
+     * @param tags the unified logging tag-set, or {@code null}
+     * @param level the unified logging level, or {@code null}
+     * @param gcId the GC id, or {@link #NO_GC_ID}
+     * @param bodyOffset the index in line of the text following the decorators and GC id
+     */
+    public LogRecord(String line, DateTimeStamp dateTimeStamp, String tags, String level, int gcId, int bodyOffset) {
+        this(line, true, dateTimeStamp, tags, level, gcId, bodyOffset, NOT_START_OF_SEGMENT);
+    }
+
+    private LogRecord(String line, boolean decoded, DateTimeStamp dateTimeStamp, String tags, String level, int gcId, int bodyOffset, double segmentStartTime) {
+        this.line = line;
+        this.decoded = decoded;
+        this.endOfData = GCLogFile.END_OF_DATA_SENTINEL.equals(line);
+        this.dateTimeStamp = dateTimeStamp;
+        this.tags = tags;
+        this.level = level;
+        this.gcId = gcId;
+        this.bodyOffset = bodyOffset;
+        this.segmentStartTime = segmentStartTime;
+    }
+
+    /**
+     * Wrap a line without decoding it. A parser receiving an undecoded record will decode it itself.
+     * @param line the line from the GC log
+     * @return an undecoded record
+     */
+    public static LogRecord of(String line) {
+        return new LogRecord(line, false, null, null, null, NO_GC_ID, 0, NOT_START_OF_SEGMENT);
+    }
+
+    /**
+     * Mark this record as the first line of a segment of a rotating log. Segments start at a rotation
+     * point, which gives a parser a place to pick up the log without having seen the segments before it.
+     * @param startTime the start time of the segment, as given by {@link com.microsoft.gctoolkit.io.LogFileSegment#getStartTime()}
+     * @return a copy of this record that starts a segment
+     */
+    public LogRecord startOfSegment(double startTime) {
+        return new LogRecord(line, decoded, dateTimeStamp, tags, level, gcId, bodyOffset, startTime);
+    }
+
+    public String getLine() {
+        return line;
+    }
+
+    public boolean isDecoded() {
+        return decoded;
+    }
+
+    public boolean isEndOfData() {
+        return endOfData;
+    }
+
+    public DateTimeStamp getDateTimeStamp() {
+        return dateTimeStamp;
+    }
+
+    public String getTags() {
+        return tags;
+    }
+
+    public String getLevel() {
+        return level;
+    }
+
+    public int getGcId() {
+        return gcId;
+    }
+
+    public boolean hasGcId() {
+        return gcId != NO_GC_ID;
+    }
+
+    public int getBodyOffset() {
+        return bodyOffset;
+    }
+
+    public boolean isStartOfSegment() {
+        return !Double.isNaN(segmentStartTime);
+    }
+
+    /**
+     * @return the start time of the segment this record starts, or {@link #NOT_START_OF_SEGMENT}
+     */
+    public double getSegmentStartTime() {
+        return segmentStartTime;
+    }
+
+    /**
+     * @return the text following the decorators and GC id
+     */
+    public String getBody() {
+        return line.substring(bodyOffset);
+    }
+
+    @Override
+    public String toString() {
+        return line;
+    }
+}
@@ -0,0 +1,30 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.message;
+
+import com.microsoft.gctoolkit.jvm.Diary;
+
+/**
+ * Decodes the lines of a GC log into {@link LogRecord}s. The data source is decoded once, as it is read,
+ * so that the fields shared by all of the {@link DataSourceParser}s aren't decoded by each parser in turn.
+ * Implementations are provided via the module service provider API.
+ */
+public interface LogRecordDecoder {
+
+    /**
+     * @param diary summary of the GC log
+     * @return {@code true} if this decoder understands the format of the GC log
+     */
+    boolean accepts(Diary diary);
+
+    /**
+     * @param diary summary of the GC log
+     */
+    void diary(Diary diary);
+
+    /**
+     * @param line a line from the GC log
+     * @return the decoded record
+     */
+    LogRecord decode(String line);
+}
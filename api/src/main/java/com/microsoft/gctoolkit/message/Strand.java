@@ -0,0 +1,63 @@
+package com.microsoft.gctoolkit.message;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Runs tasks one at a time, in the order they were submitted, on the threads of a shared pool. Tasks of different
+ * strands run in parallel, so an Aggregator given a strand of its own processes its events in order while the
+ * other Aggregators process theirs on other threads. No thread is held while the strand has nothing to run.
+ */
+public final class Strand implements Executor {
+
+    private static final Logger LOGGER = Logger.getLogger(Strand.class.getName());
+
+    // the tasks run before the strand gives its thread back to the pool, so that one strand can't hog it
+    private static final int BATCH_SIZE = 256;
+
+    private final Executor pool;
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    /**
+     * @param pool the pool to run the tasks on
+     */
+    public Strand(Executor pool) {
+        this.pool = pool;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        tasks.add(task);
+        schedule();
+    }
+
+    private void schedule() {
+        if (!tasks.isEmpty() && scheduled.compareAndSet(false, true))
+            pool.execute(this::drain);
+    }
+
+    private void drain() {
+        try {
+            for (int count = 0; count < BATCH_SIZE; count++) {
+                Runnable task = tasks.poll();
+                if (task == null)
+                    break;
+                try {
+                    task.run();
+                } catch (Throwable t) {
+                    // Throwable is caught so that a failing task doesn't stop the tasks queued after it
+                    LOGGER.log(Level.WARNING, "Strand: task failed", t);
+                }
+            }
+        } finally {
+            scheduled.set(false);
+            // a task may have been added after the last poll, while this was still scheduled
+            schedule();
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.microsoft.gctoolkit.online.statistics;
+
+import java.util.Arrays;
+
+/**
+ * A histogram of non-negative values in buckets whose width grows with the value, after HdrHistogram. The range of
+ * each power of two is split into the same number of buckets, enough for the given number of significant decimal
+ * digits, so that every value is counted with the same relative precision. A value is found in its bucket from the
+ * bits of its exponent and the leading bits of its mantissa, with no search.
+ * <p>
+ * The memory is fixed by the range and the precision: the default range of 10<sup>-6</sup> to 10<sup>6</sup>,
+ * with 2 significant digits, takes 5,120 counts. Values below the range, such as pauses of 0, are estimated as
+ * the minimum, and values above it are counted in the last bucket. The minimum and the maximum are kept exactly.
+ * Merging is exact, so it is associative and commutative.
+ */
+public class LogHistogram implements QuantileSketch<LogHistogram> {
+
+    private final double lowest;
+    private final double highest;
+    private final int significantDigits;
+
+    private final int subBucketBits;
+    private final int lowestExponent;
+    private final long[] counts;
+    private long underflow = 0L;
+
+    private long count = 0L;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    public LogHistogram() {
+        this(1.0e-6d, 1.0e6d, 2);
+    }
+
+    /**
+     * @param lowest the smallest value to be counted with full precision, more than 0
+     * @param highest the largest value to be counted with full precision
+     * @param significantDigits the number of significant decimal digits of a count, from 1 to 3
+     */
+    public LogHistogram(double lowest, double highest, int significantDigits) {
+        if (!(lowest > 0.0d) || !(highest > lowest) || Double.isInfinite(highest))
+            throw new IllegalArgumentException("The range must be positive and finite: " + lowest + ", " + highest);
+        if (significantDigits < 1 || significantDigits > 3)
+            throw new IllegalArgumentException("The significant digits must be from 1 to 3: " + significantDigits);
+        this.lowest = lowest;
+        this.highest = highest;
+        this.significantDigits = significantDigits;
+        this.subBucketBits = (int) Math.ceil(significantDigits * Math.log(10.0d) / Math.log(2.0d));
+        this.lowestExponent = Math.getExponent(lowest);
+        this.counts = new long[(Math.getExponent(highest) - lowestExponent + 1) << subBucketBits];
+    }
+
+    @Override
+    public void update(double sampleValue) {
+        if (Double.isNaN(sampleValue))
+            throw new IllegalArgumentException("NaN can't be added to a histogram");
+        if (sampleValue < lowest)
+            underflow++;
+        else
+            counts[index(sampleValue)]++;
+        count++;
+        min = Math.min(min, sampleValue);
+        max = Math.max(max, sampleValue);
+    }
+
+    private int index(double value) {
+        int exponent = Math.getExponent(value) - lowestExponent;
+        long mantissa = Double.doubleToRawLongBits(value) >>> (52 - subBucketBits);
+        int index = (exponent << subBucketBits) | (int) (mantissa & ((1L << subBucketBits) - 1L));
+        return Math.min(index, counts.length - 1);
+    }
+
+    /**
+     * @return the middle of the bucket, which is within half a bucket of every value counted in it
+     */
+    private double value(int index) {
+        int exponent = (index >>> subBucketBits) + lowestExponent;
+        double subBuckets = 1 << subBucketBits;
+        double subBucket = index & ((1 << subBucketBits) - 1);
+        return Math.scalb(1.0d + (subBucket + 0.5d) / subBuckets, exponent);
+    }
+
+    @Override
+    public void merge(LogHistogram other) {
+        if (other.lowest != lowest || other.highest != highest || other.significantDigits != significantDigits)
+            throw new IllegalArgumentException("Only histograms of the same range and precision merge");
+        for (int i = 0; i < counts.length; i++)
+            counts[i] += other.counts[i];
+        underflow += other.underflow;
+        count += other.count;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(counts, 0L);
+        underflow = 0L;
+        count = 0L;
+        min = Double.POSITIVE_INFINITY;
+        max = Double.NEGATIVE_INFINITY;
+    }
+
+    @Override
+    public long getCount() {
+        return count;
+    }
+
+    @Override
+    public double getMin() {
+        checkNotEmpty();
+        return min;
+    }
+
+    @Override
+    public double getMax() {
+        checkNotEmpty();
+        return max;
+    }
+
+    @Override
+    public double getQuantile(double quantile) {
+        if (quantile < 0.0d || quantile > 1.0d)
+            throw new IllegalArgumentException("A quantile is between 0 and 1: " + quantile);
+        checkNotEmpty();
+        if (quantile == 0.0d)
+            return min;
+        if (quantile == 1.0d)
+            return max;
+        long rank = Math.max(1L, (long) Math.ceil(quantile * count));
+        if (rank <= underflow)
+            return min;
+        long countSoFar = underflow;
+        for (int i = 0; i < counts.length; i++) {
+            countSoFar += counts[i];
+            if (countSoFar >= rank)
+                return Math.max(min, Math.min(max, value(i)));
+        }
+        return max;
+    }
+
+    private void checkNotEmpty() {
+        if (count == 0L)
+            throw new NotEnoughSampleException("Quantiles require at least 1 sample.");
+    }
+
+    @Override
+    public String toString() {
+        return "LogHistogram{count=" + count + ", buckets=" + counts.length + "}";
+    }
+}
@@ -9,6 +9,18 @@ public class OnlineMeanCalculator implements OnlineStatisticsCalculator {
         mean += (sampleValue - mean) / numSamples;
     }
 
+    /**
+     * Adds the samples of another calculator to this one, as if they had been given to this one.
+     * @param other the calculator to add, which is left unchanged
+     */
+    public void merge(OnlineMeanCalculator other) {
+        if (other.numSamples == 0)
+            return;
+        int total = numSamples + other.numSamples;
+        mean += (other.mean - mean) * other.numSamples / total;
+        numSamples = total;
+    }
+
     @Override
     public double getValue() {
         return mean;
@@ -0,0 +1,57 @@
+package com.microsoft.gctoolkit.online.statistics;
+
+/**
+ * Estimates the quantiles of a stream of values, such as the p99 pause time, in a fixed amount of memory,
+ * however many values there are. Two sketches of the same configuration merge into one that estimates the
+ * quantiles of both streams, so that the sketches of the shards of a log can be combined.
+ *
+ * @param <S> the type of the sketch, which is the type it merges with
+ * @see TDigest
+ * @see LogHistogram
+ */
+public interface QuantileSketch<S extends QuantileSketch<S>> extends OnlineStatisticsCalculator {
+
+    /**
+     * @return the number of values given to the sketch
+     */
+    long getCount();
+
+    /**
+     * @return the smallest value given to the sketch
+     * @throws NotEnoughSampleException if the sketch has no values
+     */
+    double getMin();
+
+    /**
+     * @return the largest value given to the sketch
+     * @throws NotEnoughSampleException if the sketch has no values
+     */
+    double getMax();
+
+    /**
+     * @param quantile the quantile, from 0 to 1, 0.99 for the 99th percentile
+     * @return an estimate of the value at the quantile
+     * @throws NotEnoughSampleException if the sketch has no values
+     */
+    double getQuantile(double quantile);
+
+    /**
+     * Adds the values of another sketch to this one, as if they had been given to this one.
+     * @param other the sketch to add, which has the same configuration and is left unchanged
+     * @throws IllegalArgumentException if the sketches are configured differently
+     */
+    void merge(S other);
+
+    /**
+     * Empties the sketch, keeping its configuration and memory, so that it can be used again.
+     */
+    void clear();
+
+    /**
+     * @return an estimate of the median
+     */
+    @Override
+    default double getValue() {
+        return getQuantile(0.5d);
+    }
+}
@@ -0,0 +1,274 @@
+package com.microsoft.gctoolkit.online.statistics;
+
+import com.microsoft.gctoolkit.online.statistics.WindowedStatistics.Window;
+import com.microsoft.gctoolkit.time.DateTimeStamp;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Keeps a numeric series, such as the pause times of a JVM that has run for weeks, as summaries at four
+ * resolutions: per second, per minute, per hour and per day. Each summary holds the count, sum, minimum and
+ * maximum of the values in its interval, and optionally a quantile sketch. All four resolutions are filled in
+ * as the values arrive.
+ * <p>
+ * Each resolution keeps a fixed number of its most recent intervals in a ring, by default an hour of seconds,
+ * a week of minutes, a quarter of hours and ten years of days, so the memory of a series is bounded however long
+ * the log. The finer resolutions cover the recent past, and the coarser ones the whole history. With quantiles,
+ * each interval that holds values has a sketch of its own, which is emptied and used again when the ring comes
+ * round to its slot. As the sketches dominate the memory, they are only kept by default for hours and days, and
+ * a compact sketch keeps the memory down further; see {@link Resolution} for the bound.
+ * <p>
+ * A chart asks for a time range and the number of points it can draw, and is given the summaries of the finest
+ * resolution that both fits in that budget and still covers the start of the range.
+ * <pre>{@code
+ *     RollupSeries pauses = new RollupSeries(() -> new LogHistogram(1.0e-4d, 100.0d, 1));
+ *     ...
+ *     pauses.update(event.getDateTimeStamp(), event.getDuration());
+ *     ...
+ *     for (WindowedStatistics.Window point : pauses.query(start, end, 500))
+ *         chart.add(point.getStart(), point.getMax());
+ *     for (WindowedStatistics.Window hour : pauses.query(RollupSeries.Resolution.HOUR, start, end))
+ *         percentiles.add(hour.getStart(), hour.getQuantile(0.99d));
+ * }</pre>
+ */
+public class RollupSeries {
+
+    /**
+     * The resolutions a series is kept at. By default a series keeps 19,541 intervals: 3,600 seconds, 10,080
+     * minutes, 2,208 hours and 3,653 days. Their counts, sums, minimums and maximums take under 1 MB. Quantile
+     * sketches are kept by default for the 5,861 hours and days only, one for each interval that holds values.
+     * At most, that is about 16 MB with a {@code LogHistogram(1.0e-4, 100.0, 1)} of 336 counts, but 240 MB with the
+     * default {@link LogHistogram} of 5,120 counts, and 185 MB with a {@link TDigest}.
+     */
+    public enum Resolution {
+        SECOND(1L, 3_600),
+        MINUTE(60L, 7 * 24 * 60),
+        HOUR(3_600L, 92 * 24),
+        DAY(86_400L, 3_653);
+
+        private final long seconds;
+        private final int retained;
+
+        Resolution(long seconds, int retained) {
+            this.seconds = seconds;
+            this.retained = retained;
+        }
+
+        /**
+         * @return the length of an interval, in seconds
+         */
+        public long getSeconds() {
+            return seconds;
+        }
+
+        /**
+         * @return the number of intervals kept by default
+         */
+        public int getRetained() {
+            return retained;
+        }
+    }
+
+    private static final Resolution[] RESOLUTIONS = Resolution.values();
+
+    private final Supplier<? extends QuantileSketch<?>> sketches;
+    private final Level[] levels = new Level[RESOLUTIONS.length];
+
+    /**
+     * A series without quantiles, keeping the default number of intervals of each resolution.
+     */
+    public RollupSeries() {
+        this(null);
+    }
+
+    /**
+     * A series keeping the default number of intervals of each resolution, with quantiles for hours and days.
+     * @param sketches makes the quantile sketches of the intervals, or null if quantiles aren't needed
+     */
+    public RollupSeries(Supplier<? extends QuantileSketch<?>> sketches) {
+        this(sketches, Resolution.HOUR, Resolution.SECOND.getRetained(), Resolution.MINUTE.getRetained(), Resolution.HOUR.getRetained(), Resolution.DAY.getRetained());
+    }
+
+    /**
+     * A series with quantiles at every resolution.
+     * @param sketches makes the quantile sketches of the intervals, or null if quantiles aren't needed
+     * @param seconds the number of seconds kept
+     * @param minutes the number of minutes kept
+     * @param hours the number of hours kept
+     * @param days the number of days kept
+     */
+    public RollupSeries(Supplier<? extends QuantileSketch<?>> sketches, int seconds, int minutes, int hours, int days) {
+        this(sketches, Resolution.SECOND, seconds, minutes, hours, days);
+    }
+
+    /**
+     * @param sketches makes the quantile sketches of the intervals, or null if quantiles aren't needed
+     * @param finestQuantiles the finest resolution that quantiles are kept at; the intervals of the finer
+     *                        resolutions have no sketch
+     * @param seconds the number of seconds kept
+     * @param minutes the number of minutes kept
+     * @param hours the number of hours kept
+     * @param days the number of days kept
+     */
+    public RollupSeries(Supplier<? extends QuantileSketch<?>> sketches, Resolution finestQuantiles, int seconds, int minutes, int hours, int days) {
+        this.sketches = sketches;
+        int[] retained = { seconds, minutes, hours, days };
+        for (int level = 0; level < levels.length; level++) {
+            if (retained[level] < 1)
+                throw new IllegalArgumentException("At least one interval of each resolution is kept: " + retained[level]);
+            levels[level] = new Level(RESOLUTIONS[level].getSeconds(), retained[level], sketches != null && level >= finestQuantiles.ordinal());
+        }
+    }
+
+    /**
+     * @param time the time of the value, which is its uptime if it has one, and its date otherwise
+     * @param value the value
+     */
+    public void update(DateTimeStamp time, double value) {
+        update(time.toSeconds(), value);
+    }
+
+    /**
+     * Adds a value to the interval of its time at each resolution. A value older than the intervals that a
+     * resolution keeps is left out of that resolution.
+     * @param time the time of the value, in seconds
+     * @param value the value
+     */
+    public void update(double time, double value) {
+        if (Double.isNaN(time) || Double.isNaN(value))
+            throw new IllegalArgumentException("The time and value must be numbers: " + time + ", " + value);
+        for (Level level : levels)
+            level.update(time, value, sketches);
+    }
+
+    /**
+     * Picks the finest resolution whose intervals over the range number no more than {@code maxPoints}, and
+     * that still keeps the start of the range. If none does, the coarsest resolution is picked.
+     * @param from the start of the range, in seconds
+     * @param to the end of the range, in seconds
+     * @param maxPoints the largest number of intervals wanted
+     * @return the resolution for the range
+     */
+    public Resolution resolutionFor(double from, double to, int maxPoints) {
+        if (!(to >= from) || maxPoints < 1)
+            throw new IllegalArgumentException("The range must not be empty, nor the budget less than 1: " + from + ", " + to + ", " + maxPoints);
+        for (int level = 0; level < levels.length; level++) {
+            Level candidate = levels[level];
+            long first = candidate.interval(from);
+            long points = candidate.interval(to) - first + 1L;
+            if (points <= maxPoints && candidate.keeps(first))
+                return RESOLUTIONS[level];
+        }
+        return Resolution.DAY;
+    }
+
+    /**
+     * @param from the start of the range, in seconds
+     * @param to the end of the range, in seconds
+     * @param maxPoints the largest number of intervals wanted
+     * @return the intervals of the range that hold values, in time order, at the {@link #resolutionFor resolution for the range}
+     */
+    public List<Window> query(double from, double to, int maxPoints) {
+        return query(resolutionFor(from, to, maxPoints), from, to);
+    }
+
+    /**
+     * @param resolution the resolution of the intervals
+     * @param from the start of the range, in seconds
+     * @param to the end of the range, in seconds
+     * @return the intervals kept at the resolution that overlap the range and hold values, in time order, which
+     *         only have quantiles if they are kept at the resolution
+     */
+    public List<Window> query(Resolution resolution, double from, double to) {
+        return levels[resolution.ordinal()].query(from, to, sketches);
+    }
+
+    /**
+     * The intervals of one resolution, in a ring indexed by the interval number modulo the number kept.
+     */
+    private static final class Level {
+        private final long seconds;
+        private final long[] intervals;
+        private final long[] counts;
+        private final double[] sums;
+        private final double[] mins;
+        private final double[] maxs;
+        private final QuantileSketch<?>[] sketches;
+        private long newest = Long.MIN_VALUE;
+
+        Level(long seconds, int retained, boolean quantiles) {
+            this.seconds = seconds;
+            intervals = new long[retained];
+            counts = new long[retained];
+            sums = new double[retained];
+            mins = new double[retained];
+            maxs = new double[retained];
+            sketches = quantiles ? new QuantileSketch<?>[retained] : null;
+        }
+
+        long interval(double time) {
+            return (long) Math.floor(time / seconds);
+        }
+
+        boolean keeps(long interval) {
+            return newest == Long.MIN_VALUE || interval > newest - intervals.length;
+        }
+
+        private int slot(long interval) {
+            return (int) Math.floorMod(interval, (long) intervals.length);
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        void update(double time, double value, Supplier<? extends QuantileSketch<?>> sketchSupplier) {
+            long interval = interval(time);
+            if (!keeps(interval))
+                return;
+            int slot = slot(interval);
+            // the slot holds an older interval, or none, which the new one takes the place of
+            if (counts[slot] == 0L || intervals[slot] != interval) {
+                intervals[slot] = interval;
+                counts[slot] = 0L;
+                sums[slot] = 0.0d;
+                mins[slot] = Double.POSITIVE_INFINITY;
+                maxs[slot] = Double.NEGATIVE_INFINITY;
+                if (sketches != null) {
+                    if (sketches[slot] == null)
+                        sketches[slot] = sketchSupplier.get();
+                    else
+                        sketches[slot].clear();
+                }
+            }
+            counts[slot]++;
+            sums[slot] += value;
+            mins[slot] = Math.min(mins[slot], value);
+            maxs[slot] = Math.max(maxs[slot], value);
+            if (sketches != null)
+                ((QuantileSketch) sketches[slot]).update(value);
+            newest = Math.max(newest, interval);
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        List<Window> query(double from, double to, Supplier<? extends QuantileSketch<?>> sketchSupplier) {
+            List<Window> windows = new ArrayList<>();
+            if (newest == Long.MIN_VALUE)
+                return windows;
+            long first = Math.max(interval(from), newest - intervals.length + 1L);
+            long last = Math.min(interval(to), newest);
+            for (long interval = first; interval <= last; interval++) {
+                int slot = slot(interval);
+                if (counts[slot] == 0L || intervals[slot] != interval)
+                    continue;
+                QuantileSketch sketch = null;
+                if (sketches != null) {
+                    // a copy, so that the window doesn't change as the interval takes more values
+                    sketch = sketchSupplier.get();
+                    sketch.merge(sketches[slot]);
+                }
+                windows.add(new Window(interval * seconds, (interval + 1L) * seconds, counts[slot], sums[slot], mins[slot], maxs[slot], sketch));
+            }
+            return windows;
+        }
+    }
+}
@@ -17,6 +17,21 @@ public class WelfordVarianceCalculator implements OnlineStatisticsCalculator {
         m2 += (sampleValue - oldMean) * (sampleValue - newMean);
     }
 
+    /**
+     * Adds the samples of another calculator to this one, as if they had been given to this one.
+     * The variances are combined with the pairwise update of Chan, Golub and LeVeque.
+     * @param other the calculator to add, which is left unchanged
+     */
+    public void merge(WelfordVarianceCalculator other) {
+        if (other.numSamples == 0)
+            return;
+        int total = numSamples + other.numSamples;
+        double delta = other.onlineMeanCalculator.getValue() - onlineMeanCalculator.getValue();
+        m2 += other.m2 + delta * delta * ((double) numSamples * other.numSamples / total);
+        onlineMeanCalculator.merge(other.onlineMeanCalculator);
+        numSamples = total;
+    }
+
     @Override
     public double getValue() throws NotEnoughSampleException {
         if (numSamples < 2) {
@@ -0,0 +1,295 @@
+package com.microsoft.gctoolkit.online.statistics;
+
+import com.microsoft.gctoolkit.time.DateTimeStamp;
+
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Summarizes a series of values over windows of event time, such as the pause times of each 5 minutes of a log,
+ * or the bytes allocated in each minute. Each window is handed to a listener as soon as it closes, which is when
+ * the first value after its end arrives, or when the series is {@link #flush() flushed} at the end of the log.
+ * <p>
+ * Tumbling windows follow one another. Sliding windows overlap: a window of width {@code w} and step {@code s}
+ * closes every {@code s} seconds and covers the last {@code w}. The windows are aligned to multiples of the step.
+ * The values are kept in a ring of panes, one for each step of a window, so the memory of a series is fixed
+ * however long the log. A window is only handed to the listener if it holds a value, so that a long gap in the
+ * log doesn't produce a run of empty windows.
+ * <p>
+ * With quantiles, each pane has a sketch, and the windows share one more into which the panes are merged. The
+ * sketches are made as they are first needed, and then emptied and used again, so that nothing is allocated
+ * once the ring is full. The sketch of a window is thus only valid while the listener is given the window: a
+ * listener that keeps windows reads their quantiles at once.
+ * <p>
+ * The events of a GC log arrive in time order. A value that arrives after the window it belongs to has been
+ * closed isn't counted, and is reported by {@link #getLateCount()}.
+ * <pre>{@code
+ *     WindowedStatistics pauses = new WindowedStatistics(300.0d, 60.0d, LogHistogram::new,
+ *             window -> System.out.println(window.getEnd() + " p99 " + window.getQuantile(0.99d)));
+ *     ...
+ *     pauses.update(event.getDateTimeStamp(), event.getDuration());
+ * }</pre>
+ */
+public class WindowedStatistics {
+
+    private static final long NO_PANE = Long.MIN_VALUE;
+
+    private final double width;
+    private final double step;
+    private final Supplier<? extends QuantileSketch<?>> sketches;
+    private final Consumer<Window> listener;
+
+    // the panes of the open window, indexed by the pane number modulo the number of panes
+    private final long[] counts;
+    private final double[] sums;
+    private final double[] mins;
+    private final double[] maxs;
+    private final QuantileSketch<?>[] paneSketches;
+    private QuantileSketch<?> windowSketch;
+
+    private long currentPane = NO_PANE;
+    private long retained = 0L;
+    private long late = 0L;
+
+    /**
+     * @param width the width of a window, in seconds
+     * @param listener is given each window as it closes
+     * @return a series of windows that follow one another
+     */
+    public static WindowedStatistics tumbling(double width, Consumer<Window> listener) {
+        return new WindowedStatistics(width, width, null, listener);
+    }
+
+    /**
+     * @param width the width of a window, in seconds
+     * @param step the time from one window to the next, in seconds, which divides the width
+     * @param listener is given each window as it closes
+     * @return a series of overlapping windows
+     */
+    public static WindowedStatistics sliding(double width, double step, Consumer<Window> listener) {
+        return new WindowedStatistics(width, step, null, listener);
+    }
+
+    /**
+     * @param width the width of a window, in seconds
+     * @param step the time from one window to the next, in seconds, which divides the width; the same as
+     *             the width for tumbling windows
+     * @param sketches makes the quantile sketches of the windows, or null if quantiles aren't needed
+     * @param listener is given each window as it closes
+     */
+    public WindowedStatistics(double width, double step, Supplier<? extends QuantileSketch<?>> sketches, Consumer<Window> listener) {
+        if (!(step > 0.0d) || !(width >= step) || Double.isInfinite(width))
+            throw new IllegalArgumentException("The width and step must be positive and finite, the step no more than the width: " + width + ", " + step);
+        double panesPerWindow = width / step;
+        if (Math.abs(panesPerWindow - Math.rint(panesPerWindow)) > 1.0e-9d * panesPerWindow)
+            throw new IllegalArgumentException("The step must divide the width: " + width + ", " + step);
+        this.width = width;
+        this.step = step;
+        this.sketches = sketches;
+        this.listener = listener;
+        int panes = (int) Math.rint(panesPerWindow);
+        counts = new long[panes];
+        sums = new double[panes];
+        mins = new double[panes];
+        maxs = new double[panes];
+        paneSketches = new QuantileSketch<?>[panes];
+        for (int pane = 0; pane < panes; pane++)
+            reset(pane);
+    }
+
+    /**
+     * @param time the time of the value, which is its uptime if it has one, and its date otherwise
+     * @param value the value
+     */
+    public void update(DateTimeStamp time, double value) {
+        update(time.toSeconds(), value);
+    }
+
+    /**
+     * Adds a value to the window of its time, closing the windows that end at or before the time.
+     * @param time the time of the value, in seconds
+     * @param value the value
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void update(double time, double value) {
+        if (Double.isNaN(time) || Double.isNaN(value))
+            throw new IllegalArgumentException("The time and value must be numbers: " + time + ", " + value);
+        long pane = (long) Math.floor(time / step);
+        if (currentPane == NO_PANE) {
+            currentPane = pane;
+        } else if (pane < currentPane) {
+            late++;
+            return;
+        }
+        while (currentPane < pane) {
+            advance();
+            // nothing is left in the ring, so there is nothing to close before the pane of the value
+            if (retained == 0L)
+                currentPane = pane;
+        }
+
+        int slot = slot(currentPane);
+        counts[slot]++;
+        sums[slot] += value;
+        mins[slot] = Math.min(mins[slot], value);
+        maxs[slot] = Math.max(maxs[slot], value);
+        if (sketches != null) {
+            if (paneSketches[slot] == null)
+                paneSketches[slot] = sketches.get();
+            ((QuantileSketch) paneSketches[slot]).update(value);
+        }
+        retained++;
+    }
+
+    /**
+     * Closes the windows that hold values, as at the end of the log. The series starts afresh with the next value.
+     */
+    public void flush() {
+        if (currentPane == NO_PANE)
+            return;
+        while (retained > 0L)
+            advance();
+        currentPane = NO_PANE;
+    }
+
+    /**
+     * @return the number of values that arrived after their window had been closed, and weren't counted
+     */
+    public long getLateCount() {
+        return late;
+    }
+
+    /**
+     * Closes the window that ends with the current pane, and makes room for the next pane.
+     */
+    private void advance() {
+        close();
+        currentPane++;
+        // the oldest pane of the window just closed isn't part of the next window
+        int slot = slot(currentPane);
+        retained -= counts[slot];
+        reset(slot);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private void close() {
+        if (retained == 0L)
+            return;
+        double sum = 0.0d;
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        QuantileSketch sketch = null;
+        if (sketches != null) {
+            if (windowSketch == null)
+                windowSketch = sketches.get();
+            else
+                windowSketch.clear();
+            sketch = windowSketch;
+        }
+        for (int slot = 0; slot < counts.length; slot++) {
+            if (counts[slot] == 0L)
+                continue;
+            sum += sums[slot];
+            min = Math.min(min, mins[slot]);
+            max = Math.max(max, maxs[slot]);
+            if (sketch != null)
+                sketch.merge(paneSketches[slot]);
+        }
+        double end = (currentPane + 1) * step;
+        listener.accept(new Window(end - width, end, retained, sum, min, max, sketch));
+    }
+
+    private void reset(int slot) {
+        counts[slot] = 0L;
+        sums[slot] = 0.0d;
+        mins[slot] = Double.POSITIVE_INFINITY;
+        maxs[slot] = Double.NEGATIVE_INFINITY;
+        if (paneSketches[slot] != null)
+            paneSketches[slot].clear();
+    }
+
+    private int slot(long pane) {
+        return (int) Math.floorMod(pane, (long) counts.length);
+    }
+
+    /**
+     * The summary of the values of a window of time.
+     */
+    public static final class Window {
+        private final double start;
+        private final double end;
+        private final long count;
+        private final double sum;
+        private final double min;
+        private final double max;
+        private final QuantileSketch<?> sketch;
+
+        Window(double start, double end, long count, double sum, double min, double max, QuantileSketch<?> sketch) {
+            this.start = start;
+            this.end = end;
+            this.count = count;
+            this.sum = sum;
+            this.min = min;
+            this.max = max;
+            this.sketch = sketch;
+        }
+
+        /**
+         * @return the time the window starts, in seconds
+         */
+        public double getStart() {
+            return start;
+        }
+
+        /**
+         * @return the time the window ends, in seconds, which isn't part of the window
+         */
+        public double getEnd() {
+            return end;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public double getSum() {
+            return sum;
+        }
+
+        public double getMin() {
+            return min;
+        }
+
+        public double getMax() {
+            return max;
+        }
+
+        public double getMean() {
+            return sum / count;
+        }
+
+        /**
+         * @return the sum of the values per second of the window, such as the allocation rate for the bytes allocated
+         */
+        public double getRate() {
+            return sum / (end - start);
+        }
+
+        /**
+         * @param quantile the quantile, from 0 to 1
+         * @return an estimate of the value at the quantile, which is only valid while the listener is given
+         *         the window
+         * @throws IllegalStateException if the window has no quantile sketch
+         */
+        public double getQuantile(double quantile) {
+            if (sketch == null)
+                throw new IllegalStateException("The window has no quantile sketch");
+            return sketch.getQuantile(quantile);
+        }
+
+        @Override
+        public String toString() {
+            return "[" + start + ", " + end + ") count=" + count + ", sum=" + sum + ", min=" + min + ", max=" + max;
+        }
+    }
+}
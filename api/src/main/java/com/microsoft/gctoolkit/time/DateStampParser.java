@@ -0,0 +1,184 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.time;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Parses the ISO 8601 date stamps found in GC logs, for example 2018-04-04T09:10:00.586-0100,
+ * into milliseconds since the epoch.
+ * <p>
+ * Successive date stamps in a log almost always share the same date, hour and zone. The parser
+ * remembers the epoch offset of the last date, hour and zone it saw and, as long as the next date stamp
+ * has the same prefix, only the minutes, seconds and milliseconds are decoded. When the prefix changes
+ * (once an hour for a healthy log) the epoch offset is derived again. Anything that doesn't fit the
+ * yyyy-MM-dd'T'HH:mm:ss.SSSZ layout is handed to a {@link DateTimeFormatter}.
+ * <p>
+ * The cached prefix is immutable and replaced as a whole, so a single instance may be shared between threads.
+ */
+public final class DateStampParser {
+
+    /**
+     * The length of a yyyy-MM-dd'T'HH:mm:ss.SSSZ date stamp.
+     */
+    public static final int DATE_STAMP_LENGTH = 28;
+
+    // For some reason, ISO_DATE_TIME doesn't like that time-zone is -0100. It wants -01:00.
+    private static final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSZ");
+
+    // 2018-04-04T09:10:00.586-0100
+    // 0123456789012345678901234567
+    private static final int HOUR_END = 13;
+    private static final int ZONE_START = 23;
+
+    private static final class Prefix {
+        private final char[] dateAndHour;
+        private final char[] zone;
+        private final long epochMillisAtHour;
+        private final int zoneOffsetSeconds;
+
+        private Prefix(char[] dateAndHour, char[] zone, long epochMillisAtHour, int zoneOffsetSeconds) {
+            this.dateAndHour = dateAndHour;
+            this.zone = zone;
+            this.epochMillisAtHour = epochMillisAtHour;
+            this.zoneOffsetSeconds = zoneOffsetSeconds;
+        }
+
+        private boolean matches(CharSequence text, int start) {
+            for (int i = 0; i < dateAndHour.length; i++)
+                if (text.charAt(start + i) != dateAndHour[i])
+                    return false;
+            for (int i = 0; i < zone.length; i++)
+                if (text.charAt(start + ZONE_START + i) != zone[i])
+                    return false;
+            return true;
+        }
+    }
+
+    private volatile Prefix last;
+
+    public DateStampParser() {}
+
+    /**
+     * @param text text containing a date stamp
+     * @param start index of the first character of the date stamp
+     * @param end index following the last character of the date stamp
+     * @return the date stamp in milliseconds since the epoch
+     * @throws java.time.DateTimeException if the text isn't a valid date stamp
+     */
+    public long toEpochMillis(CharSequence text, int start, int end) {
+        Prefix prefix = prefix(text, start, end);
+        if (prefix == null)
+            return parseSlowly(text, start, end).toInstant().toEpochMilli();
+        return prefix.epochMillisAtHour
+                + digits(text, start + 14, 2) * 60_000L
+                + digits(text, start + 17, 2) * 1_000L
+                + digits(text, start + 20, 3);
+    }
+
+    /**
+     * @param text text containing a date stamp
+     * @param start index of the first character of the date stamp
+     * @param end index following the last character of the date stamp
+     * @return the offset of the date stamp's time zone from UTC, in seconds
+     * @throws java.time.DateTimeException if the text isn't a valid date stamp
+     */
+    public int zoneOffsetSeconds(CharSequence text, int start, int end) {
+        Prefix prefix = prefix(text, start, end);
+        if (prefix == null)
+            return parseSlowly(text, start, end).getOffset().getTotalSeconds();
+        return prefix.zoneOffsetSeconds;
+    }
+
+    /**
+     * Convenience for {@link #toEpochMillis(CharSequence, int, int)} over the whole of {@code dateStamp}.
+     * @param dateStamp a date stamp
+     * @return the date stamp in milliseconds since the epoch
+     */
+    public long toEpochMillis(CharSequence dateStamp) {
+        return toEpochMillis(dateStamp, 0, dateStamp.length());
+    }
+
+    /**
+     * Convenience for {@link #zoneOffsetSeconds(CharSequence, int, int)} over the whole of {@code dateStamp}.
+     * @param dateStamp a date stamp
+     * @return the offset of the date stamp's time zone from UTC, in seconds
+     */
+    public int zoneOffsetSeconds(CharSequence dateStamp) {
+        return zoneOffsetSeconds(dateStamp, 0, dateStamp.length());
+    }
+
+    /**
+     * @return the cached prefix for the date stamp, or {@code null} if the date stamp needs to go through the DateTimeFormatter
+     */
+    private Prefix prefix(CharSequence text, int start, int end) {
+        if (!hasExpectedLayout(text, start, end))
+            return null;
+        Prefix prefix = last;
+        if (prefix != null && prefix.matches(text, start))
+            return prefix;
+
+        char[] dateAndHour = new char[HOUR_END];
+        for (int i = 0; i < dateAndHour.length; i++)
+            dateAndHour[i] = text.charAt(start + i);
+        char[] zone = new char[DATE_STAMP_LENGTH - ZONE_START];
+        for (int i = 0; i < zone.length; i++)
+            zone[i] = text.charAt(start + ZONE_START + i);
+
+        int zoneOffsetSeconds = digits(text, start + 24, 2) * 3600 + digits(text, start + 26, 2) * 60;
+        if (zone[0] == '-')
+            zoneOffsetSeconds = -zoneOffsetSeconds;
+        LocalDateTime hour = LocalDateTime.of(digits(text, start, 4), digits(text, start + 5, 2), digits(text, start + 8, 2), digits(text, start + 11, 2), 0);
+        long epochMillisAtHour = (hour.toEpochSecond(ZoneOffset.UTC) - zoneOffsetSeconds) * 1000L;
+
+        prefix = new Prefix(dateAndHour, zone, epochMillisAtHour, zoneOffsetSeconds);
+        last = prefix;
+        return prefix;
+    }
+
+    private static boolean hasExpectedLayout(CharSequence text, int start, int end) {
+        if (end - start != DATE_STAMP_LENGTH)
+            return false;
+        for (int i = 0; i < DATE_STAMP_LENGTH; i++) {
+            char c = text.charAt(start + i);
+            switch (i) {
+                case 4:
+                case 7:
+                    if (c != '-') return false;
+                    break;
+                case 10:
+                    if (c != 'T') return false;
+                    break;
+                case 13:
+                case 16:
+                    if (c != ':') return false;
+                    break;
+                case 19:
+                    if (c != '.') return false;
+                    break;
+                case ZONE_START:
+                    if (c != '+' && c != '-') return false;
+                    break;
+                default:
+                    if (c < '0' || c > '9') return false;
+            }
+        }
+        // leave out of range minutes, seconds and zones for the DateTimeFormatter to report
+        return digits(text, start + 14, 2) < 60 && digits(text, start + 17, 2) < 60
+                && digits(text, start + 24, 2) <= 18 && digits(text, start + 26, 2) < 60;
+    }
+
+    private static int digits(CharSequence text, int start, int count) {
+        int value = 0;
+        for (int i = start; i < start + count; i++)
+            value = value * 10 + (text.charAt(i) - '0');
+        return value;
+    }
+
+    private static ZonedDateTime parseSlowly(CharSequence text, int start, int end) {
+        return ZonedDateTime.from(formatter.parse(text.subSequence(start, end)));
+    }
+}
@@ -4,12 +4,10 @@ package com.microsoft.gctoolkit.time;
 
 import java.time.Instant;
 import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
-import java.time.chrono.ChronoZonedDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.Comparator;
 import java.util.Locale;
-import java.util.Objects;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -23,6 +21,11 @@ import static java.util.Comparator.*;
  * <p>
  * Instance of DateTimeStamp are created by the parser. The constructors match what might be
  * found for dates and time stamps in a GC log file.
+ * <p>
+ * Every event holds a DateTimeStamp, so the representation is kept compact. The date stamp is held as
+ * milliseconds since the epoch plus the offset of its time zone, and the time stamp as microseconds.
+ * The ZonedDateTime returned by {@link #getDateTime()} is created on demand. Arithmetic and comparisons
+ * work on the primitive values.
  */
 
 public class DateTimeStamp implements Comparable<DateTimeStamp> {
@@ -39,17 +42,31 @@ public class DateTimeStamp implements Comparable<DateTimeStamp> {
     //      - use NaN to say it's not set
     public final static double TIMESTAMP_NOT_SET = Double.NaN;
     public final static ZonedDateTime EPOC = ZonedDateTime.ofInstant(Instant.EPOCH, ZoneId.of("GMT"));
-    private final ZonedDateTime dateTime;
-    private final double timeStamp;
+    // sentinels for the primitive fields, EPOC is held as 0 milliseconds with a zone offset of 0
+    private static final long NO_DATE_STAMP = Long.MIN_VALUE;
+    private static final long NO_TIME_STAMP = Long.MIN_VALUE;
+    private final long epochMillis;
+    private final int zoneOffsetSeconds;
+    private final long uptimeMicros;
     public static final Comparator<DateTimeStamp> comparator = getComparator();
 
-    // For some reason, ISO_DATE_TIME doesn't like that time-zone is -0100. It wants -01:00.
-    private static final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSZ");
+    // Successive date stamps share the same date, hour and zone, the parser caches the epoch offset of that prefix.
+    private static final DateStampParser dateStampParser = new DateStampParser();
 
-    private static ZonedDateTime dateFromString(String iso8601DateTime) {
-        if (iso8601DateTime == null)
-            return null;
-        return ZonedDateTime.from(formatter.parse(iso8601DateTime));
+    private static long epochMillisFromString(String iso8601DateTime) {
+        return (iso8601DateTime == null) ? NO_DATE_STAMP : dateStampParser.toEpochMillis(iso8601DateTime);
+    }
+
+    private static int zoneOffsetFromString(String iso8601DateTime) {
+        return (iso8601DateTime == null) ? 0 : dateStampParser.zoneOffsetSeconds(iso8601DateTime);
+    }
+
+    private static long epochMillisOf(ZonedDateTime dateTime) {
+        return (dateTime == null) ? NO_DATE_STAMP : dateTime.toInstant().toEpochMilli();
+    }
+
+    private static int zoneOffsetOf(ZonedDateTime dateTime) {
+        return (dateTime == null) ? 0 : dateTime.getOffset().getTotalSeconds();
     }
 
     private static double ageFromString(String doubleFormat) {
@@ -93,9 +110,14 @@ public class DateTimeStamp implements Comparable<DateTimeStamp> {
             ageCaptureGroup = 2;
         }
 
-        if ( matcher.find())
-            return new DateTimeStamp(dateFromString(matcher.group(dateCaptureGroup)), ageFromString(matcher.group(ageCaptureGroup)));
-        else
+        if ( matcher.find()) {
+            double age = ageFromString(matcher.group(ageCaptureGroup));
+            int start = matcher.start(dateCaptureGroup);
+            if (start < 0)
+                return new DateTimeStamp(age);
+            int end = matcher.end(dateCaptureGroup);
+            return new DateTimeStamp(dateStampParser.toEpochMillis(line, start, end), dateStampParser.zoneOffsetSeconds(line, start, end), age);
+        } else
             return EMPTY_DATE;
     }
 
@@ -112,7 +134,7 @@ public class DateTimeStamp implements Comparable<DateTimeStamp> {
      * @param iso8601DateTime A String in ISO 8601 format.
      */
     public DateTimeStamp(String iso8601DateTime) {
-        this(dateFromString(iso8601DateTime));
+        this(iso8601DateTime, TIMESTAMP_NOT_SET);
     }
 
     /**
@@ -130,7 +152,28 @@ public class DateTimeStamp implements Comparable<DateTimeStamp> {
      * @param timeStamp A time stamp in decimal seconds.
      */
     public DateTimeStamp(String iso8601DateTime, double timeStamp) {
-        this(dateFromString(iso8601DateTime), timeStamp);
+        this(epochMillisFromString(iso8601DateTime), zoneOffsetFromString(iso8601DateTime), timeStamp);
+    }
+
+    /**
+     * Create a DateTimeStamp from a date stamp, expressed as milliseconds since the epoch
+     * and the offset of its time zone, and a time stamp.
+     * All other constructors end up here. If timeStamp is
+     * {@code NaN} or less than zero, then the time stamp is extracted
+     * from the date stamp.
+     * @param epochMillis The date stamp in milliseconds since the epoch.
+     * @param zoneOffsetSeconds The offset of the date stamp's time zone from UTC, in seconds.
+     * @param timeStamp A time stamp in decimal seconds,
+     *                  which should be greater than or equal to zero.
+     */
+    public DateTimeStamp(long epochMillis, int zoneOffsetSeconds, double timeStamp) {
+        this.epochMillis = epochMillis;
+        this.zoneOffsetSeconds = (epochMillis == NO_DATE_STAMP) ? 0 : zoneOffsetSeconds;
+        if ( (timeStamp < 0.00d) || Double.isNaN(timeStamp))
+            this.uptimeMicros = NO_TIME_STAMP;
+        else
+            // the time stamps in the log have 3 significant digits after the decimal. This corrects for that.
+            this.uptimeMicros = Math.round(timeStamp * 1000.0d) * 1000L;
     }
 
     /**
@@ -138,25 +181,20 @@ public class DateTimeStamp implements Comparable<DateTimeStamp> {
      * @param timeStamp A time stamp in decimal seconds.
      */
     public DateTimeStamp(double timeStamp) {
-        this((ZonedDateTime) null,timeStamp);
+        this(NO_DATE_STAMP, 0, timeStamp);
     }
 
     /**
      * Create a DateTimeStamp from a ZonedDateTime and a timestamp.
-     * All other constructors end up here. If timeStamp is
-     * {@code NaN} or less than zero, then the time stamp is extracted
-     * from the ZonedDateTime.
+     * If timeStamp is {@code NaN} or less than zero, then the time stamp
+     * is extracted from the ZonedDateTime. The date stamp is kept to
+     * millisecond precision and its zone is reduced to an offset.
      * @param dateTime A ZonedDateTime, which may be {@code null}.
      * @param timeStamp A time stamp in decimal seconds,
      *                  which should be greater than or equal to zero.
      */
     public DateTimeStamp(ZonedDateTime dateTime, double timeStamp) {
-        this.dateTime = dateTime;
-        if ( (timeStamp < 0.00d) || Double.isNaN(timeStamp))
-            this.timeStamp = TIMESTAMP_NOT_SET;
-        else
-            // the time stamps in the log have 3 significant digits after the decimal. This corrects for that.
-            this.timeStamp = Math.round(timeStamp * 1000.0d) / 1000.0d;
+        this(epochMillisOf(dateTime), zoneOffsetOf(dateTime), timeStamp);
     }
 
     /**
@@ -167,13 +205,13 @@ public class DateTimeStamp implements Comparable<DateTimeStamp> {
     public double getTimeStamp() {
         if (!hasTimeStamp())
             return toEpochInMillis();
-        return timeStamp;
+        return uptimeMicros / 1_000_000.0d;
     }
 
     public double toMilliseconds() {
         if (!hasTimeStamp())
             return toEpochInMillis();
-        return timeStamp * 1000.0d;
+        return uptimeMicros / 1_000.0d;
     }
 
     public double toSeconds() {
@@ -181,11 +219,20 @@ public class DateTimeStamp implements Comparable<DateTimeStamp> {
     }
 
     /**
-     * Return the date stamp.
+     * Return the date stamp. The ZonedDateTime is created on each call, prefer the
+     * primitive accessors where they will do.
      * @return The date stamp, which may be {@code null}
      */
     public ZonedDateTime getDateTime() {
-        return dateTime;
+        if (epochMillis == NO_DATE_STAMP)
+            return null;
+        if (isEpoc())
+            return EPOC;
+        return ZonedDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneOffset.ofTotalSeconds(zoneOffsetSeconds));
+    }
+
+    private boolean isEpoc() {
+        return epochMillis == 0L && zoneOffsetSeconds == 0;
     }
 
     /**
@@ -194,11 +241,19 @@ public class DateTimeStamp implements Comparable<DateTimeStamp> {
      * @return {@code true} if the date stamp is not {@code null}.
      */
     public boolean hasDateStamp() {
-        return ! (getDateTime() == null || EPOC.equals(getDateTime()));
+        return ! (epochMillis == NO_DATE_STAMP || isEpoc());
     }
 
     public boolean hasTimeStamp() {
-        return ! Double.isNaN(timeStamp);
+        return uptimeMicros != NO_TIME_STAMP;
+    }
+
+    /**
+     * Return the offset of the date stamp's time zone from UTC.
+     * @return The offset in seconds, 0 if there is no date stamp.
+     */
+    public int getZoneOffsetSeconds() {
+        return zoneOffsetSeconds;
     }
 
     @Override
@@ -206,7 +261,8 @@ public class DateTimeStamp implements Comparable<DateTimeStamp> {
         if (obj instanceof DateTimeStamp) {
             DateTimeStamp other = (DateTimeStamp) obj;
             if (this.hasDateStamp())
-                return this.getDateTime().equals(other.getDateTime()) &&
+                return this.epochMillis == other.epochMillis &&
+                        this.zoneOffsetSeconds == other.zoneOffsetSeconds &&
                         (this.getTimeStamp() == other.getTimeStamp());
             else
                 return getTimeStamp() == other.getTimeStamp();
@@ -216,7 +272,9 @@ public class DateTimeStamp implements Comparable<DateTimeStamp> {
 
     @Override
     public int hashCode() {
-        return Objects.hash(getDateTime(), getTimeStamp());
+        int hash = Long.hashCode(epochMillis);
+        hash = 31 * hash + zoneOffsetSeconds;
+        return 31 * hash + Double.hashCode(getTimeStamp());
     }
 
     @Override
@@ -257,9 +315,10 @@ public class DateTimeStamp implements Comparable<DateTimeStamp> {
      */
     public int compare(ZonedDateTime otherDate) {
         if (hasDateStamp() && otherDate != null) {
-            if (getDateTime().isAfter(otherDate)) return 1;
-            if (getDateTime().isBefore(otherDate)) return -1;
-            return 0;
+            int comparison = Long.compare(Math.floorDiv(epochMillis, 1000L), otherDate.toEpochSecond());
+            if (comparison == 0)
+                comparison = Integer.compare((int) Math.floorMod(epochMillis, 1000L) * 1_000_000, otherDate.getNano());
+            return Integer.signum(comparison);
         } else {
             throw new IllegalStateException("One or more DateStamp is missing");
         }
@@ -276,19 +335,18 @@ public class DateTimeStamp implements Comparable<DateTimeStamp> {
             throw new IllegalArgumentException("Cannot add " + Double.NaN);
 
         double adjustedTimeStamp = Double.NaN;
-        ZonedDateTime adjustedDateStamp = null;
+        long adjustedDateStamp = NO_DATE_STAMP;
         if ( hasTimeStamp()) {
             adjustedTimeStamp = getTimeStamp() + offsetInDecimalSeconds;
         }
 
         if (hasDateStamp()) {
-            double offset = (Double.isNaN(offsetInDecimalSeconds)) ? 0.000d : offsetInDecimalSeconds;
-            int seconds = (int) offset;
-            long nanos = ((long) ((offset % 1) * 1_000L)) * 1_000_000L;
-            adjustedDateStamp = dateTime.plusSeconds(seconds).plusNanos(nanos);
+            long seconds = (long) offsetInDecimalSeconds;
+            long millis = (long) ((offsetInDecimalSeconds % 1) * 1_000L);
+            adjustedDateStamp = epochMillis + seconds * 1_000L + millis;
         }
 
-        return new DateTimeStamp(adjustedDateStamp, adjustedTimeStamp);
+        return new DateTimeStamp(adjustedDateStamp, zoneOffsetSeconds, adjustedTimeStamp);
     }
 
     /**
@@ -311,11 +369,8 @@ public class DateTimeStamp implements Comparable<DateTimeStamp> {
     public double minus(DateTimeStamp other) {
         if (hasTimeStamp() && other.hasTimeStamp())
             return getTimeStamp() - other.getTimeStamp();
-        if (hasDateStamp() && other.hasDateStamp()) {
-            double thisInSeconds = (double)getDateTime().toEpochSecond() + ((double)(getDateTime().getNano() / 1_000_000)) / 1000.0d;
-            double otherInSeconds = (double)other.getDateTime().toEpochSecond() + ((double)(other.getDateTime().getNano() / 1_000_000)) / 1000.0d;
-            return thisInSeconds - otherInSeconds;
-        }
+        if (hasDateStamp() && other.hasDateStamp())
+            return (epochMillis - other.epochMillis) / 1000.0d;
         return Double.NaN;
     }
 
@@ -341,26 +396,25 @@ public class DateTimeStamp implements Comparable<DateTimeStamp> {
     }
 
     private static  Comparator<DateTimeStamp> getComparator(){
-        // compare with dateTime field, if null then it will go to last
+        // compare with date stamp, if null then it will go to last
         // need a check to make sure these are comparable
-        return nullsLast((o1, o2) -> {
-            Comparator<DateTimeStamp> dateTimeStampComparator = compareDateTimeStamp(o1, o2);
-            return dateTimeStampComparator.compare(o1,o2);
-        });
+        return nullsLast(DateTimeStamp::compareDateTimeStamp);
     }
 
-    private static Comparator<DateTimeStamp> compareDateTimeStamp(DateTimeStamp o1, DateTimeStamp o2) {
+    private static int compareDateTimeStamp(DateTimeStamp o1, DateTimeStamp o2) {
         if (o1.hasTimeStamp() && o2.hasTimeStamp())
-            return comparingDouble(DateTimeStamp::getTimeStamp);
-        else if (o1.hasDateStamp() && o2.hasDateStamp())
-            return comparing(DateTimeStamp::getDateTime, ChronoZonedDateTime::compareTo);
-        else
+            return Double.compare(o1.getTimeStamp(), o2.getTimeStamp());
+        else if (o1.hasDateStamp() && o2.hasDateStamp()) {
+            // same ordering as ZonedDateTime, by instant and then by local time
+            int comparison = Long.compare(o1.epochMillis, o2.epochMillis);
+            return (comparison != 0) ? comparison : Integer.compare(o1.zoneOffsetSeconds, o2.zoneOffsetSeconds);
+        } else
             throw new IllegalStateException("DateTimeStamp parameters cannot be compared as either timestamp or datestamp must be set in both instances.");
     }
 
     public double toEpochInMillis() {
-        if ( dateTime != null) {
-            return (double)(dateTime.toEpochSecond() * 1000) + (((double)dateTime.getNano()) / 1_000_000.0d);
+        if ( epochMillis != NO_DATE_STAMP) {
+            return (double) epochMillis;
         }
         return Double.NaN;
     }
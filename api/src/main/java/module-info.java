@@ -42,6 +42,7 @@ module com.microsoft.gctoolkit.api {
     exports com.microsoft.gctoolkit.event.zgc;
     exports com.microsoft.gctoolkit.io;
     exports com.microsoft.gctoolkit.jvm;
+    exports com.microsoft.gctoolkit.online.statistics;
     exports com.microsoft.gctoolkit.time;
     exports com.microsoft.gctoolkit.message;
 
@@ -53,6 +54,7 @@ module com.microsoft.gctoolkit.api {
     uses com.microsoft.gctoolkit.message.DataSourceChannelListener;
     uses com.microsoft.gctoolkit.message.JVMEventChannel;
     uses com.microsoft.gctoolkit.message.JVMEventChannelListener;
+    uses com.microsoft.gctoolkit.message.LogRecordDecoder;
 
     // todo: no need to load with SPI
     provides com.microsoft.gctoolkit.jvm.JavaVirtualMachine with
@@ -0,0 +1,45 @@
+package com.microsoft.gctoolkit.aggregator;
+
+import com.microsoft.gctoolkit.event.GCCause;
+import com.microsoft.gctoolkit.event.g1gc.G1Cleanup;
+import com.microsoft.gctoolkit.event.g1gc.G1RealPause;
+import com.microsoft.gctoolkit.event.g1gc.G1Young;
+import com.microsoft.gctoolkit.event.g1gc.G1YoungInitialMark;
+import com.microsoft.gctoolkit.event.jvm.ApplicationStoppedTime;
+import com.microsoft.gctoolkit.event.jvm.JVMEvent;
+import com.microsoft.gctoolkit.time.DateTimeStamp;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JVMEventDispatcherTest {
+
+    private final DateTimeStamp now = new DateTimeStamp(1.0d);
+    private final List<String> received = new ArrayList<>();
+
+    @Test
+    void mostSpecificConsumerOnly() {
+        JVMEventDispatcher dispatcher = new JVMEventDispatcher();
+        dispatcher.register(G1RealPause.class, event -> received.add("pause"));
+        dispatcher.register(G1Young.class, event -> received.add("young"));
+        dispatcher.dispatch(new G1Young(now, GCCause.G1_EVACUATION_PAUSE, 0.01d));
+        dispatcher.dispatch(new G1YoungInitialMark(now, GCCause.G1_EVACUATION_PAUSE, 0.01d));
+        dispatcher.dispatch(new G1Cleanup(now, 0.001d));
+        dispatcher.dispatch(new ApplicationStoppedTime(now, 0.01d, true));
+        assertEquals(List.of("young", "young", "pause"), received);
+    }
+
+    @Test
+    void registeringAfterDispatching() {
+        JVMEventDispatcher dispatcher = new JVMEventDispatcher();
+        dispatcher.register(JVMEvent.class, event -> received.add("event"));
+        G1Cleanup cleanup = new G1Cleanup(now, 0.001d);
+        dispatcher.dispatch(cleanup);
+        dispatcher.register(G1Cleanup.class, event -> received.add("cleanup"));
+        dispatcher.dispatch(cleanup);
+        assertEquals(List.of("event", "cleanup"), received);
+    }
+}
@@ -0,0 +1,68 @@
+package com.microsoft.gctoolkit.aggregator;
+
+import com.microsoft.gctoolkit.time.DateTimeStamp;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MergeableAggregationTest {
+
+    static class Total extends Aggregation implements MergeableAggregation<Total> {
+        double total;
+
+        Total(double first, double termination, double total) {
+            timeOfFirstEvent(new DateTimeStamp(first));
+            timeOfTerminationEvent(new DateTimeStamp(termination));
+            this.total = total;
+        }
+
+        @Override
+        public void merge(Total other) {
+            mergeTimeSpan(other);
+            total += other.total;
+        }
+
+        @Override
+        public boolean hasWarning() {
+            return false;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return false;
+        }
+    }
+
+    @Test
+    void timeSpanCoversBothShards() {
+        Total first = new Total(1.0d, 10.0d, 2.0d);
+        first.merge(new Total(10.5d, 20.0d, 3.0d));
+        assertEquals(new DateTimeStamp(1.0d), first.timeOfFirstEvent());
+        assertEquals(new DateTimeStamp(20.0d), first.timeOfTerminationEvent());
+        assertEquals(5.0d, first.total);
+    }
+
+    @Test
+    void mergeIsAssociative() {
+        Total left = new Total(1.0d, 10.0d, 2.0d);
+        left.merge(new Total(10.5d, 20.0d, 3.0d));
+        left.merge(new Total(20.5d, 30.0d, 4.0d));
+
+        Total later = new Total(10.5d, 20.0d, 3.0d);
+        later.merge(new Total(20.5d, 30.0d, 4.0d));
+        Total right = new Total(1.0d, 10.0d, 2.0d);
+        right.merge(later);
+
+        assertEquals(left.timeOfFirstEvent(), right.timeOfFirstEvent());
+        assertEquals(left.timeOfTerminationEvent(), right.timeOfTerminationEvent());
+        assertEquals(left.total, right.total);
+    }
+
+    @Test
+    void earlierShardMergedLater() {
+        Total later = new Total(10.5d, 20.0d, 3.0d);
+        later.merge(new Total(1.0d, 10.0d, 2.0d));
+        assertEquals(new DateTimeStamp(1.0d), later.timeOfFirstEvent());
+        assertEquals(new DateTimeStamp(20.0d), later.timeOfTerminationEvent());
+    }
+}
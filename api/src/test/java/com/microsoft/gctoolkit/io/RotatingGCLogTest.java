@@ -1,12 +1,20 @@
 package com.microsoft.gctoolkit.io;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 public class RotatingGCLogTest {
@@ -23,4 +31,31 @@ public class RotatingGCLogTest {
             fail(ioe);
         }
     }
+
+    @Test
+    void segmentsStreamTheLinesOfTheLog(@TempDir Path directory) throws IOException {
+        Path log = directory.resolve("gc.log");
+        Files.write(log, List.of("[1.000s][info][gc] Using G1", "", "  [1.500s][info][gc] GC(0) Pause Young  ", "   ", "[2.000s][info][gc] GC(1) Pause Young"));
+        RotatingGCLogFile file = new RotatingGCLogFile(log);
+        List<String> lines;
+        try (Stream<String> stream = file.stream()) {
+            lines = stream.collect(Collectors.toList());
+        }
+        assertEquals(4, lines.size());
+        assertEquals("[1.500s][info][gc] GC(0) Pause Young", lines.get(1));
+        assertEquals(file.endOfData(), lines.get(3));
+        assertEquals(lines.subList(0, 3), file.segments().flatMap(LogFileSegment::lines).collect(Collectors.toList()));
+    }
+
+    @Test
+    void compressedLogHasNoSegments(@TempDir Path directory) throws IOException {
+        Path log = directory.resolve("gc.log.0.gz");
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(log))) {
+            out.write("[1.000s][info][gc] Using G1\n".getBytes());
+        }
+        RotatingGCLogFile file = new RotatingGCLogFile(log);
+        assertTrue(file.getMetaData().isGZip());
+        assertEquals(0L, file.segments().count());
+        assertEquals(List.of(file.endOfData()), file.stream().collect(Collectors.toList()));
+    }
 }
@@ -0,0 +1,63 @@
+package com.microsoft.gctoolkit.message;
+
+import com.microsoft.gctoolkit.aggregator.Aggregation;
+import com.microsoft.gctoolkit.aggregator.Aggregator;
+import com.microsoft.gctoolkit.aggregator.EventSource;
+import com.microsoft.gctoolkit.event.GCCause;
+import com.microsoft.gctoolkit.event.g1gc.G1Cleanup;
+import com.microsoft.gctoolkit.event.g1gc.G1Young;
+import com.microsoft.gctoolkit.time.DateTimeStamp;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JVMEventChannelAggregatorGroupTest {
+
+    private final DateTimeStamp now = new DateTimeStamp(1.0d);
+    private final List<String> received = new ArrayList<>();
+
+    private static class NoAggregation extends Aggregation {
+        @Override
+        public boolean hasWarning() {
+            return false;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return false;
+        }
+    }
+
+    private class YoungAggregator extends Aggregator<NoAggregation> {
+        YoungAggregator(String name) {
+            super(new NoAggregation());
+            register(G1Young.class, event -> received.add(name));
+        }
+    }
+
+    private class FailingAggregator extends Aggregator<NoAggregation> {
+        FailingAggregator() {
+            super(new NoAggregation());
+            register(G1Young.class, event -> {
+                throw new IllegalStateException();
+            });
+        }
+    }
+
+    private JVMEventChannelAggregator listener(Aggregator<?> aggregator) {
+        return new JVMEventChannelAggregator(EventSource.G1GC.toChannel(), aggregator, true);
+    }
+
+    @Test
+    void everyAggregatorReceivesTheEvent() {
+        JVMEventChannelAggregatorGroup group = new JVMEventChannelAggregatorGroup(EventSource.G1GC.toChannel(),
+                List.of(listener(new YoungAggregator("first")), listener(new FailingAggregator()), listener(new YoungAggregator("second"))));
+        assertEquals(EventSource.G1GC.toChannel(), group.channel());
+        group.receive(new G1Young(now, GCCause.G1_EVACUATION_PAUSE, 0.01d));
+        group.receive(new G1Cleanup(now, 0.001d));
+        assertEquals(List.of("first", "second"), received);
+    }
+}
@@ -0,0 +1,53 @@
+package com.microsoft.gctoolkit.message;
+
+import com.microsoft.gctoolkit.aggregator.Aggregation;
+import com.microsoft.gctoolkit.aggregator.Aggregator;
+import com.microsoft.gctoolkit.aggregator.EventSource;
+import com.microsoft.gctoolkit.event.GCCause;
+import com.microsoft.gctoolkit.event.g1gc.G1Cleanup;
+import com.microsoft.gctoolkit.event.g1gc.G1Young;
+import com.microsoft.gctoolkit.event.g1gc.G1YoungInitialMark;
+import com.microsoft.gctoolkit.event.jvm.JVMTermination;
+import com.microsoft.gctoolkit.time.DateTimeStamp;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JVMEventChannelAggregatorTest {
+
+    private final DateTimeStamp now = new DateTimeStamp(1.0d);
+
+    private static class YoungAggregation extends Aggregation {
+        @Override
+        public boolean hasWarning() {
+            return false;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return false;
+        }
+    }
+
+    private static class YoungAggregator extends Aggregator<YoungAggregation> {
+        YoungAggregator() {
+            super(new YoungAggregation());
+            register(G1Young.class, event -> {});
+        }
+    }
+
+    @Test
+    void routeByEventClass() {
+        JVMEventChannelAggregator listener = new JVMEventChannelAggregator(EventSource.G1GC.toChannel(), new YoungAggregator(), true);
+        assertTrue(listener.accepts(new G1Young(now, GCCause.G1_EVACUATION_PAUSE, 0.01d)));
+        assertTrue(listener.accepts(new G1YoungInitialMark(now, GCCause.G1_EVACUATION_PAUSE, 0.01d)));
+        assertTrue(listener.accepts(new JVMTermination(now, now)));
+        assertFalse(listener.accepts(new G1Cleanup(now, 0.001d)));
+    }
+
+    @Test
+    void routeByEventSource() {
+        JVMEventChannelAggregator listener = new JVMEventChannelAggregator(EventSource.G1GC.toChannel(), new YoungAggregator());
+        assertTrue(listener.accepts(new G1Cleanup(now, 0.001d)));
+    }
+}
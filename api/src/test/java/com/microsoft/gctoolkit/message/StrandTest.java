@@ -0,0 +1,66 @@
+package com.microsoft.gctoolkit.message;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StrandTest {
+
+    @Test
+    void tasksRunInOrderOneAtATime() throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            Strand strand = new Strand(pool);
+            List<Integer> ran = new ArrayList<>();
+            AtomicInteger running = new AtomicInteger();
+            CountDownLatch done = new CountDownLatch(1);
+            for (int task = 0; task < 10_000; task++) {
+                int number = task;
+                strand.execute(() -> {
+                    assertEquals(1, running.incrementAndGet());
+                    ran.add(number);
+                    running.decrementAndGet();
+                });
+            }
+            strand.execute(() -> { throw new IllegalStateException(); });
+            strand.execute(done::countDown);
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+            assertEquals(10_000, ran.size());
+            for (int task = 0; task < ran.size(); task++)
+                assertEquals(task, ran.get(task));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void strandsRunInParallel() throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            CountDownLatch bothStarted = new CountDownLatch(2);
+            CountDownLatch done = new CountDownLatch(2);
+            for (int strand = 0; strand < 2; strand++) {
+                new Strand(pool).execute(() -> {
+                    bothStarted.countDown();
+                    try {
+                        if (bothStarted.await(10, TimeUnit.SECONDS))
+                            done.countDown();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            }
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.microsoft.gctoolkit.online.statistics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogHistogramTest {
+
+    @Test
+    void empty() {
+        LogHistogram histogram = new LogHistogram();
+        assertEquals(0L, histogram.getCount());
+        assertThrows(NotEnoughSampleException.class, () -> histogram.getQuantile(0.99d));
+    }
+
+    @Test
+    void relativePrecision() {
+        double[] pauses = TDigestTest.pauses(200_000, 42L);
+        LogHistogram histogram = new LogHistogram();
+        for (double pause : pauses)
+            histogram.update(pause);
+        Arrays.sort(pauses);
+        assertEquals(pauses[0], histogram.getQuantile(0.0d));
+        assertEquals(pauses[pauses.length - 1], histogram.getQuantile(1.0d));
+        for (double quantile : new double[] { 0.5d, 0.9d, 0.99d, 0.999d }) {
+            double exact = pauses[(int) Math.ceil(quantile * pauses.length) - 1];
+            assertEquals(exact, histogram.getQuantile(quantile), exact * 0.01d, "p" + quantile * 100.0d);
+        }
+    }
+
+    @Test
+    void outOfRange() {
+        LogHistogram histogram = new LogHistogram(0.001d, 1.0d, 2);
+        histogram.update(0.0d);
+        histogram.update(5.0d);
+        assertEquals(0.0d, histogram.getQuantile(0.5d));
+        assertEquals(5.0d, histogram.getQuantile(1.0d));
+    }
+
+    @Test
+    void mergeIsExact() {
+        double[] pauses = TDigestTest.pauses(10_000, 7L);
+        LogHistogram all = new LogHistogram();
+        LogHistogram first = new LogHistogram();
+        LogHistogram second = new LogHistogram();
+        for (int i = 0; i < pauses.length; i++) {
+            all.update(pauses[i]);
+            (i % 2 == 0 ? first : second).update(pauses[i]);
+        }
+        first.merge(second);
+        assertEquals(all.getCount(), first.getCount());
+        for (double quantile : new double[] { 0.1d, 0.5d, 0.99d })
+            assertEquals(all.getQuantile(quantile), first.getQuantile(quantile));
+        assertThrows(IllegalArgumentException.class, () -> first.merge(new LogHistogram(1.0e-6d, 1.0e6d, 3)));
+    }
+
+    @Test
+    void clear() {
+        LogHistogram histogram = new LogHistogram();
+        for (double pause : TDigestTest.pauses(2_000, 3L))
+            histogram.update(pause);
+        histogram.clear();
+        assertEquals(0L, histogram.getCount());
+        assertThrows(NotEnoughSampleException.class, () -> histogram.getQuantile(0.5d));
+        histogram.update(0.25d);
+        assertEquals(0.25d, histogram.getMin());
+        assertEquals(0.25d, histogram.getQuantile(0.99d));
+    }
+}
@@ -0,0 +1,115 @@
+package com.microsoft.gctoolkit.online.statistics;
+
+import com.microsoft.gctoolkit.online.statistics.RollupSeries.Resolution;
+import com.microsoft.gctoolkit.online.statistics.WindowedStatistics.Window;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RollupSeriesTest {
+
+    private static final double DAY = 86_400.0d;
+
+    @Test
+    void everyResolutionIsFilled() {
+        RollupSeries series = new RollupSeries();
+        series.update(0.5d, 1.0d);
+        series.update(0.7d, 3.0d);
+        series.update(61.0d, 5.0d);
+
+        List<Window> seconds = series.query(Resolution.SECOND, 0.0d, 120.0d);
+        assertEquals(2, seconds.size());
+        assertEquals(2L, seconds.get(0).getCount());
+        assertEquals(4.0d, seconds.get(0).getSum());
+        assertEquals(61.0d, seconds.get(1).getStart());
+
+        List<Window> minutes = series.query(Resolution.MINUTE, 0.0d, 120.0d);
+        assertEquals(2, minutes.size());
+        assertEquals(0.0d, minutes.get(0).getStart());
+        assertEquals(60.0d, minutes.get(0).getEnd());
+
+        List<Window> days = series.query(Resolution.DAY, 0.0d, DAY);
+        assertEquals(1, days.size());
+        assertEquals(3L, days.get(0).getCount());
+        assertEquals(1.0d, days.get(0).getMin());
+        assertEquals(5.0d, days.get(0).getMax());
+    }
+
+    @Test
+    void resolutionFitsTheBudget() {
+        RollupSeries series = new RollupSeries();
+        for (double time = 0.0d; time < 30.0d * DAY; time += 10.0d)
+            series.update(time, 1.0d);
+        double end = 30.0d * DAY;
+        // the last few minutes are still kept per second
+        assertEquals(Resolution.SECOND, series.resolutionFor(end - 300.0d, end, 1000));
+        // a minute resolution would need 1440 points for a day
+        assertEquals(Resolution.HOUR, series.resolutionFor(end - DAY, end, 1000));
+        // only the last week is kept per minute
+        assertEquals(Resolution.HOUR, series.resolutionFor(end - 10.0d * DAY, end - 9.0d * DAY, 2000));
+        assertEquals(Resolution.DAY, series.resolutionFor(0.0d, end, 100));
+
+        List<Window> hours = series.query(end - DAY, end, 1000);
+        assertEquals(24, hours.size());
+        assertEquals(360L, hours.get(0).getCount());
+        assertEquals(360.0d, hours.get(0).getSum());
+    }
+
+    @Test
+    void olderIntervalsAreDropped() {
+        RollupSeries series = new RollupSeries(null, 10, 10, 10, 10);
+        for (int second = 0; second < 100; second++)
+            series.update(second, second);
+        List<Window> seconds = series.query(Resolution.SECOND, 0.0d, 100.0d);
+        assertEquals(10, seconds.size());
+        assertEquals(90.0d, seconds.get(0).getStart());
+        // a value older than the seconds kept is only added to the coarser resolutions
+        series.update(5.0d, 1.0d);
+        assertEquals(10, series.query(Resolution.SECOND, 0.0d, 100.0d).size());
+        assertEquals(61L, series.query(Resolution.MINUTE, 0.0d, 60.0d).get(0).getCount());
+    }
+
+    @Test
+    void quantiles() {
+        quantiles(() -> new LogHistogram(0.001d, 1000.0d, 2));
+    }
+
+    @Test
+    void quantilesOfDigests() {
+        quantiles(TDigest::new);
+    }
+
+    private void quantiles(Supplier<? extends QuantileSketch<?>> sketches) {
+        RollupSeries series = new RollupSeries(sketches, 60, 60, 24, 7);
+        for (int i = 1; i <= 1000; i++)
+            series.update(i * 0.06d, i);
+        Window minute = series.query(Resolution.MINUTE, 0.0d, 59.0d).get(0);
+        assertEquals(990.0d, minute.getQuantile(0.99d), 10.0d);
+        assertEquals(1.0d, minute.getQuantile(0.0001d), 0.01d);
+        series.update(1.0d, 100_000.0d);
+        assertEquals(990.0d, minute.getQuantile(0.99d), 10.0d);
+    }
+
+    @Test
+    void quantilesAreKeptForHoursAndDaysByDefault() {
+        RollupSeries series = new RollupSeries(() -> new LogHistogram(1.0e-4d, 100.0d, 1));
+        series.update(1.0d, 0.5d);
+        Window minute = series.query(Resolution.MINUTE, 0.0d, 59.0d).get(0);
+        assertThrows(IllegalStateException.class, () -> minute.getQuantile(0.5d));
+        assertEquals(0.5d, series.query(Resolution.HOUR, 0.0d, 59.0d).get(0).getQuantile(0.5d), 0.05d);
+    }
+
+    @Test
+    void slotSketchesStartEmptyWhenReused() {
+        RollupSeries series = new RollupSeries(TDigest::new, 2, 1, 1, 1);
+        series.update(0.0d, 1000.0d);
+        // the third second takes the slot of the first
+        series.update(2.0d, 1.0d);
+        Window second = series.query(Resolution.SECOND, 2.0d, 2.0d).get(0);
+        assertEquals(1L, second.getCount());
+        assertEquals(1.0d, second.getQuantile(0.99d));
+    }
+}
@@ -0,0 +1,101 @@
+package com.microsoft.gctoolkit.online.statistics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TDigestTest {
+
+    // log-normal pause times, with a median of 10ms
+    static double[] pauses(int count, long seed) {
+        Random random = new Random(seed);
+        double[] pauses = new double[count];
+        for (int i = 0; i < count; i++)
+            pauses[i] = 0.01d * Math.exp(0.8d * random.nextGaussian());
+        return pauses;
+    }
+
+    // the fraction of the values at or below the estimate, which is the quantile when the estimate is exact
+    static double rankOf(double estimate, double[] sorted) {
+        int index = Arrays.binarySearch(sorted, estimate);
+        return (double) (index < 0 ? -index - 1 : index + 1) / sorted.length;
+    }
+
+    @Test
+    void empty() {
+        TDigest digest = new TDigest();
+        assertEquals(0L, digest.getCount());
+        assertThrows(NotEnoughSampleException.class, () -> digest.getQuantile(0.99d));
+    }
+
+    @Test
+    void singleValue() {
+        TDigest digest = new TDigest();
+        digest.update(0.25d);
+        assertEquals(0.25d, digest.getQuantile(0.5d));
+        assertEquals(0.25d, digest.getQuantile(0.999d));
+    }
+
+    @Test
+    void accuracy() {
+        double[] pauses = pauses(200_000, 42L);
+        TDigest digest = new TDigest();
+        for (double pause : pauses)
+            digest.update(pause);
+        Arrays.sort(pauses);
+        assertEquals(pauses.length, digest.getCount());
+        assertEquals(pauses[0], digest.getMin());
+        assertEquals(pauses[pauses.length - 1], digest.getMax());
+        assertEquals(0.5d, rankOf(digest.getQuantile(0.5d), pauses), 0.005d);
+        assertEquals(0.9d, rankOf(digest.getQuantile(0.9d), pauses), 0.002d);
+        assertEquals(0.99d, rankOf(digest.getQuantile(0.99d), pauses), 0.0005d);
+        assertEquals(0.999d, rankOf(digest.getQuantile(0.999d), pauses), 0.0002d);
+    }
+
+    @Test
+    void merge() {
+        double[] pauses = pauses(100_000, 7L);
+        TDigest first = new TDigest();
+        TDigest second = new TDigest();
+        for (int i = 0; i < pauses.length; i++)
+            (i % 3 == 0 ? first : second).update(pauses[i]);
+        first.merge(second);
+        Arrays.sort(pauses);
+        assertEquals(pauses.length, first.getCount());
+        assertEquals(0.5d, rankOf(first.getQuantile(0.5d), pauses), 0.005d);
+        assertEquals(0.99d, rankOf(first.getQuantile(0.99d), pauses), 0.0005d);
+        assertThrows(IllegalArgumentException.class, () -> first.merge(new TDigest(200.0d)));
+    }
+
+    @Test
+    void mergeIntoEmpty() {
+        // fewer values than fill the buffer, so that none has reached a centroid yet
+        double[] pauses = pauses(500, 11L);
+        TDigest shard = new TDigest();
+        for (double pause : pauses)
+            shard.update(pause);
+        TDigest combined = new TDigest();
+        combined.merge(shard);
+        Arrays.sort(pauses);
+        assertEquals(pauses.length, combined.getCount());
+        assertEquals(pauses[0], combined.getMin());
+        for (double quantile : new double[] { 0.0005d, 0.05d, 0.5d, 0.99d })
+            assertEquals(shard.getQuantile(quantile), combined.getQuantile(quantile), 1.0e-12d);
+    }
+
+    @Test
+    void clear() {
+        TDigest digest = new TDigest();
+        for (double pause : TDigestTest.pauses(2_000, 3L))
+            digest.update(pause);
+        digest.clear();
+        assertEquals(0L, digest.getCount());
+        assertThrows(NotEnoughSampleException.class, () -> digest.getQuantile(0.5d));
+        digest.update(0.25d);
+        assertEquals(0.25d, digest.getMin());
+        assertEquals(0.25d, digest.getQuantile(0.99d));
+    }
+}
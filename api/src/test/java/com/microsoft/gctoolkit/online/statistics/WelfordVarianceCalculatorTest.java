@@ -31,4 +31,19 @@ class WelfordVarianceCalculatorTest {
         assertEquals(0.00010493893, calculator.getValue(), 0.0001d);
     }
 
-}
\ No newline at end of file
+    @Test
+    void mergeIsTheSameAsOneCalculator() {
+        double[] samples = { 1421.23, 2897.34, 3907.45, 17.5, 980.0 };
+        WelfordVarianceCalculator all = new WelfordVarianceCalculator();
+        WelfordVarianceCalculator first = new WelfordVarianceCalculator();
+        WelfordVarianceCalculator second = new WelfordVarianceCalculator();
+        for (int i = 0; i < samples.length; i++) {
+            all.update(samples[i]);
+            (i < 2 ? first : second).update(samples[i]);
+        }
+        first.merge(second);
+        first.merge(new WelfordVarianceCalculator());
+        assertEquals(all.getValue(), first.getValue(), 0.0001d);
+    }
+
+}
@@ -0,0 +1,136 @@
+package com.microsoft.gctoolkit.online.statistics;
+
+import com.microsoft.gctoolkit.online.statistics.WindowedStatistics.Window;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WindowedStatisticsTest {
+
+    private final List<Window> windows = new ArrayList<>();
+
+    @Test
+    void tumbling() {
+        WindowedStatistics series = WindowedStatistics.tumbling(60.0d, windows::add);
+        series.update(10.0d, 1.0d);
+        series.update(59.9d, 3.0d);
+        assertTrue(windows.isEmpty());
+        series.update(60.0d, 5.0d);
+        assertEquals(1, windows.size());
+        Window first = windows.get(0);
+        assertEquals(0.0d, first.getStart());
+        assertEquals(60.0d, first.getEnd());
+        assertEquals(2L, first.getCount());
+        assertEquals(4.0d, first.getSum());
+        assertEquals(1.0d, first.getMin());
+        assertEquals(3.0d, first.getMax());
+        assertEquals(2.0d, first.getMean());
+        assertEquals(4.0d / 60.0d, first.getRate());
+
+        series.flush();
+        assertEquals(2, windows.size());
+        assertEquals(60.0d, windows.get(1).getStart());
+        assertEquals(5.0d, windows.get(1).getSum());
+    }
+
+    @Test
+    void sliding() {
+        WindowedStatistics series = WindowedStatistics.sliding(30.0d, 10.0d, windows::add);
+        series.update(5.0d, 1.0d);
+        series.update(15.0d, 2.0d);
+        series.update(25.0d, 4.0d);
+        series.update(35.0d, 8.0d);
+        series.flush();
+        // each window closes every 10 seconds, and covers the last 30
+        double[] sums = windows.stream().mapToDouble(Window::getSum).toArray();
+        assertArrayEquals(new double[] { 1.0d, 3.0d, 7.0d, 14.0d, 12.0d, 8.0d }, sums);
+        assertEquals(-20.0d, windows.get(0).getStart());
+        assertEquals(30.0d, windows.get(5).getStart());
+        assertEquals(3L, windows.get(3).getCount());
+        assertEquals(2.0d, windows.get(3).getMin());
+    }
+
+    @Test
+    void gapsAreSkipped() {
+        WindowedStatistics series = WindowedStatistics.sliding(20.0d, 10.0d, windows::add);
+        series.update(1.0d, 1.0d);
+        series.update(1_000_000.0d, 2.0d);
+        series.flush();
+        assertEquals(4, windows.size());
+        assertEquals(1_000_000.0d, windows.get(2).getEnd() - 10.0d);
+    }
+
+    @Test
+    void lateValuesAreNotCounted() {
+        WindowedStatistics series = WindowedStatistics.tumbling(10.0d, windows::add);
+        series.update(15.0d, 1.0d);
+        series.update(5.0d, 1.0d);
+        series.update(12.0d, 1.0d);
+        series.flush();
+        assertEquals(1L, series.getLateCount());
+        assertEquals(1, windows.size());
+        assertEquals(2L, windows.get(0).getCount());
+    }
+
+    @Test
+    void quantiles() {
+        quantiles(LogHistogram::new);
+    }
+
+    @Test
+    void quantilesOfDigests() {
+        quantiles(TDigest::new);
+    }
+
+    private void quantiles(Supplier<? extends QuantileSketch<?>> sketches) {
+        // the sketch of a window is used again for the next, so the quantiles are read as the window closes
+        List<double[]> quantiles = new ArrayList<>();
+        WindowedStatistics series = new WindowedStatistics(60.0d, 60.0d, sketches,
+                window -> quantiles.add(new double[] { window.getQuantile(0.99d), window.getQuantile(0.001d) }));
+        for (int i = 1; i <= 100; i++)
+            series.update(i * 0.5d, i);
+        series.update(60.0d, 1000.0d);
+        series.flush();
+        assertEquals(99.0d, quantiles.get(0)[0], 1.0d);
+        assertEquals(1.0d, quantiles.get(0)[1], 0.01d);
+        assertEquals(1000.0d, quantiles.get(1)[0], 10.0d);
+    }
+
+    @Test
+    void sketchesAreUsedAgain() {
+        int[] made = { 0 };
+        List<Double> medians = new ArrayList<>();
+        WindowedStatistics series = new WindowedStatistics(30.0d, 10.0d, () -> {
+            made[0]++;
+            return new LogHistogram();
+        }, window -> medians.add(window.getQuantile(0.5d)));
+        for (int second = 0; second < 1_000; second++)
+            series.update(second, second / 10);
+        series.flush();
+        // a sketch for each of the 3 panes, and one for the windows
+        assertEquals(4, made[0]);
+        assertEquals(102, medians.size());
+        // the window that closes at 500 s holds the values from 470 s to 499 s, which are 47, 48 and 49
+        assertEquals(48.0d, medians.get(49), 1.0d);
+    }
+
+    @Test
+    void windowsWithoutSketches() {
+        assertThrows(IllegalStateException.class, () -> {
+            List<Window> plain = new ArrayList<>();
+            WindowedStatistics counts = WindowedStatistics.tumbling(1.0d, plain::add);
+            counts.update(0.0d, 1.0d);
+            counts.flush();
+            plain.get(0).getQuantile(0.5d);
+        });
+    }
+
+    @Test
+    void stepMustDivideWidth() {
+        assertThrows(IllegalArgumentException.class, () -> WindowedStatistics.sliding(25.0d, 10.0d, windows::add));
+    }
+}
@@ -0,0 +1,67 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.time;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DateTimeException;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DateStampParserTest {
+
+    private static final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSZ");
+
+    private static final String[] DATE_STAMPS = {
+            "2018-04-04T09:10:00.586-0100",
+            "2018-04-04T09:10:00.999-0100",
+            "2018-04-04T09:59:59.999-0100",
+            "2018-04-04T10:00:00.000-0100",
+            "2018-04-04T23:59:59.999-0100",
+            "2018-04-05T00:00:00.001-0100",
+            "2018-04-05T00:00:00.001+0530",
+            "2018-04-05T00:00:00.001+0000",
+            "2016-02-29T12:34:56.789-0800",
+            "2019-12-31T23:59:59.999+1400",
+            "2020-01-01T00:00:00.000-1200"
+    };
+
+    @Test
+    void agreesWithDateTimeFormatter() {
+        DateStampParser parser = new DateStampParser();
+        for (String dateStamp : DATE_STAMPS) {
+            ZonedDateTime expected = ZonedDateTime.from(formatter.parse(dateStamp));
+            assertEquals(expected.toInstant().toEpochMilli(), parser.toEpochMillis(dateStamp), dateStamp);
+            assertEquals(expected.getOffset().getTotalSeconds(), parser.zoneOffsetSeconds(dateStamp), dateStamp);
+        }
+    }
+
+    @Test
+    void parsesWithinLargerText() {
+        DateStampParser parser = new DateStampParser();
+        String line = "[2018-04-04T09:10:00.586-0100][0.018s][info][gc] Using G1";
+        assertEquals(1522836600586L, parser.toEpochMillis(line, 1, 29));
+        assertEquals(-3600, parser.zoneOffsetSeconds(line, 1, 29));
+    }
+
+    @Test
+    void dateTimeStampsAgree() {
+        for (String dateStamp : DATE_STAMPS) {
+            DateStampParser parser = new DateStampParser();
+            DateTimeStamp expected = new DateTimeStamp(ZonedDateTime.from(formatter.parse(dateStamp)), 1.5);
+            DateTimeStamp actual = new DateTimeStamp(parser.toEpochMillis(dateStamp), parser.zoneOffsetSeconds(dateStamp), 1.5);
+            assertEquals(expected, actual, dateStamp);
+            assertEquals(expected.getDateTime(), actual.getDateTime(), dateStamp);
+        }
+    }
+
+    @Test
+    void invalidDateStamps() {
+        DateStampParser parser = new DateStampParser();
+        assertThrows(DateTimeException.class, () -> parser.toEpochMillis("2018-04-04T09:60:00.586-0100"));
+        assertThrows(DateTimeException.class, () -> parser.toEpochMillis("2018-02-30T09:10:00.586-0100"));
+        assertThrows(DateTimeException.class, () -> parser.toEpochMillis("2018-04-04 09:10:00.586-0100"));
+    }
+}
@@ -491,4 +491,34 @@ public class DateTimeStampTest {
         final ZonedDateTime expected = ZonedDateTime.from(formatter.parse(dateTimeString));
         assertTrue(expected.isEqual(dateTimeStamp.getDateTime()));
     }
-}
\ No newline at end of file
+
+    @Test
+    void primitiveAndZonedDateTimeConstructionAgree() {
+        ZonedDateTime dateTime = ZonedDateTime.from(formatter.parse("2018-04-04T09:10:00.586-0100"));
+        DateTimeStamp zoned = new DateTimeStamp(dateTime, 0.18);
+        DateTimeStamp primitive = new DateTimeStamp(dateTime.toInstant().toEpochMilli(), -3600, 0.18);
+        assertEquals(zoned, primitive);
+        assertEquals(zoned.hashCode(), primitive.hashCode());
+        assertEquals(0, zoned.compareTo(primitive));
+        assertEquals(dateTime, primitive.getDateTime());
+        assertEquals(-3600, primitive.getZoneOffsetSeconds());
+        assertEquals(1522836600586.0d, primitive.toEpochInMillis(), 0.0d);
+    }
+
+    @Test
+    void sameInstantInDifferentZones() {
+        DateTimeStamp a = new DateTimeStamp("2018-04-04T09:10:00.586-0100");
+        DateTimeStamp b = new DateTimeStamp("2018-04-04T10:10:00.586+0000");
+        assertNotEquals(a, b);
+        assertEquals(0.0d, a.minus(b), 0.0d);
+        assertEquals(0, a.compare(b.getDateTime()));
+        assertTrue(a.compareTo(b) < 0);
+    }
+
+    @Test
+    void epocIsNotADateStamp() {
+        assertFalse(DateTimeStamp.baseDate().hasDateStamp());
+        assertEquals(DateTimeStamp.EPOC, DateTimeStamp.baseDate().getDateTime());
+        assertFalse(DateTimeStamp.baseDate().add(1.0d).hasDateStamp());
+    }
+}
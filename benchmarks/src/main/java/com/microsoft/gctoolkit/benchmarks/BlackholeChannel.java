@@ -0,0 +1,34 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.benchmarks;
+
+import com.microsoft.gctoolkit.event.jvm.JVMEvent;
+import com.microsoft.gctoolkit.message.ChannelName;
+import com.microsoft.gctoolkit.message.JVMEventChannel;
+import com.microsoft.gctoolkit.message.JVMEventChannelListener;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Hands the events a parser publishes to a Blackhole, so the benchmarks measure the parser and not a message bus.
+ */
+final class BlackholeChannel implements JVMEventChannel {
+
+    private final Blackhole blackhole;
+
+    BlackholeChannel(Blackhole blackhole) {
+        this.blackhole = blackhole;
+    }
+
+    @Override
+    public void registerListener(JVMEventChannelListener listener) {
+        throw new UnsupportedOperationException("Events published to a Blackhole have no listeners");
+    }
+
+    @Override
+    public void publish(ChannelName channel, JVMEvent message) {
+        blackhole.consume(message);
+    }
+
+    @Override
+    public void close() {}
+}
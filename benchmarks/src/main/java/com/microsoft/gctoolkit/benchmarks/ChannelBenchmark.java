@@ -0,0 +1,75 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.benchmarks;
+
+import com.microsoft.gctoolkit.event.GCCause;
+import com.microsoft.gctoolkit.event.g1gc.G1Young;
+import com.microsoft.gctoolkit.event.jvm.JVMEvent;
+import com.microsoft.gctoolkit.message.ChannelName;
+import com.microsoft.gctoolkit.message.JVMEventChannelListener;
+import com.microsoft.gctoolkit.time.DateTimeStamp;
+import com.microsoft.gctoolkit.vertx.VertxJVMEventChannel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes events on the Vert.x event bus and waits for a listener to receive them, which is the path every event
+ * takes from a parser to the Aggregators. The scores are per event.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ChannelBenchmark {
+
+    private static final int BATCH = 1_000;
+
+    private final Semaphore received = new Semaphore(0);
+    private VertxJVMEventChannel channel;
+    private JVMEvent event;
+
+    @Setup
+    public void setUp() {
+        channel = new VertxJVMEventChannel();
+        channel.registerListener(new JVMEventChannelListener() {
+            @Override
+            public ChannelName channel() {
+                return ChannelName.G1GC_PARSER_OUTBOX;
+            }
+
+            @Override
+            public void receive(JVMEvent payload) {
+                received.release();
+            }
+        });
+        event = new G1Young(new DateTimeStamp(1.0d), GCCause.G1_EVACUATION_PAUSE, 0.01d);
+    }
+
+    @TearDown
+    public void tearDown() {
+        channel.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void roundTrip() throws InterruptedException {
+        for (int i = 0; i < BATCH; i++)
+            channel.publish(ChannelName.G1GC_PARSER_OUTBOX, event);
+        received.acquire(BATCH);
+    }
+}
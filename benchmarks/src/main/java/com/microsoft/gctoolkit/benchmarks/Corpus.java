@@ -0,0 +1,81 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.benchmarks;
+
+import com.microsoft.gctoolkit.jvm.Diarizer;
+import com.microsoft.gctoolkit.jvm.Diary;
+import com.microsoft.gctoolkit.parser.jvm.PreUnifiedDiarizer;
+import com.microsoft.gctoolkit.parser.jvm.UnifiedDiarizer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+/**
+ * The GC logs the benchmarks read, from the test data that the gclogs module downloads. The logs are looked for
+ * in the directory named by the system property {@code gctoolkit.benchmarks.gclogs}, or else in {@code gclogs}
+ * under the current directory or its parent.
+ */
+final class Corpus {
+
+    static final String GCLOGS_PROPERTY = "gctoolkit.benchmarks.gclogs";
+
+    static final String UNIFIED_G1 = "unified/g1gc/G1-80-16gbps2.log.0";
+    static final String UNIFIED_CMS = "unified/cms/gc.log";
+    static final String UNIFIED_PARALLEL = "unified/parallel/parallelgc.log";
+    static final String UNIFIED_ZGC = "unified/zgc/zgc.log";
+    static final String UNIFIED_SHENANDOAH = "unified/shenandoah/shenandoah.log.0";
+    static final String PREUNIFIED_G1 = "preunified/g1gc/details/tenuring/180/g1gc.log";
+    static final String PREUNIFIED_CMS = "preunified/cms/defnew/details/defnew.log";
+
+    // enough lines for the parsers to reach a steady state, few enough for an invocation to take well under a second
+    private static final int MAXIMUM_LINES = 50_000;
+
+    private Corpus() {}
+
+    /**
+     * @param log the path of a log relative to the gclogs directory
+     * @return the non-empty lines at the start of the log, trimmed as the data source trims them
+     */
+    static String[] lines(String log) {
+        Path path = gclogs().resolve(log);
+        try (Stream<String> lines = Files.lines(path)) {
+            return lines.map(String::trim)
+                    .filter(line -> !line.isEmpty())
+                    .limit(MAXIMUM_LINES)
+                    .toArray(String[]::new);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read " + path + ", run mvn -pl gclogs process-test-resources to download the test data", e);
+        }
+    }
+
+    /**
+     * @param lines the lines of a log
+     * @return the diary of the log, as GCToolKit would find it
+     */
+    static Diary diary(String[] lines) {
+        Diarizer diarizer = lines.length > 0 && lines[0].startsWith("[") ? new UnifiedDiarizer() : new PreUnifiedDiarizer();
+        for (String line : lines)
+            if (diarizer.diarize(line))
+                break;
+        return diarizer.getDiary();
+    }
+
+    /**
+     * @return the directory the test data was downloaded to
+     */
+    static Path gclogs() {
+        String gclogs = System.getProperty(GCLOGS_PROPERTY);
+        if (gclogs != null)
+            return Paths.get(gclogs);
+        return Arrays.stream(new String[] { "gclogs", "../gclogs" })
+                .map(Paths::get)
+                .filter(Files::isDirectory)
+                .findFirst()
+                .orElse(Paths.get("gclogs"));
+    }
+}
@@ -0,0 +1,254 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.benchmarks;
+
+import com.microsoft.gctoolkit.GCToolKit;
+import com.microsoft.gctoolkit.io.SingleGCLogFile;
+import com.microsoft.gctoolkit.sample.aggregation.CollectionCycleCountsSummary;
+import com.microsoft.gctoolkit.sample.aggregation.HeapOccupancyAfterCollectionSummary;
+import com.microsoft.gctoolkit.sample.aggregation.PauseTimeSummary;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Runs {@link GCToolKit#analyze} over every log of the test data, with the aggregations of the sample, and records
+ * for each log the lines and megabytes analyzed per second, the wall time, the bytes allocated and the peak heap.
+ * The results are written as a JSON report and compared with a baseline report, which is a report that was saved
+ * earlier. A metric that is worse than its baseline by more than the tolerance is a regression, and the runner
+ * exits with a status of 1 if there is any.
+ * <p>
+ * The runner is configured with system properties.
+ * <dl>
+ *     <dt>{@code gctoolkit.benchmarks.gclogs}</dt>
+ *     <dd>the test data directory, as for the JMH benchmarks</dd>
+ *     <dt>{@code gctoolkit.benchmarks.include}</dt>
+ *     <dd>a glob of the logs to analyze, relative to the test data directory, {@code **} by default</dd>
+ *     <dt>{@code gctoolkit.benchmarks.warmups}</dt>
+ *     <dd>the number of times each log is analyzed before it is measured, 1 by default</dd>
+ *     <dt>{@code gctoolkit.benchmarks.iterations}</dt>
+ *     <dd>the number of times each log is analyzed and measured, 3 by default, of which the median is reported</dd>
+ *     <dt>{@code gctoolkit.benchmarks.report}</dt>
+ *     <dd>the report to write, {@code corpus-throughput.json} by default</dd>
+ *     <dt>{@code gctoolkit.benchmarks.baseline}</dt>
+ *     <dd>the report to compare with, {@code benchmarks/corpus-baseline.json} or {@code corpus-baseline.json}
+ *     by default, whichever exists</dd>
+ *     <dt>{@code gctoolkit.benchmarks.tolerance}</dt>
+ *     <dd>how much worse than the baseline a metric may be, in percent, 10 by default</dd>
+ * </dl>
+ */
+public class CorpusThroughput {
+
+    private static final String INCLUDE_PROPERTY = "gctoolkit.benchmarks.include";
+    private static final String WARMUPS_PROPERTY = "gctoolkit.benchmarks.warmups";
+    private static final String ITERATIONS_PROPERTY = "gctoolkit.benchmarks.iterations";
+    private static final String REPORT_PROPERTY = "gctoolkit.benchmarks.report";
+    private static final String BASELINE_PROPERTY = "gctoolkit.benchmarks.baseline";
+    private static final String TOLERANCE_PROPERTY = "gctoolkit.benchmarks.tolerance";
+
+    private static final String LOG = "log";
+    private static final String BYTES = "bytes";
+    private static final String LINES = "lines";
+    private static final String WALL_MILLIS = "wallMillis";
+    private static final String LINES_PER_SECOND = "linesPerSecond";
+    private static final String MEGABYTES_PER_SECOND = "megabytesPerSecond";
+    private static final String ALLOCATED_BYTES = "allocatedBytes";
+    private static final String PEAK_HEAP_BYTES = "peakHeapBytes";
+
+    // the metrics that are compared, and whether more is better; the wall time and the megabytes per second of
+    // a log follow from its lines per second
+    private static final String[] COMPARED = { LINES_PER_SECOND, ALLOCATED_BYTES, PEAK_HEAP_BYTES };
+    private static final boolean[] MORE_IS_BETTER = { true, false, false };
+
+    private final HeapMeter heapMeter = new HeapMeter();
+    private final int warmups;
+    private final int iterations;
+
+    private CorpusThroughput(int warmups, int iterations) {
+        this.warmups = warmups;
+        this.iterations = iterations;
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path gclogs = Corpus.gclogs();
+        if (!Files.isDirectory(gclogs))
+            throw new IllegalArgumentException("Cannot find " + gclogs + ", run mvn -pl gclogs process-test-resources to download the test data");
+        CorpusThroughput corpusThroughput = new CorpusThroughput(Integer.getInteger(WARMUPS_PROPERTY, 1), Integer.getInteger(ITERATIONS_PROPERTY, 3));
+        JsonObject report = corpusThroughput.run(gclogs, System.getProperty(INCLUDE_PROPERTY, "**"));
+
+        Path reportPath = Paths.get(System.getProperty(REPORT_PROPERTY, "corpus-throughput.json"));
+        Files.writeString(reportPath, report.encodePrettily(), StandardCharsets.UTF_8);
+        System.out.println("Report written to " + reportPath);
+
+        Path baselinePath = baseline();
+        if (!Files.exists(baselinePath)) {
+            System.out.println("No baseline at " + baselinePath + ", copy the report there to make it the baseline");
+            return;
+        }
+        JsonObject baseline = new JsonObject(Files.readString(baselinePath, StandardCharsets.UTF_8));
+        double tolerance = Double.parseDouble(System.getProperty(TOLERANCE_PROPERTY, "10")) / 100.0d;
+        List<String> regressions = compare(report, baseline, tolerance);
+        if (regressions.isEmpty()) {
+            System.out.printf(Locale.US, "No regressions against %s with a tolerance of %.0f%%%n", baselinePath, tolerance * 100.0d);
+        } else {
+            System.out.printf(Locale.US, "%d regressions against %s with a tolerance of %.0f%%%n", regressions.size(), baselinePath, tolerance * 100.0d);
+            regressions.forEach(System.out::println);
+            System.exit(1);
+        }
+    }
+
+    private static Path baseline() {
+        String baseline = System.getProperty(BASELINE_PROPERTY);
+        if (baseline != null)
+            return Paths.get(baseline);
+        return Stream.of("benchmarks/corpus-baseline.json", "corpus-baseline.json")
+                .map(Paths::get)
+                .filter(Files::exists)
+                .findFirst()
+                .orElse(Paths.get("corpus-baseline.json"));
+    }
+
+    private JsonObject run(Path gclogs, String include) throws IOException {
+        PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + include);
+        List<Path> logs;
+        try (Stream<Path> files = Files.walk(gclogs)) {
+            logs = files.filter(Files::isRegularFile)
+                    .filter(file -> !file.getFileName().toString().startsWith("."))
+                    .map(gclogs::relativize)
+                    .filter(matcher::matches)
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+
+        JsonArray results = new JsonArray();
+        JsonArray failures = new JsonArray();
+        for (Path log : logs) {
+            String name = log.toString().replace('\\', '/');
+            try {
+                JsonObject result = measure(gclogs.resolve(log)).put(LOG, name);
+                System.out.printf(Locale.US, "%-80s %12.0f lines/s %8.2f MB/s %10d ms%n",
+                        name, result.getDouble(LINES_PER_SECOND), result.getDouble(MEGABYTES_PER_SECOND), result.getLong(WALL_MILLIS));
+                results.add(result);
+            } catch (IOException | RuntimeException e) {
+                System.out.println(name + " failed: " + e);
+                failures.add(new JsonObject().put(LOG, name).put("error", e.toString()));
+            }
+        }
+
+        return new JsonObject()
+                .put("date", Instant.now().toString())
+                .put("java", System.getProperty("java.vm.name") + " " + System.getProperty("java.vm.version"))
+                .put("processors", Runtime.getRuntime().availableProcessors())
+                .put("maximumHeapBytes", Runtime.getRuntime().maxMemory())
+                .put("warmups", warmups)
+                .put("iterations", iterations)
+                .put("logs", results)
+                .put("failures", failures);
+    }
+
+    private JsonObject measure(Path log) throws IOException {
+        long bytes = Files.size(log);
+        long lines;
+        try (Stream<String> stream = new SingleGCLogFile(log).stream()) {
+            lines = stream.count();
+        }
+
+        for (int warmup = 0; warmup < warmups; warmup++)
+            analyze(log);
+
+        long[] wallNanos = new long[iterations];
+        long[] allocated = new long[iterations];
+        long peakHeap = 0L;
+        for (int iteration = 0; iteration < iterations; iteration++) {
+            heapMeter.start();
+            long start = System.nanoTime();
+            analyze(log);
+            wallNanos[iteration] = System.nanoTime() - start;
+            allocated[iteration] = heapMeter.allocated();
+            peakHeap = Math.max(peakHeap, heapMeter.peak());
+        }
+
+        double seconds = median(wallNanos) / 1_000_000_000.0d;
+        return new JsonObject()
+                .put(BYTES, bytes)
+                .put(LINES, lines)
+                .put(WALL_MILLIS, median(wallNanos) / 1_000_000L)
+                .put(LINES_PER_SECOND, lines / seconds)
+                .put(MEGABYTES_PER_SECOND, bytes / (1024.0d * 1024.0d) / seconds)
+                .put(ALLOCATED_BYTES, median(allocated))
+                .put(PEAK_HEAP_BYTES, peakHeap);
+    }
+
+    private void analyze(Path log) throws IOException {
+        GCToolKit gcToolKit = new GCToolKit();
+        gcToolKit.loadAggregation(new HeapOccupancyAfterCollectionSummary());
+        gcToolKit.loadAggregation(new PauseTimeSummary());
+        gcToolKit.loadAggregation(new CollectionCycleCountsSummary());
+        gcToolKit.analyze(new SingleGCLogFile(log));
+    }
+
+    private static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+
+    /**
+     * @param report the report of this run
+     * @param baseline the report to compare with
+     * @param tolerance how much worse than the baseline a metric may be, as a fraction of the baseline
+     * @return a line for each metric that is worse than the tolerance allows, and for each log of the baseline
+     * that failed in this run
+     */
+    static List<String> compare(JsonObject report, JsonObject baseline, double tolerance) {
+        List<String> regressions = new ArrayList<>();
+        for (Object entry : baseline.getJsonArray("logs")) {
+            JsonObject expected = (JsonObject) entry;
+            String log = expected.getString(LOG);
+            JsonObject actual = find(report, log);
+            if (actual == null) {
+                // a log that wasn't included in this run isn't compared
+                if (failed(report, log))
+                    regressions.add(String.format(Locale.US, "%-80s failed", log));
+                continue;
+            }
+            for (int metric = 0; metric < COMPARED.length; metric++) {
+                double was = expected.getDouble(COMPARED[metric]);
+                double is = actual.getDouble(COMPARED[metric]);
+                double change = was == 0.0d ? 0.0d : (is - was) / was;
+                if (MORE_IS_BETTER[metric] ? change < -tolerance : change > tolerance)
+                    regressions.add(String.format(Locale.US, "%-80s %-20s %16.1f -> %16.1f (%+.1f%%)",
+                            log, COMPARED[metric], was, is, change * 100.0d));
+            }
+        }
+        return regressions;
+    }
+
+    private static JsonObject find(JsonObject report, String log) {
+        for (Object entry : report.getJsonArray("logs"))
+            if (log.equals(((JsonObject) entry).getString(LOG)))
+                return (JsonObject) entry;
+        return null;
+    }
+
+    private static boolean failed(JsonObject report, String log) {
+        for (Object entry : report.getJsonArray("failures"))
+            if (log.equals(((JsonObject) entry).getString(LOG)))
+                return true;
+        return false;
+    }
+}
@@ -0,0 +1,94 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.benchmarks;
+
+import com.microsoft.gctoolkit.parser.jvm.Decorators;
+import com.microsoft.gctoolkit.parser.jvm.PreUnifiedLogRecordDecoder;
+import com.microsoft.gctoolkit.parser.jvm.UnifiedLogRecordDecoder;
+import com.microsoft.gctoolkit.time.DateTimeStamp;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decodes the decorators and the time stamps at the start of the lines, which is done once for every line of a
+ * log before any rule is tried. The scores are per line. The decoders learn the layout of the decorators from the
+ * first line they see, so the lines they decode share a layout, as the lines of a log do.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DecodingBenchmark {
+
+    private static final String[] UNIFIED_LINES = {
+            "[2018-04-04T09:10:00.586-0100][0.018s][1522825800586ms][18ms][10026341461044ns][17738937ns][1375][7427][info][gc] Using G1",
+            "[2018-04-04T09:10:00.586-0100][0.018s][18ms][17738937ns][1375][7427][info][gc] Using G1",
+            "[0.018s][1522825800586ms][18ms][10026341461044ns][17738937ns][1375][7427][info][gc] Using G1",
+            "[0.025s][info][gc] Using G1"
+    };
+
+    private static final String[] PREUNIFIED_LINES = {
+            "2014-02-21T16:04:24.321-0100: 7.852: [GC remark 2014-02-21T16:04:24.322-0100: 7.853: [GC ref-proc, 0.0000640 secs], 0.0013310 secs]",
+            "2017-10-17T08:48:58.956+0000: 8.809: [GC cleanup",
+            "2017-03-09T13:45:26.322-0500: 4.764: [GC pause (G1 Evacuation Pause) (young)",
+            "2017-09-07T09:00:12.795+0200: 0.716: [GC (Allocation Failure) [PSYoungGen: 33280K->5104K(38400K)] 33280K->5112K(125952K), 0.0052840 secs]"
+    };
+
+    private static final String[] UNIFIED_RECORDS = {
+            "[2018-04-04T09:10:00.586-0100][0.018s][info][gc] Using G1",
+            "[2018-04-04T09:10:12.101-0100][11.533s][info][gc,start] GC(0) Pause Young (Normal) (G1 Evacuation Pause)",
+            "[2018-04-04T09:10:12.109-0100][11.541s][info][gc,cpu] GC(0) User=0.05s Sys=0.01s Real=0.01s",
+            "[2018-04-04T09:10:12.109-0100][11.541s][info][gc] GC(0) Pause Young (Normal) (G1 Evacuation Pause) 24M->4M(256M) 7.912ms"
+    };
+
+    private final UnifiedLogRecordDecoder unifiedDecoder = new UnifiedLogRecordDecoder();
+    private final PreUnifiedLogRecordDecoder preUnifiedDecoder = new PreUnifiedLogRecordDecoder();
+
+    @Benchmark
+    @OperationsPerInvocation(4)
+    public void unifiedLogRecord(Blackhole blackhole) {
+        for (String line : UNIFIED_RECORDS)
+            blackhole.consume(unifiedDecoder.decode(line));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(4)
+    public void preUnifiedLogRecord(Blackhole blackhole) {
+        for (String line : PREUNIFIED_LINES)
+            blackhole.consume(preUnifiedDecoder.decode(line));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(4)
+    public void unifiedDecorators(Blackhole blackhole) {
+        for (String line : UNIFIED_LINES)
+            blackhole.consume(new Decorators(line).getDateTimeStamp());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(4)
+    public void unifiedDateTimeStamp(Blackhole blackhole) {
+        for (String line : UNIFIED_LINES)
+            blackhole.consume(DateTimeStamp.fromGCLogLine(line));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(4)
+    public void preUnifiedDateTimeStamp(Blackhole blackhole) {
+        for (String line : PREUNIFIED_LINES)
+            blackhole.consume(DateTimeStamp.fromGCLogLine(line));
+    }
+}
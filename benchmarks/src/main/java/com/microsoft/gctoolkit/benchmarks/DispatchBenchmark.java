@@ -0,0 +1,74 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.benchmarks;
+
+import com.microsoft.gctoolkit.aggregator.JVMEventDispatcher;
+import com.microsoft.gctoolkit.event.GCCause;
+import com.microsoft.gctoolkit.event.g1gc.G1Cleanup;
+import com.microsoft.gctoolkit.event.g1gc.G1GCPauseEvent;
+import com.microsoft.gctoolkit.event.g1gc.G1Young;
+import com.microsoft.gctoolkit.event.jvm.ApplicationConcurrentTime;
+import com.microsoft.gctoolkit.event.jvm.ApplicationStoppedTime;
+import com.microsoft.gctoolkit.event.jvm.JVMEvent;
+import com.microsoft.gctoolkit.event.jvm.Safepoint;
+import com.microsoft.gctoolkit.time.DateTimeStamp;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dispatches events to the methods an Aggregator registered, as happens once for every event and every Aggregator.
+ * The events are a mix of classes that were registered, classes whose superclass was registered, and classes
+ * that nothing was registered for. The scores are per event.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DispatchBenchmark {
+
+    private static final int EVENTS = 6;
+
+    private final JVMEventDispatcher dispatcher = new JVMEventDispatcher();
+    private JVMEvent[] events;
+    private long consumed;
+
+    @Setup
+    public void setUp() {
+        dispatcher.register(G1GCPauseEvent.class, this::consume);
+        dispatcher.register(ApplicationStoppedTime.class, this::consume);
+        DateTimeStamp now = new DateTimeStamp(1.0d);
+        events = new JVMEvent[] {
+                new G1Young(now, GCCause.G1_EVACUATION_PAUSE, 0.01d),
+                new G1Cleanup(now, 0.001d),
+                new ApplicationStoppedTime(now, 0.01d, true),
+                new ApplicationStoppedTime(now, 0.001d, false),
+                new ApplicationConcurrentTime(now, 1.0d),
+                new Safepoint("G1CollectForAllocation", now, 0.01d)
+        };
+    }
+
+    private void consume(JVMEvent event) {
+        consumed++;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS)
+    public long dispatch() {
+        for (JVMEvent event : events)
+            dispatcher.dispatch(event);
+        return consumed;
+    }
+}
@@ -0,0 +1,111 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.benchmarks;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+import com.sun.management.GcInfo;
+
+import javax.management.NotificationEmitter;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Measures the bytes allocated in the heap, by all threads, and the peak occupancy of the heap between a call to
+ * {@link #start()} and the calls that read the meter. The bytes allocated are the growth of the heap plus the bytes
+ * freed by every collection in between, as reported by the collectors' notifications.
+ */
+final class HeapMeter {
+
+    // notifications are delivered asynchronously, give up waiting for a late one after this long
+    private static final long SETTLE_TIMEOUT = TimeUnit.SECONDS.toNanos(2);
+
+    private final List<MemoryPoolMXBean> heapPools;
+    private final Set<String> heapPoolNames;
+    private final List<GarbageCollectorMXBean> collectors;
+    private final AtomicLong collected = new AtomicLong();
+    private final AtomicLong notifications = new AtomicLong();
+
+    private long usedAtStart;
+    private long collectedAtStart;
+
+    HeapMeter() {
+        heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .collect(Collectors.toList());
+        heapPoolNames = heapPools.stream().map(MemoryPoolMXBean::getName).collect(Collectors.toSet());
+        collectors = ManagementFactory.getGarbageCollectorMXBeans();
+        for (GarbageCollectorMXBean collector : collectors)
+            ((NotificationEmitter) collector).addNotificationListener((notification, handback) -> {
+                if (GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType()))
+                    collected(GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData()).getGcInfo());
+            }, null, null);
+        // the collections before now will never be notified
+        notifications.addAndGet(collections());
+    }
+
+    private void collected(GcInfo gcInfo) {
+        long freed = used(gcInfo.getMemoryUsageBeforeGc()) - used(gcInfo.getMemoryUsageAfterGc());
+        if (freed > 0)
+            collected.addAndGet(freed);
+        notifications.incrementAndGet();
+    }
+
+    private long used(Map<String, MemoryUsage> usage) {
+        return usage.entrySet().stream()
+                .filter(pool -> heapPoolNames.contains(pool.getKey()))
+                .mapToLong(pool -> pool.getValue().getUsed())
+                .sum();
+    }
+
+    /**
+     * Collect the garbage left by whatever ran before, and start measuring.
+     */
+    void start() {
+        System.gc();
+        settle();
+        heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+        usedAtStart = used();
+        collectedAtStart = collected.get();
+    }
+
+    /**
+     * @return the bytes allocated since the meter was started
+     */
+    long allocated() {
+        settle();
+        return used() - usedAtStart + collected.get() - collectedAtStart;
+    }
+
+    /**
+     * @return the peak occupancy of the heap since the meter was started, which is the sum of the peak occupancy
+     * of each heap pool, and so may be more than the heap ever held at once
+     */
+    long peak() {
+        return heapPools.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+    }
+
+    private long used() {
+        return heapPools.stream().mapToLong(pool -> pool.getUsage().getUsed()).sum();
+    }
+
+    // wait for the notification of every collection that has completed
+    private void settle() {
+        long deadline = System.nanoTime() + SETTLE_TIMEOUT;
+        while (notifications.get() < collections() && System.nanoTime() < deadline)
+            Thread.onSpinWait();
+    }
+
+    private long collections() {
+        return collectors.stream().mapToLong(GarbageCollectorMXBean::getCollectionCount).sum();
+    }
+}
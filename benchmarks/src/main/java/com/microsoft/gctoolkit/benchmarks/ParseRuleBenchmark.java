@@ -0,0 +1,73 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.benchmarks;
+
+import com.microsoft.gctoolkit.parser.CMSPatterns;
+import com.microsoft.gctoolkit.parser.GCLogParser;
+import com.microsoft.gctoolkit.parser.GCParseRule;
+import com.microsoft.gctoolkit.parser.JVMPatterns;
+import com.microsoft.gctoolkit.parser.SerialPatterns;
+import com.microsoft.gctoolkit.parser.unified.UnifiedG1GCPatterns;
+import com.microsoft.gctoolkit.parser.unified.UnifiedGenerationalPatterns;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Matches the lines of a log against one of the rules that the parsers try most often. Most lines don't match,
+ * so the score is dominated by the cost of a miss. An operation is a pass over every line of the log.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParseRuleBenchmark {
+
+    // rule, and the log it is matched against
+    private static final Map<String, Object[]> RULES = Map.of(
+            "G1_COLLECTION", new Object[] { UnifiedG1GCPatterns.G1_COLLECTION, Corpus.UNIFIED_G1 },
+            "EVACUATION_PHASE", new Object[] { UnifiedG1GCPatterns.EVACUATION_PHASE, Corpus.UNIFIED_G1 },
+            "CPU_BREAKOUT", new Object[] { UnifiedG1GCPatterns.CPU_BREAKOUT, Corpus.UNIFIED_G1 },
+            "YOUNG_HEADER", new Object[] { UnifiedGenerationalPatterns.YOUNG_HEADER, Corpus.UNIFIED_CMS },
+            "GCID_COUNTER", new Object[] { GCLogParser.GCID_COUNTER, Corpus.UNIFIED_CMS },
+            "PARNEW", new Object[] { CMSPatterns.PARNEW, Corpus.PREUNIFIED_CMS },
+            "DEFNEW", new Object[] { SerialPatterns.DEFNEW, Corpus.PREUNIFIED_CMS },
+            "CONCURRENT_PHASE_START", new Object[] { CMSPatterns.CONCURRENT_PHASE_START, Corpus.PREUNIFIED_CMS },
+            "APPLICATION_STOP_TIME", new Object[] { JVMPatterns.APPLICATION_STOP_TIME, Corpus.PREUNIFIED_CMS });
+
+    @Param({ "G1_COLLECTION", "EVACUATION_PHASE", "CPU_BREAKOUT", "YOUNG_HEADER", "GCID_COUNTER",
+            "PARNEW", "DEFNEW", "CONCURRENT_PHASE_START", "APPLICATION_STOP_TIME" })
+    public String rule;
+
+    private GCParseRule parseRule;
+    private String[] lines;
+
+    @Setup
+    public void setUp() {
+        Object[] ruleAndLog = RULES.get(rule);
+        if (ruleAndLog == null)
+            throw new IllegalArgumentException("Unknown rule " + rule);
+        parseRule = (GCParseRule) ruleAndLog[0];
+        lines = Corpus.lines((String) ruleAndLog[1]);
+    }
+
+    @Benchmark
+    public void parse(Blackhole blackhole) {
+        for (String line : lines)
+            blackhole.consume(parseRule.parse(line));
+    }
+}
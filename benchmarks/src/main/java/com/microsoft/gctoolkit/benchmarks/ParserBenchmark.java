@@ -0,0 +1,78 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.benchmarks;
+
+import com.microsoft.gctoolkit.jvm.Diary;
+import com.microsoft.gctoolkit.parser.GCLogParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.reflect.Constructor;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Feeds a log through one parser, from decoding each line to publishing the events. Parsers keep the state of the
+ * collections underway, so an operation parses the whole log with a new parser. The parsers run sequentially,
+ * as they do unless {@code gctoolkit.parser.parallel} is set for a parser that parses in shards.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ParserBenchmark {
+
+    private static final Map<String, String> LOGS = Map.ofEntries(
+            Map.entry("UnifiedG1GCParser", Corpus.UNIFIED_G1),
+            Map.entry("UnifiedGenerationalParser", Corpus.UNIFIED_PARALLEL),
+            Map.entry("UnifiedJVMEventParser", Corpus.UNIFIED_G1),
+            Map.entry("UnifiedSurvivorMemoryPoolParser", Corpus.UNIFIED_G1),
+            Map.entry("ZGCParser", Corpus.UNIFIED_ZGC),
+            Map.entry("ShenandoahParser", Corpus.UNIFIED_SHENANDOAH),
+            Map.entry("PreUnifiedG1GCParser", Corpus.PREUNIFIED_G1),
+            Map.entry("GenerationalHeapParser", Corpus.PREUNIFIED_CMS),
+            Map.entry("CMSTenuredPoolParser", Corpus.PREUNIFIED_CMS),
+            Map.entry("JVMEventParser", Corpus.PREUNIFIED_CMS),
+            Map.entry("SurvivorMemoryPoolParser", Corpus.PREUNIFIED_CMS));
+
+    @Param({ "UnifiedG1GCParser", "UnifiedGenerationalParser", "UnifiedJVMEventParser", "UnifiedSurvivorMemoryPoolParser",
+            "ZGCParser", "ShenandoahParser", "PreUnifiedG1GCParser", "GenerationalHeapParser", "CMSTenuredPoolParser",
+            "JVMEventParser", "SurvivorMemoryPoolParser" })
+    public String parser;
+
+    private Constructor<? extends GCLogParser> constructor;
+    private String[] lines;
+    private Diary diary;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        String log = LOGS.get(parser);
+        if (log == null)
+            throw new IllegalArgumentException("Unknown parser " + parser);
+        constructor = Class.forName("com.microsoft.gctoolkit.parser." + parser).asSubclass(GCLogParser.class).getConstructor();
+        lines = Corpus.lines(log);
+        diary = Corpus.diary(lines);
+    }
+
+    @Benchmark
+    public void parse(Blackhole blackhole) throws ReflectiveOperationException {
+        GCLogParser gcLogParser = constructor.newInstance();
+        gcLogParser.diary(diary);
+        gcLogParser.publishTo(new BlackholeChannel(blackhole));
+        for (String line : lines)
+            gcLogParser.receive(line);
+        gcLogParser.receive(GCLogParser.END_OF_DATA_SENTINEL);
+    }
+}
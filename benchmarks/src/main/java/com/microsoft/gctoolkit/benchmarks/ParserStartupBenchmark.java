@@ -0,0 +1,198 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.benchmarks;
+
+import com.microsoft.gctoolkit.jvm.Diarizer;
+import com.microsoft.gctoolkit.jvm.Diary;
+import com.microsoft.gctoolkit.message.DataSourceParser;
+import com.microsoft.gctoolkit.parser.CMSPatterns;
+import com.microsoft.gctoolkit.parser.G1GCPatterns;
+import com.microsoft.gctoolkit.parser.GCLogParser;
+import com.microsoft.gctoolkit.parser.GCParseRule;
+import com.microsoft.gctoolkit.parser.ICMSPatterns;
+import com.microsoft.gctoolkit.parser.JVMPatterns;
+import com.microsoft.gctoolkit.parser.ParallelPatterns;
+import com.microsoft.gctoolkit.parser.PreUnifiedTokens;
+import com.microsoft.gctoolkit.parser.SerialPatterns;
+import com.microsoft.gctoolkit.parser.SharedPatterns;
+import com.microsoft.gctoolkit.parser.SimplePatterns;
+import com.microsoft.gctoolkit.parser.TenuredPatterns;
+import com.microsoft.gctoolkit.parser.Tokens;
+import com.microsoft.gctoolkit.parser.jvm.PreUnifiedDiarizer;
+import com.microsoft.gctoolkit.parser.jvm.UnifiedDiarizer;
+import com.microsoft.gctoolkit.parser.unified.ShenandoahPatterns;
+import com.microsoft.gctoolkit.parser.unified.UnifiedG1GCPatterns;
+import com.microsoft.gctoolkit.parser.unified.UnifiedGenerationalPatterns;
+import com.microsoft.gctoolkit.parser.unified.UnifiedPatterns;
+import com.microsoft.gctoolkit.parser.unified.ZGCPatterns;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures what it costs a freshly started JVM to get the parsers going on a short log of one collector: loading
+ * and creating every parser, as GCToolKit does, and parsing the log with the parsers that accept it. For comparison,
+ * it also times compiling every declared parse rule, which is the work that compiling the rule tables up front used
+ * to add to start up.
+ * <p>
+ * Class loading and pattern compilation only happen once in a JVM, so each measurement is a single shot, with no
+ * warm-up, in a fork of its own.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(10)
+public class ParserStartupBenchmark {
+
+    private static final String[] PARSERS = {
+            "com.microsoft.gctoolkit.parser.CMSTenuredPoolParser",
+            "com.microsoft.gctoolkit.parser.GenerationalHeapParser",
+            "com.microsoft.gctoolkit.parser.JVMEventParser",
+            "com.microsoft.gctoolkit.parser.PreUnifiedG1GCParser",
+            "com.microsoft.gctoolkit.parser.ShenandoahParser",
+            "com.microsoft.gctoolkit.parser.SurvivorMemoryPoolParser",
+            "com.microsoft.gctoolkit.parser.UnifiedG1GCParser",
+            "com.microsoft.gctoolkit.parser.UnifiedGenerationalParser",
+            "com.microsoft.gctoolkit.parser.UnifiedJVMEventParser",
+            "com.microsoft.gctoolkit.parser.UnifiedSurvivorMemoryPoolParser",
+            "com.microsoft.gctoolkit.parser.ZGCParser"
+    };
+
+    // the interfaces and classes that declare rules as constants
+    private static final Class<?>[] RULE_HOLDERS = {
+            CMSPatterns.class, G1GCPatterns.class, ICMSPatterns.class, JVMPatterns.class, ParallelPatterns.class,
+            PreUnifiedTokens.class, SerialPatterns.class, SharedPatterns.class, SimplePatterns.class,
+            TenuredPatterns.class, Tokens.class, GCLogParser.class,
+            ShenandoahPatterns.class, UnifiedG1GCPatterns.class, UnifiedGenerationalPatterns.class,
+            UnifiedPatterns.class, ZGCPatterns.class
+    };
+
+    /**
+     * A short log of one collector.
+     */
+    @State(Scope.Benchmark)
+    public static class Log {
+
+        @Param({ "G1", "CMS", "Parallel", "Serial", "ZGC", "Shenandoah" })
+        public String collector;
+
+        private String[] lines;
+
+        @Setup
+        public void setUp() {
+            lines = lines(collector);
+        }
+
+        private static String[] lines(String collector) {
+            switch (collector) {
+                case "G1":
+                    return new String[] {
+                            "[0.011s][info][gc] Using G1",
+                            "[0.011s][info][gc,init] Heap Region Size: 1M",
+                            "[0.250s][info][gc,start    ] GC(0) Pause Young (Normal) (G1 Evacuation Pause)",
+                            "[0.250s][info][gc,task     ] GC(0) Using 2 workers of 2 for evacuation",
+                            "[0.255s][info][gc,heap     ] GC(0) Eden regions: 8->0(60)",
+                            "[0.255s][info][gc          ] GC(0) Pause Young (Normal) (G1 Evacuation Pause) 12M->5M(106M) 4.985ms",
+                            "[0.255s][info][gc,cpu      ] GC(0) User=0.00s Sys=0.00s Real=0.00s"
+                    };
+                case "ZGC":
+                    return new String[] {
+                            "[0.011s][info][gc,init] Using The Z Garbage Collector",
+                            "[32.121s][info][gc,start    ] GC(2) Garbage Collection (Metadata GC Threshold)",
+                            "[32.121s][info][gc,phases   ] GC(2) Pause Mark Start 0.023ms",
+                            "[32.166s][info][gc,phases   ] GC(2) Concurrent Mark 44.623ms",
+                            "[32.193s][info][gc          ] GC(2) Garbage Collection (Metadata GC Threshold) 558M(2%)->126M(0%)"
+                    };
+                case "Shenandoah":
+                    return new String[] {
+                            "[0.004s][info][gc     ] Using Shenandoah",
+                            "[0.876s][info][gc,start     ] GC(0) Concurrent reset",
+                            "[0.876s][info][gc           ] GC(0) Concurrent reset 0.252ms",
+                            "[0.877s][info][gc,start     ] GC(0) Pause Init Mark (process weakrefs) (unload classes)",
+                            "[0.878s][info][gc           ] GC(0) Pause Init Mark (process weakrefs) (unload classes) 1.692ms"
+                    };
+                case "CMS":
+                    return new String[] {
+                            "CommandLine flags: -XX:+PrintGCDetails -XX:+UseConcMarkSweepGC -XX:+UseParNewGC",
+                            "40.962: [GC (Allocation Failure)40.962: [ParNew: 32671K->35386K(349568K), 0.0082400 secs] 35230K->38078K(354944K), 0.0082790 secs] [Times: user=0.06 sys=0.00, real=0.01 secs]",
+                            "40.971: [GC (CMS Initial Mark) [1 CMS-initial-mark: 2692K(5376K)] 38078K(354944K), 0.0147940 secs] [Times: user=0.01 sys=0.00, real=0.02 secs]",
+                            "40.986: [CMS-concurrent-mark-start]",
+                            "40.991: [CMS-concurrent-mark: 0.005/0.005 secs] [Times: user=0.03 sys=0.00, real=0.00 secs]"
+                    };
+                case "Parallel":
+                    return new String[] {
+                            "CommandLine flags: -XX:+PrintGCDetails -XX:+UseParallelGC",
+                            "0.716: [GC (Allocation Failure) [PSYoungGen: 33280K->5104K(38400K)] 33280K->5112K(125952K), 0.0052840 secs] [Times: user=0.01 sys=0.00, real=0.01 secs]",
+                            "1.154: [Full GC (Ergonomics) [PSYoungGen: 116224K->0K(232960K)] [ParOldGen: 465364K->194938K(575488K)] 581588K->194938K(808448K), [Metaspace: 4211K->4211K(1056768K)], 0.0449697 secs] [Times: user=0.29 sys=0.00, real=0.04 secs]"
+                    };
+                case "Serial":
+                    return new String[] {
+                            "CommandLine flags: -XX:+PrintGCDetails -XX:+UseSerialGC",
+                            "21.912: [GC (Allocation Failure) 21.912: [DefNew: 419520K->19563K(471936K), 0.1019514 secs] 502104K->102148K(2044800K), 0.1020469 secs] [Times: user=0.09 sys=0.01, real=0.10 secs]"
+                    };
+                default:
+                    throw new IllegalArgumentException("Unknown collector " + collector);
+            }
+        }
+    }
+
+    /**
+     * The declared parse rules, which are loaded but not yet compiled.
+     */
+    @State(Scope.Benchmark)
+    public static class Rules {
+
+        private final List<GCParseRule> rules = new ArrayList<>();
+
+        @Setup
+        public void setUp() throws IllegalAccessException {
+            for (Class<?> holder : RULE_HOLDERS)
+                for (Field field : holder.getDeclaredFields())
+                    if (Modifier.isStatic(field.getModifiers()) && field.getType() == GCParseRule.class)
+                        rules.add((GCParseRule) field.get(null));
+        }
+    }
+
+    @Benchmark
+    public void startUp(Log log, Blackhole blackhole) throws ReflectiveOperationException {
+        Diarizer diarizer = log.lines[0].startsWith("[") ? new UnifiedDiarizer() : new PreUnifiedDiarizer();
+        for (String line : log.lines)
+            diarizer.diarize(line);
+        Diary diary = diarizer.getDiary();
+        List<GCLogParser> parsers = new ArrayList<>();
+        for (String parserName : PARSERS) {
+            DataSourceParser parser = (DataSourceParser) Class.forName(parserName).getConstructors()[0].newInstance();
+            if (parser.accepts(diary))
+                parsers.add((GCLogParser) parser);
+        }
+        for (GCLogParser parser : parsers) {
+            parser.diary(diary);
+            parser.publishTo(new BlackholeChannel(blackhole));
+            for (String line : log.lines)
+                parser.receive(line);
+            parser.receive(GCLogParser.END_OF_DATA_SENTINEL);
+        }
+    }
+
+    @Benchmark
+    public void compileEveryRule(Rules rules, Blackhole blackhole) {
+        for (GCParseRule rule : rules.rules)
+            blackhole.consume(rule.pattern());
+    }
+}
@@ -0,0 +1,42 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.benchmarks;
+
+import com.microsoft.gctoolkit.online.statistics.QuantileSketch;
+
+import java.util.Arrays;
+
+/**
+ * Compares the quantiles that the quantile sketches estimate for synthetic pause times with the exact quantiles of
+ * the sorted pauses. For each sketch and quantile, the estimate is reported with its error relative to the exact
+ * value and the error of its rank, which is the fraction of the pauses at or below it less the quantile. The
+ * number of pauses is given by the system property {@code gctoolkit.benchmarks.pauses}, 10,000,000 by default.
+ */
+public class QuantileAccuracy {
+
+    private static final double[] QUANTILES = { 0.5d, 0.9d, 0.99d, 0.999d, 0.9999d };
+
+    private QuantileAccuracy() {}
+
+    public static void main(String[] args) {
+        int count = Integer.getInteger("gctoolkit.benchmarks.pauses", 10_000_000);
+        double[] pauses = QuantileBenchmark.pauses(count, 42L);
+        double[] sorted = Arrays.copyOf(pauses, pauses.length);
+        Arrays.sort(sorted);
+
+        System.out.printf("%-10s %8s %14s %14s %12s %12s%n", "sketch", "quantile", "exact", "estimate", "rel. error", "rank error");
+        for (String name : new String[] { "tdigest", "histogram" }) {
+            QuantileSketch<?> sketch = QuantileBenchmark.sketch(name);
+            for (double pause : pauses)
+                sketch.update(pause);
+            for (double quantile : QUANTILES) {
+                double exact = sorted[(int) Math.ceil(quantile * sorted.length) - 1];
+                double estimate = sketch.getQuantile(quantile);
+                int index = Arrays.binarySearch(sorted, estimate);
+                double rank = (double) (index < 0 ? -index - 1 : index + 1) / sorted.length;
+                System.out.printf("%-10s %8s %14.9f %14.9f %11.4f%% %11.4f%%%n",
+                        name, quantile, exact, estimate, 100.0d * (estimate - exact) / exact, 100.0d * (rank - quantile));
+            }
+        }
+    }
+}
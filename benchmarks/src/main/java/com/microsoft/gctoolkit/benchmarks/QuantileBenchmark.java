@@ -0,0 +1,91 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.benchmarks;
+
+import com.microsoft.gctoolkit.online.statistics.LogHistogram;
+import com.microsoft.gctoolkit.online.statistics.QuantileSketch;
+import com.microsoft.gctoolkit.online.statistics.TDigest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records a million synthetic pause times and then asks for their p50, p99 and p99.9, with each of the quantile
+ * sketches and, for comparison, by sorting all of the pauses, which is what an Aggregation that keeps a list of its
+ * pauses does. The scores are per pause. {@link QuantileAccuracy} reports how accurate the sketches are.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class QuantileBenchmark {
+
+    static final int PAUSES = 1_000_000;
+    static final double[] QUANTILES = { 0.5d, 0.99d, 0.999d };
+
+    @Param({"sort", "tdigest", "histogram"})
+    public String sketch;
+
+    private double[] pauses;
+
+    @Setup
+    public void setUp() {
+        pauses = pauses(PAUSES, 42L);
+    }
+
+    /**
+     * @return log-normal pause times, in seconds, with a median of 10ms and a long tail
+     */
+    static double[] pauses(int count, long seed) {
+        Random random = new Random(seed);
+        double[] pauses = new double[count];
+        for (int i = 0; i < count; i++)
+            pauses[i] = 0.01d * Math.exp(0.8d * random.nextGaussian());
+        return pauses;
+    }
+
+    static QuantileSketch<?> sketch(String name) {
+        switch (name) {
+            case "tdigest":
+                return new TDigest();
+            case "histogram":
+                return new LogHistogram();
+            default:
+                throw new IllegalArgumentException("Unknown sketch " + name);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAUSES)
+    public double quantiles() {
+        double sum = 0.0d;
+        if ("sort".equals(sketch)) {
+            double[] sorted = Arrays.copyOf(pauses, pauses.length);
+            Arrays.sort(sorted);
+            for (double quantile : QUANTILES)
+                sum += sorted[(int) Math.ceil(quantile * sorted.length) - 1];
+        } else {
+            QuantileSketch<?> estimator = sketch(sketch);
+            for (double pause : pauses)
+                estimator.update(pause);
+            for (double quantile : QUANTILES)
+                sum += estimator.getQuantile(quantile);
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,257 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.generator;
+
+import java.io.IOException;
+
+/**
+ * A JDK 8 ParNew and CMS log, with details, date stamps, the tenuring distribution and the application stopped
+ * time. The young generation is a third of the heap, with eden eight times the size of each survivor space. Young
+ * collections age the survivors, and promote those past the tenuring threshold. When the old generation passes the
+ * initiating occupancy, a concurrent cycle sweeps it back down to the live set; young collections go on during its
+ * concurrent phases. A full collection happens only if the old generation fills up.
+ */
+final class CMSLog extends CollectorLog {
+
+    private static final int MAXIMUM_TENURING_THRESHOLD = 6;
+    private static final int INITIATING_OCCUPANCY_FRACTION = 75;
+
+    private final long eden;
+    private final long survivor;
+    private final long oldSize;
+    // the bytes of each age in the survivor space, age 0 isn't used
+    private final long[] ages = new long[MAXIMUM_TENURING_THRESHOLD + 1];
+
+    private long old = 0L;
+    private double youngEnd = 0.0d;
+    private double nextYoung;
+
+    CMSLog(GCLogGenerator settings, LogWriter out) {
+        super(settings, out);
+        long young = heap / 3L;
+        survivor = young / 10L;
+        eden = young - 2L * survivor;
+        oldSize = heap - young;
+        nextYoung = uptime + allocationTime(eden);
+    }
+
+    @Override
+    void header() throws IOException {
+        plain().append("Java HotSpot(TM) 64-Bit Server VM (25.202-b08) for linux-amd64 JRE (1.8.0_202-b08), built on Dec 15 2018 12:40:22 by \"java_re\" with gcc 7.3.0 20180427 (Red Hat 7.3.0-2)");
+        emit();
+        plain().append("Memory: 4k page, physical ").append(heap * 4L).append("k(").append(heap * 2L).append("k free), swap 0k(0k free)");
+        emit();
+        long young = eden + 2L * survivor;
+        plain().append("CommandLine flags: -XX:CMSInitiatingOccupancyFraction=").append(INITIATING_OCCUPANCY_FRACTION)
+                .append(" -XX:InitialHeapSize=").append(heap * 1024L)
+                .append(" -XX:MaxHeapSize=").append(heap * 1024L)
+                .append(" -XX:MaxNewSize=").append(young * 1024L)
+                .append(" -XX:MaxTenuringThreshold=").append(MAXIMUM_TENURING_THRESHOLD)
+                .append(" -XX:NewSize=").append(young * 1024L)
+                .append(" -XX:OldPLABSize=16 -XX:+PrintGC -XX:+PrintGCApplicationStoppedTime -XX:+PrintGCDateStamps")
+                .append(" -XX:+PrintGCDetails -XX:+PrintGCTimeStamps -XX:+PrintTenuringDistribution")
+                .append(" -XX:+UseCMSInitiatingOccupancyOnly -XX:+UseCompressedClassPointers -XX:+UseCompressedOops")
+                .append(" -XX:+UseConcMarkSweepGC -XX:+UseParNewGC");
+        emit();
+    }
+
+    private long youngSize() {
+        return eden + survivor;
+    }
+
+    private long survivors() {
+        long survivors = 0L;
+        for (long age : ages)
+            survivors += age;
+        return survivors / 1024L;
+    }
+
+    private long young(double time) {
+        return Math.min(eden, allocated(time - youngEnd)) + survivors();
+    }
+
+    @Override
+    void collect() throws IOException {
+        uptime = nextYoung;
+        if (old + survivors() + 2L * (long) (eden * survivalRate) > oldSize) {
+            full();
+        } else {
+            young();
+            if (old > oldSize * INITIATING_OCCUPANCY_FRACTION / 100L)
+                concurrentCycle();
+        }
+    }
+
+    private void young() throws IOException {
+        double start = uptime;
+        double pause = pause(1.0d);
+        long youngBefore = eden + survivors();
+        long oldBefore = old;
+
+        // the survivors age, a third of each age dies, and the oldest are promoted
+        long promoted = ages[MAXIMUM_TENURING_THRESHOLD];
+        for (int age = MAXIMUM_TENURING_THRESHOLD; age > 1; age--)
+            ages[age] = ages[age - 1] * 2L / 3L;
+        ages[1] = (long) jitter(eden * survivalRate) * 1024L;
+        long desired = survivor * 1024L / 2L;
+        int threshold = MAXIMUM_TENURING_THRESHOLD;
+        long total = 0L;
+        for (int age = 1; age <= MAXIMUM_TENURING_THRESHOLD; age++) {
+            total += ages[age];
+            if (total > desired) {
+                threshold = age;
+                break;
+            }
+        }
+        // the ages past the threshold are promoted at the next collection, those that don't fit now
+        for (int age = MAXIMUM_TENURING_THRESHOLD; age > 0 && survivors() > survivor; age--) {
+            promoted += ages[age];
+            ages[age] = 0L;
+        }
+        old = Math.min(oldSize, old + promoted / 1024L);
+
+        preUnified(start).append("[GC (Allocation Failure) ");
+        stamp(start).append("[ParNew");
+        emit();
+        plain().append("Desired survivor size ").append(desired).append(" bytes, new threshold ").append(threshold)
+                .append(" (max ").append(MAXIMUM_TENURING_THRESHOLD).append(')');
+        emit();
+        total = 0L;
+        for (int age = 1; age <= MAXIMUM_TENURING_THRESHOLD; age++) {
+            if (ages[age] == 0L)
+                continue;
+            total += ages[age];
+            StringBuilder line = plain().append("- age ");
+            right(line, Long.toString(age), 3).append(": ");
+            right(line, Long.toString(ages[age]), 10).append(" bytes, ");
+            right(line, Long.toString(total), 10).append(" total");
+            emit();
+        }
+        StringBuilder line = kilobytes(plain().append(": "), youngBefore, survivors(), youngSize()).append(", ");
+        secs(line, pause * 0.98d).append("] ");
+        kilobytes(line, youngBefore + oldBefore, survivors() + old, heap).append(", ");
+        times(secs(line, pause).append("] "), pause);
+        emit();
+
+        uptime = start + pause;
+        youngEnd = uptime;
+        nextYoung = uptime + allocationTime(eden);
+        stopped(pause);
+    }
+
+    /**
+     * Writes the line that {@code -XX:+PrintGCApplicationStoppedTime} adds when a pause, ending at the uptime, lets
+     * the application threads go again. The threads take a little while to reach the safepoint first.
+     */
+    private void stopped(double pause) throws IOException {
+        double timeToSafepoint = jitter(0.00005d);
+        StringBuilder line = preUnified(uptime).append("Total time for which application threads were stopped: ");
+        fixed(line, pause + timeToSafepoint, 7).append(" seconds, Stopping threads took: ");
+        fixed(line, timeToSafepoint, 7).append(" seconds");
+        emit();
+    }
+
+    private StringBuilder secs(StringBuilder builder, double seconds) {
+        return fixed(builder, seconds, 7).append(" secs");
+    }
+
+    private StringBuilder times(StringBuilder builder, double seconds) {
+        fixed(builder.append("[Times: user="), seconds * workers * 0.9d, 2).append(" sys=");
+        fixed(builder, seconds * 0.05d, 2).append(", real=");
+        return fixed(builder, seconds, 2).append(" secs]");
+    }
+
+    /**
+     * Moves the uptime on by a concurrent phase, with the young collections that happen meanwhile.
+     */
+    private void elapse(double seconds) throws IOException {
+        double end = uptime + seconds;
+        while (nextYoung < end) {
+            uptime = nextYoung;
+            young();
+        }
+        uptime = Math.max(uptime, end);
+    }
+
+    private void concurrentPhase(String phase, double seconds) throws IOException {
+        preUnified(uptime).append("[CMS-concurrent-").append(phase).append("-start]");
+        emit();
+        double start = uptime;
+        elapse(seconds);
+        double wall = uptime - start;
+        StringBuilder line = fixed(preUnified(uptime).append("[CMS-concurrent-").append(phase).append(": "), wall * 0.95d, 3).append('/');
+        times(fixed(line, wall, 3).append(" secs] "), wall);
+        emit();
+    }
+
+    private void concurrentCycle() throws IOException {
+        double markRate = 256.0d * 1024.0d * Math.max(1, (workers + 2) / 4);
+        long garbage = Math.max(0L, old - liveSet);
+
+        double pause = pause(0.5d);
+        StringBuilder line = preUnified(uptime).append("[GC (CMS Initial Mark) [1 CMS-initial-mark: ");
+        line.append(old).append("K(").append(oldSize).append("K)] ").append(young(uptime) + old).append("K(").append(heap).append("K), ");
+        times(secs(line, pause).append("] "), pause);
+        emit();
+        pauseFor(pause);
+        stopped(pause);
+
+        concurrentPhase("mark", jitter(old / markRate));
+        concurrentPhase("preclean", jitter(0.005d));
+        // abortable preclean waits for eden to be half full, for at most 5 seconds
+        double halfEden = nextYoung - uptime < 0.0d ? 0.0d : nextYoung - uptime;
+        concurrentPhase("abortable-preclean", Math.min(4.9d, halfEden + allocationTime(eden / 2.0d)));
+
+        pause = pause(2.0d);
+        double time = uptime;
+        long youngUsed = young(time);
+        line = preUnified(time).append("[GC (CMS Final Remark) [YG occupancy: ").append(youngUsed).append(" K (").append(youngSize()).append(" K)]");
+        String[] phases = { "Rescan (parallel) ", "weak refs processing", "class unloading", "scrub symbol table", "scrub string table" };
+        double[] shares = { 0.7d, 0.02d, 0.18d, 0.06d, 0.04d };
+        for (int phase = 0; phase < phases.length; phase++) {
+            stamp(time).append('[').append(phases[phase]).append(", ");
+            secs(line, pause * shares[phase]).append(']');
+            time += pause * shares[phase];
+        }
+        line.append("[1 CMS-remark: ").append(old).append("K(").append(oldSize).append("K)] ").append(youngUsed + old).append("K(").append(heap).append("K), ");
+        times(secs(line, pause).append("] "), pause);
+        emit();
+        pauseFor(pause);
+        stopped(pause);
+
+        concurrentPhase("sweep", jitter(oldSize / (4.0d * markRate)));
+        old = Math.max(liveSet, old - garbage);
+        concurrentPhase("reset", jitter(0.01d));
+    }
+
+    /**
+     * Moves the uptime on by a pause of a concurrent cycle, during which nothing is allocated.
+     */
+    private void pauseFor(double seconds) {
+        uptime += seconds;
+        nextYoung += seconds;
+    }
+
+    private void full() throws IOException {
+        double start = uptime;
+        double pause = pause(30.0d);
+        long heapBefore = young(start) + old;
+        long oldBefore = old;
+        for (int age = 1; age <= MAXIMUM_TENURING_THRESHOLD; age++)
+            ages[age] = 0L;
+        old = liveSet;
+
+        StringBuilder line = preUnified(start).append("[Full GC (Allocation Failure) ");
+        kilobytes(stamp(start).append("[CMS: "), oldBefore, old, oldSize).append(", ");
+        secs(line, pause * 0.99d).append("] ");
+        kilobytes(line, heapBefore, old, heap).append(", [Metaspace: ").append(metaspace).append("K->").append(metaspace)
+                .append("K(").append(METASPACE_RESERVED).append("K)], ");
+        times(secs(line, pause).append("] "), pause);
+        emit();
+
+        uptime = start + pause;
+        youngEnd = uptime;
+        nextYoung = uptime + allocationTime(eden);
+        stopped(pause);
+    }
+}
@@ -0,0 +1,279 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.generator;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * The log of one collector. A subclass models the heap of its collector, and writes the lines of each collection
+ * as the JVM would. The model is driven by the allocation rate: a young collection happens when eden is full, some
+ * of what it copies survives to the old generation, and the old generation is collected back to the live set when
+ * it passes the occupancy that starts a cycle. The heap is committed in full from the start, as with {@code -Xms}
+ * equal to {@code -Xmx}.
+ * <p>
+ * All sizes are in KB and all times in seconds, unless they are named otherwise. Lines are formatted into a
+ * single {@link StringBuilder} without {@code String.format}, since a log of many GB is made of hundreds of
+ * millions of lines.
+ */
+abstract class CollectorLog {
+
+    private static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss", Locale.US);
+    private static final long[] POWERS_OF_TEN = { 1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L };
+
+    static final String METASPACE_RESERVED = "1056768";
+
+    private final LogWriter out;
+    private final long startMillis;
+    private final StringBuilder line = new StringBuilder(256);
+    private long dateSecond = Long.MIN_VALUE;
+    private String date;
+
+    final Random random;
+    final long heap;
+    final long liveSet;
+    final double allocationRate;
+    final double survivalRate;
+    final double pauseTime;
+    final double pauseSpread;
+    final int workers;
+    final long metaspace;
+
+    double uptime = 0.007d;
+    int gcId = 0;
+
+    CollectorLog(GCLogGenerator settings, LogWriter out) {
+        this.out = out;
+        this.startMillis = settings.startTime.toEpochMilli();
+        this.random = new Random(settings.seed);
+        this.heap = settings.heapSize * 1024L;
+        this.liveSet = (long) (heap * settings.liveSet);
+        this.allocationRate = settings.allocationRate * 1024.0d;
+        this.survivalRate = settings.survivalRate;
+        this.pauseTime = settings.pauseTime > 0.0d ? settings.pauseTime : settings.format.getPauseTime();
+        this.pauseSpread = settings.pauseSpread;
+        this.workers = Math.max(2, Math.min(16, (int) (settings.heapSize / 512L)));
+        this.metaspace = 20_000L + random.nextInt(80_000);
+    }
+
+    /**
+     * Writes the lines a JVM writes when it starts, and at the start of each file of a pre-unified log.
+     * @throws IOException if the lines can't be written
+     */
+    abstract void header() throws IOException;
+
+    /**
+     * Writes the next collection, along with any cycle it starts, and moves the uptime past it.
+     * @throws IOException if the lines can't be written
+     */
+    abstract void collect() throws IOException;
+
+    /*
+     * The random model
+     */
+
+    /**
+     * @param median the median of the distribution
+     * @param sigma the standard deviation of the logarithm of the distribution
+     * @return a sample of a log-normal distribution, which is the usual shape of pause times
+     */
+    double logNormal(double median, double sigma) {
+        return median * Math.exp(sigma * random.nextGaussian());
+    }
+
+    /**
+     * @param value a time or a size
+     * @return the value varied by about 10%
+     */
+    double jitter(double value) {
+        return logNormal(value, 0.1d);
+    }
+
+    /**
+     * @param scale the median of the pause relative to the median young pause
+     * @return a pause time, in seconds
+     */
+    double pause(double scale) {
+        return logNormal(pauseTime * scale, pauseSpread) / 1000.0d;
+    }
+
+    /**
+     * @param size the size to allocate
+     * @return the time it takes to allocate the size
+     */
+    double allocationTime(double size) {
+        return jitter(size / allocationRate);
+    }
+
+    /**
+     * @param time a concurrent phase
+     * @return the bytes allocated during the phase
+     */
+    long allocated(double time) {
+        return (long) (time * allocationRate);
+    }
+
+    /*
+     * Formatting
+     */
+
+    /**
+     * Starts a unified logging line, decorated with time, uptime, level and tags.
+     */
+    StringBuilder unified(double time, String tags) {
+        line.setLength(0);
+        line.append('[');
+        date(time);
+        line.append("][");
+        fixed(line, time, 3).append("s][info][").append(tags);
+        for (int pad = tags.length(); pad < 12; pad++)
+            line.append(' ');
+        return line.append("] ");
+    }
+
+    /**
+     * Starts a unified logging line of a collection.
+     */
+    StringBuilder unified(double time, String tags, int id) {
+        return unified(time, tags).append("GC(").append(id).append(") ");
+    }
+
+    /**
+     * Starts a pre-unified line, with a date stamp and a time stamp.
+     */
+    StringBuilder preUnified(double time) {
+        line.setLength(0);
+        return stamp(time);
+    }
+
+    /**
+     * Appends a date stamp and a time stamp to the current line, as a pre-unified record nested in another
+     * is stamped.
+     */
+    StringBuilder stamp(double time) {
+        date(time);
+        line.append(": ");
+        return fixed(line, time, 3).append(": ");
+    }
+
+    /**
+     * @return the current line, cleared, for a line without decorations
+     */
+    StringBuilder plain() {
+        line.setLength(0);
+        return line;
+    }
+
+    /**
+     * Writes the current line.
+     */
+    void emit() throws IOException {
+        out.write(line);
+    }
+
+    private void date(double time) {
+        long millis = startMillis + Math.round(time * 1000.0d);
+        long second = Math.floorDiv(millis, 1000L);
+        if (second != dateSecond) {
+            dateSecond = second;
+            date = DATE.format(LocalDateTime.ofEpochSecond(second, 0, ZoneOffset.UTC));
+        }
+        line.append(date).append('.');
+        pad(line, Math.floorMod(millis, 1000L), 3).append("+0000");
+    }
+
+    /**
+     * Appends a value with a fixed number of decimals, rounded half up.
+     */
+    static StringBuilder fixed(StringBuilder builder, double value, int decimals) {
+        long scaled = Math.round(value * POWERS_OF_TEN[decimals]);
+        builder.append(scaled / POWERS_OF_TEN[decimals]);
+        if (decimals > 0)
+            pad(builder.append('.'), scaled % POWERS_OF_TEN[decimals], decimals);
+        return builder;
+    }
+
+    /**
+     * Appends a value with leading zeros.
+     */
+    static StringBuilder pad(StringBuilder builder, long value, int digits) {
+        for (int digit = digits - 1; digit > 0 && value < POWERS_OF_TEN[digit]; digit--)
+            builder.append('0');
+        return builder.append(value);
+    }
+
+    /**
+     * Appends a value right aligned in a field of the given width.
+     */
+    static StringBuilder right(StringBuilder builder, CharSequence value, int width) {
+        for (int pad = value.length(); pad < width; pad++)
+            builder.append(' ');
+        return builder.append(value);
+    }
+
+    /**
+     * Appends a size as unified logging writes it, in K, M or G.
+     */
+    static StringBuilder size(StringBuilder builder, long kb) {
+        if (kb >= 10L * 1024L * 1024L && kb % (1024L * 1024L) == 0L)
+            return builder.append(kb >> 20).append('G');
+        if (kb >= 10L * 1024L && kb % 1024L == 0L)
+            return builder.append(kb >> 10).append('M');
+        return builder.append(kb).append('K');
+    }
+
+    /**
+     * Appends the pause of a collection as unified logging ends its summary line.
+     */
+    static StringBuilder millis(StringBuilder builder, double seconds) {
+        return fixed(builder, seconds * 1000.0d, 3).append("ms");
+    }
+
+    /**
+     * Appends the CPU times of a collection of the given duration, as its unified logging {@code gc,cpu} line.
+     */
+    StringBuilder cpu(StringBuilder builder, double seconds) {
+        fixed(builder.append("User="), seconds * workers * 0.9d, 2).append("s Sys=");
+        fixed(builder, seconds * 0.05d, 2).append("s Real=");
+        return fixed(builder, seconds, 2).append('s');
+    }
+
+    /**
+     * Appends the JDK 17 metaspace summary, which doesn't change over a collection in this model.
+     */
+    StringBuilder metaspace(StringBuilder builder) {
+        long nonClass = metaspace * 7L / 8L;
+        long nonClassCommitted = (nonClass + 63L) / 64L * 64L;
+        long klass = metaspace - nonClass;
+        long klassCommitted = (klass + 127L) / 128L * 128L;
+        builder.append("Metaspace: ").append(metaspace).append("K(").append(nonClassCommitted + klassCommitted).append("K)->")
+                .append(metaspace).append("K(").append(nonClassCommitted + klassCommitted).append("K) NonClass: ");
+        builder.append(nonClass).append("K(").append(nonClassCommitted).append("K)->").append(nonClass).append("K(").append(nonClassCommitted).append("K) Class: ");
+        return builder.append(klass).append("K(").append(klassCommitted).append("K)->").append(klass).append("K(").append(klassCommitted).append("K)");
+    }
+
+    /**
+     * Appends an occupancy transition in M, as {@code 12M->5M(106M)}.
+     */
+    static StringBuilder megabytes(StringBuilder builder, long before, long after, long size) {
+        return builder.append(before >> 10).append("M->").append(after >> 10).append("M(").append(size >> 10).append("M)");
+    }
+
+    /**
+     * Appends an occupancy transition in K, as {@code 17472K->2176K(19648K)}.
+     */
+    static StringBuilder kilobytes(StringBuilder builder, long before, long after, long size) {
+        return builder.append(before).append("K->").append(after).append("K(").append(size).append("K)");
+    }
+
+    /**
+     * Appends an occupancy transition in K with the size before and after, as JDK 17 writes the generations.
+     */
+    static StringBuilder kilobytes(StringBuilder builder, long before, long sizeBefore, long after, long sizeAfter) {
+        return builder.append(before).append("K(").append(sizeBefore).append("K)->").append(after).append("K(").append(sizeAfter).append("K)");
+    }
+}
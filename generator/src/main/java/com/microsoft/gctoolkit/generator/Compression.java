@@ -0,0 +1,19 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.generator;
+
+/**
+ * How the files of a generated log are compressed.
+ */
+public enum Compression {
+
+    /** the files are plain text */
+    NONE,
+    /**
+     * each file is compressed with gzip as it is written, and has a {@code .gz} suffix. A single gzipped file can be
+     * read with a {@code SingleGCLogFile}, rotated gzipped files can't be read as a {@code RotatingGCLogFile}
+     */
+    GZIP,
+    /** the files are written in plain text and then moved into a single zip archive */
+    ZIP
+}
@@ -0,0 +1,264 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.generator;
+
+import java.io.IOException;
+
+/**
+ * A JDK 17 G1 log. Young collections copy eden to the survivor regions and age the survivors into the old
+ * regions. When the heap passes the initiating occupancy, a young collection starts a concurrent mark cycle,
+ * during which young collections go on, and after which mixed collections take the old regions back down to the
+ * live set. A full collection happens only if the heap fills up.
+ */
+final class G1Log extends CollectorLog {
+
+    private static final double INITIATING_HEAP_OCCUPANCY = 0.45d;
+    private static final String EVACUATION_PAUSE = ") (G1 Evacuation Pause)";
+    private static final String COMPACTION_PAUSE = "Pause Full (G1 Compaction Pause)";
+
+    private final long regionSize;
+    private final int edenRegions;
+    private final int maximumSurvivorRegions;
+
+    private int survivorRegions = 0;
+    private long old = 0L;
+    private int humongousRegions;
+    private double youngEnd = 0.0d;
+    private double nextYoung;
+    private boolean prepareMixed = false;
+    private int mixedRemaining = 0;
+
+    G1Log(GCLogGenerator settings, LogWriter out) {
+        super(settings, out);
+        long regionMegabytes = 1L;
+        while (regionMegabytes < 32L && regionMegabytes * 2048L < settings.heapSize)
+            regionMegabytes <<= 1;
+        regionSize = regionMegabytes * 1024L;
+        edenRegions = (int) Math.max(2L, heap / regionSize / 5L);
+        maximumSurvivorRegions = Math.max(1, edenRegions / 8);
+        humongousRegions = random.nextInt(4);
+        nextYoung = uptime + allocationTime(edenRegions * regionSize);
+    }
+
+    @Override
+    void header() throws IOException {
+        unified(uptime, "gc,init").append("Version: 17.0.9+9 (release)");
+        emit();
+        unified(uptime, "gc").append("Using G1");
+        emit();
+        unified(uptime, "gc,init").append("CPUs: ").append(workers).append(" total, ").append(workers).append(" available");
+        emit();
+        unified(uptime, "gc,init").append("Memory: ").append(heap * 4L >> 20).append('G');
+        emit();
+        unified(uptime, "gc,init").append("Heap Region Size: ").append(regionSize >> 10).append('M');
+        emit();
+        unified(uptime, "gc,init").append("Heap Min Capacity: ").append(heap >> 10).append('M');
+        emit();
+        unified(uptime, "gc,init").append("Heap Initial Capacity: ").append(heap >> 10).append('M');
+        emit();
+        unified(uptime, "gc,init").append("Heap Max Capacity: ").append(heap >> 10).append('M');
+        emit();
+        unified(uptime, "gc,init").append("Parallel Workers: ").append(workers);
+        emit();
+        unified(uptime, "gc,init").append("Concurrent Workers: ").append(concurrentWorkers());
+        emit();
+    }
+
+    private int concurrentWorkers() {
+        return Math.max(1, (workers + 2) / 4);
+    }
+
+    private long used(double time) {
+        long eden = Math.min(edenRegions * regionSize, allocated(time - youngEnd));
+        return eden + survivorRegions * regionSize + old + humongousRegions * regionSize;
+    }
+
+    @Override
+    void collect() throws IOException {
+        uptime = nextYoung;
+        if (used(uptime) > heap - regionSize * maximumSurvivorRegions) {
+            full();
+        } else if (prepareMixed) {
+            prepareMixed = false;
+            young("Prepare Mixed");
+        } else if (mixedRemaining > 0) {
+            young("Mixed");
+        } else if (old + humongousRegions * regionSize > heap * INITIATING_HEAP_OCCUPANCY) {
+            young("Concurrent Start");
+            concurrentCycle();
+        } else {
+            young("Normal");
+        }
+    }
+
+    private void young(String type) throws IOException {
+        int id = gcId++;
+        double start = uptime;
+        double pause = pause("Normal".equals(type) ? 1.0d : 1.3d);
+        long edenBefore = edenRegions * regionSize;
+        long heapBefore = used(start);
+        int survivorsBefore = survivorRegions;
+        long oldBefore = old;
+        int humongousBefore = humongousRegions;
+
+        // half of the survivors are old enough to be promoted, and the survivors that don't fit are promoted too
+        long survivors = (long) (jitter(edenBefore * survivalRate) + survivorsBefore * regionSize / 2L);
+        long promoted = survivorsBefore * regionSize / 2L;
+        survivorRegions = (int) Math.min(maximumSurvivorRegions, (survivors + regionSize - 1L) / regionSize);
+        promoted += Math.max(0L, survivors - survivorRegions * regionSize);
+        old += promoted;
+        if (mixedRemaining > 0 && "Mixed".equals(type)) {
+            old -= Math.max(0L, (old - liveSet) / mixedRemaining);
+            mixedRemaining--;
+        }
+        humongousRegions = Math.max(0, humongousRegions + random.nextInt(3) - 1);
+
+        unified(start, "gc,start", id).append("Pause Young (").append(type).append(EVACUATION_PAUSE);
+        emit();
+        unified(start, "gc,task", id).append("Using ").append(workers).append(" workers of ").append(workers).append(" for evacuation");
+        emit();
+        double end = start + pause;
+        phase(end, id, "Pre Evacuate Collection Set: ", pause * 0.02d);
+        phase(end, id, "Merge Heap Roots: ", pause * 0.04d);
+        phase(end, id, "Evacuate Collection Set: ", pause * 0.84d);
+        phase(end, id, "Post Evacuate Collection Set: ", pause * 0.08d);
+        phase(end, id, "Other: ", pause * 0.02d);
+        regions(end, id, edenBefore, survivorsBefore, oldBefore, humongousBefore);
+        StringBuilder summary = unified(end, "gc", id).append("Pause Young (").append(type).append(EVACUATION_PAUSE).append(' ');
+        millis(megabytes(summary, heapBefore, (survivorRegions + humongousRegions) * regionSize + old, heap).append(' '), pause);
+        emit();
+        cpu(unified(end, "gc,cpu", id), pause);
+        emit();
+
+        uptime = end;
+        youngEnd = end;
+        nextYoung = end + allocationTime(edenRegions * regionSize);
+    }
+
+    private void phase(double time, int id, String phase, double seconds) throws IOException {
+        fixed(unified(time, "gc,phases", id).append("  ").append(phase), seconds * 1000.0d, 1).append("ms");
+        emit();
+    }
+
+    private void regions(double time, int id, long edenBefore, int survivorsBefore, long oldBefore, int humongousBefore) throws IOException {
+        unified(time, "gc,heap", id).append("Eden regions: ").append(edenBefore / regionSize).append("->0(").append(edenRegions).append(')');
+        emit();
+        unified(time, "gc,heap", id).append("Survivor regions: ").append(survivorsBefore).append("->").append(survivorRegions)
+                .append('(').append(maximumSurvivorRegions).append(')');
+        emit();
+        unified(time, "gc,heap", id).append("Old regions: ").append(regions(oldBefore)).append("->").append(regions(old));
+        emit();
+        unified(time, "gc,heap", id).append("Humongous regions: ").append(humongousBefore).append("->").append(humongousRegions);
+        emit();
+        metaspace(unified(time, "gc,metaspace", id));
+        emit();
+    }
+
+    private long regions(long size) {
+        return (size + regionSize - 1L) / regionSize;
+    }
+
+    /**
+     * Moves the uptime on by a concurrent phase, with the young collections that happen meanwhile.
+     */
+    private void elapse(double seconds) throws IOException {
+        double end = uptime + seconds;
+        while (nextYoung < end) {
+            uptime = nextYoung;
+            young("Normal");
+        }
+        uptime = Math.max(uptime, end);
+    }
+
+    private void concurrentPhase(int id, String phase, double seconds) throws IOException {
+        unified(uptime, "gc,marking", id).append(phase);
+        emit();
+        double start = uptime;
+        elapse(seconds);
+        millis(unified(uptime, "gc,marking", id).append(phase).append(' '), uptime - start);
+        emit();
+    }
+
+    private void pause(int id, String pause, double seconds) throws IOException {
+        unified(uptime, "gc,start", id).append(pause);
+        emit();
+        double end = uptime + seconds;
+        long used = used(end);
+        millis(megabytes(unified(end, "gc", id).append(pause).append(' '), used, used, heap).append(' '), seconds);
+        emit();
+        cpu(unified(end, "gc,cpu", id), seconds);
+        emit();
+        uptime = end;
+        // nothing is allocated during the pause
+        nextYoung += seconds;
+    }
+
+    private void concurrentCycle() throws IOException {
+        int id = gcId++;
+        double start = uptime;
+        double markRate = 256.0d * 1024.0d * concurrentWorkers();
+
+        unified(uptime, "gc", id).append("Concurrent Mark Cycle");
+        emit();
+        concurrentPhase(id, "Concurrent Clear Claimed Marks", jitter(0.00002d));
+        concurrentPhase(id, "Concurrent Scan Root Regions", jitter(survivorRegions * regionSize / (1024.0d * 1024.0d)));
+        double markStart = uptime;
+        fixed(unified(uptime, "gc,marking", id).append("Concurrent Mark ("), markStart, 3).append("s)");
+        emit();
+        concurrentPhase(id, "Concurrent Mark From Roots", jitter(old / markRate));
+        concurrentPhase(id, "Concurrent Preclean", jitter(0.0001d));
+        StringBuilder mark = unified(uptime, "gc,marking", id).append("Concurrent Mark (");
+        fixed(fixed(mark, markStart, 3).append("s, "), uptime, 3).append("s) ");
+        millis(mark, uptime - markStart);
+        emit();
+        pause(id, "Pause Remark", pause(0.6d));
+        concurrentPhase(id, "Concurrent Rebuild Remembered Sets", jitter(old / (4.0d * markRate)));
+        pause(id, "Pause Cleanup", pause(0.05d));
+        concurrentPhase(id, "Concurrent Cleanup for Next Mark", jitter(heap / (8.0d * markRate)));
+        millis(unified(uptime, "gc", id).append("Concurrent Mark Cycle "), uptime - start);
+        emit();
+
+        prepareMixed = true;
+        mixedRemaining = 4 + random.nextInt(5);
+    }
+
+    private void full() throws IOException {
+        int id = gcId++;
+        double start = uptime;
+        double pause = pause(25.0d);
+        long edenBefore = Math.min(edenRegions * regionSize, allocated(start - youngEnd));
+        long heapBefore = used(start);
+        int survivorsBefore = survivorRegions;
+        long oldBefore = old;
+        int humongousBefore = humongousRegions;
+
+        unified(start, "gc,start", id).append(COMPACTION_PAUSE);
+        emit();
+        double time = start;
+        String[] phases = { "Phase 1: Mark live objects", "Phase 2: Prepare for compaction", "Phase 3: Adjust pointers", "Phase 4: Compact heap" };
+        double[] shares = { 0.4d, 0.15d, 0.25d, 0.2d };
+        for (int phase = 0; phase < phases.length; phase++) {
+            unified(time, "gc,phases,start", id).append(phases[phase]);
+            emit();
+            time += pause * shares[phase];
+            millis(unified(time, "gc,phases", id).append(phases[phase]).append(' '), pause * shares[phase]);
+            emit();
+        }
+
+        survivorRegions = 0;
+        old = liveSet;
+        humongousRegions = Math.min(humongousRegions, 1);
+        double end = start + pause;
+        regions(end, id, edenBefore, survivorsBefore, oldBefore, humongousBefore);
+        millis(megabytes(unified(end, "gc", id).append(COMPACTION_PAUSE).append(' '), heapBefore, old + humongousRegions * regionSize, heap).append(' '), pause);
+        emit();
+        cpu(unified(end, "gc,cpu", id), pause);
+        emit();
+
+        uptime = end;
+        youngEnd = end;
+        nextYoung = end + allocationTime(edenRegions * regionSize);
+        prepareMixed = false;
+        mixedRemaining = 0;
+    }
+}
@@ -0,0 +1,310 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.generator;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Writes synthetic GC logs of any size, for scale and performance testing. The log is made by a model of the heap
+ * of its collector, driven by an allocation rate, with pause times drawn from a log-normal distribution. The same
+ * settings and seed always make the same log.
+ * <pre>{@code
+ *     Path log = new GCLogGenerator(LogFormat.UNIFIED_G1)
+ *             .seed(42L)
+ *             .heapSize(8192L)
+ *             .size(1L << 30)
+ *             .rotation(5, 256L << 20)
+ *             .write(directory);
+ * }</pre>
+ * The generator is also a command line tool, see {@link #main(String[])}.
+ */
+public class GCLogGenerator {
+
+    final LogFormat format;
+    long seed = 0L;
+    long heapSize = 4096L;
+    double liveSet = 0.25d;
+    double allocationRate = 512.0d;
+    double survivalRate = 0.05d;
+    double pauseTime = 0.0d;
+    double pauseSpread = 0.4d;
+    long size = 64L << 20;
+    double duration = Double.MAX_VALUE;
+    int fileCount = 1;
+    long fileSize = Long.MAX_VALUE;
+    Compression compression = Compression.NONE;
+    String fileName = "gc.log";
+    Instant startTime = Instant.parse("2024-01-01T00:00:00Z");
+
+    /**
+     * @param format the format of the log to write
+     */
+    public GCLogGenerator(LogFormat format) {
+        this.format = format;
+    }
+
+    /**
+     * @param seed the seed of the random model, 0 by default
+     * @return this generator
+     */
+    public GCLogGenerator seed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    /**
+     * @param megabytes the maximum heap size, in MB, 4096 by default
+     * @return this generator
+     */
+    public GCLogGenerator heapSize(long megabytes) {
+        if (megabytes < 64L)
+            throw new IllegalArgumentException("The heap size must be at least 64 MB: " + megabytes);
+        this.heapSize = megabytes;
+        return this;
+    }
+
+    /**
+     * @param fraction the long lived data as a fraction of the heap, which is what is left after a full collection,
+     *                 0.25 by default
+     * @return this generator
+     */
+    public GCLogGenerator liveSet(double fraction) {
+        if (fraction <= 0.0d || fraction > 0.6d)
+            throw new IllegalArgumentException("The live set must be more than 0 and at most 0.6 of the heap: " + fraction);
+        this.liveSet = fraction;
+        return this;
+    }
+
+    /**
+     * @param megabytesPerSecond the allocation rate, in MB per second, 512 by default
+     * @return this generator
+     */
+    public GCLogGenerator allocationRate(double megabytesPerSecond) {
+        if (megabytesPerSecond <= 0.0d)
+            throw new IllegalArgumentException("The allocation rate must be positive: " + megabytesPerSecond);
+        this.allocationRate = megabytesPerSecond;
+        return this;
+    }
+
+    /**
+     * @param fraction the fraction of eden that survives a young collection, 0.05 by default
+     * @return this generator
+     */
+    public GCLogGenerator survivalRate(double fraction) {
+        if (fraction < 0.0d || fraction > 0.5d)
+            throw new IllegalArgumentException("The survival rate must be between 0 and 0.5: " + fraction);
+        this.survivalRate = fraction;
+        return this;
+    }
+
+    /**
+     * Sets the median of the pause times. Other pauses, such as remarks and full collections, are scaled from the
+     * young pause.
+     * @param medianMillis the median young pause, or the median ZGC safepoint pause, in milliseconds; by default
+     *                     8 for G1, 6 for Parallel, 12 for Serial, 10 for ParNew and 0.02 for ZGC
+     * @return this generator
+     */
+    public GCLogGenerator pauseTime(double medianMillis) {
+        if (medianMillis <= 0.0d)
+            throw new IllegalArgumentException("The pause time must be positive: " + medianMillis);
+        this.pauseTime = medianMillis;
+        return this;
+    }
+
+    /**
+     * @param spread the standard deviation of the logarithm of the pause times, 0.4 by default
+     * @return this generator
+     */
+    public GCLogGenerator pauseSpread(double spread) {
+        if (spread < 0.0d)
+            throw new IllegalArgumentException("The spread of the pause times must not be negative: " + spread);
+        this.pauseSpread = spread;
+        return this;
+    }
+
+    /**
+     * @param bytes the size of the log before compression, 64 MB by default; the log ends with the first
+     *              collection that reaches it
+     * @return this generator
+     */
+    public GCLogGenerator size(long bytes) {
+        this.size = bytes;
+        return this;
+    }
+
+    /**
+     * @param seconds the uptime at which the log ends, if it doesn't reach its size first; not limited by default
+     * @return this generator
+     */
+    public GCLogGenerator duration(double seconds) {
+        this.duration = seconds;
+        return this;
+    }
+
+    /**
+     * Rotates the log, as {@code -Xlog:gc*:file=gc.log::filecount=N,filesize=S} or
+     * {@code -XX:+UseGCLogFileRotation -XX:NumberOfGCLogFiles=N -XX:GCLogFileSize=S} would. The files are
+     * rotated between collections, so that each holds whole records.
+     * @param files the number of files kept, at least 2
+     * @param bytes the size of a file after which it is rotated
+     * @return this generator
+     */
+    public GCLogGenerator rotation(int files, long bytes) {
+        if (files < 2 || bytes <= 0L)
+            throw new IllegalArgumentException("A rotating log needs at least 2 files of a positive size: " + files + ", " + bytes);
+        this.fileCount = files;
+        this.fileSize = bytes;
+        return this;
+    }
+
+    /**
+     * @param compression how the files are compressed, {@link Compression#NONE} by default
+     * @return this generator
+     */
+    public GCLogGenerator compression(Compression compression) {
+        this.compression = compression;
+        return this;
+    }
+
+    /**
+     * @param fileName the name of the log file, {@code gc.log} by default
+     * @return this generator
+     */
+    public GCLogGenerator fileName(String fileName) {
+        this.fileName = fileName;
+        return this;
+    }
+
+    /**
+     * @param startTime the time the JVM starts, which the date stamps count from, 2024-01-01T00:00:00Z by default
+     * @return this generator
+     */
+    public GCLogGenerator startTime(Instant startTime) {
+        this.startTime = startTime;
+        return this;
+    }
+
+    /**
+     * Writes the log.
+     * @param directory the directory to write the files of the log to, which is created if it doesn't exist
+     * @return the path to analyze: the log file, the zip archive, or the directory of a rotating log
+     * @throws IOException if the log can't be written
+     */
+    public Path write(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        LogWriter out = new LogWriter(directory, fileName, format.isUnified(), fileCount, fileSize, compression);
+        try {
+            CollectorLog log = collectorLog(out);
+            log.header();
+            while (out.bytes() < size && log.uptime < duration) {
+                log.collect();
+                // the log doesn't end with an empty file, which has no time stamps to order it by
+                if (out.isFull() && out.bytes() < size && log.uptime < duration) {
+                    out.rotate();
+                    // JDK 8 starts every file with the header, unified logging only the first
+                    if (!format.isUnified())
+                        log.header();
+                }
+            }
+        } finally {
+            directory = out.close();
+        }
+        return directory;
+    }
+
+    private CollectorLog collectorLog(LogWriter out) {
+        switch (format) {
+            case UNIFIED_G1:
+                return new G1Log(this, out);
+            case UNIFIED_ZGC:
+                return new ZGCLog(this, out, false);
+            case UNIFIED_GENERATIONAL_ZGC:
+                return new ZGCLog(this, out, true);
+            case UNIFIED_PARALLEL:
+                return new GenerationalLog(this, out, true);
+            case UNIFIED_SERIAL:
+                return new GenerationalLog(this, out, false);
+            case PREUNIFIED_CMS:
+                return new CMSLog(this, out);
+            default:
+                throw new IllegalArgumentException("Unknown log format " + format);
+        }
+    }
+
+    /**
+     * Writes a log from the command line. The arguments are options of the form {@code --name=value}:
+     * {@code --format} (one of {@link LogFormat}, required), {@code --output} (the directory, {@code .} by default),
+     * {@code --seed}, {@code --heap} (MB), {@code --live} (fraction), {@code --rate} (MB/s), {@code --survival}
+     * (fraction), {@code --pause} (median ms), {@code --spread}, {@code --size} (bytes, with an optional K, M or G
+     * suffix), {@code --duration} (seconds), {@code --files}, {@code --file-size} (bytes, with an optional suffix,
+     * only with {@code --files}), {@code --compression} (one of {@link Compression}) and {@code --name}.
+     * @param args the options
+     * @throws IOException if the log can't be written
+     */
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (!arg.startsWith("--") || equals < 0)
+                throw new IllegalArgumentException("Expected --name=value, found " + arg);
+            options.put(arg.substring(2, equals), arg.substring(equals + 1));
+        }
+        Path output = Paths.get(options.getOrDefault("output", "."));
+        options.remove("output");
+        System.out.println("Wrote " + fromOptions(options).write(output));
+    }
+
+    /**
+     * @param options the options of {@link #main}, other than {@code --output}, by name
+     * @return a generator with the options set
+     */
+    static GCLogGenerator fromOptions(Map<String, String> options) {
+        String format = options.get("format");
+        if (format == null)
+            throw new IllegalArgumentException("--format is required, one of " + Arrays.toString(LogFormat.values()));
+        GCLogGenerator generator = new GCLogGenerator(LogFormat.valueOf(format.toUpperCase(Locale.ROOT)));
+        int files = 1;
+        long fileSize = 0L;
+        for (Map.Entry<String, String> option : options.entrySet()) {
+            String value = option.getValue();
+            switch (option.getKey()) {
+                case "format": break;
+                case "seed": generator.seed(Long.parseLong(value)); break;
+                case "heap": generator.heapSize(Long.parseLong(value)); break;
+                case "live": generator.liveSet(Double.parseDouble(value)); break;
+                case "rate": generator.allocationRate(Double.parseDouble(value)); break;
+                case "survival": generator.survivalRate(Double.parseDouble(value)); break;
+                case "pause": generator.pauseTime(Double.parseDouble(value)); break;
+                case "spread": generator.pauseSpread(Double.parseDouble(value)); break;
+                case "size": generator.size(bytes(value)); break;
+                case "duration": generator.duration(Double.parseDouble(value)); break;
+                case "files": files = Integer.parseInt(value); break;
+                case "file-size": fileSize = bytes(value); break;
+                case "compression": generator.compression(Compression.valueOf(value.toUpperCase(Locale.ROOT))); break;
+                case "name": generator.fileName(value); break;
+                default: throw new IllegalArgumentException("Unknown option --" + option.getKey());
+            }
+        }
+        if (files > 1)
+            // the file size defaults to an even share of the log
+            generator.rotation(files, fileSize > 0L ? fileSize : Math.max(1L, generator.size / files));
+        else if (options.containsKey("file-size"))
+            throw new IllegalArgumentException("--file-size only applies to a rotating log, which needs --files of at least 2");
+        return generator;
+    }
+
+    private static long bytes(String value) {
+        char unit = Character.toUpperCase(value.charAt(value.length() - 1));
+        int shift = unit == 'K' ? 10 : unit == 'M' ? 20 : unit == 'G' ? 30 : 0;
+        String digits = shift == 0 ? value : value.substring(0, value.length() - 1);
+        return Long.parseLong(digits) << shift;
+    }
+}
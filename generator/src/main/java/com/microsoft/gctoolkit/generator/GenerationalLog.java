@@ -0,0 +1,161 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.generator;
+
+import java.io.IOException;
+
+/**
+ * A JDK 17 Parallel or Serial log. The young generation is a third of the heap, with eden eight times the size
+ * of each survivor space. Young collections copy eden and the from space to the to space and age the survivors
+ * into the old generation. A full collection takes the old generation back down to the live set when the next
+ * young collection might not fit in it.
+ */
+final class GenerationalLog extends CollectorLog {
+
+    private static final String ALLOCATION_FAILURE = "Allocation Failure";
+
+    private final boolean parallel;
+    private final long eden;
+    private final long survivor;
+    private final long oldSize;
+
+    private long from = 0L;
+    private long old = 0L;
+    private double nextYoung;
+
+    GenerationalLog(GCLogGenerator settings, LogWriter out, boolean parallel) {
+        super(settings, out);
+        this.parallel = parallel;
+        long young = heap / 3L;
+        survivor = young / 10L;
+        eden = young - 2L * survivor;
+        oldSize = heap - young;
+        nextYoung = uptime + allocationTime(eden);
+    }
+
+    @Override
+    void header() throws IOException {
+        unified(uptime, "gc,init").append("Version: 17.0.9+9 (release)");
+        emit();
+        unified(uptime, "gc").append(parallel ? "Using Parallel" : "Using Serial");
+        emit();
+        unified(uptime, "gc,init").append("CPUs: ").append(workers).append(" total, ").append(workers).append(" available");
+        emit();
+        unified(uptime, "gc,init").append("Memory: ").append(heap * 4L >> 20).append('G');
+        emit();
+        unified(uptime, "gc,init").append("Heap Min Capacity: ").append(heap >> 10).append('M');
+        emit();
+        unified(uptime, "gc,init").append("Heap Initial Capacity: ").append(heap >> 10).append('M');
+        emit();
+        unified(uptime, "gc,init").append("Heap Max Capacity: ").append(heap >> 10).append('M');
+        emit();
+        if (parallel) {
+            unified(uptime, "gc,init").append("Parallel Workers: ").append(workers);
+            emit();
+        }
+    }
+
+    private long heapSize() {
+        return eden + survivor + oldSize;
+    }
+
+    @Override
+    void collect() throws IOException {
+        uptime = nextYoung;
+        // the worst case of the next promotion is everything that survives
+        if (old + from + 2L * (long) (eden * survivalRate) > oldSize)
+            full();
+        else
+            young();
+        nextYoung = uptime + allocationTime(eden);
+    }
+
+    private void young() throws IOException {
+        int id = gcId++;
+        double start = uptime;
+        double pause = pause(1.0d);
+        long fromBefore = from;
+        long oldBefore = old;
+        // half of the survivors are old enough to be promoted, and the survivors that don't fit are promoted too
+        long survived = (long) jitter(eden * survivalRate) + fromBefore / 2L;
+        from = Math.min(survivor, survived);
+        old += fromBefore / 2L + survived - from;
+
+        unified(start, "gc,start", id).append("Pause Young (").append(ALLOCATION_FAILURE).append(')');
+        emit();
+        double end = start + pause;
+        generations(end, id, eden, fromBefore, oldBefore);
+        StringBuilder summary = unified(end, "gc", id).append("Pause Young (").append(ALLOCATION_FAILURE).append(") ");
+        millis(megabytes(summary, eden + fromBefore + oldBefore, from + old, heapSize()).append(' '), pause);
+        emit();
+        cpu(unified(end, "gc,cpu", id), pause);
+        emit();
+        uptime = end;
+    }
+
+    private void generations(double time, int id, long edenBefore, long fromBefore, long oldBefore) throws IOException {
+        StringBuilder young = unified(time, "gc,heap", id).append(parallel ? "PSYoungGen: " : "DefNew: ");
+        kilobytes(young, edenBefore + fromBefore, eden + survivor, from, eden + survivor).append(" Eden: ");
+        kilobytes(young, edenBefore, eden, 0L, eden).append(" From: ");
+        kilobytes(young, fromBefore, survivor, from, survivor);
+        emit();
+        kilobytes(unified(time, "gc,heap", id).append(parallel ? "ParOldGen: " : "Tenured: "), oldBefore, oldSize, old, oldSize);
+        emit();
+        metaspace(unified(time, "gc,metaspace", id));
+        emit();
+    }
+
+    private void full() throws IOException {
+        String[] phases;
+        String cause;
+        int youngId = -1;
+        if (parallel) {
+            phases = new String[] { "Marking Phase", "Summary Phase", "Adjust Roots", "Compaction Phase", "Post Compact" };
+            cause = "Ergonomics";
+        } else {
+            // a Serial full collection is logged inside the young collection that couldn't promote
+            phases = new String[] { "Phase 1: Mark live objects", "Phase 2: Compute new object addresses", "Phase 3: Adjust pointers", "Phase 4: Move objects" };
+            cause = ALLOCATION_FAILURE;
+            youngId = gcId++;
+            unified(uptime, "gc,start", youngId).append("Pause Young (").append(ALLOCATION_FAILURE).append(')');
+            emit();
+        }
+        int id = gcId++;
+        double start = uptime;
+        double pause = pause(20.0d);
+        long fromBefore = from;
+        long oldBefore = old;
+        from = 0L;
+        old = liveSet;
+
+        unified(start, "gc,start", id).append("Pause Full (").append(cause).append(')');
+        emit();
+        double time = start;
+        for (String phase : phases) {
+            unified(time, "gc,phases,start", id).append(phase);
+            emit();
+            double seconds = pause / phases.length;
+            time += seconds;
+            millis(unified(time, "gc,phases", id).append(phase).append(' '), seconds);
+            emit();
+        }
+        double end = start + pause;
+        long heapBefore = eden + fromBefore + oldBefore;
+        if (parallel) {
+            generations(end, id, eden, fromBefore, oldBefore);
+            millis(megabytes(unified(end, "gc", id).append("Pause Full (").append(cause).append(") "), heapBefore, old, heapSize()).append(' '), pause);
+            emit();
+            cpu(unified(end, "gc,cpu", id), pause);
+            emit();
+        } else {
+            millis(megabytes(unified(end, "gc", id).append("Pause Full (").append(cause).append(") "), heapBefore, old, heapSize()).append(' '), pause);
+            emit();
+            generations(end, youngId, eden, fromBefore, oldBefore);
+            millis(megabytes(unified(end, "gc", youngId).append("Pause Young (").append(ALLOCATION_FAILURE).append(") "), heapBefore, old, heapSize()).append(' '), pause);
+            emit();
+            cpu(unified(end, "gc,cpu", youngId), pause);
+            emit();
+        }
+        uptime = end;
+    }
+}
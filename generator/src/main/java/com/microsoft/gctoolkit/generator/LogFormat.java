@@ -0,0 +1,46 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.generator;
+
+/**
+ * The GC logs a {@link GCLogGenerator} writes. The unified formats are those of JDK 17 (JDK 21 for generational
+ * ZGC) with {@code -Xlog:gc*:file=gc.log:time,uptime,level,tags}. The pre-unified format is that of JDK 8 with
+ * {@code -XX:+PrintGCDetails -XX:+PrintGCDateStamps -XX:+PrintTenuringDistribution}.
+ */
+public enum LogFormat {
+
+    /** G1 young, mixed and concurrent cycles, and full collections if the old generation fills up */
+    UNIFIED_G1(true, 8.0d),
+    /** single generation ZGC cycles */
+    UNIFIED_ZGC(true, 0.02d),
+    /** generational ZGC minor and major collections */
+    UNIFIED_GENERATIONAL_ZGC(true, 0.02d),
+    /** Parallel young and full collections */
+    UNIFIED_PARALLEL(true, 6.0d),
+    /** Serial young and full collections */
+    UNIFIED_SERIAL(true, 12.0d),
+    /** ParNew young collections with their tenuring distribution, and CMS concurrent cycles */
+    PREUNIFIED_CMS(false, 10.0d);
+
+    private final boolean unified;
+    private final double pauseTime;
+
+    LogFormat(boolean unified, double pauseTime) {
+        this.unified = unified;
+        this.pauseTime = pauseTime;
+    }
+
+    /**
+     * @return {@code true} if the format is written with unified logging
+     */
+    public boolean isUnified() {
+        return unified;
+    }
+
+    /**
+     * @return the median young pause, or the median ZGC safepoint pause, in milliseconds when no other is configured
+     */
+    double getPauseTime() {
+        return pauseTime;
+    }
+}
@@ -0,0 +1,157 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.generator;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Writes the lines of a log to its files, rotating and compressing them as the JVM would. A unified log is
+ * written to {@code gc.log}, which is moved to {@code gc.log.0}, {@code gc.log.1}, ... when it rotates. A
+ * pre-unified log that rotates is written to {@code gc.log.0.current}, which is moved to {@code gc.log.0} when
+ * it rotates, and so on. In both cases the numbers wrap around, replacing the oldest file.
+ */
+final class LogWriter {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final Path directory;
+    private final String fileName;
+    private final boolean unified;
+    private final int fileCount;
+    private final long fileSize;
+    private final Compression compression;
+    private final Set<Path> files = new LinkedHashSet<>();
+
+    private Writer writer;
+    private long bytes = 0L;
+    private long fileBytes = 0L;
+    private int segment = 0;
+
+    /**
+     * @param directory the directory to write the files to
+     * @param fileName the name of the log, {@code gc.log} for instance
+     * @param unified whether the files are named as unified logging names them
+     * @param fileCount the number of files kept, the one being written included, or 1 for no rotation
+     * @param fileSize the size, in bytes, after which the file being written is rotated
+     * @param compression how the files are compressed
+     * @throws IOException if the first file can't be created
+     */
+    LogWriter(Path directory, String fileName, boolean unified, int fileCount, long fileSize, Compression compression) throws IOException {
+        this.directory = directory;
+        this.fileName = fileName;
+        this.unified = unified;
+        this.fileCount = fileCount;
+        this.fileSize = fileSize;
+        this.compression = compression;
+        open();
+    }
+
+    private boolean isRotating() {
+        return fileCount > 1;
+    }
+
+    private Path path(String name) {
+        return directory.resolve(compression == Compression.GZIP ? name + ".gz" : name);
+    }
+
+    private Path current() {
+        if (unified || !isRotating())
+            return path(fileName);
+        return path(fileName + "." + segment + ".current");
+    }
+
+    private Path archive() {
+        return path(fileName + "." + segment);
+    }
+
+    private void open() throws IOException {
+        Path path = current();
+        files.add(path);
+        OutputStream out = Files.newOutputStream(path);
+        if (compression == Compression.GZIP)
+            out = new GZIPOutputStream(out, BUFFER_SIZE);
+        writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.US_ASCII), BUFFER_SIZE);
+        fileBytes = 0L;
+    }
+
+    /**
+     * @param line a line of the log, without its line separator
+     * @throws IOException if the line can't be written
+     */
+    void write(CharSequence line) throws IOException {
+        writer.append(line).append('\n');
+        bytes += line.length() + 1;
+        fileBytes += line.length() + 1;
+    }
+
+    /**
+     * @return the number of bytes written, before compression
+     */
+    long bytes() {
+        return bytes;
+    }
+
+    /**
+     * @return {@code true} if the file being written has reached its size and should be rotated
+     */
+    boolean isFull() {
+        return isRotating() && fileBytes >= fileSize;
+    }
+
+    /**
+     * Closes the file being written, moves it to the next number and starts a new file.
+     * @throws IOException if the files can't be moved or created
+     */
+    void rotate() throws IOException {
+        writer.close();
+        Path current = current();
+        Path archive = archive();
+        Files.move(current, archive, StandardCopyOption.REPLACE_EXISTING);
+        files.remove(current);
+        files.add(archive);
+        // a unified log keeps fileCount - 1 numbered files, besides the one being written
+        segment = (segment + 1) % (unified ? fileCount - 1 : fileCount);
+        if (!unified) {
+            // the file this one replaces is the oldest
+            files.remove(archive());
+            Files.deleteIfExists(archive());
+        }
+        open();
+    }
+
+    /**
+     * Closes the file being written and, for a zip archive, moves the files into the archive.
+     * @return the path to analyze, a single file, the zip archive, or the directory of the rotated files
+     * @throws IOException if a file can't be closed or archived
+     */
+    Path close() throws IOException {
+        writer.close();
+        if (compression == Compression.ZIP) {
+            Path zip = directory.resolve(fileName + ".zip");
+            try (ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(zip))) {
+                for (Path file : files) {
+                    out.putNextEntry(new ZipEntry(file.getFileName().toString()));
+                    Files.copy(file, out);
+                    out.closeEntry();
+                }
+            }
+            for (Path file : files)
+                Files.delete(file);
+            return zip;
+        }
+        return isRotating() ? directory : current();
+    }
+}
@@ -0,0 +1,394 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.generator;
+
+import java.io.IOException;
+
+/**
+ * A JDK 17 ZGC log, or a JDK 21 generational ZGC log. A cycle starts early enough to end before the heap runs out
+ * at the allocation rate; it marks the live objects, frees the pages without any and relocates the live objects
+ * of the sparse pages. Generational ZGC runs minor collections of the young generation, which promote the objects
+ * that survive a few of them, and every few minor collections a major collection of both generations, which takes
+ * the old generation back down to the live set.
+ */
+final class ZGCLog extends CollectorLog {
+
+    private static final int MINOR_COLLECTIONS_PER_MAJOR = 8;
+    private static final String HEAP_HEADER = "               Mark Start          Mark End        Relocate Start      Relocate End           High               Low";
+    private static final String GENERATION_HEADER = "               Mark Start          Mark End        Relocate Start      Relocate End";
+    private static final String PAGES_HEADER = "                       Candidates     Selected     In-Place         Size        Empty    Relocated";
+    private static final String[] PAGES = { "Small Pages:", "Medium Pages:", "Large Pages:" };
+    private static final String[] REFERENCES = { "Soft", "Weak", "Final", "Phantom" };
+
+    private final boolean generational;
+    private final double markRate;
+
+    private long young = 0L;
+    private long old = 0L;
+    private double cycleEnd;
+    private double nextCycle;
+    private int minorCollections = 0;
+
+    ZGCLog(GCLogGenerator settings, LogWriter out, boolean generational) {
+        super(settings, out);
+        this.generational = generational;
+        this.markRate = 512.0d * 1024.0d * Math.max(1, workers / 2);
+        cycleEnd = uptime;
+        nextCycle = uptime + allocationTime(heap / 10.0d);
+    }
+
+    @Override
+    void header() throws IOException {
+        unified(uptime, "gc,init").append(generational ? "Version: 21.0.1+12-LTS (release)" : "Version: 17.0.9+9 (release)");
+        emit();
+        unified(uptime, "gc,init").append("CPUs: ").append(workers).append(" total, ").append(workers).append(" available");
+        emit();
+        unified(uptime, "gc,init").append("Memory: ").append(heap * 4L >> 20).append('G');
+        emit();
+        unified(uptime, "gc,init").append("Min Capacity: 8M");
+        emit();
+        unified(uptime, "gc,init").append("Initial Capacity: ").append(heap >> 10).append('M');
+        emit();
+        unified(uptime, "gc,init").append("Max Capacity: ").append(heap >> 10).append('M');
+        emit();
+        unified(uptime, "gc").append("Using The Z Garbage Collector");
+        emit();
+    }
+
+    @Override
+    void collect() throws IOException {
+        uptime = nextCycle;
+        young += allocated(uptime - cycleEnd);
+        String cause = gcId < 3 ? "Warmup" : random.nextInt(10) == 0 ? "Proactive" : "Allocation Rate";
+        double start = uptime;
+        if (!generational)
+            cycle(cause);
+        else if (minorCollections++ < MINOR_COLLECTIONS_PER_MAJOR)
+            minor();
+        else
+            major(cause);
+        cycleEnd = uptime;
+        // the next cycle starts so that, taking as long as this one, it would end with a tenth of the heap free
+        double headroom = Math.max(heap / 20.0d, heap * 0.9d - young - old - allocated(uptime - start));
+        nextCycle = uptime + allocationTime(headroom);
+    }
+
+    private void cycle(String cause) throws IOException {
+        int id = gcId++;
+        unified(uptime, "gc,start", id).append("Garbage Collection (").append(cause).append(')');
+        emit();
+        Cycle cycle = phases(id, "", young + old, (long) jitter(liveSet), true, true);
+        young = 0L;
+        old = cycle.relocateEnd;
+        StringBuilder line;
+        for (int page = 0; page < PAGES.length; page++) {
+            line = unified(uptime, "gc,reloc", id).append(PAGES[page]).append(' ');
+            if (page == 0)
+                line.append(cycle.markStart / 2048L).append(" / ").append(cycle.markStart >> 10).append("M, Empty: ").append(cycle.empty >> 10)
+                        .append("M, Relocated: ").append(cycle.live / 10L >> 10).append("M, In-Place: 0");
+            else
+                line.append("0 / 0M, Empty: 0M, Relocated: 0M, In-Place: 0");
+            emit();
+        }
+        unified(uptime, "gc,reloc", id).append("Forwarding Usage: ").append(Math.max(1L, cycle.live / 40L >> 10)).append('M');
+        emit();
+        capacities(id, "");
+        unified(uptime, "gc,heap", id).append(HEAP_HEADER);
+        emit();
+        heapRows(id, "", cycle, 0L);
+        row(id, "", "Live:", -1L, cycle.live, cycle.live, cycle.live, -1L, -1L);
+        row(id, "", "Allocated:", -1L, cycle.allocatedAtMarkEnd, cycle.allocatedAtRelocateStart, cycle.allocated, -1L, -1L);
+        row(id, "", "Garbage:", -1L, cycle.markStart - cycle.live, cycle.markStart - cycle.live - cycle.empty, cycle.relocateEnd - cycle.live - cycle.allocated, -1L, -1L);
+        row(id, "", "Reclaimed:", -1L, -1L, cycle.empty, cycle.markStart - cycle.live, -1L, -1L);
+        transition(unified(uptime, "gc", id).append("Garbage Collection (").append(cause).append(") "), cycle.markStart, cycle.relocateEnd);
+        emit();
+    }
+
+    private void minor() throws IOException {
+        int id = gcId++;
+        double start = uptime;
+        long usedBefore = young + old;
+        unified(uptime, "gc", id).append("Minor Collection (Allocation Rate)");
+        emit();
+        youngGeneration(id, "y: ", start);
+        elapsed(transition(unified(uptime, "gc", id).append("Minor Collection (Allocation Rate) "), usedBefore, young + old), start);
+        emit();
+    }
+
+    private void major(String cause) throws IOException {
+        minorCollections = 0;
+        int id = gcId++;
+        double start = uptime;
+        long usedBefore = young + old;
+        unified(uptime, "gc", id).append("Major Collection (").append(cause).append(')');
+        emit();
+        youngGeneration(id, "Y: ", start);
+        oldGeneration(id);
+        elapsed(transition(unified(uptime, "gc", id).append("Major Collection (").append(cause).append(") "), usedBefore, young + old), start);
+        emit();
+    }
+
+    private void youngGeneration(int id, String prefix, double start) throws IOException {
+        long usedBefore = young + old;
+        unified(uptime, "gc,phases", id).append(prefix).append("Young Generation");
+        emit();
+        Cycle cycle = phases(id, prefix, young, (long) jitter(young * survivalRate * 3.0d), true, true);
+        // a third of what survives is old enough to be promoted
+        long promoted = cycle.live / 3L;
+        young = cycle.relocateEnd - promoted;
+        old += promoted;
+        pages(id, prefix, cycle);
+        unified(uptime, "gc,reloc", id).append(prefix).append("Age Table:");
+        emit();
+        unified(uptime, "gc,reloc", id).append(prefix).append("                   Live             Garbage             Small              Medium             Large");
+        emit();
+        age(id, prefix, "Eden", cycle.live - promoted, cycle.markStart - cycle.live);
+        age(id, prefix, "Survivor 1", promoted, promoted / 2L);
+        capacities(id, prefix);
+        unified(uptime, "gc,heap", id).append(prefix).append("Heap Statistics:");
+        emit();
+        unified(uptime, "gc,heap", id).append(prefix).append(HEAP_HEADER);
+        emit();
+        heapRows(id, prefix, cycle, old - promoted);
+        unified(uptime, "gc,heap", id).append(prefix).append("Young Generation Statistics:");
+        emit();
+        generationRows(id, prefix, cycle, promoted);
+        elapsed(transition(unified(uptime, "gc,phases", id).append(prefix).append("Young Generation "), usedBefore, young + old), start);
+        emit();
+    }
+
+    private void oldGeneration(int id) throws IOException {
+        String prefix = "O: ";
+        double start = uptime;
+        long usedBefore = young + old;
+        unified(uptime, "gc,phases", id).append(prefix).append("Old Generation");
+        emit();
+        Cycle cycle = phases(id, prefix, old, Math.min(old, (long) jitter(liveSet)), false, false);
+        old = cycle.relocateEnd;
+        unified(uptime, "gc,ref", id).append(prefix).append("                      Encountered   Discovered     Enqueued");
+        emit();
+        for (String reference : REFERENCES) {
+            long encountered = 500L + random.nextInt(5000);
+            StringBuilder line = unified(uptime, "gc,ref", id).append(prefix).append(reference).append(" References:");
+            right(line, Long.toString(encountered), 29 - reference.length());
+            right(line, Long.toString(encountered / 10L), 13);
+            right(line, Long.toString(encountered / 20L), 13);
+            emit();
+        }
+        pages(id, prefix, cycle);
+        capacities(id, prefix);
+        unified(uptime, "gc,heap", id).append(prefix).append("Heap Statistics:");
+        emit();
+        unified(uptime, "gc,heap", id).append(prefix).append(HEAP_HEADER);
+        emit();
+        heapRows(id, prefix, cycle, young);
+        unified(uptime, "gc,heap", id).append(prefix).append("Old Generation Statistics:");
+        emit();
+        generationRows(id, prefix, cycle, -1L);
+        elapsed(transition(unified(uptime, "gc,phases", id).append(prefix).append("Old Generation "), usedBefore, young + old), start);
+        emit();
+    }
+
+    /**
+     * Writes the phases of a cycle, or of the collection of one generation, and the summary that follows them,
+     * up to the metaspace, and moves the uptime to the end of the cycle.
+     * @param used the occupancy of the heap, or of the generation, at the start of the cycle
+     * @param live the live objects of the heap, or of the generation
+     * @param markStart whether the cycle starts with a mark start pause, which the old generation shares with the
+     *                  young generation
+     * @param allocating whether allocations go to what is collected, which is not the case of the old generation
+     */
+    private Cycle phases(int id, String prefix, long used, long live, boolean markStart, boolean allocating) throws IOException {
+        Cycle cycle = new Cycle(used, live);
+        double allocationRate = allocating ? this.allocationRate : 0.0d;
+        if (markStart)
+            phase(id, prefix, "Y: ".equals(prefix) ? "Pause Mark Start (Major)" : "Pause Mark Start", pause(1.0d));
+        phase(id, prefix, "Concurrent Mark", jitter(cycle.live / markRate + 0.001d));
+        phase(id, prefix, "Pause Mark End", pause(1.0d));
+        cycle.allocatedAtMarkEnd = (long) ((uptime - cycle.start) * allocationRate);
+        cycle.markEnd = used + cycle.allocatedAtMarkEnd;
+        phase(id, prefix, "Concurrent Mark Free", 0.000001d);
+        if (prefix.isEmpty())
+            phase(id, prefix, "Concurrent Process Non-Strong References", jitter(0.004d));
+        else if ("O: ".equals(prefix))
+            phase(id, prefix, "Concurrent Process Non-Strong", jitter(0.004d));
+        phase(id, prefix, "Concurrent Reset Relocation Set", 0.00001d);
+        if (!prefix.isEmpty() && !"O: ".equals(prefix)) {
+            unified(uptime, "gc,reloc", id).append(prefix).append("Using tenuring threshold: ").append(1 + random.nextInt(3)).append(" (Computed)");
+            emit();
+        }
+        phase(id, prefix, "Concurrent Select Relocation Set", jitter(0.003d));
+        if ("O: ".equals(prefix))
+            phase(id, prefix, "Concurrent Remap Roots", jitter(0.01d));
+        phase(id, prefix, "Pause Relocate Start", pause(1.0d));
+        // a third of the garbage is on pages without any live objects, which are freed before relocating
+        cycle.empty = (used - cycle.live) / 3L;
+        cycle.allocatedAtRelocateStart = (long) ((uptime - cycle.start) * allocationRate);
+        cycle.relocateStart = used + cycle.allocatedAtRelocateStart - cycle.empty;
+        phase(id, prefix, "Concurrent Relocate", jitter(cycle.live / (2.0d * markRate) + 0.001d));
+        cycle.allocated = (long) ((uptime - cycle.start) * allocationRate);
+        cycle.relocateEnd = cycle.live + cycle.allocated;
+
+        StringBuilder load = fixed(unified(uptime, "gc,load", id).append(prefix).append("Load: "), workers * 0.6d, 2);
+        if (generational)
+            load.append(" (60%) / ").append(workers / 2).append(".00 (50%) / ").append(workers / 2).append(".00 (50%)");
+        else
+            load.append('/').append(workers / 2).append(".00/").append(workers / 2).append(".00");
+        emit();
+        unified(uptime, "gc,mmu", id).append(prefix).append("MMU: 2ms/98.9%, 5ms/99.5%, 10ms/99.8%, 20ms/99.8%, 50ms/99.9%, 100ms/99.9%");
+        emit();
+        unified(uptime, "gc,marking", id).append(prefix).append("Mark: ").append(Math.max(1, workers / 2))
+                .append(" stripe(s), 2 proactive flush(es), 1 terminate flush(es), 0 completion(s), 0 continuation(s)");
+        emit();
+        unified(uptime, "gc,marking", id).append(prefix).append("Mark Stack Usage: 32M");
+        emit();
+        if (generational) {
+            unified(uptime, "gc,nmethod", id).append(prefix).append("NMethods: ").append(2000L + metaspace / 40L).append(" registered, 0 unregistered");
+            emit();
+        }
+        unified(uptime, "gc,metaspace", id).append(prefix).append("Metaspace: ").append(metaspace >> 10).append("M used, ")
+                .append((metaspace >> 10) + 1L).append("M committed, 1088M reserved");
+        emit();
+        if (!generational) {
+            for (String reference : REFERENCES) {
+                long encountered = 500L + random.nextInt(5000);
+                unified(uptime, "gc,ref", id).append(reference).append(": ").append(encountered).append(" encountered, ")
+                        .append(encountered / 3L).append(" discovered, ").append(encountered / 5L).append(" enqueued");
+                emit();
+            }
+        }
+        return cycle;
+    }
+
+    private void phase(int id, String prefix, String phase, double seconds) throws IOException {
+        uptime += seconds;
+        millis(unified(uptime, "gc,phases", id).append(prefix).append(phase).append(' '), seconds);
+        emit();
+    }
+
+    private void pages(int id, String prefix, Cycle cycle) throws IOException {
+        unified(uptime, "gc,reloc", id).append(prefix).append(PAGES_HEADER);
+        emit();
+        for (int page = 0; page < PAGES.length; page++) {
+            long size = page == 0 ? cycle.markStart : 0L;
+            long candidates = size / 2048L;
+            StringBuilder line = unified(uptime, "gc,reloc", id).append(prefix).append(PAGES[page]);
+            right(line, Long.toString(candidates), 33 - PAGES[page].length());
+            right(line, Long.toString(candidates * 3L / 4L), 13);
+            right(line, "0", 13);
+            right(line, (size >> 10) + "M", 13);
+            right(line, (page == 0 ? cycle.empty >> 10 : 0L) + "M", 13);
+            right(line, (page == 0 ? cycle.live / 10L >> 10 : 0L) + "M", 13);
+            emit();
+        }
+        unified(uptime, "gc,reloc", id).append(prefix).append("Forwarding Usage: ").append(Math.max(1L, cycle.live / 40L >> 10)).append('M');
+        emit();
+    }
+
+    private void age(int id, String prefix, String age, long live, long garbage) throws IOException {
+        long pages = Math.max(1L, (live + garbage) / 2048L);
+        StringBuilder line = unified(uptime, "gc,reloc", id).append(prefix).append(age);
+        right(line, cell(live), 26 - age.length());
+        right(line, cell(garbage), 20);
+        right(line, pages + " / " + pages * 3L / 4L, 18);
+        right(line, "0 / 0", 19);
+        right(line, "0 / 0", 19);
+        emit();
+    }
+
+    private void capacities(int id, String prefix) throws IOException {
+        unified(uptime, "gc,heap", id).append(prefix).append("Min Capacity: 8M(0%)");
+        emit();
+        transition(unified(uptime, "gc,heap", id).append(prefix).append("Max Capacity: "), heap);
+        emit();
+        transition(unified(uptime, "gc,heap", id).append(prefix).append("Soft Max Capacity: "), heap);
+        emit();
+    }
+
+    /**
+     * Writes the capacity, free and used rows of the heap statistics.
+     * @param other the occupancy of the generation that isn't collected
+     */
+    private void heapRows(int id, String prefix, Cycle cycle, long other) throws IOException {
+        long[] used = { cycle.markStart + other, cycle.markEnd + other, cycle.relocateStart + other, cycle.relocateEnd + other, 0L, Long.MAX_VALUE };
+        for (int column = 0; column < 4; column++) {
+            // allocations that would overfill the heap stall until the cycle frees it
+            used[column] = Math.min(used[column], heap);
+            used[4] = Math.max(used[4], used[column]);
+            used[5] = Math.min(used[5], used[column]);
+        }
+        row(id, prefix, "Capacity:", heap, heap, heap, heap, heap, heap);
+        row(id, prefix, "Free:", heap - used[0], heap - used[1], heap - used[2], heap - used[3], heap - used[5], heap - used[4]);
+        row(id, prefix, "Used:", used);
+    }
+
+    /**
+     * Writes the rows of the statistics of a generation.
+     * @param promoted the size promoted by a young collection, or -1 for an old collection
+     */
+    private void generationRows(int id, String prefix, Cycle cycle, long promoted) throws IOException {
+        unified(uptime, "gc,heap", id).append(prefix).append(GENERATION_HEADER);
+        emit();
+        row(id, prefix, "Used:", cycle.markStart, cycle.markEnd, cycle.relocateStart, cycle.relocateEnd);
+        row(id, prefix, "Live:", -1L, cycle.live, cycle.live, cycle.live);
+        row(id, prefix, "Garbage:", -1L, cycle.markStart - cycle.live, cycle.markStart - cycle.live - cycle.empty, cycle.relocateEnd - cycle.live - cycle.allocated);
+        row(id, prefix, "Allocated:", -1L, cycle.allocatedAtMarkEnd, cycle.allocatedAtRelocateStart, cycle.allocated);
+        row(id, prefix, "Reclaimed:", -1L, -1L, cycle.empty, cycle.markStart - cycle.live);
+        if (promoted >= 0L)
+            row(id, prefix, "Promoted:", -1L, -1L, promoted / 2L, promoted);
+        row(id, prefix, "Compacted:", -1L, -1L, -1L, cycle.live / 10L);
+    }
+
+    /**
+     * Writes a row of a table, with a size and its percentage of the heap in each column, or - for a negative size.
+     */
+    private void row(int id, String prefix, String label, long... sizes) throws IOException {
+        StringBuilder line = unified(uptime, "gc,heap", id).append(prefix);
+        right(line, label, 10);
+        for (long size : sizes)
+            right(line, size < 0L ? "-" : cell(size), 18);
+        emit();
+    }
+
+    private long percent(long size) {
+        return Math.round(size * 100.0d / heap);
+    }
+
+    private String cell(long size) {
+        return (size >> 10) + "M (" + percent(size) + "%)";
+    }
+
+    private StringBuilder transition(StringBuilder builder, long size) {
+        return builder.append(size >> 10).append("M(").append(percent(size)).append("%)");
+    }
+
+    private StringBuilder transition(StringBuilder builder, long before, long after) {
+        return transition(transition(builder, before).append("->"), after);
+    }
+
+    private StringBuilder elapsed(StringBuilder builder, double start) {
+        return fixed(builder.append(' '), uptime - start, 3).append('s');
+    }
+
+    /**
+     * The occupancy of the heap, or of a generation, over a cycle.
+     */
+    private final class Cycle {
+
+        final double start = uptime;
+        final long markStart;
+        final long live;
+        long markEnd;
+        long relocateStart;
+        long relocateEnd;
+        long empty;
+        long allocatedAtMarkEnd;
+        long allocatedAtRelocateStart;
+        long allocated;
+
+        Cycle(long markStart, long live) {
+            this.markStart = markStart;
+            this.live = Math.min(live, markStart);
+        }
+    }
+}
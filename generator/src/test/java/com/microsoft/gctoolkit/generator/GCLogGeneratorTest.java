@@ -0,0 +1,276 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.generator;
+
+import com.microsoft.gctoolkit.GCToolKit;
+import com.microsoft.gctoolkit.event.jvm.ApplicationStoppedTime;
+import com.microsoft.gctoolkit.event.jvm.JVMEvent;
+import com.microsoft.gctoolkit.io.GCLogFile;
+import com.microsoft.gctoolkit.io.RotatingGCLogFile;
+import com.microsoft.gctoolkit.io.SingleGCLogFile;
+import com.microsoft.gctoolkit.jvm.Diarizer;
+import com.microsoft.gctoolkit.jvm.JavaVirtualMachine;
+import com.microsoft.gctoolkit.jvm.UnmatchedLines;
+import com.microsoft.gctoolkit.message.ChannelName;
+import com.microsoft.gctoolkit.message.JVMEventChannel;
+import com.microsoft.gctoolkit.message.JVMEventChannelListener;
+import com.microsoft.gctoolkit.parser.JVMEventParser;
+import com.microsoft.gctoolkit.parser.jvm.PreUnifiedDiarizer;
+import com.microsoft.gctoolkit.sample.aggregation.CollectionCycleCountsSummary;
+import com.microsoft.gctoolkit.sample.aggregation.HeapOccupancyAfterCollectionSummary;
+import com.microsoft.gctoolkit.sample.aggregation.PauseTimeAggregation;
+import com.microsoft.gctoolkit.sample.aggregation.PauseTimeSummary;
+import com.microsoft.gctoolkit.sample.collections.XYDataSet;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class GCLogGeneratorTest {
+
+    private static final long SIZE = 2L << 20;
+    private static final List<String> SKIPPED_ZGC_LINES = List.of("Heap Statistics:", "Age Table:", "Mark Stack Usage:",
+            "Candidates Selected", "Live Garbage", "Encountered Discovered", "Using tenuring threshold:", "Small Pages: # / ",
+            "Medium Pages: # / ", "Large Pages: # / ");
+
+    @TempDir
+    Path directory;
+
+    private static JavaVirtualMachine analyze(GCLogFile log) throws IOException {
+        GCToolKit gcToolKit = new GCToolKit();
+        gcToolKit.loadAggregation(new HeapOccupancyAfterCollectionSummary());
+        gcToolKit.loadAggregation(new PauseTimeSummary());
+        gcToolKit.loadAggregation(new CollectionCycleCountsSummary());
+        JavaVirtualMachine machine = gcToolKit.analyze(log);
+        boolean onlyKnown = machine.getUnmatchedLines().getShapes().stream().map(UnmatchedLines.Shape::getShape).allMatch(GCLogGeneratorTest::isSkipped);
+        assertTrue(onlyKnown, () -> machine.getUnmatchedLines().toString());
+        return machine;
+    }
+
+    /**
+     * The unified parsers don't recognize every line the JVM writes when it starts, nor the headings and a few
+     * rows of the ZGC tables, which the generator writes all the same.
+     */
+    private static boolean isSkipped(String shape) {
+        return !shape.contains("GC(#)") || SKIPPED_ZGC_LINES.stream().anyMatch(shape::contains);
+    }
+
+    private static Predicate<JavaVirtualMachine> collector(LogFormat format) {
+        switch (format) {
+            case UNIFIED_G1: return JavaVirtualMachine::isG1GC;
+            case UNIFIED_ZGC:
+            case UNIFIED_GENERATIONAL_ZGC: return JavaVirtualMachine::isZGC;
+            case UNIFIED_PARALLEL: return JavaVirtualMachine::isParallel;
+            case UNIFIED_SERIAL: return JavaVirtualMachine::isSerial;
+            default: return JavaVirtualMachine::isCMS;
+        }
+    }
+
+    @Test
+    public void everyLineIsParsed() throws IOException {
+        for (LogFormat format : LogFormat.values()) {
+            Path log = new GCLogGenerator(format).seed(17L).heapSize(1024L).size(SIZE).write(directory.resolve(format.name()));
+            assertTrue(Files.size(log) >= SIZE);
+            JavaVirtualMachine machine = analyze(new SingleGCLogFile(log));
+            assertEquals(format.isUnified(), machine.isUnifiedLogging(), format::name);
+            assertTrue(collector(format).test(machine), format::name);
+            assertTrue(machine.getRuntimeDuration() > 0.0d, format::name);
+        }
+    }
+
+    @Test
+    public void theSameSeedWritesTheSameLog() throws IOException {
+        GCLogGenerator generator = new GCLogGenerator(LogFormat.UNIFIED_G1).seed(3L).size(SIZE);
+        byte[] first = Files.readAllBytes(generator.write(directory.resolve("first")));
+        byte[] second = Files.readAllBytes(generator.write(directory.resolve("second")));
+        assertArrayEquals(first, second);
+        byte[] other = Files.readAllBytes(generator.seed(4L).write(directory.resolve("other")));
+        assertFalse(Arrays.equals(first, other));
+    }
+
+    @Test
+    public void durationEndsTheLog() throws IOException {
+        Path log = new GCLogGenerator(LogFormat.UNIFIED_PARALLEL).duration(60.0d).size(Long.MAX_VALUE).write(directory);
+        JavaVirtualMachine machine = analyze(new SingleGCLogFile(log));
+        assertTrue(machine.getRuntimeDuration() <= 61.0d, () -> Double.toString(machine.getRuntimeDuration()));
+    }
+
+    @Test
+    public void rotatingLogsAreRead() throws IOException {
+        for (LogFormat format : new LogFormat[] { LogFormat.UNIFIED_G1, LogFormat.PREUNIFIED_CMS }) {
+            Path directory = this.directory.resolve(format.name());
+            Path log = new GCLogGenerator(format).seed(5L).size(SIZE).rotation(4, SIZE / 8L).write(directory);
+            assertEquals(directory, log);
+            try (Stream<Path> files = Files.list(log)) {
+                assertEquals(4L, files.count(), format::name);
+            }
+            JavaVirtualMachine machine = analyze(new RotatingGCLogFile(log));
+            assertTrue(collector(format).test(machine), format::name);
+        }
+    }
+
+    @Test
+    public void compressedLogsAreRead() throws IOException {
+        for (Compression compression : Compression.values()) {
+            Path log = new GCLogGenerator(LogFormat.UNIFIED_SERIAL).size(SIZE).compression(compression).write(directory.resolve(compression.name()));
+            JavaVirtualMachine machine = analyze(new SingleGCLogFile(log));
+            assertTrue(machine.isSerial(), compression::name);
+        }
+    }
+
+    @Test
+    public void zipArchivesHoldEveryFile() throws IOException {
+        Path log = new GCLogGenerator(LogFormat.UNIFIED_ZGC).size(SIZE).rotation(3, SIZE / 4L).compression(Compression.ZIP).write(directory);
+        assertEquals(directory.resolve("gc.log.zip"), log);
+        JavaVirtualMachine machine = analyze(new RotatingGCLogFile(log));
+        assertTrue(machine.isZGC());
+    }
+
+    @Test
+    public void cmsPausesStopTheApplication() throws IOException {
+        Path log = new GCLogGenerator(LogFormat.PREUNIFIED_CMS).seed(9L).size(SIZE / 4L).write(directory);
+        List<String> lines = Files.readAllLines(log);
+        // every collection reports its times, but only the concurrent phases run alongside the application
+        long pauses = lines.stream().filter(line -> line.contains("[Times: ") && !line.contains("[CMS-concurrent-")).count();
+        long stops = lines.stream().filter(line -> line.contains("Total time for which application threads were stopped: ")).count();
+        assertTrue(pauses > 0L);
+        assertEquals(pauses, stops);
+
+        Diarizer diarizer = new PreUnifiedDiarizer();
+        lines.forEach(diarizer::diarize);
+        JVMEventParser parser = new JVMEventParser();
+        assertTrue(parser.accepts(diarizer.getDiary()));
+        List<JVMEvent> events = new ArrayList<>();
+        parser.diary(diarizer.getDiary());
+        parser.publishTo(new JVMEventChannel() {
+            @Override
+            public void registerListener(JVMEventChannelListener listener) {
+            }
+
+            @Override
+            public void publish(ChannelName channel, JVMEvent message) {
+                events.add(message);
+            }
+
+            @Override
+            public void close() {
+            }
+        });
+        lines.forEach(parser::receive);
+        parser.receive(GCLogFile.END_OF_DATA_SENTINEL);
+        List<ApplicationStoppedTime> stopped = events.stream()
+                .filter(ApplicationStoppedTime.class::isInstance)
+                .map(ApplicationStoppedTime.class::cast)
+                .collect(Collectors.toList());
+        assertEquals(stops, stopped.size());
+        assertTrue(stopped.stream().allMatch(stop -> stop.hasTTSP() && stop.getDuration() > stop.getTimeToStopThreads()));
+    }
+
+    @Test
+    public void shardsAreCombined() throws IOException {
+        // a rotating log whose last file holds only a few pauses
+        Path log = new GCLogGenerator(LogFormat.UNIFIED_G1).seed(5L).size(608L << 10).rotation(3, 300L << 10).write(directory);
+        JavaVirtualMachine first = analyze(new SingleGCLogFile(log.resolve("gc.log.0")));
+        GCToolKit countsOnly = new GCToolKit();
+        countsOnly.loadAggregation(new CollectionCycleCountsSummary());
+        JavaVirtualMachine middle = countsOnly.analyze(new SingleGCLogFile(log.resolve("gc.log.1")));
+        JavaVirtualMachine last = analyze(new SingleGCLogFile(log.resolve("gc.log")));
+
+        PauseTimeSummary firstPauses = first.getAggregation(PauseTimeSummary.class).get();
+        PauseTimeSummary lastPauses = last.getAggregation(PauseTimeSummary.class).get();
+        double firstTotal = firstPauses.getTotalPauseTime();
+        HeapOccupancyAfterCollectionSummary firstOccupancy = first.getAggregation(HeapOccupancyAfterCollectionSummary.class).get();
+        HeapOccupancyAfterCollectionSummary lastOccupancy = last.getAggregation(HeapOccupancyAfterCollectionSummary.class).get();
+        int lastPoints = points(lastOccupancy);
+        assertTrue(lastPoints > 0 && lastPoints < 50, () -> Integer.toString(lastPoints));
+
+        // the shard without the Aggregation is skipped, and the combined Aggregation is a new one
+        PauseTimeSummary pauses = GCToolKit.combine(PauseTimeSummary.class, List.of(first, middle, last)).get();
+        assertNotSame(firstPauses, pauses);
+        assertEquals(firstTotal, firstPauses.getTotalPauseTime());
+        assertEquals(firstTotal + lastPauses.getTotalPauseTime(), pauses.getTotalPauseTime(), 1.0e-9d);
+        assertEquals(firstPauses.timeOfFirstEvent(), pauses.timeOfFirstEvent());
+        assertEquals(lastPauses.timeOfTerminationEvent(), pauses.timeOfTerminationEvent());
+        assertTrue(pauses.getPauseTimePercentile(0.0d) <= Math.min(firstPauses.getPauseTimePercentile(0.0d), lastPauses.getPauseTimePercentile(0.0d)));
+        assertTrue(pauses.getPauseTimePercentile(100.0d) >= Math.max(firstPauses.getPauseTimePercentile(100.0d), lastPauses.getPauseTimePercentile(100.0d)));
+
+        // the later shard first: the few buffered pauses are merged into an empty digest, and the points interleaved
+        PauseTimeSummary reversed = GCToolKit.combine(PauseTimeSummary.class, List.of(last, first)).get();
+        assertEquals(pauses.getTotalPauseTime(), reversed.getTotalPauseTime(), 1.0e-9d);
+        assertEquals(pauses.timeOfFirstEvent(), reversed.timeOfFirstEvent());
+        assertEquals(pauses.timeOfTerminationEvent(), reversed.timeOfTerminationEvent());
+        assertEquals(pauses.getPauseTimePercentile(0.0d), reversed.getPauseTimePercentile(0.0d));
+        for (double percentile : new double[] { 0.01d, 0.1d, 1.0d, 50.0d })
+            assertEquals(pauses.getPauseTimePercentile(percentile), reversed.getPauseTimePercentile(percentile), 0.1d * pauses.getPauseTimePercentile(percentile));
+        for (List<JavaVirtualMachine> shards : List.of(List.of(first, last), List.of(last, first))) {
+            HeapOccupancyAfterCollectionSummary occupancy = GCToolKit.combine(HeapOccupancyAfterCollectionSummary.class, shards).get();
+            assertEquals(points(firstOccupancy) + lastPoints, points(occupancy));
+            for (XYDataSet series : occupancy.get().values())
+                for (int i = 1; i < series.size(); i++)
+                    assertTrue(series.getX(i - 1) <= series.getX(i));
+        }
+
+        assertTrue(GCToolKit.combine(PauseTimeSummary.class, List.of(middle)).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> GCToolKit.combine(PauseTimeAggregation.class, List.of(first)));
+    }
+
+    private static int points(HeapOccupancyAfterCollectionSummary occupancy) {
+        return occupancy.get().values().stream().mapToInt(XYDataSet::size).sum();
+    }
+
+    @Test
+    public void settingsAreChecked() {
+        GCLogGenerator generator = new GCLogGenerator(LogFormat.UNIFIED_G1);
+        assertThrows(IllegalArgumentException.class, () -> generator.heapSize(8L));
+        assertThrows(IllegalArgumentException.class, () -> generator.liveSet(0.9d));
+        assertThrows(IllegalArgumentException.class, () -> generator.rotation(1, 1024L));
+        assertThrows(IllegalArgumentException.class, () -> generator.pauseTime(0.0d));
+        assertThrows(IllegalArgumentException.class, () -> generator.pauseSpread(-0.1d));
+    }
+
+    @Test
+    public void everyOptionIsApplied() {
+        GCLogGenerator generator = GCLogGenerator.fromOptions(options("--format=preunified_cms", "--spread=0.8", "--size=4M", "--files=3", "--file-size=1M"));
+        assertEquals(LogFormat.PREUNIFIED_CMS, generator.format);
+        assertEquals(0.8d, generator.pauseSpread);
+        assertEquals(0.0d, generator.pauseTime);
+        assertEquals(3, generator.fileCount);
+        assertEquals(1L << 20, generator.fileSize);
+        generator = GCLogGenerator.fromOptions(options("--format=unified_g1", "--pause=5", "--size=4M", "--files=4"));
+        assertEquals(5.0d, generator.pauseTime);
+        assertEquals(0.4d, generator.pauseSpread);
+        assertEquals(1L << 20, generator.fileSize);
+    }
+
+    @Test
+    public void optionsAreChecked() {
+        assertThrows(IllegalArgumentException.class, () -> GCLogGenerator.fromOptions(options("--size=4M")));
+        assertThrows(IllegalArgumentException.class, () -> GCLogGenerator.fromOptions(options("--format=unified_g1", "--colour=red")));
+        assertThrows(IllegalArgumentException.class, () -> GCLogGenerator.fromOptions(options("--format=unified_g1", "--file-size=1M")));
+        assertThrows(IllegalArgumentException.class, () -> GCLogGenerator.fromOptions(options("--format=unified_g1", "--files=1", "--file-size=1M")));
+    }
+
+    private static Map<String, String> options(String... args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args)
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        return options;
+    }
+}
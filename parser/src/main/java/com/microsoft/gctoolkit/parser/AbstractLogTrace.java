@@ -2,6 +2,7 @@
 // Licensed under the MIT License.
 package com.microsoft.gctoolkit.parser;
 
+import com.microsoft.gctoolkit.time.DateStampParser;
 import com.microsoft.gctoolkit.time.DateTimeStamp;
 
 import java.util.regex.Matcher;
@@ -10,16 +11,31 @@ import java.util.regex.Pattern;
 
 public abstract class AbstractLogTrace {
 
-    private static final String US_FORMAT_SEPARATOR = ".";
-    private static final String EUROPEAN_FORMAT_SEPARATOR = ",";
     private static final double MISSING_TIMESTAMP_SENTINEL = -1.0d;
 
     private static final Pattern TIMES_STAMP_RULE = Pattern.compile(PreUnifiedTokens.TIMESTAMP);
     private static final Pattern DATE_TIME_STAMP_RULE = Pattern.compile(PreUnifiedTokens.DATE_TIMESTAMP);
+    private static final DateStampParser DATE_STAMP_PARSER = new DateStampParser();
     protected final Matcher trace;
+    // The text the matcher was run against. Numeric groups are decoded in place using the group offsets.
+    private final CharSequence input;
 
+    /**
+     * Numeric groups of a trace created without the input are decoded from copies of the matched text.
+     * Prefer {@link #AbstractLogTrace(Matcher, CharSequence)}.
+     * @param matcher a matcher that has found a match
+     */
     public AbstractLogTrace(Matcher matcher) {
+        this(matcher, null);
+    }
+
+    /**
+     * @param matcher a matcher that has found a match
+     * @param input the text the matcher was applied to
+     */
+    public AbstractLogTrace(Matcher matcher, CharSequence input) {
         this.trace = matcher;
+        this.input = input;
     }
 
     public int length() {
@@ -35,11 +51,15 @@ public abstract class AbstractLogTrace {
     }
 
     public long getLongGroup(int index) {
-        return Long.parseLong(trace.group(index));
+        if (input == null)
+            return Long.parseLong(trace.group(index));
+        return NumericDecoder.parseLong(input, trace.start(index), trace.end(index));
     }
 
     public int getIntegerGroup(int index) {
-        return Integer.parseInt(trace.group(index));
+        if (input == null)
+            return Integer.parseInt(trace.group(index));
+        return NumericDecoder.parseInt(input, trace.start(index), trace.end(index));
     }
 
     public String getGroup(int index) {
@@ -47,24 +67,59 @@ public abstract class AbstractLogTrace {
     }
 
     public double getDoubleGroup(int index) {
-        return convertToDouble(trace.group(index));
+        return decodeDouble(trace, index, 0);
     }
 
     protected double convertToDouble(String value) {
-        return Double.parseDouble(value.replaceAll(EUROPEAN_FORMAT_SEPARATOR, US_FORMAT_SEPARATOR));
+        return NumericDecoder.parseDecimal(value);
+    }
+
+    /**
+     * @param index of the group holding the unit
+     * @return the first character of the group, typically one of the B, K, M or G memory units
+     */
+    protected char getUnitGroup(int index) {
+        if (input == null)
+            return trace.group(index).charAt(0);
+        return input.charAt(trace.start(index));
     }
 
     public double getPercentageGroup(int i) {
-        String value = getGroup(i);
-        return convertToDouble(value.substring(0, value.length() - 1));
+        return decodeDouble(trace, i, 1);
     }
 
     public double getTimeStamp() {
-        Matcher matcher = TIMES_STAMP_RULE.matcher(trace.group(0));
+        Matcher matcher = matcherOverTrace(TIMES_STAMP_RULE);
         if (!matcher.find()) {
             return MISSING_TIMESTAMP_SENTINEL;
         }
-        return convertToDouble(matcher.group(1));
+        return decodeDouble(matcher, 1, 0);
+    }
+
+    /**
+     * Decode a decimal from a group of either the trace, or of a matcher that was applied to this trace.
+     * @param matcher the matcher holding the group
+     * @param index the group
+     * @param suffixLength number of trailing characters, such as a %, to ignore
+     * @return the decoded value
+     */
+    private double decodeDouble(Matcher matcher, int index, int suffixLength) {
+        if (input == null) {
+            String value = matcher.group(index);
+            return (value == null) ? NumericDecoder.parseDecimal(null) : NumericDecoder.parseDecimal(value, 0, value.length() - suffixLength);
+        }
+        int start = matcher.start(index);
+        return NumericDecoder.parseDecimal(input, start, (start < 0) ? start : matcher.end(index) - suffixLength);
+    }
+
+    /**
+     * Sub-matches are restricted to the text matched by the trace. Using a region over the original input
+     * keeps group offsets relative to the input, avoiding a copy of the matched text.
+     */
+    private Matcher matcherOverTrace(Pattern pattern) {
+        if (input == null)
+            return pattern.matcher(trace.group(0));
+        return pattern.matcher(input).region(trace.start(), trace.end());
     }
 
     public String getDateStamp() {
@@ -97,17 +152,26 @@ public abstract class AbstractLogTrace {
     public DateTimeStamp getDateTimeStamp(int nth) {
         Matcher matcher;
         if ( nth > 1) {
-            matcher = DATE_TIME_STAMP_RULE.matcher(trace.group(0));
+            matcher = matcherOverTrace(DATE_TIME_STAMP_RULE);
             for (int i = 0; i < nth; i++)
                 if (!matcher.find())
                     break;
         } else
             matcher = trace;
 
-        String timeStamp = ( matcher.group(3) == null) ? matcher.group(4) : matcher.group(3);
+        int timeStampGroup = ( matcher.start(3) < 0) ? 4 : 3;
+        if (input != null) {
+            int dateStampGroup = ( matcher.start(2) < 0) ? 5 : 2;
+            double timeStamp = (matcher.start(timeStampGroup) >= 0) ? decodeDouble(matcher, timeStampGroup, 0) : MISSING_TIMESTAMP_SENTINEL;
+            int start = matcher.start(dateStampGroup);
+            if (start < 0)
+                return new DateTimeStamp(timeStamp);
+            int end = matcher.end(dateStampGroup);
+            return new DateTimeStamp(DATE_STAMP_PARSER.toEpochMillis(input, start, end), DATE_STAMP_PARSER.zoneOffsetSeconds(input, start, end), timeStamp);
+        }
         String dateStamp = ( matcher.group(2) == null) ? matcher.group(5) : matcher.group(2);
-        if (timeStamp != null) {
-            return new DateTimeStamp(dateStamp, convertToDouble(timeStamp));
+        if (matcher.start(timeStampGroup) >= 0) {
+            return new DateTimeStamp(dateStamp, decodeDouble(matcher, timeStampGroup, 0));
         } else if ( dateStamp != null)
             return new DateTimeStamp(dateStamp);
         return new DateTimeStamp(MISSING_TIMESTAMP_SENTINEL);
@@ -115,7 +179,7 @@ public abstract class AbstractLogTrace {
 
     public GCLogTrace next() {
         if (trace.find())
-            return new GCLogTrace(trace);
+            return new GCLogTrace(trace, input);
         return null;
     }
 }
@@ -13,6 +13,7 @@ import com.microsoft.gctoolkit.event.generational.ConcurrentReset;
 import com.microsoft.gctoolkit.event.generational.ConcurrentSweep;
 import com.microsoft.gctoolkit.event.generational.GenerationalGCEvent;
 import com.microsoft.gctoolkit.event.generational.InitialMark;
+import com.microsoft.gctoolkit.event.jvm.JVMEvent;
 import com.microsoft.gctoolkit.event.jvm.JVMTermination;
 import com.microsoft.gctoolkit.jvm.Diary;
 import com.microsoft.gctoolkit.message.ChannelName;
@@ -27,15 +28,39 @@ public class CMSTenuredPoolParser extends PreUnifiedGCLogParser implements Simpl
 
     private static final Logger LOG = Logger.getLogger(CMSTenuredPoolParser.class.getName());
     private DateTimeStamp startOfPhase = null;
+    // a concurrent phase or split remark has started and not yet been published
+    private boolean phaseUnderway = false;
     private GCParseRule EndOfFile = new GCParseRule("END_OF_DATA_SENTINEL", END_OF_DATA_SENTINEL);
 
-    public CMSTenuredPoolParser() {}
+    public CMSTenuredPoolParser() {
+        this(ParallelShards.shardSize());
+    }
+
+    /**
+     * @param shardSize the number of lines in a chunk, 0 to parse the log sequentially
+     */
+    CMSTenuredPoolParser(int shardSize) {
+        if (shardSize > 0)
+            parseInParallel(new ParallelShards<>(this, this::chunkParser, parser -> !parser.phaseUnderway, shardSize));
+    }
+
+    private CMSTenuredPoolParser chunkParser() {
+        CMSTenuredPoolParser parser = new CMSTenuredPoolParser(0);
+        parser.diary(diary);
+        parser.consumesFor(this);
+        return parser;
+    }
 
     @Override
     public Set<EventSource> eventsProduced() {
         return Set.of(EventSource.CMS_PREUNIFIED);
     }
 
+    @Override
+    Set<Class<? extends JVMEvent>> eventTypesProduced() {
+        return Set.of(GenerationalGCEvent.class);
+    }
+
     public String getName() {
         return ChannelName.CMS_TENURED_POOL_PARSER_OUTBOX.toString();
     }
@@ -46,23 +71,25 @@ public class CMSTenuredPoolParser extends PreUnifiedGCLogParser implements Simpl
         GCLogTrace trace;
 
         //this rule must be evaluated before CONCURRENT_PHASE_END_BLOCK
-        if ((trace = ABORT_PRECLEAN_DUE_TO_TIME_CLAUSE.parse(line)) != null)
+        if ((trace = match(ABORT_PRECLEAN_DUE_TO_TIME_CLAUSE, line)) != null)
             abortPrecleanDueToTime(trace);
-        else if ((trace = CONCURRENT_PHASE_START_BLOCK.parse(line)) != null)
+        else if ((trace = match(CONCURRENT_PHASE_START_BLOCK, line)) != null)
             startOfConcurrentPhase(trace);
-        else if ((trace = CONCURRENT_PHASE_END_BLOCK.parse(line)) != null)
+        else if ((trace = match(CONCURRENT_PHASE_END_BLOCK, line)) != null)
             endOfConcurrentPhase(trace);
-        else if ((trace = PRECLEAN_REFERENCE.parse(line)) != null)
+        else if ((trace = match(PRECLEAN_REFERENCE, line)) != null)
             endConcurrentPrecleanWithReferenceProcessing(trace);
-        else if ((trace = INITIAL_MARK.parse(line)) != null)
+        else if ((trace = match(INITIAL_MARK, line)) != null)
             initialMark(trace);
-        else if ((trace = REMARK_CLAUSE.parse(line)) != null)
+        else if ((trace = match(REMARK_CLAUSE, line)) != null)
             remark(trace, line);
-        else if ((trace = REMARK_REFERENCE_PROCESSING.parse(line)) != null)
+        else if ((trace = match(REMARK_REFERENCE_PROCESSING, line)) != null)
             remarkWithReferenceProcessing(trace, line);
-        else if ((trace = SPLIT_REMARK.parse(line)) != null)
+        else if ((trace = match(SPLIT_REMARK, line)) != null) {
             startOfPhase = getClock();
-        else if ((trace = EndOfFile.parse(line)) != null) {
+            phaseUnderway = true;
+        }
+        else if ((trace = match(EndOfFile, line)) != null) {
             super.publish(ChannelName.CMS_TENURED_POOL_PARSER_OUTBOX, new JVMTermination(getClock(), diary.getTimeOfFirstEvent()));
         }
     }
@@ -83,6 +110,7 @@ public class CMSTenuredPoolParser extends PreUnifiedGCLogParser implements Simpl
     //12.987: [CMS-concurrent-mark-start]
     private void startOfConcurrentPhase(GCLogTrace trace) {
         startOfPhase = trace.getDateTimeStamp();
+        phaseUnderway = true;
     }
 
     private void endOfConcurrentPhase(GCLogTrace trace) {
@@ -163,6 +191,7 @@ public class CMSTenuredPoolParser extends PreUnifiedGCLogParser implements Simpl
     }
 
     private void publish(GenerationalGCEvent event) {
+        phaseUnderway = false;
         super.publish(ChannelName.CMS_TENURED_POOL_PARSER_OUTBOX, event);
     }
 
@@ -5,12 +5,10 @@ package com.microsoft.gctoolkit.parser;
 import com.microsoft.gctoolkit.event.CPUSummary;
 import com.microsoft.gctoolkit.event.GCCause;
 import com.microsoft.gctoolkit.event.jvm.SurvivorRecord;
-import com.microsoft.gctoolkit.parser.jvm.Decorators;
 import com.microsoft.gctoolkit.time.DateTimeStamp;
 
 public class ForwardReference {
 
-    private final Decorators decorators;
     private final int gcID;
     private DateTimeStamp startTime = null;
     private double duration = -1.0d;
@@ -18,10 +16,9 @@ public class ForwardReference {
     private CPUSummary cpuSummary = null;
     SurvivorRecord survivorRecord = null;
 
-    ForwardReference(Decorators decorators, int id) {
+    ForwardReference(DateTimeStamp startTime, int id) {
         this.gcID = id;
-        this.decorators = decorators;
-        this.startTime = decorators.getDateTimeStamp();
+        this.startTime = startTime;
     }
 
     int getGcID() {
@@ -64,13 +61,6 @@ public class ForwardReference {
         this.cpuSummary = cpuSummary;
     }
 
-    /**
-     * @return the decorators
-     */
-    Decorators getDecorators() {
-        return decorators;
-    }
-
     public void survivorRecord(SurvivorRecord survivorRecord) {
         this.survivorRecord = survivorRecord;
     }
@@ -29,7 +29,6 @@ import com.microsoft.gctoolkit.event.g1gc.G1Remark;
 import com.microsoft.gctoolkit.event.g1gc.G1SystemGC;
 import com.microsoft.gctoolkit.event.g1gc.G1Young;
 import com.microsoft.gctoolkit.event.g1gc.G1YoungInitialMark;
-import com.microsoft.gctoolkit.parser.jvm.Decorators;
 import com.microsoft.gctoolkit.time.DateTimeStamp;
 
 import java.util.Map;
@@ -60,8 +59,8 @@ class G1GCForwardReference extends ForwardReference {
     private GarbageCollectionTypes gcType = null;
     private GarbageCollectionTypes concurrentPhase;
 
-    G1GCForwardReference(Decorators decorators, int gcID) {
-        super(decorators, gcID);
+    G1GCForwardReference(DateTimeStamp startTime, int gcID) {
+        super(startTime, gcID);
     }
 
     boolean isConcurrentCycle() {
@@ -6,16 +6,25 @@ import com.microsoft.gctoolkit.event.CPUSummary;
 import com.microsoft.gctoolkit.event.MemoryPoolSummary;
 import com.microsoft.gctoolkit.event.ReferenceGCSummary;
 import com.microsoft.gctoolkit.event.jvm.JVMEvent;
+import com.microsoft.gctoolkit.event.jvm.JVMTermination;
 import com.microsoft.gctoolkit.event.jvm.MetaspaceRecord;
 import com.microsoft.gctoolkit.event.jvm.PermGenSummary;
 import com.microsoft.gctoolkit.io.GCLogFile;
 import com.microsoft.gctoolkit.jvm.Diary;
+import com.microsoft.gctoolkit.jvm.RuleProfile;
+import com.microsoft.gctoolkit.jvm.UnmatchedLines;
 import com.microsoft.gctoolkit.message.ChannelName;
 import com.microsoft.gctoolkit.message.DataSourceParser;
 import com.microsoft.gctoolkit.message.JVMEventChannel;
+import com.microsoft.gctoolkit.message.LogRecord;
+import com.microsoft.gctoolkit.message.LogRecordDecoder;
 import com.microsoft.gctoolkit.time.DateTimeStamp;
 
-import java.util.logging.Level;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
 import java.util.logging.Logger;
 
 /**
@@ -40,6 +49,19 @@ public abstract class GCLogParser implements DataSourceParser, SharedPatterns {
     private DateTimeStamp clock = new DateTimeStamp(DateTimeStamp.EPOC, 0.0d);
     private double lastDuration = 0.0d;
 
+    // the event types the aggregators consume, and whether each type published so far is one of them
+    private Set<Class<? extends JVMEvent>> eventTypesConsumed = Set.of(JVMEvent.class);
+    private final Map<Class<?>, Boolean> consumed = new HashMap<>();
+    private boolean idle = false;
+    // false for a parser that parses part of a log for another, which publishes the events again
+    private boolean dropsUnconsumedEvents = true;
+    private UnmatchedLines unmatchedLines = new UnmatchedLines();
+    // a shard parser holds its warnings until its events are published
+    private BiConsumer<Logger, String> warnings = Logger::warning;
+    // null unless the rules are profiled, which is all that is checked when they aren't
+    private RuleProfile ruleProfile;
+    private final Map<GCParseRule, RuleProfile.Rule> profiledRules = new IdentityHashMap<>();
+
     /**
      * Default constructor.
      */
@@ -53,6 +75,7 @@ public abstract class GCLogParser implements DataSourceParser, SharedPatterns {
     public void diary(Diary diary) {
         this.diary = diary;
         this.clock = diary.getTimeOfFirstEvent();
+        logRecordDecoder().diary(diary);
     }
 
     /**
@@ -84,10 +107,39 @@ public abstract class GCLogParser implements DataSourceParser, SharedPatterns {
     protected abstract void process(String trace);
 
     /**
-     * Abstract method to advance the clock based on a record.
-     * @param record the record to use for advancing the clock.
+     * Process a decoded record. By default, the line is passed on to {@link #process(String)}.
+     * @param record the decoded record to process.
+     */
+    protected void process(LogRecord record) {
+        process(record.getLine());
+    }
+
+    /**
+     * The decoder used for lines that arrive undecoded.
+     * @return the decoder for the log format this parser understands.
+     */
+    abstract LogRecordDecoder logRecordDecoder();
+
+    /**
+     * Decodes a line from the GC log.
+     * @param line the line to decode.
+     * @return the decoded record.
+     */
+    LogRecord decode(String line) {
+        return logRecordDecoder().decode(line);
+    }
+
+    /**
+     * Decodes a record that was published without being decoded, keeping the start of segment mark.
+     * @param record the record to decode.
+     * @return the decoded record.
      */
-    abstract void advanceClock(String record);
+    LogRecord decode(LogRecord record) {
+        if (record.isDecoded())
+            return record;
+        LogRecord decoded = decode(record.getLine());
+        return record.isStartOfSegment() ? decoded.startOfSegment(record.getSegmentStartTime()) : decoded;
+    }
 
     /**
      * Advances the clock to the specified time.
@@ -97,31 +149,198 @@ public abstract class GCLogParser implements DataSourceParser, SharedPatterns {
         if (now == null)
             return;
         else if (now.before(getClock())) {
-            LOGGER.log(Level.WARNING, "Log File may be Corrupted: Time traveled backwards from {0} to {1}", new Object[]{getClock().toString(), now.toString()});
+            warning(LOGGER, "Log File may be Corrupted: Time traveled backwards from " + getClock() + " to " + now);
         }
         setClock(now);
     }
 
     /**
-     * Publishes a JVM event to the specified channel.
+     * @return the duration of the last event published, used to time the end of the log.
+     */
+    double getLastDuration() {
+        return lastDuration;
+    }
+
+    /**
+     * Sets the duration of the last event published, for a parser that takes over from another part way through a log.
+     * @param lastDuration the duration of the last event published.
+     */
+    void setLastDuration(double lastDuration) {
+        this.lastDuration = lastDuration;
+    }
+
+    /**
+     * Records the event types that the aggregators consume. A parser that produces none of them only
+     * publishes the JVMTermination event, and events of other types that a parser builds are not published.
+     * @param eventTypes the event types that are consumed.
+     */
+    @Override
+    public void consumes(Set<Class<? extends JVMEvent>> eventTypes) {
+        eventTypesConsumed = Set.copyOf(eventTypes);
+        consumed.clear();
+        idle = eventTypesProduced().stream().noneMatch(this::isConsumed);
+    }
+
+    /**
+     * Skip the same work as the parser this one parses part of a log for. Events are published whether they
+     * are consumed or not, so the other parser sees the duration of every event it publishes again.
+     * @param owner the parser that publishes the events of this one.
+     */
+    void consumesFor(GCLogParser owner) {
+        consumes(owner.eventTypesConsumed);
+        dropsUnconsumedEvents = false;
+    }
+
+    /**
+     * The types of the events this parser publishes, apart from JVMTermination. A parser that produces none of
+     * the types that are consumed skips the log, other than the end of data.
+     * @return the event types this parser produces, which may be super-classes of the events it publishes.
+     */
+    Set<Class<? extends JVMEvent>> eventTypesProduced() {
+        return Set.of(JVMEvent.class);
+    }
+
+    /**
+     * An event type is consumed if an aggregator consumes it, one of its super-classes or one of its sub-classes.
+     * @param eventType the event type to check.
+     * @return true if events of the type, or some of them, are consumed.
+     */
+    boolean isConsumed(Class<? extends JVMEvent> eventType) {
+        return consumed.computeIfAbsent(eventType, type -> type == JVMTermination.class
+                || eventTypesConsumed.stream().anyMatch(consumedType -> consumedType.isAssignableFrom(type) || type.isAssignableFrom(consumedType)));
+    }
+
+    /**
+     * @return true if none of the events this parser produces are consumed.
+     */
+    boolean isIdle() {
+        return idle;
+    }
+
+    /**
+     * Reports the lines this parser doesn't match to the summary, rather than to its own.
+     * @param unmatchedLines the summary of the lines that weren't matched.
+     */
+    @Override
+    public void reportUnmatchedLinesTo(UnmatchedLines unmatchedLines) {
+        this.unmatchedLines = unmatchedLines;
+    }
+
+    /**
+     * Times each rule of this parser and records the times to the profile.
+     * @param ruleProfile the profile to record to.
+     */
+    @Override
+    public void profileRulesTo(RuleProfile ruleProfile) {
+        this.ruleProfile = ruleProfile;
+        profiledRules.clear();
+    }
+
+    /**
+     * @return the profile this parser records to, or {@code null} if its rules aren't profiled.
+     */
+    RuleProfile ruleProfile() {
+        return ruleProfile;
+    }
+
+    /**
+     * Matches a line against a rule, timing the match if the rules are profiled.
+     * @param rule the rule to match.
+     * @param line the line to match.
+     * @return the trace of the match, or {@code null} if the rule doesn't match the line.
+     */
+    final GCLogTrace match(GCParseRule rule, String line) {
+        if (ruleProfile == null)
+            return rule.parse(line);
+        long start = System.nanoTime();
+        GCLogTrace trace = rule.parse(line);
+        profiled(rule).matched(System.nanoTime() - start, trace != null);
+        return trace;
+    }
+
+    /**
+     * Hands a line a rule matched to the rule's handler, timing the handler if the rules are profiled.
+     * @param rule the rule that matched the line.
+     * @param handler the handler of the rule.
+     * @param trace the trace of the match.
+     * @param line the line that was matched.
+     */
+    final void apply(GCParseRule rule, BiConsumer<GCLogTrace, String> handler, GCLogTrace trace, String line) {
+        if (ruleProfile == null) {
+            handler.accept(trace, line);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            handler.accept(trace, line);
+        } finally {
+            profiled(rule).handled(System.nanoTime() - start);
+        }
+    }
+
+    private RuleProfile.Rule profiled(GCParseRule rule) {
+        return profiledRules.computeIfAbsent(rule, key -> ruleProfile.rule(getName(), key.getName()));
+    }
+
+    /**
+     * Reports the warnings about the log to the consumer, rather than logging them.
+     * @param warnings is given the logger of each warning and its message.
+     */
+    void reportWarningsTo(BiConsumer<Logger, String> warnings) {
+        this.warnings = warnings;
+    }
+
+    /**
+     * Logs a warning about the lines being parsed, such as for an event that can't be built from them.
+     * @param logger the logger of the parser.
+     * @param message the message of the warning.
+     */
+    final void warning(Logger logger, String message) {
+        warnings.accept(logger, message);
+    }
+
+    /**
+     * Records a line that none of the rules of this parser match.
+     * @param line the line that wasn't matched.
+     */
+    void unmatched(String line) {
+        unmatchedLines.record(getName(), line);
+    }
+
+    /**
+     * Publishes a JVM event to the specified channel. An event that isn't consumed is dropped.
      * @param channel the channel to publish to.
      * @param event the event to be published.
      */
     public void publish(ChannelName channel, JVMEvent event) {
         lastDuration = event.getDuration();
-        consumer.publish(channel, event);
+        if (!dropsUnconsumedEvents || isConsumed(event.getClass()))
+            consumer.publish(channel, event);
     }
 
     /**
-     * Receives a trace line and processes it.
+     * Receives a trace line, decodes it and processes it.
      * @param trace the trace line to process.
      */
     public void receive(String trace) {
-        if (!trace.equals(END_OF_DATA_SENTINEL))
-            advanceClock(trace);
+        receive(decode(trace));
+    }
+
+    /**
+     * Receives a record and processes it. The clock is advanced using the time stamp decoded
+     * in the record.
+     * @param record the record to process.
+     */
+    @Override
+    public void receive(LogRecord record) {
+        if (!record.isDecoded())
+            record = decode(record.getLine());
+        if (!record.isEndOfData())
+            advanceClock(record.getDateTimeStamp());
         else
             advanceClock(getClock().add(lastDuration));
-        process(trace);
+        if (!idle || record.isEndOfData())
+            process(record);
     }
 
     /**
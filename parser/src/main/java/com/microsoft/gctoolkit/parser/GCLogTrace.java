@@ -31,6 +31,10 @@ public class GCLogTrace extends AbstractLogTrace {
         super(matcher);
     }
 
+    public GCLogTrace(Matcher matcher, CharSequence input) {
+        super(matcher, input);
+    }
+
     public int groupCount() {
         return trace.groupCount();
     }
@@ -39,14 +43,6 @@ public class GCLogTrace extends AbstractLogTrace {
         return getGroup(index) != null;
     }
 
-    public long getLongGroup(int index) {
-        return Long.parseLong(trace.group(index));
-    }
-
-    public int getIntegerGroup(int index) {
-        return Integer.parseInt(trace.group(index));
-    }
-
     public GCCause gcCause(int base, int offset) {
         if (gcCauseDebugging) {
             if (this.getGroup(base + offset) != null) {
@@ -128,48 +124,30 @@ public class GCLogTrace extends AbstractLogTrace {
     }
 
     public long toKBytes(int offset) {
-        return toKBytes(getLongGroup(offset), getGroup(offset + 1));
+        return toKBytes(getLongGroup(offset), getUnitGroup(offset + 1));
     }
 
     public long doubleToKBytes(int offset) {
-        return (long)toKBytes(getDoubleGroup(offset), getGroup(offset+1));
-    }
-
-    private double toKBytes(double value, String units) {
-        double returnValue = value;
-        switch (Character.toUpperCase(units.codePointAt(0))) {
-            case 'G':
-                returnValue *= 1024.0D;
-            case 'M':
-                returnValue *= 1024.0D;
-            case 'K':
-                break;
-            case 'B':
-                returnValue /= 1024.0D;
-                break;
-            default:
-                LOGGER.log(Level.WARNING, "Invalid unit [B,K,M,G] {0}", units);
+        double value = getDoubleGroup(offset);
+        try {
+            return (long) NumericDecoder.toKBytes(value, getUnitGroup(offset + 1));
+        } catch (IllegalArgumentException invalidUnit) {
+            LOGGER.log(Level.WARNING, "Invalid unit [B,K,M,G] {0}", getGroup(offset + 1));
+            return (long) value;
         }
-        return returnValue;
     }
 
     public long toKBytes(long value, String units) {
-        long returnValue = value;
-        switch (Character.toUpperCase(units.codePointAt(0))) {
-            case 'G':
-                returnValue *= 1024L;
-            case 'M':
-                returnValue *= 1024L;
-            case 'K':
-                break;
-            case 'B':
-                returnValue /= 1024L;
-                break;
-            default:
-                LOGGER.log(Level.WARNING, "Invalid unit [B,K,M,G] {0}", units);
-        }
+        return toKBytes(value, units.charAt(0));
+    }
 
-        return returnValue;
+    private long toKBytes(long value, char units) {
+        try {
+            return NumericDecoder.toKBytes(value, units);
+        } catch (IllegalArgumentException invalidUnit) {
+            LOGGER.log(Level.WARNING, "Invalid unit [B,K,M,G] {0}", units);
+            return value;
+        }
     }
 
     public PermGenSummary getMetaspaceSummary(int offset) {
@@ -8,15 +8,35 @@ import java.util.regex.Pattern;
 /**
  * Class that tracks whether a log entry was parsed successfully (hit), or not
  * (miss) and captures the origin of that hit or miss.
+ * <p>
+ * The pattern is compiled the first time the rule is used. The pattern interfaces declare hundreds of rules,
+ * for every collector, and only the rules of the parsers that accept the log are ever used.
+ * <p>
+ * When the pattern is compiled, the literal text that every match must contain is picked out of it. Lines that
+ * don't contain that text are turned away without running the pattern, which is what happens to most of the
+ * lines a rule is tried against.
  */
 public class GCParseRule {
 
     private final String name;
-    private final Pattern pattern;
+    private final String regex;
+    // compiled on first use, a race compiles the same pattern twice which is harmless
+    private volatile Compiled compiled;
+
+    private static final class Compiled {
+        private final Pattern pattern;
+        // text every match contains, null if there is none to check for
+        private final String requiredLiteral;
+
+        private Compiled(String regex) {
+            this.pattern = Pattern.compile(regex);
+            this.requiredLiteral = RequiredLiteral.of(regex);
+        }
+    }
 
     public GCParseRule(String name, String pattern) {
         this.name = name;
-        this.pattern = Pattern.compile(pattern);
+        this.regex = pattern;
     }
 
     /**
@@ -28,9 +48,12 @@ public class GCParseRule {
      * @return A trace with a valid matcher or null
      */
     public GCLogTrace parse(String trace) {
-        Matcher matcher = pattern.matcher(trace);
+        Compiled rule = compiled();
+        if (rule.requiredLiteral != null && !trace.contains(rule.requiredLiteral))
+            return null;
+        Matcher matcher = rule.pattern.matcher(trace);
         if (matcher.find()) {
-            return new GCLogTrace(matcher);
+            return new GCLogTrace(matcher, trace);
         } else {
             return null;
         }
@@ -42,8 +65,31 @@ public class GCParseRule {
 
     @Override
     public String toString() {
-        return this.name + " -> " + pattern.toString();
+        return this.name + " -> " + regex;
+    }
+
+    public Pattern pattern() {
+        return compiled().pattern;
+    }
+
+    private Compiled compiled() {
+        Compiled rule = compiled;
+        if (rule == null)
+            compiled = rule = new Compiled(regex);
+        return rule;
+    }
+
+    /**
+     * @return {@code true} if the pattern has been compiled
+     */
+    boolean isCompiled() {
+        return compiled != null;
     }
 
-    public Pattern pattern() { return pattern; }
+    /**
+     * @return the text every match contains, or {@code null} if every line has to be matched against the pattern
+     */
+    String requiredLiteral() {
+        return compiled().requiredLiteral;
+    }
 }
@@ -5,7 +5,7 @@ package com.microsoft.gctoolkit.parser;
 import com.microsoft.gctoolkit.event.GarbageCollectionTypes;
 import com.microsoft.gctoolkit.event.MemoryPoolSummary;
 import com.microsoft.gctoolkit.event.jvm.MetaspaceRecord;
-import com.microsoft.gctoolkit.parser.jvm.Decorators;
+import com.microsoft.gctoolkit.time.DateTimeStamp;
 
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -43,8 +43,8 @@ public class GenerationalForwardReference extends ForwardReference {
     private final Map<String, Double> remarkPhases = new ConcurrentHashMap<>();
     private final Map<String, Double> phases = new ConcurrentHashMap<>();
 
-    public GenerationalForwardReference(GarbageCollectionTypes gcType, Decorators decorators, int gcid) {
-        super(decorators, gcid);
+    public GenerationalForwardReference(GarbageCollectionTypes gcType, DateTimeStamp startTime, int gcid) {
+        super(startTime, gcid);
         this.gcType = gcType;
     }
 
@@ -21,6 +21,7 @@ import com.microsoft.gctoolkit.event.generational.ConcurrentReset;
 import com.microsoft.gctoolkit.event.generational.ConcurrentSweep;
 import com.microsoft.gctoolkit.event.generational.DefNew;
 import com.microsoft.gctoolkit.event.generational.FullGC;
+import com.microsoft.gctoolkit.event.generational.GenerationalGCEvent;
 import com.microsoft.gctoolkit.event.generational.GenerationalGCPauseEvent;
 import com.microsoft.gctoolkit.event.generational.InitialMark;
 import com.microsoft.gctoolkit.event.generational.PSFullGC;
@@ -37,9 +38,7 @@ import com.microsoft.gctoolkit.message.JVMEventChannel;
 import com.microsoft.gctoolkit.parser.collection.MRUQueue;
 import com.microsoft.gctoolkit.time.DateTimeStamp;
 
-import java.util.AbstractMap;
 import java.util.ArrayList;
-import java.util.Optional;
 import java.util.Set;
 import java.util.function.BiConsumer;
 import java.util.logging.Level;
@@ -282,6 +281,30 @@ public class GenerationalHeapParser extends PreUnifiedGCLogParser implements Sim
     }
 
     public GenerationalHeapParser() {
+        this(ParallelShards.shardSize());
+    }
+
+    /**
+     * @param shardSize the number of lines in a chunk, 0 to parse the log sequentially
+     */
+    GenerationalHeapParser(int shardSize) {
+        if (shardSize > 0)
+            parseInParallel(new ParallelShards<>(this, this::chunkParser, GenerationalHeapParser::isQuiescent, shardSize));
+    }
+
+    private GenerationalHeapParser chunkParser() {
+        GenerationalHeapParser parser = new GenerationalHeapParser(0);
+        parser.diary(diary);
+        parser.consumesFor(this);
+        return parser;
+    }
+
+    /**
+     * @return {@code true} if no collection or concurrent phase is underway and no events are waiting to be published
+     */
+    private boolean isQuiescent() {
+        return garbageCollectionTypeForwardReference == null && parNewForwardReference == null
+                && !inConcurrentPhase && !expectRemark && queue.isEmpty();
     }
 
     @Override
@@ -289,6 +312,11 @@ public class GenerationalHeapParser extends PreUnifiedGCLogParser implements Sim
         return Set.of(EventSource.GENERATIONAL);
     }
 
+    @Override
+    Set<Class<? extends JVMEvent>> eventTypesProduced() {
+        return Set.of(GenerationalGCEvent.class);
+    }
+
     @Override
     public String getName() {
         return "GenerationalHeapParser";
@@ -300,15 +328,12 @@ public class GenerationalHeapParser extends PreUnifiedGCLogParser implements Sim
         if (ignoreFrequentButUnwantedEntries(line)) return;
 
         try {
-            Optional<AbstractMap.SimpleEntry<GCParseRule, GCLogTrace>> optional = parseRules.keys()
-                    .stream()
-                    .map(rule -> new AbstractMap.SimpleEntry<>(rule, rule.parse(line)))
-                    .filter(tuple -> tuple.getValue() != null)
-                    .findFirst();
-            if ( optional.isPresent()) {
-                AbstractMap.SimpleEntry<GCParseRule, GCLogTrace> ruleAndTrace = optional.get();
-                parseRules.get(ruleAndTrace.getKey()).accept(ruleAndTrace.getValue(), line);
-                return;
+            for (GCParseRule rule : parseRules.keys()) {
+                GCLogTrace trace = match(rule, line);
+                if (trace != null) {
+                    apply(rule, parseRules.get(rule), trace, line);
+                    return;
+                }
             }
         } catch (Throwable t) {
             LOGGER.throwing(this.getName(), "process", t);
@@ -491,7 +516,7 @@ public class GenerationalHeapParser extends PreUnifiedGCLogParser implements Sim
             fullGc.add(extractCPUSummary(line));
             publish(fullGc);
         } else
-            LOGGER.warning("Unable to parse -> " + trace);
+            warning(LOGGER, "Unable to parse -> " + trace);
     }
 
     private void parNewFLSHeader(GCLogTrace trace, String line) {
@@ -546,7 +571,7 @@ public class GenerationalHeapParser extends PreUnifiedGCLogParser implements Sim
     }
 
     public void parNewCardTable(GCLogTrace trace, String line) {
-        LOGGER.warning("Not Yet Implemented -> " + trace);
+        warning(LOGGER, "Not Yet Implemented -> " + trace);
     }
 
 
@@ -813,10 +838,10 @@ public class GenerationalHeapParser extends PreUnifiedGCLogParser implements Sim
                     publish(new ConcurrentReset(startOfConcurrentPhase, wallClock, cpuTime, wallClock));
                     break;
                 default:
-                    LOGGER.warning("concurrent phase not recognized end statement -> " + trace);
+                    warning(LOGGER, "concurrent phase not recognized end statement -> " + trace);
             }
         } catch (Exception e) {
-            LOGGER.warning("concurrent phase end throws " + e.getMessage() + " for " + trace);
+            warning(LOGGER, "concurrent phase end throws " + e.getMessage() + " for " + trace);
         }
     }
 
@@ -960,7 +985,7 @@ public class GenerationalHeapParser extends PreUnifiedGCLogParser implements Sim
             if (youngMemoryPoolSummaryForwardReference == null)
                 youngMemoryPoolSummaryForwardReference = heapSummary.minus(tenuredPoolSummary);
         } else {
-            LOGGER.warning("Unable to parse -> " + trace);
+            warning(LOGGER, "Unable to parse -> " + trace);
             return;
         }
 
@@ -996,7 +1021,7 @@ public class GenerationalHeapParser extends PreUnifiedGCLogParser implements Sim
         publish(parNew, false);
         if ( inConcurrentPhase) {
             // todo: publish closing out concurrent phase
-            LOGGER.warning("concurrent phase not closed");
+            warning(LOGGER, "concurrent phase not closed");
         }
 
         ConcurrentModeFailure collection = new ConcurrentModeFailure(fullGCTimeStamp, gcCauseForwardReference, trace.getDuration());
@@ -1105,7 +1130,7 @@ public class GenerationalHeapParser extends PreUnifiedGCLogParser implements Sim
             collection.add(extractCPUSummary(line));
             publish(collection);
         } else
-            LOGGER.log(Level.WARNING, "@" + scavengeTimeStamp + ". ParNew details not preceded by a ParNew: " + garbageCollectionTypeForwardReference);
+            warning(LOGGER, "@" + scavengeTimeStamp + ". ParNew details not preceded by a ParNew: " + garbageCollectionTypeForwardReference);
     }
 
     //(concurrent mode failure): 8465K->22006K(1926784K), 0.3222180 secs] 28136K->22006K(2080128K), [CMS Perm : 51702K->51627K(52016K)] icms_dc=5 , 0.3224000 secs]
@@ -1138,7 +1163,7 @@ public class GenerationalHeapParser extends PreUnifiedGCLogParser implements Sim
             failure.add(extractCPUSummary(line));
             publish(failure);
         } else {
-            LOGGER.warning("Unable to parse -> " + trace);
+            warning(LOGGER, "Unable to parse -> " + trace);
         }
     }
 
@@ -1291,7 +1316,7 @@ public class GenerationalHeapParser extends PreUnifiedGCLogParser implements Sim
             collection.recordDutyCycle(trace.getIntegerGroup(trace.groupCount() - 1));
             publish(collection);
         } else {
-            LOGGER.warning("Not reported: " + line);
+            warning(LOGGER, "Not reported: " + line);
         }
     }
 
@@ -1316,7 +1341,7 @@ public class GenerationalHeapParser extends PreUnifiedGCLogParser implements Sim
         else if ((cause == GCCause.UNKNOWN_GCCAUSE) || (cause == GCCause.GCCAUSE_NOT_SET)) {
             collection = new FullGC(getClock(), cause, trace.getDuration());
         } else {
-            LOGGER.warning("Unable to parse -> " + trace);
+            warning(LOGGER, "Unable to parse -> " + trace);
             return;
         }
 
@@ -1796,18 +1821,18 @@ public class GenerationalHeapParser extends PreUnifiedGCLogParser implements Sim
             fullGC.add(cpuSummary);
             publish(fullGC);
         } else {
-            LOGGER.warning("Unable to parse -> " + trace);
+            warning(LOGGER, "Unable to parse -> " + trace);
         }
         scavengeTimeStamp = getClock();
         garbageCollectionTypeForwardReference = GarbageCollectionTypes.DefNew;
     }
 
     public void rescanSplitUnloadingString(GCLogTrace trace, String line) {
-        LOGGER.warning("Not Yet Implemented -> " + trace);
+        warning(LOGGER, "Not Yet Implemented -> " + trace);
     }
 
     public void parNewConcurrentPhaseCards(GCLogTrace trace, String line) {
-        LOGGER.warning("Not Yet Implemented -> " + trace);
+        warning(LOGGER, "Not Yet Implemented -> " + trace);
     }
 
     public void concurrentPhaseYields(GCLogTrace trace, String line) {
@@ -1821,23 +1846,23 @@ public class GenerationalHeapParser extends PreUnifiedGCLogParser implements Sim
     }
 
     private void shouldCollectConcurrent(GCLogTrace trace, String line) {
-        LOGGER.warning("Not Yet Implemented -> " + trace);
+        warning(LOGGER, "Not Yet Implemented -> " + trace);
     }
 
     public void parNewShouldConcurrentCollect(GCLogTrace trace, String line) {
-        LOGGER.warning("Not yet Implemented -> " + trace);
+        warning(LOGGER, "Not yet Implemented -> " + trace);
     }
 
     private void psYoungAdaptivePolicySizeStart(GCLogTrace trace, String line) {
-        LOGGER.warning("Not yet Implemented -> " + trace);
+        warning(LOGGER, "Not yet Implemented -> " + trace);
     }
 
     private void psYoungAdaptivePolicySizeBody(GCLogTrace trace, String line) {
-        LOGGER.warning("Not yet Implemented -> " + trace);
+        warning(LOGGER, "Not yet Implemented -> " + trace);
     }
 
     private void adaptivePolicySizeBody(GCLogTrace trace, String line) {
-        LOGGER.warning("Not yet Implemented -> " + trace);
+        warning(LOGGER, "Not yet Implemented -> " + trace);
     }
 
     public void remarkSplitByDebug(GCLogTrace trace, String line) {
@@ -1954,7 +1979,7 @@ public class GenerationalHeapParser extends PreUnifiedGCLogParser implements Sim
         // stabilizes memory pool sizing information
         GCLogTrace remarkBlock = cmsRemarkBlockRule.parse(line);
         if ( remarkBlock == null) {
-            LOGGER.warning("Internal error, unable to parse CMS information from " + line);
+            warning(LOGGER, "Internal error, unable to parse CMS information from " + line);
         } else {
             MemoryPoolSummary tenured = remarkBlock.getOccupancyWithMemoryPoolSizeSummary();
             MemoryPoolSummary heap = remarkBlock.getOccupancyWithMemoryPoolSizeSummary();
@@ -2028,8 +2053,7 @@ public class GenerationalHeapParser extends PreUnifiedGCLogParser implements Sim
 //
 //        GCToolKit.LOG_DEBUG_MESSAGE(() -> "GenerationalHeapParser missed: " + line);
         if (line.contains("CMSCMS: Large block")) return;
-        LOGGER.log(Level.WARNING, "Missed: {0}", line);
-
+        unmatched(line);
     }
 
     private DateTimeStamp startOfConcurrentPhase;
@@ -2042,7 +2066,7 @@ public class GenerationalHeapParser extends PreUnifiedGCLogParser implements Sim
             publish(new AbortablePreClean(startOfConcurrentPhase, wallClock, cpuTime, wallClock, true));
             abortPrecleanDueToTime = false;
         } catch (Exception e) {
-            LOGGER.warning("concurrent phase end choked on " + trace);
+            warning(LOGGER, "concurrent phase end choked on " + trace);
         }
     }
 
@@ -2053,7 +2077,7 @@ public class GenerationalHeapParser extends PreUnifiedGCLogParser implements Sim
             publish(new AbortablePreClean(startOfConcurrentPhase, wallClock, cpuTime, wallClock, false));
             abortPrecleanDueToTime = false;
         } catch (Exception e) {
-            LOGGER.warning("concurrent phase end choked on " + trace);
+            warning(LOGGER, "concurrent phase end choked on " + trace);
         }
     }
 
@@ -2070,7 +2094,7 @@ public class GenerationalHeapParser extends PreUnifiedGCLogParser implements Sim
         try {
             publish(new ConcurrentPreClean(startOfConcurrentPhase, concurrentBlock.getDoubleGroup(11), concurrentBlock.getDoubleGroup(7), concurrentBlock.getDoubleGroup(8)));
         } catch (Throwable t) {
-            LOGGER.warning("Unable to extract data from " + trace.toString());
+            warning(LOGGER, "Unable to extract data from " + trace.toString());
         }
     }
 
@@ -2098,12 +2122,12 @@ public class GenerationalHeapParser extends PreUnifiedGCLogParser implements Sim
                 publish(new ConcurrentReset(startOfConcurrentPhase, duration, cpuTime, wallTime));
                 break;
             default:
-                LOGGER.warning("concurrent phase choked on " + trace);
+                warning(LOGGER, "concurrent phase choked on " + trace);
         }
     }
 
     public void logMissedFirstRecordForEvent(String line) {
-        LOGGER.log(Level.WARNING, "Missing initial record for: {0}", line);
+        warning(LOGGER, "Missing initial record for: " + line);
     }
 
     private void clear() {
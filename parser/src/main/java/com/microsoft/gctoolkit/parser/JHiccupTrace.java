@@ -13,8 +13,6 @@ public class JHiccupTrace {
     //0.124,1.004,2.408,HIST
     private static final String TIME = "(\\d+(?:,|.)\\d+)";
     public static final Pattern JHICCUP_LOG_ENTRY = Pattern.compile(TIME + "," + TIME + "," + TIME + ",HIST");
-    private static final String US_FORMAT_SEPARATOR = ".";
-    private static final String EUROPEAN_FORMAT_SEPARATOR = ",";
 
     // TODO #150 Why -1.0d as the default?
     // private static final double DEFAULT_TIMESTAMP = -1.0d;
@@ -47,7 +45,7 @@ public class JHiccupTrace {
     }
 
     private double convertToDouble(String value) {
-        return Double.parseDouble(value.replaceAll(EUROPEAN_FORMAT_SEPARATOR, US_FORMAT_SEPARATOR));
+        return NumericDecoder.parseDecimal(value);
     }
 
     public String getGroup(int index) {
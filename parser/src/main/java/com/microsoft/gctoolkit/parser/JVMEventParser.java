@@ -15,13 +15,10 @@ import com.microsoft.gctoolkit.time.DateTimeStamp;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Set;
-import java.util.logging.Level;
-import java.util.logging.Logger;
 
 public class JVMEventParser extends PreUnifiedGCLogParser implements JVMPatterns {
 
     private static final double GCPAUSE_TIME_NOT_SET = -1.0; // a value that doesn't make sense
-    private static final Logger LOGGER = Logger.getLogger(JVMEventParser.class.getName());
     private final Collection<SafePointData> safePoints = new ArrayList<>();
     private DateTimeStamp timeStamp = new DateTimeStamp(0.0d);
     private boolean lastEventWasGC = false;
@@ -34,6 +31,11 @@ public class JVMEventParser extends PreUnifiedGCLogParser implements JVMPatterns
         return Set.of(EventSource.JVM);
     }
 
+    @Override
+    Set<Class<? extends JVMEvent>> eventTypesProduced() {
+        return Set.of(ApplicationStoppedTime.class, ApplicationConcurrentTime.class);
+    }
+
     public String getName() {
         return "JVMEventParser";
     }
@@ -51,35 +53,36 @@ public class JVMEventParser extends PreUnifiedGCLogParser implements JVMPatterns
 
         try {
             //todo: unified safepointing here???
-            if ((trace = APPLICATION_STOP_TIME.parse(line)) != null) {
+            if ((trace = match(APPLICATION_STOP_TIME, line)) != null) {
                 if (lastEventWasGC) {
                     // can estimate TTSP
-                    double duration = trace.getDoubleGroup(3);
+                    double duration = trace.getDuration();
                     publish(new ApplicationStoppedTime(trace.getDateTimeStamp(), duration, duration - gcPauseTime, lastEventWasGC));
                     lastEventWasGC = false;
                     gcPauseTime = GCPAUSE_TIME_NOT_SET;
                 } else {
-                    publish(new ApplicationStoppedTime(trace.getDateTimeStamp(), trace.getDoubleGroup(3), lastEventWasGC));
+                    publish(new ApplicationStoppedTime(trace.getDateTimeStamp(), trace.getDuration(), lastEventWasGC));
                 }
-            } else if ((trace = APPLICATION_STOP_TIME_WITH_STOPPING_TIME.parse(line)) != null) {
-                publish(new ApplicationStoppedTime(trace.getDateTimeStamp(), trace.getDoubleGroup(3), trace.getDoubleGroup(4), lastEventWasGC));
+            } else if ((trace = match(APPLICATION_STOP_TIME_WITH_STOPPING_TIME, line)) != null) {
+                // the times follow the groups of the date and time stamp
+                publish(new ApplicationStoppedTime(trace.getDateTimeStamp(), trace.getDoubleGroup(trace.groupCount() - 1), trace.getDoubleGroup(trace.groupCount()), lastEventWasGC));
                 lastEventWasGC = false;
                 gcPauseTime = GCPAUSE_TIME_NOT_SET;
-            } else if ((trace = APPLICATION_TIME.parse(line)) != null) {
-                publish(new ApplicationConcurrentTime(trace.getDateTimeStamp(), trace.getDoubleGroup(3)));
+            } else if ((trace = match(APPLICATION_TIME, line)) != null) {
+                publish(new ApplicationConcurrentTime(trace.getDateTimeStamp(), trace.getDuration()));
                 lastEventWasGC = false;
-            } else if ((trace = SIMPLE_APPLICATION_STOP_TIME.parse(line)) != null) {
-                safePoints.add(new StoppedTime(trace.getDoubleGroup(1), safePoints.isEmpty()));
-            } else if ((trace = SIMPLE_APPLICATION_TIME.parse(line)) != null) {
-                safePoints.add(new ConcurrentTime(trace.getDoubleGroup(3)));
-            } else if ((trace = GC_PAUSE_CLAUSE.parse(line)) != null) {
+            } else if ((trace = match(SIMPLE_APPLICATION_STOP_TIME, line)) != null) {
+                safePoints.add(new StoppedTime(trace.getDuration(), safePoints.isEmpty()));
+            } else if ((trace = match(SIMPLE_APPLICATION_TIME, line)) != null) {
+                safePoints.add(new ConcurrentTime(trace.getDuration()));
+            } else if ((trace = match(GC_PAUSE_CLAUSE, line)) != null) {
                 gcPauseTime = trace.getPauseTime();
                 lastEventWasGC = true;
-            } else if ((trace = TLAB_START.parse(line)) != null) {
+            } else if ((trace = match(TLAB_START, line)) != null) {
                 extractTLAB(trace, 2);
-            } else if ((trace = TLAB_CONT.parse(line)) != null) {
+            } else if ((trace = match(TLAB_CONT, line)) != null) {
                 extractTLAB(trace, 0);
-            } else if ((trace = TLAB_TOTALS.parse(line)) != null) {
+            } else if ((trace = match(TLAB_TOTALS, line)) != null) {
                 extractTLABSummary(trace);
             } else if (line.equals(END_OF_DATA_SENTINEL)) {
                 // TODO: #154  else if (line.equals(END_OF_DATA_SENTINEL)|| (JVM_EXIT.parse(line) != null)) {
@@ -94,7 +97,7 @@ public class JVMEventParser extends PreUnifiedGCLogParser implements JVMPatterns
             }
 
         } catch (Throwable t) {
-            LOGGER.log(Level.FINE, "Missed: {0}", line);
+            unmatched(line);
         }
     }
 
@@ -0,0 +1,191 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.parser;
+
+/**
+ * Decodes the numeric fields found in GC log lines directly from the offsets reported by a
+ * {@link java.util.regex.Matcher}. Numbers are read in place from the original line so that
+ * neither a substring nor a regex (to swap a European decimal separator for a US one) is needed.
+ * <p>
+ * Decimals accept either {@code .} or {@code ,} as the separator. The common case, a value with no more
+ * than 15 digits, is computed with a single, correctly rounded division and yields the same
+ * result as {@link Double#parseDouble(String)}. Anything outside of that fast path falls back to
+ * {@code Double.parseDouble}.
+ * <p>
+ * All methods throw a {@link NumberFormatException} for a missing (start &lt; 0) or malformed field,
+ * matching the behaviour of the {@code Long.parseLong}/{@code Double.parseDouble} calls they replace.
+ */
+public final class NumericDecoder {
+
+    // A mantissa with 15 digits or fewer, and the matching power of ten, are exact doubles.
+    private static final int MAX_FAST_PATH_DIGITS = 15;
+
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15
+    };
+
+    private NumericDecoder() {}
+
+    /**
+     * Decode a decimal number that uses either a {@code .} or a {@code ,} as the decimal separator.
+     * @param text the text containing the number
+     * @param start index of the first character of the number, or -1 if the field is missing
+     * @param end index following the last character of the number
+     * @return the decoded value
+     */
+    public static double parseDecimal(CharSequence text, int start, int end) {
+        checkField(text, start, end);
+        int index = start;
+        boolean negative = false;
+        char c = text.charAt(index);
+        if (c == '-' || c == '+') {
+            negative = c == '-';
+            index++;
+        }
+
+        long mantissa = 0L;
+        int digits = 0;
+        int fractionDigits = 0;
+        boolean separatorSeen = false;
+        for (; index < end; index++) {
+            c = text.charAt(index);
+            if (c >= '0' && c <= '9') {
+                if (++digits > MAX_FAST_PATH_DIGITS)
+                    return parseDecimalSlowly(text, start, end);
+                mantissa = mantissa * 10L + (c - '0');
+                if (separatorSeen)
+                    fractionDigits++;
+            } else if ((c == '.' || c == ',') && !separatorSeen) {
+                separatorSeen = true;
+            } else {
+                return parseDecimalSlowly(text, start, end);
+            }
+        }
+
+        if (digits == 0)
+            throw numberFormatException(text, start, end);
+
+        double value = (double) mantissa / POWERS_OF_TEN[fractionDigits];
+        return negative ? -value : value;
+    }
+
+    /**
+     * Decode a decimal number spanning the whole of {@code text}.
+     * @param text the number, may be {@code null}
+     * @return the decoded value
+     */
+    public static double parseDecimal(CharSequence text) {
+        return (text == null) ? parseDecimal("", -1, -1) : parseDecimal(text, 0, text.length());
+    }
+
+    /**
+     * Decode a (optionally signed) base 10 integer.
+     * @param text the text containing the number
+     * @param start index of the first character of the number, or -1 if the field is missing
+     * @param end index following the last character of the number
+     * @return the decoded value
+     */
+    public static long parseLong(CharSequence text, int start, int end) {
+        checkField(text, start, end);
+        int index = start;
+        boolean negative = false;
+        char c = text.charAt(index);
+        if (c == '-' || c == '+') {
+            negative = c == '-';
+            index++;
+        }
+        if (index == end || end - index > 18)
+            // empty or possible overflow, let the JDK sort it out
+            return Long.parseLong(text.subSequence(start, end).toString());
+
+        long value = 0L;
+        for (; index < end; index++) {
+            c = text.charAt(index);
+            if (c < '0' || c > '9')
+                throw numberFormatException(text, start, end);
+            value = value * 10L + (c - '0');
+        }
+        return negative ? -value : value;
+    }
+
+    /**
+     * Decode a (optionally signed) base 10 integer.
+     * @param text the text containing the number
+     * @param start index of the first character of the number, or -1 if the field is missing
+     * @param end index following the last character of the number
+     * @return the decoded value
+     */
+    public static int parseInt(CharSequence text, int start, int end) {
+        long value = parseLong(text, start, end);
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE)
+            throw numberFormatException(text, start, end);
+        return (int) value;
+    }
+
+    /**
+     * Convert a value expressed in units of B, K, M or G (case insensitive) to kilobytes.
+     * @param value the amount of memory
+     * @param unit one of B, K, M or G
+     * @return the value in kilobytes
+     * @throws IllegalArgumentException if unit is not a recognized memory unit
+     */
+    public static long toKBytes(long value, char unit) {
+        switch (unit) {
+            case 'G':
+            case 'g':
+                return value * 1024L * 1024L;
+            case 'M':
+            case 'm':
+                return value * 1024L;
+            case 'K':
+            case 'k':
+                return value;
+            case 'B':
+            case 'b':
+                return value / 1024L;
+            default:
+                throw new IllegalArgumentException("Invalid unit [B,K,M,G] " + unit);
+        }
+    }
+
+    /**
+     * Convert a value expressed in units of B, K, M or G (case insensitive) to kilobytes.
+     * @param value the amount of memory
+     * @param unit one of B, K, M or G
+     * @return the value in kilobytes
+     * @throws IllegalArgumentException if unit is not a recognized memory unit
+     */
+    public static double toKBytes(double value, char unit) {
+        switch (unit) {
+            case 'G':
+            case 'g':
+                return value * 1024.0d * 1024.0d;
+            case 'M':
+            case 'm':
+                return value * 1024.0d;
+            case 'K':
+            case 'k':
+                return value;
+            case 'B':
+            case 'b':
+                return value / 1024.0d;
+            default:
+                throw new IllegalArgumentException("Invalid unit [B,K,M,G] " + unit);
+        }
+    }
+
+    private static double parseDecimalSlowly(CharSequence text, int start, int end) {
+        return Double.parseDouble(text.subSequence(start, end).toString().replace(',', '.'));
+    }
+
+    private static void checkField(CharSequence text, int start, int end) {
+        if (start < 0)
+            throw new NumberFormatException("Cannot parse null string");
+        if (start >= end)
+            throw numberFormatException(text, start, end);
+    }
+
+    private static NumberFormatException numberFormatException(CharSequence text, int start, int end) {
+        return new NumberFormatException("For input string: \"" + text.subSequence(start, end) + "\"");
+    }
+}
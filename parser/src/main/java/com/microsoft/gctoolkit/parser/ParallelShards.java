@@ -0,0 +1,369 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.parser;
+
+import com.microsoft.gctoolkit.event.jvm.JVMEvent;
+import com.microsoft.gctoolkit.jvm.UnmatchedLines;
+import com.microsoft.gctoolkit.message.ChannelName;
+import com.microsoft.gctoolkit.message.JVMEventChannel;
+import com.microsoft.gctoolkit.message.JVMEventChannelListener;
+import com.microsoft.gctoolkit.message.LogRecord;
+import com.microsoft.gctoolkit.time.DateTimeStamp;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Parses a log as a series of shards, each on its own parser instance on the common fork-join pool.
+ * <p>
+ * The owning parser receives the records from the data source channel, decides where a shard may be cut,
+ * and hands the records to {@link #add(LogRecord)}. Records seen before the first collection, the JVM
+ * configuration preamble, are replayed into every shard parser so state such as the heap region size is
+ * carried across shards. Shards cover consecutive spans of the log, so publishing the events of each shard
+ * in shard order merges them back into time order. The events are published on the owning parser's thread.
+ * <p>
+ * A cut is only safe when no collection is underway, which the owning parser can only guess at. Shards are
+ * therefore parsed speculatively. If, once parsed, a shard turns out to have ended in the middle of a collection,
+ * the parser of that shard carries on into the next shard until it reaches a line where neither it nor the
+ * speculative parser of the next shard have a collection underway. Only the events the speculative parser
+ * published from that line onwards are kept. Every event is therefore built by a parser that saw all of the lines
+ * that make up the event, and only the seam between the shards is parsed twice. The lines a shard parser doesn't
+ * match, and the warnings it logs, are held and reported along with its events. A line parsed twice is thus only
+ * reported once, and a speculative parser that starts part way through a collection doesn't warn about it. The time
+ * spent on the rules is recorded to the owning parser's profile, the seams included, as that is time spent parsing.
+ * <p>
+ * A log that is truncated or interleaved may never give the owning parser a safe place to cut, such as when the
+ * line that ends a concurrent cycle is missing. So that the rest of the log isn't held in memory, a shard is cut
+ * anyway once it holds {@value #MAXIMUM_SHARD_SIZES} times the shard size. The seam is repaired as any other, and
+ * if the parser of the shard never finishes its collection, it parses the rest of the log sequentially.
+ * <p>
+ * Parallel parsing is off by default. It is turned on by setting the system property
+ * {@code gctoolkit.parser.parallel} to {@code true}. The number of lines in a shard can be set with
+ * {@code gctoolkit.parser.shardSize}.
+ * <p>
+ * Only {@link UnifiedG1GCParser}, {@link GenerationalHeapParser} and {@link CMSTenuredPoolParser} parse in shards,
+ * and so only they parse the segments of a rotating log concurrently. The other parsers, {@link ZGCParser},
+ * {@link ShenandoahParser} and {@link UnifiedGenerationalParser} among them, parse the log sequentially whether
+ * the property is set or not. A rotating log is still read in segment order, so their events are the same either way.
+ *
+ * @param <P> the type of parser that parses a shard
+ */
+final class ParallelShards<P extends GCLogParser> {
+
+    private static final Logger LOGGER = Logger.getLogger(ParallelShards.class.getName());
+
+    static final String PARALLEL_PROPERTY = "gctoolkit.parser.parallel";
+    static final String SHARD_SIZE_PROPERTY = "gctoolkit.parser.shardSize";
+    private static final int DEFAULT_SHARD_SIZE = 50_000;
+    static final int MAXIMUM_SHARD_SIZES = 4;
+
+    /**
+     * @return the number of lines in a shard, or 0 if the log is to be parsed sequentially
+     */
+    static int shardSize() {
+        if (!Boolean.getBoolean(PARALLEL_PROPERTY))
+            return 0;
+        return Math.max(1, Integer.getInteger(SHARD_SIZE_PROPERTY, DEFAULT_SHARD_SIZE));
+    }
+
+    private final GCLogParser owner;
+    private final Supplier<P> parsers;
+    private final Predicate<P> quiescent;
+    private final int shardSize;
+    private final int maximumShardSize;
+    private final int maxShardsInFlight = 2 * ForkJoinPool.getCommonPoolParallelism() + 1;
+
+    private final List<LogRecord> preamble = new ArrayList<>();
+    private List<LogRecord> records = new ArrayList<>();
+    private final ArrayDeque<Shard<P>> inFlight = new ArrayDeque<>();
+    private boolean firstShard = true;
+    private int largestShard = 0;
+    // start time of the segment the current shard starts, NaN if it doesn't start a segment
+    private double segmentStartTime = Double.NaN;
+    // parser of the last shard published, kept when that shard ended with a collection underway
+    private P carry;
+    // parser that received the last record of the last shard published
+    private P last;
+
+    /**
+     * @param owner the parser that receives the records and publishes the events
+     * @param parsers creates a sequential parser, set up with the diary, for each shard
+     * @param quiescent {@code true} if the parser doesn't have a collection underway
+     * @param shardSize the number of lines after which a shard may be cut
+     */
+    ParallelShards(GCLogParser owner, Supplier<P> parsers, Predicate<P> quiescent, int shardSize) {
+        this.owner = owner;
+        this.parsers = parsers;
+        this.quiescent = quiescent;
+        this.shardSize = shardSize;
+        this.maximumShardSize = (int) Math.min(Integer.MAX_VALUE, (long) shardSize * MAXIMUM_SHARD_SIZES);
+    }
+
+    /**
+     * Add a record that precedes the first collection.
+     * @param record a decoded record
+     */
+    void addToPreamble(LogRecord record) {
+        preamble.add(record);
+        records.add(record);
+    }
+
+    /**
+     * Add a record to the current shard.
+     * @param record a decoded record
+     */
+    void add(LogRecord record) {
+        if (records.size() >= maximumShardSize) {
+            LOGGER.log(Level.FINE, () -> "No safe place to cut a shard in " + records.size() + " lines, cutting it anyway");
+            cut();
+        }
+        records.add(record);
+    }
+
+    /**
+     * @return {@code true} if the current shard is large enough to be cut
+     */
+    boolean isFull() {
+        return records.size() >= shardSize;
+    }
+
+    /**
+     * Cut the current shard where a segment of a rotating log starts.
+     * @param startTime the start time of the segment
+     */
+    void startSegment(double startTime) {
+        cut();
+        segmentStartTime = startTime;
+    }
+
+    /**
+     * Submit the current shard for parsing and start a new one. Any shards that have been parsed are published.
+     */
+    void cut() {
+        if (records.isEmpty())
+            return;
+        submit();
+        while (!inFlight.isEmpty() && (inFlight.peek().result.isDone() || inFlight.size() > maxShardsInFlight))
+            publish(inFlight.poll());
+    }
+
+    /**
+     * Submit the last shard and publish the events of all outstanding shards. The end of data is then handed
+     * to the parser that parsed the end of the log, which knows the duration of the last event published.
+     * @param endOfData the end of data record
+     */
+    void finish(LogRecord endOfData) {
+        if (!records.isEmpty())
+            submit();
+        while (!inFlight.isEmpty())
+            publish(inFlight.poll());
+        if (last == null)
+            last = startParser(preamble, null);
+        EventRecorder recorder = recordTo(last, new EventRecorder());
+        last.setLastDuration(owner.getLastDuration());
+        last.receive(endOfData);
+        recorder.publishTo(owner, 0);
+    }
+
+    /**
+     * @return the number of records in the largest shard submitted so far
+     */
+    int largestShard() {
+        return largestShard;
+    }
+
+    private void submit() {
+        List<LogRecord> shard = records;
+        largestShard = Math.max(largestShard, shard.size());
+        // the first shard holds the preamble
+        List<LogRecord> replay = firstShard ? List.of() : List.copyOf(preamble);
+        DateTimeStamp clock = clock(segmentStartTime);
+        firstShard = false;
+        segmentStartTime = Double.NaN;
+        records = new ArrayList<>();
+        inFlight.add(new Shard<>(replay, clock, shard, CompletableFuture.supplyAsync(() -> parse(replay, clock, shard), ForkJoinPool.commonPool())));
+    }
+
+    /**
+     * The start time of a segment is the first time found in it. That is the uptime of the JVM unless the log only
+     * has date stamps, in which case it can't be turned back into a DateTimeStamp and the clock is left alone.
+     * @return the time to start the clock of a shard parser at, or {@code null} to leave it at the time of the first event
+     */
+    private DateTimeStamp clock(double startTime) {
+        if (Double.isNaN(startTime) || startTime < 0.0d || startTime == Double.MAX_VALUE)
+            return null;
+        if (owner.diary == null || !owner.diary.getTimeOfFirstEvent().hasTimeStamp())
+            return null;
+        return new DateTimeStamp(startTime);
+    }
+
+    /**
+     * @return a parser that has seen the preamble, any events published from the preamble were published by the first shard
+     */
+    private P startParser(List<LogRecord> replay, DateTimeStamp clock) {
+        P parser = parsers.get();
+        if (owner.ruleProfile() != null)
+            parser.profileRulesTo(owner.ruleProfile());
+        recordTo(parser, new EventRecorder());
+        replay.forEach(parser::receive);
+        if (clock != null)
+            parser.setClock(clock);
+        return parser;
+    }
+
+    private EventRecorder recordTo(P parser, EventRecorder recorder) {
+        parser.publishTo(recorder);
+        parser.reportUnmatchedLinesTo(recorder.unmatchedLines);
+        parser.reportWarningsTo(recorder::warning);
+        return recorder;
+    }
+
+    private Parsed<P> parse(List<LogRecord> replay, DateTimeStamp clock, List<LogRecord> shard) {
+        P parser = startParser(replay, clock);
+        EventRecorder recorder = recordTo(parser, new EventRecorder());
+        BitSet quiescentBefore = new BitSet(shard.size());
+        for (int index = 0; index < shard.size(); index++) {
+            if (quiescent.test(parser))
+                quiescentBefore.set(index);
+            recorder.index = index;
+            parser.receive(shard.get(index));
+        }
+        return new Parsed<>(parser, recorder, quiescentBefore);
+    }
+
+    private void publish(Shard<P> shard) {
+        Parsed<P> parsed;
+        try {
+            parsed = shard.result.join();
+        } catch (CompletionException e) {
+            LOGGER.log(Level.WARNING, "Parallel parsing of a shard failed, parsing it sequentially", e.getCause());
+            parsed = null;
+            if (carry == null)
+                carry = startParser(shard.replay, shard.clock);
+        }
+
+        int seam = 0;
+        if (carry != null) {
+            // the previous shard ended part way through a collection, continue with its parser
+            EventRecorder recorder = recordTo(carry, new EventRecorder());
+            for (; seam < shard.records.size(); seam++) {
+                if (parsed != null && parsed.quiescentBefore.get(seam) && quiescent.test(carry))
+                    break;
+                carry.receive(shard.records.get(seam));
+            }
+            recorder.publishTo(owner, 0);
+            if (seam == shard.records.size()) {
+                last = carry;
+                carry = quiescent.test(carry) ? null : carry;
+                return;
+            }
+        }
+        parsed.events.publishTo(owner, seam);
+        last = parsed.parser;
+        carry = quiescent.test(parsed.parser) ? null : parsed.parser;
+    }
+
+    private static final class Shard<P extends GCLogParser> {
+        private final List<LogRecord> replay;
+        private final DateTimeStamp clock;
+        private final List<LogRecord> records;
+        private final CompletableFuture<Parsed<P>> result;
+
+        private Shard(List<LogRecord> replay, DateTimeStamp clock, List<LogRecord> records, CompletableFuture<Parsed<P>> result) {
+            this.replay = replay;
+            this.clock = clock;
+            this.records = records;
+            this.result = result;
+        }
+    }
+
+    private static final class Parsed<P extends GCLogParser> {
+        private final P parser;
+        private final EventRecorder events;
+        // bit i is set if the parser had no collection underway when it received record i
+        private final BitSet quiescentBefore;
+
+        private Parsed(P parser, EventRecorder events, BitSet quiescentBefore) {
+            this.parser = parser;
+            this.events = events;
+            this.quiescentBefore = quiescentBefore;
+        }
+    }
+
+    /**
+     * Holds the events published, the lines not matched and the warnings logged by a shard parser until the shard's
+     * turn to publish comes around.
+     */
+    private static final class EventRecorder implements JVMEventChannel {
+        private final List<ChannelName> channels = new ArrayList<>();
+        private final List<JVMEvent> events = new ArrayList<>();
+        // index of the record that caused each event to be published
+        private int[] indices = new int[64];
+        private int index;
+        private final List<String> unmatched = new ArrayList<>();
+        private int[] unmatchedIndices = new int[16];
+        private final List<Logger> warningLoggers = new ArrayList<>();
+        private final List<String> warnings = new ArrayList<>();
+        private int[] warningIndices = new int[16];
+        private final UnmatchedLines unmatchedLines = new UnmatchedLines() {
+            @Override
+            public void record(String source, String line) {
+                if (unmatched.size() == unmatchedIndices.length)
+                    unmatchedIndices = Arrays.copyOf(unmatchedIndices, unmatchedIndices.length * 2);
+                unmatchedIndices[unmatched.size()] = index;
+                unmatched.add(line);
+            }
+        };
+
+        private void warning(Logger logger, String message) {
+            if (warnings.size() == warningIndices.length)
+                warningIndices = Arrays.copyOf(warningIndices, warningIndices.length * 2);
+            warningIndices[warnings.size()] = index;
+            warningLoggers.add(logger);
+            warnings.add(message);
+        }
+
+        @Override
+        public void registerListener(JVMEventChannelListener listener) {
+            throw new UnsupportedOperationException("Shard events are published by the owning parser");
+        }
+
+        @Override
+        public void publish(ChannelName channel, JVMEvent message) {
+            if (events.size() == indices.length)
+                indices = Arrays.copyOf(indices, indices.length * 2);
+            indices[events.size()] = index;
+            channels.add(channel);
+            events.add(message);
+        }
+
+        @Override
+        public void close() {}
+
+        /**
+         * @param owner the parser to publish the events with
+         * @param from events caused by, and lines and warnings from, records before this index are dropped
+         */
+        private void publishTo(GCLogParser owner, int from) {
+            for (int i = 0; i < unmatched.size(); i++)
+                if (unmatchedIndices[i] >= from)
+                    owner.unmatched(unmatched.get(i));
+            for (int i = 0; i < warnings.size(); i++)
+                if (warningIndices[i] >= from)
+                    owner.warning(warningLoggers.get(i), warnings.get(i));
+            for (int i = 0; i < events.size(); i++)
+                if (indices[i] >= from)
+                    owner.publish(channels.get(i), events.get(i));
+        }
+    }
+}
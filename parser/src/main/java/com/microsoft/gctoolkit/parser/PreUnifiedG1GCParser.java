@@ -19,6 +19,7 @@ import com.microsoft.gctoolkit.event.g1gc.G1ConcurrentMarkResetForOverflow;
 import com.microsoft.gctoolkit.event.g1gc.G1ConcurrentStringDeduplication;
 import com.microsoft.gctoolkit.event.g1gc.G1FullGCNES;
 import com.microsoft.gctoolkit.event.g1gc.G1GCConcurrentEvent;
+import com.microsoft.gctoolkit.event.g1gc.G1GCEvent;
 import com.microsoft.gctoolkit.event.g1gc.G1GCPauseEvent;
 import com.microsoft.gctoolkit.event.g1gc.G1Mixed;
 import com.microsoft.gctoolkit.event.g1gc.G1Remark;
@@ -34,7 +35,6 @@ import com.microsoft.gctoolkit.message.JVMEventChannel;
 import com.microsoft.gctoolkit.parser.collection.MRUQueue;
 import com.microsoft.gctoolkit.time.DateTimeStamp;
 
-import java.util.AbstractMap;
 import java.util.Set;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.function.BiConsumer;
@@ -246,6 +246,11 @@ public class PreUnifiedG1GCParser extends PreUnifiedGCLogParser implements G1GCP
         return Set.of(EventSource.G1GC);
     }
 
+    @Override
+    Set<Class<? extends JVMEvent>> eventTypesProduced() {
+        return Set.of(G1GCEvent.class);
+    }
+
     public String getName() {
         return "PreUnifiedG1GCParser";
     }
@@ -256,14 +261,14 @@ public class PreUnifiedG1GCParser extends PreUnifiedGCLogParser implements G1GCP
         if (ignoreFrequentlySeenButUnwantedLines(line)) return;
 
         try {
-            parseRules.keys()
-                    .stream()
-                    .map(rule -> new AbstractMap.SimpleEntry<>(rule, rule.parse(line)))
-                    .filter(tuple -> tuple.getValue() != null)
-                    .findFirst()
-                    .ifPresentOrElse(
-                            rulesAndTrace -> parseRules.get(rulesAndTrace.getKey()).accept(rulesAndTrace.getValue(), line),
-                            () -> log(line));
+            for (GCParseRule rule : parseRules.keys()) {
+                GCLogTrace trace = match(rule, line);
+                if (trace != null) {
+                    apply(rule, parseRules.get(rule), trace, line);
+                    return;
+                }
+            }
+            log(line);
         } catch (Throwable t) {
             LOGGER.throwing(this.getName(), "deriveConfiguration", t);
         }
@@ -1214,7 +1219,7 @@ public class PreUnifiedG1GCParser extends PreUnifiedGCLogParser implements G1GCP
         if (line.startsWith("CommandLine flags: ")) return;
 
         GCToolKit.LOG_DEBUG_MESSAGE(() -> "Missed: " + line);
-        LOGGER.log(Level.FINE, "Missed: {0}", line);
+        unmatched(line);
     }
 
     @Override
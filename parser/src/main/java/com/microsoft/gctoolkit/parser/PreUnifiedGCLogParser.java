@@ -3,30 +3,76 @@
 package com.microsoft.gctoolkit.parser;
 
 import com.microsoft.gctoolkit.event.generational.CMSRemark;
-
-import java.util.logging.Level;
-import java.util.logging.Logger;
-
+import com.microsoft.gctoolkit.message.LogRecord;
+import com.microsoft.gctoolkit.message.LogRecordDecoder;
+import com.microsoft.gctoolkit.parser.jvm.PreUnifiedLogRecordDecoder;
 
 public abstract class PreUnifiedGCLogParser extends GCLogParser {
 
-    private static final Logger LOGGER = Logger.getLogger(PreUnifiedGCLogParser.class.getName());
-    private final GCParseRule TIMESTAMP_BLOCK = new GCParseRule("TIMESTAMP_BLOCK", "^" + DATE_TIMESTAMP);
+    private final LogRecordDecoder logRecordDecoder = new PreUnifiedLogRecordDecoder();
+
+    // chunked parsing, null when the log is parsed sequentially
+    private ParallelShards<? extends PreUnifiedGCLogParser> shards;
+    private boolean anchored = false;
+    private boolean recordEnded = true;
+    private boolean concurrentPhaseUnderway = false;
 
     public PreUnifiedGCLogParser() {}
 
-    void advanceClock(String record) {
-        try {
-            GCLogTrace trace = TIMESTAMP_BLOCK.parse(record);
-            if (trace == null) {
-                trace = CMSPatterns.ABORT_PRECLEAN_DUE_TO_TIME_CLAUSE.parse(record);
-                if (trace == null)
-                    return;
-            }
-            super.advanceClock(trace.getDateTimeStamp());
-        } catch (Throwable t) {
-            LOGGER.log(Level.FINE, "[PARSING ERROR] " + record, t);
+    @Override
+    LogRecordDecoder logRecordDecoder() {
+        return logRecordDecoder;
+    }
+
+    /**
+     * Parse the log in chunks, in parallel, rather than one line at a time.
+     * @param shards the shards to hand the records to
+     */
+    void parseInParallel(ParallelShards<? extends PreUnifiedGCLogParser> shards) {
+        this.shards = shards;
+    }
+
+    @Override
+    public void receive(LogRecord record) {
+        if (shards == null || isIdle()) {
+            super.receive(record);
+            return;
+        }
+        chunk(decode(record));
+    }
+
+    /**
+     * Pre-unified records can span several lines and CMS interleaves concurrent phases with the collections
+     * that happen during them. A chunk is cut at a line that starts with a time stamp, following a line that
+     * ended a record, while no concurrent phase has been started. Lines that don't start with a time stamp
+     * take their time from the line before them, so anchoring the cut on a time stamp keeps the clock right.
+     * This is a guess, the seams are checked and re-parsed as needed by {@link ParallelShards}. The segments of a
+     * rotating log are always cut apart.
+     * @param record the decoded record
+     */
+    private void chunk(LogRecord record) {
+        if (record.isStartOfSegment() && anchored)
+            shards.startSegment(record.getSegmentStartTime());
+        if (record.isEndOfData()) {
+            shards.finish(record);
+            return;
+        }
+        String line = record.getLine();
+        boolean timeStamped = record.getDateTimeStamp() != null && !line.isEmpty() && Character.isDigit(line.charAt(0));
+        if (!timeStamped) {
+            if (anchored)
+                shards.add(record);
+            else
+                shards.addToPreamble(record);
+        } else {
+            if (anchored && recordEnded && !concurrentPhaseUnderway && shards.isFull())
+                shards.cut();
+            anchored = true;
+            shards.add(record);
         }
+        if (line.contains("[CMS-concurrent-"))
+            concurrentPhaseUnderway = line.endsWith("-start]");
+        recordEnded = line.endsWith("secs]");
     }
 
     void recordRescanStepTimes(CMSRemark collection, String line) {
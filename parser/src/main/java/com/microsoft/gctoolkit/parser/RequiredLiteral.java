@@ -0,0 +1,135 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.parser;
+
+/**
+ * Finds a run of literal text that every match of a regular expression must contain. A line that doesn't
+ * contain the literal can't match the expression, which {@link String#contains(CharSequence)} can tell far
+ * more cheaply than creating a {@link java.util.regex.Matcher}. Most lines in a log are tried against most
+ * of the rules of a parser and fail, so this narrows the rules that are worth matching down to a handful.
+ * <p>
+ * The analysis is conservative. Only text outside of groups and character classes is considered, and an
+ * expression with a top level alternation, inline flags or quoting has no required literal.
+ */
+final class RequiredLiteral {
+
+    // literals shorter than this don't filter out enough lines to pay for the check
+    private static final int MINIMUM_LENGTH = 3;
+
+    private RequiredLiteral() {}
+
+    /**
+     * @param regex a regular expression
+     * @return the longest literal required by every match of the expression, or {@code null} if there isn't one
+     */
+    static String of(String regex) {
+        if (regex.contains("\\Q") || hasInlineFlags(regex))
+            return null;
+
+        String longest = "";
+        StringBuilder run = new StringBuilder();
+        int depth = 0;
+        int i = 0;
+        while (i < regex.length()) {
+            char c = regex.charAt(i);
+            if (c == '\\') {
+                if (i + 1 >= regex.length())
+                    return null;
+                char escaped = regex.charAt(i + 1);
+                // escapes followed by code points, names or back references are too rare to be worth reading
+                if (Character.isDigit(escaped) || "uxcpPNk".indexOf(escaped) >= 0)
+                    return null;
+                if (depth == 0 && !Character.isLetterOrDigit(escaped)) {
+                    run.append(escaped);
+                } else if (depth == 0) {
+                    longest = longer(longest, run);
+                    run.setLength(0);
+                }
+                i += 2;
+            } else if (c == '[') {
+                if (depth == 0) {
+                    longest = longer(longest, run);
+                    run.setLength(0);
+                }
+                i = endOfCharacterClass(regex, i);
+                if (i < 0)
+                    return null;
+            } else if (c == '(') {
+                if (depth++ == 0) {
+                    longest = longer(longest, run);
+                    run.setLength(0);
+                }
+                i++;
+            } else if (c == ')') {
+                depth--;
+                i++;
+            } else if (c == '|') {
+                if (depth == 0)
+                    return null;
+                i++;
+            } else if (c == '?' || c == '*' || c == '{') {
+                // the atom before the quantifier may not be there
+                if (depth == 0) {
+                    if (run.length() > 0)
+                        run.setLength(run.length() - 1);
+                    longest = longer(longest, run);
+                    run.setLength(0);
+                }
+                if (c == '{') {
+                    i = regex.indexOf('}', i);
+                    if (i < 0)
+                        return null;
+                }
+                i++;
+            } else if (c == '+' || c == '.' || c == '^' || c == '$') {
+                // the atom before a + is there at least once, but may be repeated
+                if (depth == 0) {
+                    longest = longer(longest, run);
+                    run.setLength(0);
+                }
+                i++;
+            } else {
+                if (depth == 0)
+                    run.append(c);
+                i++;
+            }
+        }
+        longest = longer(longest, run);
+        return longest.length() >= MINIMUM_LENGTH ? longest : null;
+    }
+
+    private static String longer(String longest, StringBuilder run) {
+        return run.length() > longest.length() ? run.toString() : longest;
+    }
+
+    /**
+     * @return the index following the character class that starts at {@code start}, or -1 if it isn't closed
+     */
+    private static int endOfCharacterClass(String regex, int start) {
+        int nesting = 0;
+        int i = start;
+        while (i < regex.length()) {
+            char c = regex.charAt(i);
+            if (c == '\\') {
+                i += 2;
+                continue;
+            }
+            if (c == '[')
+                nesting++;
+            else if (c == ']' && i > start + 1 && --nesting == 0)
+                return i + 1;
+            i++;
+        }
+        return -1;
+    }
+
+    private static boolean hasInlineFlags(String regex) {
+        for (int i = regex.indexOf("(?"); i >= 0; i = regex.indexOf("(?", i + 2)) {
+            if (i > 0 && regex.charAt(i - 1) == '\\')
+                continue;
+            if (i + 2 < regex.length() && ":=!<>".indexOf(regex.charAt(i + 2)) < 0)
+                return true;
+        }
+        return false;
+    }
+}
@@ -6,17 +6,15 @@ import com.microsoft.gctoolkit.GCToolKit;
 import com.microsoft.gctoolkit.aggregator.EventSource;
 import com.microsoft.gctoolkit.event.jvm.JVMEvent;
 import com.microsoft.gctoolkit.event.jvm.JVMTermination;
+import com.microsoft.gctoolkit.event.shenandoah.ShenandoahCycle;
 import com.microsoft.gctoolkit.jvm.Diary;
 import com.microsoft.gctoolkit.message.ChannelName;
 import com.microsoft.gctoolkit.message.JVMEventChannel;
 import com.microsoft.gctoolkit.parser.collection.MRUQueue;
 import com.microsoft.gctoolkit.parser.unified.ShenandoahPatterns;
 
-import java.util.AbstractMap;
-import java.util.Optional;
 import java.util.Set;
 import java.util.function.BiConsumer;
-import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
@@ -49,6 +47,11 @@ public class ShenandoahParser extends UnifiedGCLogParser implements ShenandoahPa
         return Set.of(EventSource.SHENANDOAH);
     }
 
+    @Override
+    Set<Class<? extends JVMEvent>> eventTypesProduced() {
+        return Set.of(ShenandoahCycle.class);
+    }
+
     @Override
     public String getName() {
         return "Shenandoah Parser";
@@ -60,15 +63,12 @@ public class ShenandoahParser extends UnifiedGCLogParser implements ShenandoahPa
         if (ignoreFrequentButUnwantedEntries(line)) return;
 
         try {
-            Optional<AbstractMap.SimpleEntry<GCParseRule, GCLogTrace>> optional = parseRules.keys()
-                    .stream()
-                    .map(rule -> new AbstractMap.SimpleEntry<>(rule, rule.parse(line)))
-                    .filter(tuple -> tuple.getValue() != null)
-                    .findFirst();
-            if ( optional.isPresent()) {
-                AbstractMap.SimpleEntry<GCParseRule, GCLogTrace> ruleAndTrace = optional.get();
-                parseRules.get(ruleAndTrace.getKey()).accept(ruleAndTrace.getValue(), line);
-                return;
+            for (GCParseRule rule : parseRules.keys()) {
+                GCLogTrace trace = match(rule, line);
+                if (trace != null) {
+                    apply(rule, parseRules.get(rule), trace, line);
+                    return;
+                }
             }
         } catch (Throwable t) {
             LOGGER.throwing(this.getName(), "process", t);
@@ -92,8 +92,7 @@ public class ShenandoahParser extends UnifiedGCLogParser implements ShenandoahPa
 
     private void log(String line) {
         GCToolKit.LOG_DEBUG_MESSAGE(() -> "ZGCHeapParser missed: " + line);
-        LOGGER.log(Level.WARNING, "Missed: {0}", line);
-
+        unmatched(line);
     }
 
     public void publish() {
@@ -3,6 +3,7 @@
 package com.microsoft.gctoolkit.parser;
 
 import com.microsoft.gctoolkit.aggregator.EventSource;
+import com.microsoft.gctoolkit.event.jvm.JVMEvent;
 import com.microsoft.gctoolkit.event.jvm.JVMTermination;
 import com.microsoft.gctoolkit.event.jvm.SurvivorRecord;
 import com.microsoft.gctoolkit.jvm.Diary;
@@ -24,6 +25,11 @@ public class SurvivorMemoryPoolParser extends PreUnifiedGCLogParser implements T
         return Set.of(EventSource.SURVIVOR);
     }
 
+    @Override
+    Set<Class<? extends JVMEvent>> eventTypesProduced() {
+        return Set.of(SurvivorRecord.class);
+    }
+
     public String getName() {
         return "SurvivorMemoryPoolParser";
     }
@@ -39,11 +45,11 @@ public class SurvivorMemoryPoolParser extends PreUnifiedGCLogParser implements T
     protected void process(String entry) {
         GCLogTrace trace;
 
-        if ((trace = TENURING_SUMMARY.parse(entry)) != null) {
+        if ((trace = match(TENURING_SUMMARY, entry)) != null) {
             forwardReference = new SurvivorRecord(getClock(), trace.getLongGroup(1), trace.getIntegerGroup(2), trace.getIntegerGroup(3));
-        } else if ((trace = TENURING_AGE_BREAKDOWN.parse(entry)) != null) {
+        } else if ((trace = match(TENURING_AGE_BREAKDOWN, entry)) != null) {
             forwardReference.add(trace.getIntegerGroup(1), trace.getLongGroup(2));
-        } else if (entry.equals(END_OF_DATA_SENTINEL) || (JVM_EXIT.parse(entry) != null)) {
+        } else if (entry.equals(END_OF_DATA_SENTINEL) || (match(JVM_EXIT, entry) != null)) {
             if (forwardReference != null)
                 super.publish(ChannelName.SURVIVOR_MEMORY_POOL_PARSER_OUTBOX, forwardReference);
             super.publish(ChannelName.SURVIVOR_MEMORY_POOL_PARSER_OUTBOX, new JVMTermination(getClock(),diary.getTimeOfFirstEvent()));
@@ -19,22 +19,20 @@ import com.microsoft.gctoolkit.event.jvm.SurvivorRecord;
 import com.microsoft.gctoolkit.jvm.Diary;
 import com.microsoft.gctoolkit.message.ChannelName;
 import com.microsoft.gctoolkit.message.JVMEventChannel;
+import com.microsoft.gctoolkit.message.LogRecord;
 import com.microsoft.gctoolkit.parser.collection.RuleSet;
-import com.microsoft.gctoolkit.parser.jvm.Decorators;
 import com.microsoft.gctoolkit.parser.unified.UnifiedG1GCPatterns;
 import com.microsoft.gctoolkit.time.DateTimeStamp;
 
-import java.util.AbstractMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiConsumer;
-import java.util.logging.Level;
 import java.util.logging.Logger;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import static com.microsoft.gctoolkit.event.GarbageCollectionTypes.fromLabel;
 
@@ -63,7 +61,17 @@ public class UnifiedG1GCParser extends UnifiedGCLogParser implements UnifiedG1GC
     private G1GCForwardReference forwardReference;
     private boolean concurrentPhaseActive = false;
 
+    // the details of a pause are only collected if pause events are consumed
+    private boolean pausesConsumed = true;
+
     private final RuleSet<GCParseRule, BiConsumer<GCLogTrace, String>> parseRules;
+    // the rules for the details of a pause, which are taken out of the parse rules if pauses aren't consumed
+    private final Map<GCParseRule, BiConsumer<GCLogTrace, String>> pauseDetails = new LinkedHashMap<>();
+
+    // sharded parsing, null when the log is parsed sequentially
+    private final ParallelShards<UnifiedG1GCParser> shards;
+    private int highestGcId = LogRecord.NO_GC_ID;
+    private final Set<Integer> concurrentCyclesUnderway = new HashSet<>();
 
     {
         parseRules = new RuleSet<>();
@@ -71,24 +79,24 @@ public class UnifiedG1GCParser extends UnifiedGCLogParser implements UnifiedG1GC
         parseRules.put(CPU_BREAKOUT, this::cpuBreakout);
         parseRules.put(HEAP_BEFORE_AFTER_GC_INVOCATION_COUNT, this::heapBeforeAfterGCInvocationCount);
         parseRules.put(HEAP_SUMMARY, this::heapSummary);
-        parseRules.put(REGION_DISBURSEMENT, this::youngRegionAllotment);
-        parseRules.put(META_CLASS_SPACE, this::metaClassSpace);
-        parseRules.put(WORKER_SUMMARY, this::workSummary);
-        parseRules.put(REFERENCES, this::references);
-        parseRules.put(REFERENCE_COUNTS, this::referenceCounts);
-        parseRules.put(PRE_EVACUATE_COLLECTION_SET, this::evacuateCollectionSetTime);
-        parseRules.put(PRE_EVACUATION_SUBPHASE, this::preEvacuateCSetPhaseDuration);
-        parseRules.put(EVACUATION_PHASE, this::evacuateCSetPhase);
-
-        parseRules.put(PARALLEL_COUNT, this::parallelCount);
-        parseRules.put(POST_EVACUATE_PHASE, this::postEvacuatePhaseDuration);
-        parseRules.put(REFERENCE_PROCESSING, this::postEvacuatePhaseDuration);
-        parseRules.put(TO_SPACE_EXHAUSTED, this::toSpaceExhausted);
-        parseRules.put(OTHER, this::other);
-        parseRules.put(REGION_SUMMARY, this::regionSummary);
-        parseRules.put(UNIFIED_META_DATA, this::unifiedMetaData);
+        pauseDetail(REGION_DISBURSEMENT, this::youngRegionAllotment);
+        pauseDetail(META_CLASS_SPACE, this::metaClassSpace);
+        pauseDetail(WORKER_SUMMARY, this::workSummary);
+        pauseDetail(REFERENCES, this::references);
+        pauseDetail(REFERENCE_COUNTS, this::referenceCounts);
+        pauseDetail(PRE_EVACUATE_COLLECTION_SET, this::evacuateCollectionSetTime);
+        pauseDetail(PRE_EVACUATION_SUBPHASE, this::preEvacuateCSetPhaseDuration);
+        pauseDetail(EVACUATION_PHASE, this::evacuateCSetPhase);
+
+        pauseDetail(PARALLEL_COUNT, this::parallelCount);
+        pauseDetail(POST_EVACUATE_PHASE, this::postEvacuatePhaseDuration);
+        pauseDetail(REFERENCE_PROCESSING, this::postEvacuatePhaseDuration);
+        pauseDetail(TO_SPACE_EXHAUSTED, this::toSpaceExhausted);
+        pauseDetail(OTHER, this::other);
+        pauseDetail(REGION_SUMMARY, this::regionSummary);
+        pauseDetail(UNIFIED_META_DATA, this::unifiedMetaData);
         parseRules.put(YOUNG_DETAILS, this::youngDetails);
-        parseRules.put(META_SPACE_BREAKOUT, this::metaNonClassClassSpace);
+        pauseDetail(META_SPACE_BREAKOUT, this::metaNonClassClassSpace);
         parseRules.put(HEAP_REGION_SIZE, this::heapRegionSize);
         parseRules.put(HEAP_SIZE, this::heapSize);
         parseRules.put(G1_TAG, this::ignore);
@@ -114,7 +122,7 @@ public class UnifiedG1GCParser extends UnifiedGCLogParser implements UnifiedG1GC
         parseRules.put(CLEANUP_START, this::cleanupStart);
         parseRules.put(CLEANUP__FINALIZE_CONC_MARK,this::noop);
         parseRules.put(CLEANUP_END, this::pausePhaseDuringConcurrentCycleDurationEnd);
-        parseRules.put(FULL_PHASE, this::fullPhase);
+        pauseDetail(FULL_PHASE, this::fullPhase);
         parseRules.put(FULL_CLASS_UNLOADING, this::fullClassUnloading);
         parseRules.put(FULL_STRING_SYMBOL_TABLE, this::fullStringSymbolTable);
         parseRules.put(JVM_EXIT, this::jvmExit);
@@ -155,11 +163,96 @@ public class UnifiedG1GCParser extends UnifiedGCLogParser implements UnifiedG1GC
         parseRules.put(REBUILD_FREELIST, this::noop);
         parseRules.put(NEW_CSET, this::noop);
         parseRules.put(RESIZE_TLAB, this::noop);
-        parseRules.put(TENURING_SUMMARY, this::tenuringSummary);
-        parseRules.put(TENURING_AGE_BREAKDOWN, this::tenuringAgeBreakout);
+        pauseDetail(TENURING_SUMMARY, this::tenuringSummary);
+        pauseDetail(TENURING_AGE_BREAKDOWN, this::tenuringAgeBreakout);
     }
 
     public UnifiedG1GCParser() {
+        this(ParallelShards.shardSize());
+    }
+
+    /**
+     * @param shardSize the number of lines in a shard, 0 to parse the log sequentially
+     */
+    UnifiedG1GCParser(int shardSize) {
+        shards = (shardSize > 0) ? new ParallelShards<>(this, this::shardParser, UnifiedG1GCParser::isQuiescent, shardSize) : null;
+    }
+
+    private UnifiedG1GCParser shardParser() {
+        UnifiedG1GCParser parser = new UnifiedG1GCParser(0);
+        parser.diary(diary);
+        parser.consumesFor(this);
+        return parser;
+    }
+
+    /**
+     * @return the shards the log is parsed in, or {@code null} if it is parsed sequentially
+     */
+    ParallelShards<UnifiedG1GCParser> shards() {
+        return shards;
+    }
+
+    /**
+     * @return {@code true} if no collection is underway and no events are waiting to be published
+     */
+    private boolean isQuiescent() {
+        return collectionsUnderway.isEmpty() && eventQueue.isEmpty() && !concurrentPhaseActive;
+    }
+
+    @Override
+    public void receive(LogRecord record) {
+        if (shards == null || isIdle()) {
+            super.receive(record);
+            return;
+        }
+        shard(decode(record));
+    }
+
+    /**
+     * Unified G1 logs can be cut where a new GC id begins while no concurrent cycle is underway. Each GC
+     * id is a collection and, apart from concurrent cycles, a collection is done before the next GC id starts.
+     * The segments of a rotating log are always cut apart.
+     * @param record the decoded record
+     */
+    private void shard(LogRecord record) {
+        if (record.isStartOfSegment() && highestGcId != LogRecord.NO_GC_ID)
+            shards.startSegment(record.getSegmentStartTime());
+        if (record.isEndOfData()) {
+            shards.finish(record);
+        } else if (!record.hasGcId()) {
+            if (highestGcId == LogRecord.NO_GC_ID)
+                shards.addToPreamble(record);
+            else
+                shards.add(record);
+        } else {
+            int gcId = record.getGcId();
+            if (gcId > highestGcId) {
+                if (concurrentCyclesUnderway.isEmpty() && shards.isFull())
+                    shards.cut();
+                highestGcId = gcId;
+            }
+            String body = record.getBody();
+            if (body.startsWith("Concurrent ")) {
+                if (CONCURRENT_CYCLE_START.parse(body) != null || CONCURRENT_UNDO_CYCLE_START.parse(body) != null)
+                    concurrentCyclesUnderway.add(gcId);
+                else if (CONCURRENT_CYCLE_END.parse(body) != null || CONCURRENT_UNDO_CYCLE_END.parse(body) != null)
+                    concurrentCyclesUnderway.remove(gcId);
+            }
+            shards.add(record);
+        }
+    }
+
+    @Override
+    public void consumes(Set<Class<? extends JVMEvent>> eventTypes) {
+        super.consumes(eventTypes);
+        boolean consumed = isConsumed(G1GCPauseEvent.class);
+        if (consumed != pausesConsumed) {
+            if (consumed)
+                parseRules.putAll(pauseDetails);
+            else
+                pauseDetails.keySet().forEach(parseRules::remove);
+        }
+        pausesConsumed = consumed;
     }
 
     @Override
@@ -167,60 +260,56 @@ public class UnifiedG1GCParser extends UnifiedGCLogParser implements UnifiedG1GC
         return Set.of(EventSource.G1GC);
     }
 
+    @Override
+    Set<Class<? extends JVMEvent>> eventTypesProduced() {
+        return Set.of(G1GCEvent.class);
+    }
+
     public String getName() {
         return "UnifiedG1GCParser";
     }
 
     @Override
     protected void process(String line) {
-        if (! ignoreFrequentlySeenButUnwantedLines(line))
-            parse(line);
+        process(decode(line));
     }
 
-    private static final Pattern gcIdPattern = GCLogParser.GCID_COUNTER.pattern();
+    @Override
+    protected void process(LogRecord record) {
+        if (! ignoreFrequentlySeenButUnwantedLines(record.getLine()))
+            parse(record);
+    }
 
-    private void parse(String line) {
+    private void parse(LogRecord record) {
 
         // Minor optimization. The parse rule only applies to what comes after the GC ID.
-        final int end;
-        final int gcid;
-        final Matcher gcIdMatcher = gcIdPattern.matcher(line);
-        if (gcIdMatcher.find()) {
-            gcid = Integer.parseInt(gcIdMatcher.group(1));
-            end = gcIdMatcher.end();
-        } else {
-            gcid = -1;
-            end = 0;
+        final String line = record.getLine();
+        final int gcid = record.getGcId();
+        final String lineAfterGcId = record.hasGcId() ? record.getBody() : line;
+        for (GCParseRule rule : parseRules) {
+            GCLogTrace trace = match(rule, lineAfterGcId);
+            if (trace != null) {
+                setForwardReference(gcid, record.getDateTimeStamp());
+                applyRule(rule, trace, line);
+                return;
+            }
         }
-
-        final String lineAfterGcId = line.substring(end);
-        parseRules.stream()
-                .map(Map.Entry::getKey)
-                .map(rule -> new AbstractMap.SimpleEntry<>(rule, rule.parse(lineAfterGcId)))
-                .filter(tuple -> tuple.getValue() != null)
-                .findAny()
-                .ifPresentOrElse(
-                        tuple -> {
-                            // Typically, "end" will be greater than zero, but not always.
-                            setForwardReference(gcid, end > 0 ? line.substring(0, end) : line);
-                            applyRule(tuple.getKey(), tuple.getValue(), line);
-                        },
-                        () -> log(line)
-                );
+        if (!isSkippedPauseDetail(lineAfterGcId))
+            log(line);
     }
 
 
     private void applyRule(GCParseRule ruleToApply, GCLogTrace trace, String line) {
         try {
-            parseRules.select(ruleToApply).accept(trace, line);
+            apply(ruleToApply, parseRules.select(ruleToApply), trace, line);
         } catch (Throwable t) {
             LOGGER.throwing(this.getName(), "process", t);
         }
     }
 
-    private void setForwardReference(int gcid, String line) {
-        if (gcid != -1) {
-            forwardReference = collectionsUnderway.computeIfAbsent(gcid, k -> new G1GCForwardReference(new Decorators(line), gcid));
+    private void setForwardReference(int gcid, DateTimeStamp startTime) {
+        if (gcid != LogRecord.NO_GC_ID) {
+            forwardReference = collectionsUnderway.computeIfAbsent(gcid, k -> new G1GCForwardReference(startTime, gcid));
             forwardReference.setHeapRegionSize(regionSize);
             forwardReference.setMaxHeapSize(maxHeapSize);
             forwardReference.setMinHeapSize(minHeapSize);
@@ -234,6 +323,31 @@ public class UnifiedG1GCParser extends UnifiedGCLogParser implements UnifiedG1GC
 
     private void noop(GCLogTrace trace, String line) {}
 
+    /**
+     * Lines that only add detail to a pause event, such as its phases or the state of the regions, aren't
+     * matched when no one consumes pause events. Their rules are registered apart, so that they can be taken
+     * out of the parse rules.
+     * @param rule the rule for the detail
+     * @param handler the handler for the detail
+     */
+    private void pauseDetail(GCParseRule rule, BiConsumer<GCLogTrace, String> handler) {
+        pauseDetails.put(rule, handler);
+        parseRules.put(rule, handler);
+    }
+
+    /**
+     * @param line a line that none of the parse rules match
+     * @return {@code true} if the line is the detail of a pause, whose rule was taken out as pauses aren't consumed
+     */
+    private boolean isSkippedPauseDetail(String line) {
+        if (pausesConsumed)
+            return false;
+        for (GCParseRule rule : pauseDetails.keySet())
+            if (rule.parse(line) != null)
+                return true;
+        return false;
+    }
+
     /*************
      *
      * Data Extraction methods
@@ -245,7 +359,7 @@ public class UnifiedG1GCParser extends UnifiedGCLogParser implements UnifiedG1GC
         try {
             publishPauseEvent(forwardReference.buildEvent());
         } catch (MalformedEvent malformedEvent) {
-            LOGGER.warning(malformedEvent.getMessage());
+            warning(LOGGER, malformedEvent.getMessage());
         }
     }
 
@@ -361,7 +475,7 @@ public class UnifiedG1GCParser extends UnifiedGCLogParser implements UnifiedG1GC
         else {
             switch (gcSubtype) {
                 default:
-                    LOGGER.warning("GC Type not recognized: " + line);
+                    warning(LOGGER, "GC Type not recognized: " + line);
                 case "Prepare Mixed":
                 case "Normal":
                     gcType = fromLabel(trace.getGroup(1));
@@ -438,7 +552,7 @@ public class UnifiedG1GCParser extends UnifiedGCLogParser implements UnifiedG1GC
         } else if ("Post".equals(trace.getGroup(1)))
             forwardReference.setPostEvacuateCSetDuration(trace.getDurationInSeconds());
         else
-            LOGGER.warning("Not recognized: " + line);
+            warning(LOGGER, "Not recognized: " + line);
     }
 
     public void other(GCLogTrace trace, String line) {
@@ -530,7 +644,7 @@ public class UnifiedG1GCParser extends UnifiedGCLogParser implements UnifiedG1GC
             try {
                 publishPauseEvent(forwardReference.buildEvent());
             } catch (MalformedEvent malformedEvent) {
-                LOGGER.warning(malformedEvent.getMessage());
+                warning(LOGGER, malformedEvent.getMessage());
             }
     	}
     }
@@ -617,7 +731,7 @@ public class UnifiedG1GCParser extends UnifiedGCLogParser implements UnifiedG1GC
                 forwardReference.setPrecleanDuration(trace.getDurationInSeconds());
                 break;
             default:
-                LOGGER.warning("unknown Concurrent Mark phase : " + line);
+                warning(LOGGER, "unknown Concurrent Mark phase : " + line);
 
         }
     }
@@ -791,7 +905,7 @@ public class UnifiedG1GCParser extends UnifiedGCLogParser implements UnifiedG1GC
         if ( ! ignoreFrequentlySeenButUnwantedLines(line)) {
 
             GCToolKit.LOG_DEBUG_MESSAGE(() -> "Missed: " + line);
-            LOGGER.log(Level.FINE, "Missed: {0}", line);
+            unmatched(line);
         }
     }
 
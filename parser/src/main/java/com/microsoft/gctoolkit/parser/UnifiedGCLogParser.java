@@ -2,26 +2,30 @@
 // Licensed under the MIT License.
 package com.microsoft.gctoolkit.parser;
 
-import com.microsoft.gctoolkit.parser.jvm.Decorators;
+import com.microsoft.gctoolkit.message.LogRecordDecoder;
+import com.microsoft.gctoolkit.parser.jvm.UnifiedLogRecordDecoder;
 import com.microsoft.gctoolkit.time.DateTimeStamp;
 
-import java.util.logging.Level;
-import java.util.logging.Logger;
-
 abstract class UnifiedGCLogParser extends GCLogParser {
 
-    private static final Logger LOGGER = Logger.getLogger(UnifiedGCLogParser.class.getName());
     private static final boolean DEBUG = Boolean.getBoolean("microsoft.debug");
 
+    private final UnifiedLogRecordDecoder logRecordDecoder = new UnifiedLogRecordDecoder();
+
     public UnifiedGCLogParser() {}
 
-    void advanceClock(String record) {
-        try {
-            DateTimeStamp now = new Decorators(record).getDateTimeStamp();
-            super.advanceClock(now);
-        } catch (Throwable t) {
-            LOGGER.log(Level.FINE, "[PARSING ERROR] " + record, t);
-        }
+    @Override
+    LogRecordDecoder logRecordDecoder() {
+        return logRecordDecoder;
+    }
+
+    /**
+     * Decode the date and time stamp decorators of a log line.
+     * @param line the log line
+     * @return the DateTimeStamp of the line, or {@code null} if the line isn't decorated
+     */
+    DateTimeStamp getDateTimeStamp(String line) {
+        return logRecordDecoder.getDateTimeStamp(line);
     }
 
     void notYetImplemented(GCLogTrace trace, String line) {
@@ -24,21 +24,19 @@ import com.microsoft.gctoolkit.event.generational.PSYoungGen;
 import com.microsoft.gctoolkit.event.generational.ParNew;
 import com.microsoft.gctoolkit.event.generational.SystemGC;
 import com.microsoft.gctoolkit.event.generational.YoungGC;
+import com.microsoft.gctoolkit.event.jvm.JVMEvent;
 import com.microsoft.gctoolkit.event.jvm.JVMTermination;
 import com.microsoft.gctoolkit.event.jvm.SurvivorRecord;
 import com.microsoft.gctoolkit.jvm.Diary;
 import com.microsoft.gctoolkit.message.ChannelName;
 import com.microsoft.gctoolkit.message.JVMEventChannel;
 import com.microsoft.gctoolkit.parser.collection.RuleSet;
-import com.microsoft.gctoolkit.parser.jvm.Decorators;
 import com.microsoft.gctoolkit.parser.unified.UnifiedGenerationalPatterns;
 
-import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.BiConsumer;
-import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import static com.microsoft.gctoolkit.event.GarbageCollectionTypes.Abortable_Preclean;
@@ -122,6 +120,11 @@ public class UnifiedGenerationalParser extends UnifiedGCLogParser implements Uni
         return Set.of(EventSource.GENERATIONAL);
     }
 
+    @Override
+    Set<Class<? extends JVMEvent>> eventTypesProduced() {
+        return Set.of(GenerationalGCEvent.class);
+    }
+
     public String getName() {
         return "UnifiedGenerationalParser";
     }
@@ -131,23 +134,20 @@ public class UnifiedGenerationalParser extends UnifiedGCLogParser implements Uni
 
         if (ignoreFrequentlySeenButUnwantedLines(line)) return;
 
-        parseRules.stream()
-                .map(Map.Entry::getKey)
-                .map(rule -> new AbstractMap.SimpleEntry<>(rule, rule.parse(line)))
-                .filter(tuple -> tuple.getValue() != null)
-                .findAny()
-                .ifPresentOrElse(
-                        tuple -> {
-                            applyRule(tuple.getKey(), tuple.getValue(), line);
-                        },
-                        () -> LOGGER.log(Level.FINE, "Missed: {0}", line)
-                );
+        for (GCParseRule rule : parseRules) {
+            GCLogTrace trace = match(rule, line);
+            if (trace != null) {
+                applyRule(rule, trace, line);
+                return;
+            }
+        }
+        unmatched(line);
     }
 
 
     private void applyRule(GCParseRule ruleToApply, GCLogTrace trace, String line) {
         try {
-            parseRules.select(ruleToApply).accept(trace, line);
+            apply(ruleToApply, parseRules.select(ruleToApply), trace, line);
         } catch (Throwable t) {
             LOGGER.throwing(this.getName(), "process", t);
         }
@@ -170,11 +170,11 @@ public class UnifiedGenerationalParser extends UnifiedGCLogParser implements Uni
         if (pauseEvent != null)
             LOGGER.warning("Young pause event not recorded: " + pauseEvent.getGcID());
         if (diary.isCMS())
-            pauseEvent = new GenerationalForwardReference(ParNew, new Decorators(line), super.GCID_COUNTER.parse(line).getIntegerGroup(1));
+            pauseEvent = new GenerationalForwardReference(ParNew, getDateTimeStamp(line), super.GCID_COUNTER.parse(line).getIntegerGroup(1));
         else if (diary.isPSYoung())
-            pauseEvent = new GenerationalForwardReference(PSYoungGen, new Decorators(line), super.GCID_COUNTER.parse(line).getIntegerGroup(1));
+            pauseEvent = new GenerationalForwardReference(PSYoungGen, getDateTimeStamp(line), super.GCID_COUNTER.parse(line).getIntegerGroup(1));
         else if (diary.isSerialFull())
-            pauseEvent = new GenerationalForwardReference(DefNew, new Decorators(line), super.GCID_COUNTER.parse(line).getIntegerGroup(1));
+            pauseEvent = new GenerationalForwardReference(DefNew, getDateTimeStamp(line), super.GCID_COUNTER.parse(line).getIntegerGroup(1));
         else {
             LOGGER.warning("Unrecognized collection phase -> " + line);
             return;
@@ -261,7 +261,7 @@ public class UnifiedGenerationalParser extends UnifiedGCLogParser implements Uni
     private void initialMark(GCLogTrace trace, String line) {
         if (concurrentCyclePauseEvent != null)
             LOGGER.warning("Pause event not completely recorded: " + pauseEvent.getGcID());
-        concurrentCyclePauseEvent = new GenerationalForwardReference(InitialMark, new Decorators(line), GCID_COUNTER.parse(line).getIntegerGroup(1));
+        concurrentCyclePauseEvent = new GenerationalForwardReference(InitialMark, getDateTimeStamp(line), GCID_COUNTER.parse(line).getIntegerGroup(1));
         concurrentCyclePauseEvent.setStartTime(getClock());
     }
 
@@ -278,7 +278,7 @@ public class UnifiedGenerationalParser extends UnifiedGCLogParser implements Uni
             LOGGER.warning("Unknown concurrent phase: " + line);
             return;
         }
-        concurrentEvent = new GenerationalForwardReference(gcType, new Decorators(line), GCID_COUNTER.parse(line).getIntegerGroup(1));
+        concurrentEvent = new GenerationalForwardReference(gcType, getDateTimeStamp(line), GCID_COUNTER.parse(line).getIntegerGroup(1));
         concurrentEvent.setStartTime(getClock());
         inConcurrentPhase = true;
     }
@@ -299,7 +299,7 @@ public class UnifiedGenerationalParser extends UnifiedGCLogParser implements Uni
     private void remark(GCLogTrace trace, String line) {
         if (concurrentCyclePauseEvent != null)
             LOGGER.warning("Pause event not recorded and is about to be lost: " + pauseEvent.getGcID());
-        concurrentCyclePauseEvent = new GenerationalForwardReference(Remark, new Decorators(line), GCID_COUNTER.parse(line).getIntegerGroup(1));
+        concurrentCyclePauseEvent = new GenerationalForwardReference(Remark, getDateTimeStamp(line), GCID_COUNTER.parse(line).getIntegerGroup(1));
         concurrentCyclePauseEvent.setStartTime(getClock());
     }
 
@@ -328,9 +328,9 @@ public class UnifiedGenerationalParser extends UnifiedGCLogParser implements Uni
     private void fullGC(GCLogTrace trace, String line) {
         if (pauseEvent == null) {
             if (diary.isPSOldGen())
-                pauseEvent = new GenerationalForwardReference(PSFull, new Decorators(line), super.GCID_COUNTER.parse(line).getIntegerGroup(1));
+                pauseEvent = new GenerationalForwardReference(PSFull, getDateTimeStamp(line), super.GCID_COUNTER.parse(line).getIntegerGroup(1));
             else
-                pauseEvent = new GenerationalForwardReference(FullGC, new Decorators(line), super.GCID_COUNTER.parse(line).getIntegerGroup(1));
+                pauseEvent = new GenerationalForwardReference(FullGC, getDateTimeStamp(line), super.GCID_COUNTER.parse(line).getIntegerGroup(1));
             pauseEvent.setStartTime(getClock());
         } else if (pauseEvent.getGarbageCollectionType() == ParNew) {
             pauseEvent.convertToConcurrentModeFailure();
@@ -338,7 +338,7 @@ public class UnifiedGenerationalParser extends UnifiedGCLogParser implements Uni
             pauseEvent.convertToSerialFull();
         } else if (pauseEvent.getGarbageCollectionType() != ConcurrentModeFailure) {
             LOGGER.warning("Maybe Full Pause event not recorded: " + pauseEvent.getGcID()); //todo: difficult to know if this is a full or a CMF
-            pauseEvent = new GenerationalForwardReference(FullGC, new Decorators(line), super.GCID_COUNTER.parse(line).getIntegerGroup(1));
+            pauseEvent = new GenerationalForwardReference(FullGC, getDateTimeStamp(line), super.GCID_COUNTER.parse(line).getIntegerGroup(1));
             pauseEvent.setStartTime(getClock());
         }
         pauseEvent.setGCCause(trace.gcCause(1, 0));
@@ -13,14 +13,11 @@ import com.microsoft.gctoolkit.message.JVMEventChannel;
 import com.microsoft.gctoolkit.time.DateTimeStamp;
 
 import java.util.Set;
-import java.util.logging.Level;
-import java.util.logging.Logger;
 
 import static com.microsoft.gctoolkit.parser.unified.UnifiedPatterns.JVM_EXIT;
 
 public class UnifiedJVMEventParser extends UnifiedGCLogParser implements JVMPatterns {
 
-    private static final Logger LOGGER = Logger.getLogger(UnifiedJVMEventParser.class.getName());
     private DateTimeStamp timeStamp = new DateTimeStamp(0.0d);
     private ApplicationStoppedTime.VMOperations safePointReason = null;
     private boolean gcPause = false;
@@ -32,6 +29,11 @@ public class UnifiedJVMEventParser extends UnifiedGCLogParser implements JVMPatt
         return Set.of(EventSource.JVM);
     }
 
+    @Override
+    Set<Class<? extends JVMEvent>> eventTypesProduced() {
+        return Set.of(ApplicationStoppedTime.class, ApplicationConcurrentTime.class);
+    }
+
     public String getName() {
         return "JavaEventParser";
     }
@@ -43,24 +45,24 @@ public class UnifiedJVMEventParser extends UnifiedGCLogParser implements JVMPatt
 
         try {
 
-            if ((trace = UNIFIED_LOGGING_APPLICATION_STOP_TIME_WITH_STOPPING_TIME.parse(line)) != null) {
+            if ((trace = match(UNIFIED_LOGGING_APPLICATION_STOP_TIME_WITH_STOPPING_TIME, line)) != null) {
                 if (safePointReason != null)
                     publish(new ApplicationStoppedTime(timeStamp, trace.getDoubleGroup(1), trace.getDoubleGroup(2), safePointReason));
                 else
                     publish(new ApplicationStoppedTime(timeStamp, trace.getDoubleGroup(1), trace.getDoubleGroup(2), gcPause));
                 safePointReason = null;
                 gcPause = false;
-            } else if (GC_PAUSE_CLAUSE.parse(line) != null) {
+            } else if (match(GC_PAUSE_CLAUSE, line) != null) {
                 gcPause = true;
-            } else if ((trace = SAFEPOINT_REGION.parse(line)) != null) {
+            } else if ((trace = match(SAFEPOINT_REGION, line)) != null) {
                 timeStamp = getClock();
                 safePointReason = ApplicationStoppedTime.VMOperations.valueOf(trace.getGroup(1));
-            } else if ((trace = LEAVING_SAFEPOINT.parse(line)) != null) {
+            } else if ((trace = match(LEAVING_SAFEPOINT, line)) != null) {
             } //noop this one.
 
-            else if ((trace = UNIFIED_LOGGING_APPLICATION_TIME.parse(line)) != null) {
+            else if ((trace = match(UNIFIED_LOGGING_APPLICATION_TIME, line)) != null) {
                 publish(new ApplicationConcurrentTime(getClock(), trace.getDoubleGroup(1)));
-            } else if (line.equals(END_OF_DATA_SENTINEL) || (JVM_EXIT.parse(line) != null)) {
+            } else if (line.equals(END_OF_DATA_SENTINEL) || (match(JVM_EXIT, line) != null)) {
                 publish(new JVMTermination(getClock(),diary.getTimeOfFirstEvent()));
             } else if (getClock().getTimeStamp() > timeStamp.getTimeStamp()) {
                 if (isGCPause(line)) gcPause = true;
@@ -68,7 +70,7 @@ public class UnifiedJVMEventParser extends UnifiedGCLogParser implements JVMPatt
             }
 
         } catch (Throwable t) {
-            LOGGER.log(Level.FINE, "Missed: {0}", line);
+            unmatched(line);
         }
     }
 
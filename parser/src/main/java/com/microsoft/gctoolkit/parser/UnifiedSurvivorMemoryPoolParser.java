@@ -9,7 +9,6 @@ import com.microsoft.gctoolkit.event.jvm.SurvivorRecord;
 import com.microsoft.gctoolkit.jvm.Diary;
 import com.microsoft.gctoolkit.message.ChannelName;
 import com.microsoft.gctoolkit.message.JVMEventChannel;
-import com.microsoft.gctoolkit.parser.jvm.Decorators;
 
 import java.util.Set;
 
@@ -39,6 +38,11 @@ public class UnifiedSurvivorMemoryPoolParser extends UnifiedGCLogParser implemen
         return Set.of(EventSource.SURVIVOR);
     }
 
+    @Override
+    Set<Class<? extends JVMEvent>> eventTypesProduced() {
+        return Set.of(SurvivorRecord.class);
+    }
+
     public String getName() {
         return "SurvivorMemoryPoolParser";
     }
@@ -47,16 +51,16 @@ public class UnifiedSurvivorMemoryPoolParser extends UnifiedGCLogParser implemen
     protected void process(String entry) {
         GCLogTrace trace;
 
-        if ((trace = DESIRED_SURVIVOR_SIZE.parse(entry)) != null) {
-            forwardReference = new SurvivorRecord(new Decorators(entry).getDateTimeStamp(), trace.getLongGroup(1), trace.getIntegerGroup(2), trace.getIntegerGroup(3));
-        } else if ((trace = AGE_TABLE_HEADER.parse(entry)) != null) {
+        if ((trace = match(DESIRED_SURVIVOR_SIZE, entry)) != null) {
+            forwardReference = new SurvivorRecord(getDateTimeStamp(entry), trace.getLongGroup(1), trace.getIntegerGroup(2), trace.getIntegerGroup(3));
+        } else if ((trace = match(AGE_TABLE_HEADER, entry)) != null) {
             //we've collected this data so.. eat it...
-        } else if ((trace = AGE_RECORD.parse(entry)) != null) {
+        } else if ((trace = match(AGE_RECORD, entry)) != null) {
             if (forwardReference != null) {
                 forwardReference.add(trace.getIntegerGroup(1), trace.getLongGroup(2));
                 ageDataCollected = true;
             }
-        } else if (entry.equals(END_OF_DATA_SENTINEL) || (JVM_EXIT.parse(entry) != null)) {
+        } else if (entry.equals(END_OF_DATA_SENTINEL) || (match(JVM_EXIT, entry) != null)) {
             if (forwardReference != null)
                 publish(forwardReference);
             publish(new JVMTermination(getClock(),diary.getTimeOfFirstEvent()));
@@ -64,7 +68,7 @@ public class UnifiedSurvivorMemoryPoolParser extends UnifiedGCLogParser implemen
             publish(forwardReference);
             forwardReference = null;
             ageDataCollected = false;
-        } else if (CPU_BREAKOUT.parse(entry) != null) {
+        } else if (match(CPU_BREAKOUT, entry) != null) {
             if (forwardReference != null) {
                 publish(forwardReference);
                 forwardReference = null;
@@ -38,11 +38,9 @@ import com.microsoft.gctoolkit.parser.collection.MRUQueue;
 import com.microsoft.gctoolkit.parser.unified.ZGCPatterns;
 import com.microsoft.gctoolkit.time.DateTimeStamp;
 
-import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.Optional;
 import java.util.Set;
 import java.util.HashMap;
 import java.util.function.BiConsumer;
@@ -115,6 +113,11 @@ public class ZGCParser extends UnifiedGCLogParser implements ZGCPatterns {
         return Set.of(EventSource.ZGC);
     }
 
+    @Override
+    Set<Class<? extends JVMEvent>> eventTypesProduced() {
+        return Set.of(ZGCCollection.class);
+    }
+
     /**
      * This marks the phase we're in for memory stats. Generation ZGC will provide heap capacity
      * as well as old and young gen capacities. This enables the Young gen phase
@@ -134,15 +137,12 @@ public class ZGCParser extends UnifiedGCLogParser implements ZGCPatterns {
         if (ignoreFrequentButUnwantedEntries(line)) return;
 
         try {
-            Optional<AbstractMap.SimpleEntry<GCParseRule, GCLogTrace>> optional = parseRules.keys()
-                    .stream()
-                    .map(rule -> new AbstractMap.SimpleEntry<>(rule, rule.parse(line)))
-                    .filter(tuple -> tuple.getValue() != null)
-                    .findFirst();
-            if (optional.isPresent()) {
-                AbstractMap.SimpleEntry<GCParseRule, GCLogTrace> ruleAndTrace = optional.get();
-                parseRules.get(ruleAndTrace.getKey()).accept(ruleAndTrace.getValue(), line);
-                return;
+            for (GCParseRule rule : parseRules.keys()) {
+                GCLogTrace trace = match(rule, line);
+                if (trace != null) {
+                    apply(rule, parseRules.get(rule), trace, line);
+                    return;
+                }
             }
         } catch (Throwable t) {
             LOGGER.throwing(this.getName(), "process", t);
@@ -567,8 +567,7 @@ public class ZGCParser extends UnifiedGCLogParser implements ZGCPatterns {
 
     private void log(String line) {
         GCToolKit.LOG_DEBUG_MESSAGE(() -> "ZGCHeapParser missed: " + line);
-
-        LOGGER.log(Level.WARNING, "Missed: {0}", line);
+        unmatched(line);
     }
 
     public void logMissedFirstRecordForEvent(String line) {
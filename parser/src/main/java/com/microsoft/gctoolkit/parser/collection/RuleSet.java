@@ -67,6 +67,7 @@ public class RuleSet<K, V> implements Map<K, V>, Iterable<K> {
 
     @Override
     public V put(K key, V value) {
+        remove(key);
         Node<K,V> node = new Node<>(key, value);
         if (head == null) {
             head = node;
@@ -81,12 +82,27 @@ public class RuleSet<K, V> implements Map<K, V>, Iterable<K> {
 
     @Override
     public V remove(Object key) {
-        return null;
+        Node<K,V> node = entries.remove(key);
+        if (node == null)
+            return null;
+        // the head may still point back to the node it was moved in front of
+        if (node == head) {
+            head = node.next;
+            if (head != null)
+                head.prev = null;
+        } else {
+            node.prev.next = node.next;
+            if (node.next != null)
+                node.next.prev = node.prev;
+        }
+        node.next = null;
+        node.prev = null;
+        return node.getValue();
     }
 
     @Override
     public void putAll(Map<? extends K, ? extends V> m) {
-
+        m.forEach(this::put);
     }
 
     @Override
@@ -0,0 +1,264 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.parser.jvm;
+
+import com.microsoft.gctoolkit.parser.NumericDecoder;
+import com.microsoft.gctoolkit.parser.unified.UnifiedLoggingLevel;
+import com.microsoft.gctoolkit.time.DateStampParser;
+import com.microsoft.gctoolkit.time.DateTimeStamp;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.StringJoiner;
+import java.util.logging.Logger;
+
+/**
+ * The layout of the JEP 158 decorators found at the start of every line in a unified log.
+ * <p>
+ * The set of decorators is configured once on the command line (-Xlog:...::uptime,level,tags) and so it
+ * never changes within a log. The layout is learned once, by {@link UnifiedDiarizer}, from the first
+ * decorated line. From then on decorator values are pulled out of each line by counting brackets,
+ * which avoids running the {@link com.microsoft.gctoolkit.parser.unified.UnifiedLoggingTokens#DECORATORS}
+ * and {@link com.microsoft.gctoolkit.parser.unified.UnifiedLoggingTokens#TAGS} patterns and creating a
+ * {@link Decorators} for every line.
+ * <p>
+ * The layout is recorded in the {@link com.microsoft.gctoolkit.jvm.Diary} using the -Xlog decorator
+ * names so that the parsers can recompile it with {@link #of(String)}.
+ */
+public final class DecoratorLayout {
+
+    private static final Logger LOGGER = Logger.getLogger(DecoratorLayout.class.getName());
+
+    /**
+     * The JEP 158 decorators, in the order the JVM prints them.
+     */
+    public enum Decorator {
+        time, uptime, timemillis, uptimemillis, timenanos, uptimenanos, pid, tid, level, tags
+    }
+
+    // This is to help differentiate between JVM running time and wall clock time (see Decorators).
+    private static final long TWENTY_YEARS_IN_MILLIS = 731L * 24L * 60L * 60L * 1000L;
+    private static final long TWENTY_YEARS_IN_NANO = 731L * 24L * 60L * 60L * 1000L;
+
+    private final Decorator[] decorators;
+    // position of each decorator (indexed by ordinal) in the line, -1 if the decorator isn't configured
+    private final int[] positions = new int[Decorator.values().length];
+    private final DateStampParser dateStampParser = new DateStampParser();
+
+    private DecoratorLayout(List<Decorator> decorators) {
+        this.decorators = decorators.toArray(new Decorator[0]);
+        Arrays.fill(positions, -1);
+        for (int i = 0; i < this.decorators.length; i++)
+            positions[this.decorators[i].ordinal()] = i;
+    }
+
+    /**
+     * Learn the decorator layout from a decorated line.
+     * @param line a line from a unified log
+     * @return the layout or {@code null} if the line doesn't start with any decorators
+     */
+    public static DecoratorLayout learn(String line) {
+        List<Decorator> found = new ArrayList<>();
+        int open = 0;
+        while (open < line.length() && line.charAt(open) == '[') {
+            int close = line.indexOf(']', open + 1);
+            if (close < 0)
+                break;
+            String value = line.substring(open + 1, close).trim();
+            Decorator previous = found.isEmpty() ? null : found.get(found.size() - 1);
+            Decorator decorator = classify(value);
+            if (decorator == Decorator.timemillis) {
+                if (previous == Decorator.timemillis || previous == Decorator.uptimemillis) {
+                    // when both are present, wall clock time comes first
+                    found.set(found.size() - 1, Decorator.timemillis);
+                    decorator = Decorator.uptimemillis;
+                } else if (isUptime(value, TWENTY_YEARS_IN_MILLIS))
+                    decorator = Decorator.uptimemillis;
+            } else if (decorator == Decorator.timenanos) {
+                if (previous == Decorator.timenanos || previous == Decorator.uptimenanos) {
+                    found.set(found.size() - 1, Decorator.timenanos);
+                    decorator = Decorator.uptimenanos;
+                } else if (isUptime(value, TWENTY_YEARS_IN_NANO))
+                    decorator = Decorator.uptimenanos;
+            } else if (decorator == Decorator.pid && previous == Decorator.pid) {
+                decorator = Decorator.tid;
+            }
+            if (decorator == null || (previous != null && decorator.ordinal() <= previous.ordinal())) {
+                // tags are the last decorator and can only be told apart by their position
+                found.add(Decorator.tags);
+                break;
+            }
+            found.add(decorator);
+            open = close + 1;
+        }
+        return found.isEmpty() ? null : new DecoratorLayout(found);
+    }
+
+    /**
+     * Compile a layout previously recorded in the diary.
+     * @param decorators comma separated list of decorator names, as returned by {@link #toString()}
+     * @return the layout or {@code null} if no layout was recorded
+     */
+    public static DecoratorLayout of(String decorators) {
+        if (decorators == null || decorators.isEmpty())
+            return null;
+        List<Decorator> list = new ArrayList<>();
+        for (String decorator : decorators.split(","))
+            list.add(Decorator.valueOf(decorator.trim()));
+        return new DecoratorLayout(list);
+    }
+
+    private static Decorator classify(String value) {
+        int length = value.length();
+        if (length == 0)
+            return null;
+        if (length == 28 && value.charAt(10) == 'T')
+            return Decorator.time;
+        if (value.endsWith("ms") && isDigits(value, 0, length - 2))
+            return Decorator.timemillis;
+        if (value.endsWith("ns") && isDigits(value, 0, length - 2))
+            return Decorator.timenanos;
+        if (value.charAt(length - 1) == 's' && isUptimeSeconds(value))
+            return Decorator.uptime;
+        if (isDigits(value, 0, length))
+            return Decorator.pid;
+        for (UnifiedLoggingLevel level : UnifiedLoggingLevel.values())
+            if (level.getLabel().equals(value))
+                return Decorator.level;
+        if ("develop".equals(value))
+            return Decorator.level;
+        return null;
+    }
+
+    private static boolean isUptime(String value, long threshold) {
+        return NumericDecoder.parseLong(value, 0, value.length() - 2) < threshold;
+    }
+
+    private static boolean isUptimeSeconds(String value) {
+        int separator = Math.max(value.indexOf('.'), value.indexOf(','));
+        return separator > 0 && isDigits(value, 0, separator) && isDigits(value, separator + 1, value.length() - 1);
+    }
+
+    private static boolean isDigits(String value, int start, int end) {
+        if (start >= end)
+            return false;
+        for (int i = start; i < end; i++)
+            if (!Character.isDigit(value.charAt(i)))
+                return false;
+        return true;
+    }
+
+    /**
+     * Locate the opening bracket of a decorator by skipping over the decorators that precede it.
+     * @return the index of the opening bracket or -1 if the line doesn't contain the decorator
+     */
+    private int open(String line, Decorator decorator) {
+        int position = positions[decorator.ordinal()];
+        if (position < 0)
+            return -1;
+        int open = 0;
+        for (int i = 0; i < position; i++) {
+            if (open >= line.length() || line.charAt(open) != '[')
+                return -1;
+            open = line.indexOf(']', open + 1) + 1;
+            if (open == 0)
+                return -1;
+        }
+        return (open < line.length() && line.charAt(open) == '[') ? open : -1;
+    }
+
+    private int close(String line, int open) {
+        return line.indexOf(']', open + 1);
+    }
+
+    /**
+     * @param line a line from the log
+     * @return the index following the last decorator, or 0 if the line isn't decorated
+     */
+    public int getMessageOffset(String line) {
+        int open = open(line, decorators[decorators.length - 1]);
+        int close = (open < 0) ? -1 : close(line, open);
+        return close + 1;
+    }
+
+    public boolean contains(Decorator decorator) {
+        return positions[decorator.ordinal()] > -1;
+    }
+
+    public int getNumberOfDecorators() {
+        return decorators.length;
+    }
+
+    /**
+     * @param line a line from the log
+     * @return the date and time stamp of the line, or {@code null} if the line isn't decorated
+     */
+    public DateTimeStamp getDateTimeStamp(String line) {
+        if (!line.startsWith("["))
+            return null;
+        double upTime = getUpTime(line);
+        int open = open(line, Decorator.time);
+        int close = (open < 0) ? -1 : close(line, open);
+        if (close < 0)
+            return new DateTimeStamp(upTime);
+        return new DateTimeStamp(dateStampParser.toEpochMillis(line, open + 1, close), dateStampParser.zoneOffsetSeconds(line, open + 1, close), upTime);
+    }
+
+    public ZonedDateTime getDateStamp(String line) {
+        int open = open(line, Decorator.time);
+        int close = (open < 0) ? -1 : close(line, open);
+        if (close < 0)
+            return null;
+        long epochMillis = dateStampParser.toEpochMillis(line, open + 1, close);
+        int zoneOffsetSeconds = dateStampParser.zoneOffsetSeconds(line, open + 1, close);
+        return ZonedDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneOffset.ofTotalSeconds(zoneOffsetSeconds));
+    }
+
+    public double getUpTime(String line) {
+        int open = open(line, Decorator.uptime);
+        int close = (open < 0) ? -1 : close(line, open);
+        if (close < 0 || line.charAt(close - 1) != 's')
+            return -1.0d;
+        // [1.361s]
+        return NumericDecoder.parseDecimal(line, open + 1, close - 1);
+    }
+
+    public Optional<UnifiedLoggingLevel> getLogLevel(String line) {
+        int open = open(line, Decorator.level);
+        int close = (open < 0) ? -1 : close(line, open);
+        if (close < 0)
+            return Optional.empty();
+        String level = line.substring(open + 1, close).trim();
+        try {
+            return Optional.of(UnifiedLoggingLevel.valueOf(level));
+        } catch (IllegalArgumentException e) {
+            LOGGER.fine("No such debug level: " + level);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * @param line a line from the log
+     * @return the tag-set of the line (e.g. gc,heap), or {@code null} if the line doesn't contain tags
+     */
+    public String getTags(String line) {
+        int open = open(line, Decorator.tags);
+        int close = (open < 0) ? -1 : close(line, open);
+        if (close < 0)
+            return null;
+        return line.substring(open + 1, close).trim();
+    }
+
+    @Override
+    public String toString() {
+        StringJoiner joiner = new StringJoiner(",");
+        for (Decorator decorator : decorators)
+            joiner.add(decorator.name());
+        return joiner.toString();
+    }
+}
@@ -4,11 +4,12 @@ package com.microsoft.gctoolkit.parser.jvm;
 
 import com.microsoft.gctoolkit.parser.unified.UnifiedLoggingLevel;
 import com.microsoft.gctoolkit.parser.unified.UnifiedLoggingTokens;
+import com.microsoft.gctoolkit.time.DateStampParser;
 import com.microsoft.gctoolkit.time.DateTimeStamp;
 
+import java.time.Instant;
+import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
-import java.time.format.DateTimeFormatter;
-import java.time.temporal.TemporalAccessor;
 import java.util.Arrays;
 import java.util.Optional;
 import java.util.logging.Level;
@@ -95,15 +96,16 @@ public class Decorators {
         }
     }
 
-    // For some reason, ISO_DATE_TIME doesn't like that time-zone is -0100. It wants -01:00.
-    private static final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSZ");
+    private static final DateStampParser dateStampParser = new DateStampParser();
 
     public ZonedDateTime getDateStamp() {
         try {
             String value = decoratorMatcher.group(1);
             if (value != null) {
-                TemporalAccessor temporalAccessor = formatter.parse(value.substring(1, value.length()-1));
-                return ZonedDateTime.from(temporalAccessor);            }
+                long epochMillis = dateStampParser.toEpochMillis(value, 1, value.length() - 1);
+                int zoneOffsetSeconds = dateStampParser.zoneOffsetSeconds(value, 1, value.length() - 1);
+                return ZonedDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneOffset.ofTotalSeconds(zoneOffsetSeconds));
+            }
         } catch (NullPointerException npe) {
             LOGGER.log(Level.SEVERE, npe.getMessage(), npe);
         }
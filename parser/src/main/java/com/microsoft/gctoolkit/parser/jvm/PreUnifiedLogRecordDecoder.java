@@ -0,0 +1,62 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.parser.jvm;
+
+import com.microsoft.gctoolkit.io.GCLogFile;
+import com.microsoft.gctoolkit.jvm.Diary;
+import com.microsoft.gctoolkit.message.LogRecord;
+import com.microsoft.gctoolkit.message.LogRecordDecoder;
+import com.microsoft.gctoolkit.parser.CMSPatterns;
+import com.microsoft.gctoolkit.parser.GCLogTrace;
+import com.microsoft.gctoolkit.parser.GCParseRule;
+import com.microsoft.gctoolkit.parser.PreUnifiedTokens;
+import com.microsoft.gctoolkit.time.DateTimeStamp;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Decodes the leading date and/or time stamp of each line in a pre-unified log. Pre-unified logs
+ * have neither tags, levels nor GC ids so the body of the record is the whole line.
+ */
+public class PreUnifiedLogRecordDecoder implements LogRecordDecoder {
+
+    private static final Logger LOGGER = Logger.getLogger(PreUnifiedLogRecordDecoder.class.getName());
+    private static final GCParseRule TIMESTAMP_BLOCK = new GCParseRule("TIMESTAMP_BLOCK", "^" + PreUnifiedTokens.DATE_TIMESTAMP);
+
+    public PreUnifiedLogRecordDecoder() {}
+
+    @Override
+    public boolean accepts(Diary diary) {
+        return ! diary.isUnifiedLogging();
+    }
+
+    @Override
+    public void diary(Diary diary) {}
+
+    /**
+     * Decode the date and time stamp of a log line.
+     * @param line the log line
+     * @return the DateTimeStamp of the line, or {@code null} if the line doesn't start with one
+     */
+    public DateTimeStamp getDateTimeStamp(String line) {
+        try {
+            GCLogTrace trace = TIMESTAMP_BLOCK.parse(line);
+            if (trace == null) {
+                trace = CMSPatterns.ABORT_PRECLEAN_DUE_TO_TIME_CLAUSE.parse(line);
+                if (trace == null)
+                    return null;
+            }
+            return trace.getDateTimeStamp();
+        } catch (Throwable t) {
+            LOGGER.log(Level.FINE, "[PARSING ERROR] " + line, t);
+            return null;
+        }
+    }
+
+    @Override
+    public LogRecord decode(String line) {
+        DateTimeStamp dateTimeStamp = line.equals(GCLogFile.END_OF_DATA_SENTINEL) ? null : getDateTimeStamp(line);
+        return new LogRecord(line, dateTimeStamp, null, null, LogRecord.NO_GC_ID, 0);
+    }
+}
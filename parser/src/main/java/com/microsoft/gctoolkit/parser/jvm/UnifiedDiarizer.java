@@ -7,6 +7,7 @@ import com.microsoft.gctoolkit.jvm.Diary;
 import com.microsoft.gctoolkit.parser.unified.UnifiedLoggingLevel;
 import com.microsoft.gctoolkit.time.DateTimeStamp;
 
+import java.util.Optional;
 import java.util.TreeSet;
 
 import static com.microsoft.gctoolkit.jvm.SupportedFlags.GC_CAUSE;
@@ -29,6 +30,7 @@ public class UnifiedDiarizer implements Diarizer {
 
     private final Diary diary;
     private final TreeSet<String> tagsAndLevels = new TreeSet<>();
+    private DecoratorLayout decoratorLayout;
     private int stopTheWorldEvents = 0;
 
     {
@@ -97,67 +99,90 @@ public class UnifiedDiarizer implements Diarizer {
         return this.completed();
     }
 
+    /**
+     * The decorator layout, learned from the first decorated line, is published in the diary so that
+     * the parsers can decode decorators without re-discovering them.
+     *
+     * @return the decorator layout or {@code null} if no decorated line has been seen.
+     */
+    public DecoratorLayout getDecoratorLayout() {
+        return decoratorLayout;
+    }
+
+    private DecoratorLayout learnDecoratorLayout(String line) {
+        if (decoratorLayout == null) {
+            decoratorLayout = DecoratorLayout.learn(line);
+            if (decoratorLayout != null)
+                diary.setDecorators(decoratorLayout.toString());
+        }
+        return decoratorLayout;
+    }
+
     /**
      * Extract decorators (from a GC log line tag) and set the corresponding diary flags accordingly
      *
      * @param line GC log line
      */
     private void extractDecorators(String line) {
-        Decorators decorators = new Decorators(line);
-        timeOfFirstEvent(decorators);
-        extractTagsAndLevels(decorators);
+        DecoratorLayout layout = learnDecoratorLayout(line);
+        if (layout == null)
+            return;
+        timeOfFirstEvent(layout.getDateTimeStamp(line));
+        Optional<UnifiedLoggingLevel> level = layout.getLogLevel(line);
+        String tags = layout.getTags(line);
+        extractTagsAndLevels(level, tags);
         // -Xlog:gc*,gc+ref=debug,gc+phases=debug,gc+age=trace,safepoint
-        if (decorators.getLogLevel().isPresent()) {
-            UnifiedLoggingLevel logLevel = decorators.getLogLevel().get();
-            if (decorators.tagsContain("gc,age"))
+        if (level.isPresent() && tags != null) {
+            UnifiedLoggingLevel logLevel = level.get();
+            if (tags.contains("gc,age"))
                 diary.setTrue(TENURING_DISTRIBUTION);
-            else if (decorators.tagsContain("ref") && logLevel.isGreaterThanOrEqualTo(UnifiedLoggingLevel.debug))
+            else if (tags.contains("ref") && logLevel.isGreaterThanOrEqualTo(UnifiedLoggingLevel.debug))
                 diary.setTrue(PRINT_REFERENCE_GC);
-            else if (decorators.tagsContain("gc,phases") && logLevel.isGreaterThanOrEqualTo(UnifiedLoggingLevel.debug))
+            else if (tags.contains("gc,phases") && logLevel.isGreaterThanOrEqualTo(UnifiedLoggingLevel.debug))
                 diary.setTrue(GC_DETAILS);
-            else if ( decorators.tagsContain("gc,ergo"))
+            else if ( tags.contains("gc,ergo"))
                 diary.setTrue(ADAPTIVE_SIZING);
-            else if (decorators.tagsContain("gc,cpu"))
+            else if (tags.contains("gc,cpu"))
             	diary.setTrue(PRINT_CPU_TIMES);
             
-            if (decorators.tagsContain("safepoint"))
+            if (tags.contains("safepoint"))
                 diary.setTrue(APPLICATION_STOPPED_TIME, APPLICATION_CONCURRENT_TIME);
 
             if (diary.isZGC()) {
-                if (decorators.tagsContain("task"))
+                if (tags.contains("task"))
                     diary.setTrue(GC_DETAILS);
-                else if (decorators.tagsContain("heap"))
+                else if (tags.contains("heap"))
                     diary.setTrue(PRINT_HEAP_AT_GC);
-                else if (decorators.tagsContain("tlab"))
+                else if (tags.contains("tlab"))
                     diary.setTrue(TLAB_DATA);
-                else if (decorators.tagsContain("gc,start") && line.contains("Garbage Collection ("))
+                else if (tags.contains("gc,start") && line.contains("Garbage Collection ("))
                     diary.setTrue(GC_CAUSE);
-                else if (decorators.tagsContain("gc,heap")) {
+                else if (tags.contains("gc,heap")) {
                     if (line.contains("Heap before GC"))
                         diary.setTrue(PRINT_HEAP_AT_GC);
                     diary.setTrue(GC_DETAILS);
-                } else if (decorators.tagsContain("gc,ref"))
+                } else if (tags.contains("gc,ref"))
                     diary.setTrue(PRINT_REFERENCE_GC);
-                else if (decorators.tagsContain("gc,heap") && decorators.getLogLevel().get() == UnifiedLoggingLevel.debug)
+                else if (tags.contains("gc,heap") && logLevel == UnifiedLoggingLevel.debug)
                     diary.setTrue(PRINT_HEAP_AT_GC);
             } else if (diary.isShenandoah()) {
-                if (decorators.tagsContain("gc,task") || decorators.tagsContain("gc,start"))
+                if (tags.contains("gc,task") || tags.contains("gc,start"))
                     diary.setTrue(GC_DETAILS);
-                else if (decorators.tagsContain("gc,ergo"))
+                else if (tags.contains("gc,ergo"))
                     diary.setTrue(ADAPTIVE_SIZING);
-                else if (decorators.tagsContain("gc") && line.contains("Trigger"))
+                else if (tags.contains("gc") && line.contains("Trigger"))
                     diary.setTrue(GC_CAUSE);
             }
         }
     }
 
-    private void timeOfFirstEvent(Decorators decorator) {
+    private void timeOfFirstEvent(DateTimeStamp dateTimeStamp) {
         if ( ! diary.hasTimeOfFirstEvent())
-            diary.setTimeOfFirstEvent(decorator.getDateTimeStamp());
+            diary.setTimeOfFirstEvent(dateTimeStamp);
     }
 
-    private void extractTagsAndLevels(Decorators decorators) {
-        tagsAndLevels.add(decorators.getLogLevel() + ":" + decorators.getTags());
+    private void extractTagsAndLevels(Optional<UnifiedLoggingLevel> level, String tags) {
+        tagsAndLevels.add(level + ":" + tags);
     }
 
     /*
@@ -0,0 +1,99 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.parser.jvm;
+
+import com.microsoft.gctoolkit.io.GCLogFile;
+import com.microsoft.gctoolkit.jvm.Diary;
+import com.microsoft.gctoolkit.message.LogRecord;
+import com.microsoft.gctoolkit.message.LogRecordDecoder;
+import com.microsoft.gctoolkit.parser.NumericDecoder;
+import com.microsoft.gctoolkit.parser.unified.UnifiedLoggingLevel;
+import com.microsoft.gctoolkit.time.DateTimeStamp;
+
+import java.util.Optional;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Decodes the decorators and the GC id (e.g., GC(42)) of each line in a unified log using the
+ * {@link DecoratorLayout} recorded in the diary by the {@link UnifiedDiarizer}.
+ */
+public class UnifiedLogRecordDecoder implements LogRecordDecoder {
+
+    private static final Logger LOGGER = Logger.getLogger(UnifiedLogRecordDecoder.class.getName());
+
+    // Equivalent to GCLogParser.GCID_COUNTER, " GC\\((\\d+)\\) "
+    private static final String GC_ID_PREFIX = " GC(";
+
+    private DecoratorLayout decoratorLayout;
+
+    public UnifiedLogRecordDecoder() {}
+
+    @Override
+    public boolean accepts(Diary diary) {
+        return diary.isUnifiedLogging();
+    }
+
+    @Override
+    public void diary(Diary diary) {
+        this.decoratorLayout = DecoratorLayout.of(diary.getDecorators());
+    }
+
+    /**
+     * Decode the date and time stamp decorators of a log line.
+     * @param line the log line
+     * @return the DateTimeStamp of the line, or {@code null} if the line isn't decorated
+     */
+    public DateTimeStamp getDateTimeStamp(String line) {
+        try {
+            if (decoratorLayout == null) {
+                // the diary didn't record a layout, learn it from the first decorated line
+                decoratorLayout = DecoratorLayout.learn(line);
+                if (decoratorLayout == null)
+                    return new Decorators(line).getDateTimeStamp();
+            }
+            return decoratorLayout.getDateTimeStamp(line);
+        } catch (Throwable t) {
+            LOGGER.log(Level.FINE, "[PARSING ERROR] " + line, t);
+            return null;
+        }
+    }
+
+    @Override
+    public LogRecord decode(String line) {
+        if (line.equals(GCLogFile.END_OF_DATA_SENTINEL))
+            return new LogRecord(line, null, null, null, LogRecord.NO_GC_ID, 0);
+
+        DateTimeStamp dateTimeStamp = getDateTimeStamp(line);
+        String tags = null;
+        String level = null;
+        int messageOffset = 0;
+        if (decoratorLayout != null) {
+            tags = decoratorLayout.getTags(line);
+            Optional<UnifiedLoggingLevel> logLevel = decoratorLayout.getLogLevel(line);
+            level = logLevel.map(UnifiedLoggingLevel::getLabel).orElse(null);
+            messageOffset = decoratorLayout.getMessageOffset(line);
+        }
+
+        int from = messageOffset;
+        int index;
+        while ((index = line.indexOf(GC_ID_PREFIX, from)) > -1) {
+            int start = index + GC_ID_PREFIX.length();
+            int end = start;
+            while (end < line.length() && Character.isDigit(line.charAt(end)))
+                end++;
+            if (end > start && end + 1 < line.length() && line.charAt(end) == ')' && line.charAt(end + 1) == ' ') {
+                try {
+                    return new LogRecord(line, dateTimeStamp, tags, level, NumericDecoder.parseInt(line, start, end), end + 2);
+                } catch (NumberFormatException nfe) {
+                    LOGGER.log(Level.FINE, "[PARSING ERROR] " + line, nfe);
+                }
+            }
+            from = index + 1;
+        }
+
+        if (messageOffset < line.length() && line.charAt(messageOffset) == ' ')
+            messageOffset++;
+        return new LogRecord(line, dateTimeStamp, tags, level, LogRecord.NO_GC_ID, messageOffset);
+    }
+}
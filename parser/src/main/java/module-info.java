@@ -27,6 +27,10 @@ module com.microsoft.gctoolkit.parser {
             com.microsoft.gctoolkit.parser.jvm.PreUnifiedDiarizer,
             com.microsoft.gctoolkit.parser.jvm.UnifiedDiarizer;
 
+    provides com.microsoft.gctoolkit.message.LogRecordDecoder with
+            com.microsoft.gctoolkit.parser.jvm.PreUnifiedLogRecordDecoder,
+            com.microsoft.gctoolkit.parser.jvm.UnifiedLogRecordDecoder;
+
     provides com.microsoft.gctoolkit.message.DataSourceParser with
             com.microsoft.gctoolkit.parser.JVMEventParser,
             com.microsoft.gctoolkit.parser.UnifiedJVMEventParser,
@@ -0,0 +1,69 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.parser;
+
+import com.microsoft.gctoolkit.parser.unified.ShenandoahPatterns;
+import com.microsoft.gctoolkit.parser.unified.UnifiedG1GCPatterns;
+import com.microsoft.gctoolkit.parser.unified.UnifiedGenerationalPatterns;
+import com.microsoft.gctoolkit.parser.unified.UnifiedPatterns;
+import com.microsoft.gctoolkit.parser.unified.ZGCPatterns;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.PatternSyntaxException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GCParseRuleTest {
+
+    /**
+     * The interfaces and classes that declare rules as constants.
+     */
+    static final Class<?>[] RULE_HOLDERS = {
+            CMSPatterns.class, G1GCPatterns.class, ICMSPatterns.class, JVMPatterns.class, ParallelPatterns.class,
+            PreUnifiedTokens.class, SerialPatterns.class, SharedPatterns.class, SimplePatterns.class,
+            TenuredPatterns.class, Tokens.class, GCLogParser.class,
+            ShenandoahPatterns.class, UnifiedG1GCPatterns.class, UnifiedGenerationalPatterns.class,
+            UnifiedPatterns.class, ZGCPatterns.class
+    };
+
+    static List<GCParseRule> declaredRules() throws IllegalAccessException {
+        List<GCParseRule> rules = new ArrayList<>();
+        for (Class<?> holder : RULE_HOLDERS)
+            for (Field field : holder.getDeclaredFields())
+                if (Modifier.isStatic(field.getModifiers()) && field.getType() == GCParseRule.class)
+                    rules.add((GCParseRule) field.get(null));
+        return rules;
+    }
+
+    @Test
+    public void patternIsCompiledOnFirstUse() {
+        GCParseRule rule = new GCParseRule("PAUSE", "Pause Young \\((\\w+)\\)");
+        assertFalse(rule.isCompiled());
+        assertEquals("PAUSE -> Pause Young \\((\\w+)\\)", rule.toString());
+        assertFalse(rule.isCompiled());
+        assertEquals("Normal", rule.parse("Pause Young (Normal) (G1 Evacuation Pause)").getGroup(1));
+        assertTrue(rule.isCompiled());
+        assertNull(rule.parse("Pause Remark"));
+    }
+
+    @Test
+    public void invalidPatternIsReportedOnFirstUse() {
+        GCParseRule rule = new GCParseRule("BROKEN", "Pause (Young");
+        assertThrows(PatternSyntaxException.class, () -> rule.parse("Pause Young"));
+    }
+
+    /**
+     * Patterns are no longer compiled when the rule tables are initialized, so make sure every rule still compiles.
+     */
+    @Test
+    public void everyDeclaredRuleCompiles() throws IllegalAccessException {
+        List<GCParseRule> rules = declaredRules();
+        assertTrue(rules.size() > 100);
+        for (GCParseRule rule : rules)
+            assertNotNull(rule.pattern(), rule.getName());
+    }
+}
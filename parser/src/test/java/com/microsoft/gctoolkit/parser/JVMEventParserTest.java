@@ -0,0 +1,90 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.parser;
+
+import com.microsoft.gctoolkit.event.jvm.ApplicationConcurrentTime;
+import com.microsoft.gctoolkit.event.jvm.ApplicationStoppedTime;
+import com.microsoft.gctoolkit.event.jvm.JVMEvent;
+import com.microsoft.gctoolkit.event.jvm.JVMTermination;
+import com.microsoft.gctoolkit.jvm.Diarizer;
+import com.microsoft.gctoolkit.parser.jvm.PreUnifiedDiarizer;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class JVMEventParserTest extends ParserTest {
+
+    @Override
+    protected Diarizer diarizer() {
+        return new PreUnifiedDiarizer();
+    }
+
+    @Override
+    protected GCLogParser parser() {
+        return new JVMEventParser();
+    }
+
+    @Test
+    public void stoppedAndConcurrentTimes() {
+        String[] lines = {
+                "CommandLine flags: -XX:+PrintGCApplicationConcurrentTime -XX:+PrintGCApplicationStoppedTime -XX:+PrintGCDetails -XX:+PrintGCTimeStamps -XX:+UseConcMarkSweepGC -XX:+UseParNewGC",
+                "1.500: Application time: 1.2500000 seconds",
+                "1.500: [GC (Allocation Failure) 1.500: [ParNew: 32671K->3538K(349568K), 0.0082400 secs] 35230K->6078K(354944K), 0.0082790 secs] [Times: user=0.06 sys=0.00, real=0.01 secs] ",
+                "1.509: Total time for which application threads were stopped: 0.0090000 seconds, Stopping threads took: 0.0001000 seconds",
+                "2.000: Application time: 0.4910000 seconds",
+                "2.000: Total time for which application threads were stopped: 0.0050000 seconds",
+                "2024-01-01T00:00:02.500+0000: 2.500: Total time for which application threads were stopped: 0.0020000 seconds, Stopping threads took: 0.0000500 seconds",
+                GCLogParser.END_OF_DATA_SENTINEL
+        };
+        List<JVMEvent> events = feedParser(lines);
+        assertEquals(6, events.size(), events::toString);
+
+        ApplicationConcurrentTime concurrent = (ApplicationConcurrentTime) events.get(0);
+        assertEquals(1.5d, concurrent.getDateTimeStamp().getTimeStamp());
+        assertDoubleEquals(1.25d, concurrent.getDuration());
+
+        ApplicationStoppedTime stopped = (ApplicationStoppedTime) events.get(1);
+        assertEquals(1.509d, stopped.getDateTimeStamp().getTimeStamp());
+        assertDoubleEquals(0.009d, stopped.getDuration());
+        assertDoubleEquals(0.0001d, stopped.getTimeToStopThreads());
+        assertTrue(stopped.isGCPause());
+
+        assertDoubleEquals(0.491d, events.get(2).getDuration());
+
+        stopped = (ApplicationStoppedTime) events.get(3);
+        assertDoubleEquals(0.005d, stopped.getDuration());
+        assertFalse(stopped.hasTTSP());
+        assertFalse(stopped.isGCPause());
+
+        stopped = (ApplicationStoppedTime) events.get(4);
+        assertEquals(2.5d, stopped.getDateTimeStamp().getTimeStamp());
+        assertTrue(stopped.getDateTimeStamp().hasDateStamp());
+        assertDoubleEquals(0.002d, stopped.getDuration());
+        assertDoubleEquals(0.00005d, stopped.getTimeToStopThreads());
+
+        assertTrue(events.get(5) instanceof JVMTermination);
+    }
+
+    @Test
+    public void stoppedTimesWithoutTimeStamps() {
+        String[] lines = {
+                "CommandLine flags: -XX:+PrintGCApplicationStoppedTime -XX:+PrintGCDetails -XX:+PrintGCTimeStamps -XX:+UseParallelGC",
+                "1.000: [GC (Allocation Failure) [PSYoungGen: 33280K->5104K(38400K)] 33280K->5112K(125952K), 0.0052840 secs] [Times: user=0.01 sys=0.00, real=0.01 secs] ",
+                "Total time for which application threads were stopped: 0.0060000 seconds",
+                "Application time: 0.9940000 seconds",
+                "2.000: [GC (Allocation Failure) [PSYoungGen: 38384K->5104K(71680K)] 38392K->5120K(159232K), 0.0041230 secs] [Times: user=0.01 sys=0.00, real=0.00 secs] ",
+                GCLogParser.END_OF_DATA_SENTINEL
+        };
+        List<JVMEvent> events = feedParser(lines);
+        assertEquals(3, events.size(), events::toString);
+        assertTrue(events.get(0) instanceof ApplicationStoppedTime);
+        assertDoubleEquals(0.006d, events.get(0).getDuration());
+        assertTrue(events.get(1) instanceof ApplicationConcurrentTime);
+        assertDoubleEquals(0.994d, events.get(1).getDuration());
+        assertTrue(events.get(2) instanceof JVMTermination);
+    }
+}
@@ -0,0 +1,78 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.parser;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class NumericDecoderTest {
+
+    private static final String[] decimals = {
+            "0.000", "0.0018229", "1.361", "15.316", "-0.5", "57724.218", "123456789.123456789", "1e-5", "12345678901234.5"
+    };
+
+    @Test
+    public void decimalsMatchDoubleParseDouble() {
+        for (String decimal : decimals) {
+            String line = "[" + decimal + "s]";
+            assertEquals(Double.parseDouble(decimal), NumericDecoder.parseDecimal(line, 1, line.length() - 2), decimal);
+        }
+    }
+
+    @Test
+    public void europeanDecimalSeparator() {
+        assertEquals(1.361d, NumericDecoder.parseDecimal("1,361"));
+        assertEquals(0.0018229d, NumericDecoder.parseDecimal("real=0,0018229 secs", 5, 14));
+    }
+
+    @Test
+    public void randomDecimalsMatchDoubleParseDouble() {
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            String decimal = random.nextInt(1_000_000) + "." + random.nextInt(10_000_000);
+            assertEquals(Double.parseDouble(decimal), NumericDecoder.parseDecimal(decimal), decimal);
+        }
+    }
+
+    @Test
+    public void longsAndInts() {
+        String line = "GC(1234) Pause Young 24576K->1088K(262144K)";
+        assertEquals(1234L, NumericDecoder.parseLong(line, 3, 7));
+        assertEquals(24576, NumericDecoder.parseInt(line, 21, 26));
+        assertEquals(Long.MAX_VALUE, NumericDecoder.parseLong(String.valueOf(Long.MAX_VALUE), 0, 19));
+        assertEquals(-42L, NumericDecoder.parseLong("-42", 0, 3));
+    }
+
+    @Test
+    public void malformedFields() {
+        assertThrows(NumberFormatException.class, () -> NumericDecoder.parseLong("1.5", 0, 3));
+        assertThrows(NumberFormatException.class, () -> NumericDecoder.parseLong("123", -1, -1));
+        assertThrows(NumberFormatException.class, () -> NumericDecoder.parseInt("99999999999", 0, 11));
+        assertThrows(NumberFormatException.class, () -> NumericDecoder.parseDecimal(null));
+        assertThrows(NumberFormatException.class, () -> NumericDecoder.parseDecimal("-", 0, 1));
+    }
+
+    @Test
+    public void memoryUnits() {
+        assertEquals(2048L, NumericDecoder.toKBytes(2L, 'M'));
+        assertEquals(2L * 1024L * 1024L, NumericDecoder.toKBytes(2L, 'g'));
+        assertEquals(3L, NumericDecoder.toKBytes(3L, 'K'));
+        assertEquals(2L, NumericDecoder.toKBytes(2048L, 'B'));
+        assertEquals(1536.0d, NumericDecoder.toKBytes(1.5d, 'M'));
+        assertThrows(IllegalArgumentException.class, () -> NumericDecoder.toKBytes(1L, 'X'));
+    }
+
+    @Test
+    public void traceGroupsAreDecodedInPlace() {
+        GCParseRule rule = new GCParseRule("TEST", GenericTokens.BEFORE_AFTER_CONFIGURED_PAUSE);
+        GCLogTrace trace = rule.parse("[gc] GC(3) Pause Young (Normal) 24M->2M(256M) 3,145ms");
+        assertEquals(24L * 1024L, trace.toKBytes(1));
+        assertEquals(2L * 1024L, trace.toKBytes(3));
+        assertEquals(256L * 1024L, trace.toKBytes(5));
+        assertEquals(3.145d, trace.getDoubleGroup(7));
+    }
+}
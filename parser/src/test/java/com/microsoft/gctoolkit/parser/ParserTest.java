@@ -8,14 +8,21 @@ import com.microsoft.gctoolkit.event.MemoryPoolSummary;
 import com.microsoft.gctoolkit.event.SurvivorMemoryPoolSummary;
 import com.microsoft.gctoolkit.event.jvm.JVMEvent;
 import com.microsoft.gctoolkit.jvm.Diarizer;
+import com.microsoft.gctoolkit.jvm.Diary;
 import com.microsoft.gctoolkit.message.ChannelName;
 import com.microsoft.gctoolkit.message.JVMEventChannel;
 import com.microsoft.gctoolkit.message.JVMEventChannelListener;
+import com.microsoft.gctoolkit.message.LogRecord;
 import org.junit.jupiter.api.BeforeEach;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -64,6 +71,104 @@ public abstract class ParserTest {
         return channel.events();
     }
 
+    /**
+     * Feeds the lines to a parser other than the one set up for the test, such as one that parses in shards or
+     * that is configured to consume, report or profile, with the diary a Diarizer of the test makes of the lines.
+     *
+     * @param parser The parser to feed the lines to.
+     * @param lines The GC log lines to be fed to the parser.
+     * @return The list of JVMEvents from the parsed lines.
+     */
+    protected List<JVMEvent> feedParser(GCLogParser parser, String[] lines) {
+        ParserTestSupportChannel events = new ParserTestSupportChannel();
+        parser.publishTo(events);
+        parser.diary(diary(lines));
+        Arrays.stream(lines).forEach(parser::receive);
+        return events.events();
+    }
+
+    /**
+     * Feeds the lines to a parser as if the log had been rotated every segmentLength lines. A segment starts
+     * at the first time found in it.
+     *
+     * @param parser The parser to feed the lines to.
+     * @param lines The GC log lines to be fed to the parser.
+     * @param segmentLength The number of lines in each segment.
+     * @return The list of JVMEvents from the parsed lines.
+     */
+    protected List<JVMEvent> feedParserInSegments(GCLogParser parser, String[] lines, int segmentLength) {
+        ParserTestSupportChannel events = new ParserTestSupportChannel();
+        parser.publishTo(events);
+        parser.diary(diary(lines));
+        ArrayDeque<LogRecord> records = new ArrayDeque<>();
+        double startTime = -1.0d;
+        for (int i = lines.length - 1; i >= 0; i--) {
+            LogRecord record = parser.decode(lines[i]);
+            if (record.getDateTimeStamp() != null && record.getDateTimeStamp().hasTimeStamp())
+                startTime = record.getDateTimeStamp().getTimeStamp();
+            if (i % segmentLength == 0 && !record.isEndOfData())
+                records.addFirst(record.startOfSegment(startTime));
+            else
+                records.addFirst(record);
+        }
+        records.forEach(parser::receive);
+        return events.events();
+    }
+
+    private Diary diary(String[] lines) {
+        Diarizer linesDiarizer = diarizer();
+        Arrays.stream(lines).forEach(linesDiarizer::diarize);
+        return linesDiarizer.getDiary();
+    }
+
+    /**
+     * Common check that two ways of parsing a log publish the same events, in the same order.
+     *
+     * @param expected
+     * @param actual
+     */
+    protected void assertEventsMatch(List<JVMEvent> expected, List<JVMEvent> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getClass(), actual.get(i).getClass());
+            assertEquals(expected.get(i).getDateTimeStamp(), actual.get(i).getDateTimeStamp());
+            assertEquals(expected.get(i).getDuration(), actual.get(i).getDuration(), 0.0d);
+        }
+    }
+
+    /**
+     * Collects the warnings a parser class logs while the lines are parsed, such as for an event it can't build.
+     * Shard parsers log from the threads they run on.
+     *
+     * @param parserClass The class whose logger is listened to.
+     * @param parse Parses the lines.
+     * @return The messages of the warnings logged.
+     */
+    protected List<String> warningsLoggedBy(Class<? extends GCLogParser> parserClass, Runnable parse) {
+        List<String> warnings = Collections.synchronizedList(new ArrayList<>());
+        Handler handler = new Handler() {
+            @Override
+            public void publish(java.util.logging.LogRecord record) {
+                if (record.getLevel().intValue() >= Level.WARNING.intValue())
+                    warnings.add(record.getMessage());
+            }
+
+            @Override
+            public void flush() {}
+
+            @Override
+            public void close() {}
+        };
+        Logger logger = Logger.getLogger(parserClass.getName());
+        logger.addHandler(handler);
+        try {
+            parse.run();
+        } finally {
+            logger.removeHandler(handler);
+        }
+        return warnings;
+    }
+
     /**
      * Common check for all GC events that report on memory.
      *
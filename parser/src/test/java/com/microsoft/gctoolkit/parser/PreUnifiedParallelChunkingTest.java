@@ -0,0 +1,101 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.parser;
+
+import com.microsoft.gctoolkit.event.jvm.JVMEvent;
+import com.microsoft.gctoolkit.event.jvm.JVMTermination;
+import com.microsoft.gctoolkit.io.GCLogFile;
+import com.microsoft.gctoolkit.jvm.Diarizer;
+import com.microsoft.gctoolkit.parser.jvm.PreUnifiedDiarizer;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PreUnifiedParallelChunkingTest extends ParserTest {
+
+    @Override
+    protected Diarizer diarizer() {
+        return new PreUnifiedDiarizer();
+    }
+
+    @Override
+    protected GCLogParser parser() {
+        return new GenerationalHeapParser(0);
+    }
+
+    private double uptime = 40.0d;
+
+    private String stamp() {
+        uptime += 0.013d;
+        return String.format(Locale.US, "%.3f", uptime);
+    }
+
+    private void parNew(List<String> lines) {
+        String t = stamp();
+        lines.add(t + ": [GC (Allocation Failure)" + t + ": [ParNew: 32671K->35386K(349568K), 0.0082400 secs] 35230K->38078K(354944K), 0.0082790 secs] [Times: user=0.06 sys=0.00, real=0.01 secs]");
+    }
+
+    private void concurrentPhase(List<String> lines, String phase, int youngCollections) {
+        lines.add(stamp() + ": [CMS-concurrent-" + phase + "-start]");
+        for (int i = 0; i < youngCollections; i++)
+            parNew(lines);
+        lines.add(stamp() + ": [CMS-concurrent-" + phase + ": 0.005/0.005 secs] [Times: user=0.03 sys=0.00, real=0.00 secs]");
+    }
+
+    private void cmsCycle(List<String> lines) {
+        lines.add(stamp() + ": [GC (CMS Initial Mark) [1 CMS-initial-mark: 2692K(5376K)] 38078K(354944K), 0.0147940 secs] [Times: user=0.01 sys=0.00, real=0.02 secs]");
+        concurrentPhase(lines, "mark", 2);
+        concurrentPhase(lines, "preclean", 0);
+        concurrentPhase(lines, "abortable-preclean", 1);
+        String t = stamp();
+        lines.add(t + ": [GC (CMS Final Remark)[YG occupancy: 206871 K (349568 K)]" + t + ": [Rescan (parallel) , 0.0696600 secs]" + t + ": [weak refs processing, 0.0000440 secs]" + t + ": [scrub string table, 0.0001880 secs] [1 CMS-remark: 2692K(5376K)] 209564K(354944K), 0.0699640 secs] [Times: user=0.50 sys=0.01, real=0.07 secs]");
+        concurrentPhase(lines, "sweep", 1);
+        concurrentPhase(lines, "reset", 0);
+    }
+
+    private String[] log() {
+        List<String> lines = new ArrayList<>();
+        lines.add("Java HotSpot(TM) 64-Bit Server VM (25.60-b23) for linux-amd64 JRE (1.8.0_60-b27), built on Aug  4 2015 12:19:40 by \"java_re\" with gcc 4.3.0 20080428 (Red Hat 4.3.2-1)");
+        lines.add("CommandLine flags: -XX:+PrintGCDetails -XX:+UseConcMarkSweepGC -XX:+UseParNewGC");
+        for (int i = 0; i < 20; i++) {
+            if (i % 5 == 3)
+                cmsCycle(lines);
+            else
+                parNew(lines);
+        }
+        lines.add(GCLogFile.END_OF_DATA_SENTINEL);
+        return lines.toArray(new String[0]);
+    }
+
+    @Test
+    public void chunkedGenerationalParsingMatchesSequentialParsing() {
+        String[] lines = log();
+        List<JVMEvent> sequential = feedParser(lines);
+        assertTrue(sequential.size() > 20);
+        assertTrue(sequential.get(sequential.size() - 1) instanceof JVMTermination);
+        for (int shardSize : new int[] { 1, 3, 8, 25, 100_000 })
+            assertEventsMatch(sequential, feedParser(new GenerationalHeapParser(shardSize), lines));
+    }
+
+    @Test
+    public void chunkedCMSTenuredParsingMatchesSequentialParsing() {
+        String[] lines = log();
+        List<JVMEvent> sequential = feedParser(new CMSTenuredPoolParser(0), lines);
+        assertTrue(sequential.size() > 20);
+        assertTrue(sequential.get(sequential.size() - 1) instanceof JVMTermination);
+        for (int shardSize : new int[] { 1, 3, 8, 25, 100_000 })
+            assertEventsMatch(sequential, feedParser(new CMSTenuredPoolParser(shardSize), lines));
+    }
+
+    @Test
+    public void segmentedParsingMatchesSequentialParsing() {
+        String[] lines = log();
+        List<JVMEvent> sequential = feedParser(lines);
+        for (int segmentLength : new int[] { 5, 13, 50 })
+            assertEventsMatch(sequential, feedParserInSegments(new GenerationalHeapParser(100_000), lines, segmentLength));
+    }
+}
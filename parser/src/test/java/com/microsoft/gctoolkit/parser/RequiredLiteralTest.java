@@ -0,0 +1,86 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.parser;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RequiredLiteralTest {
+
+    @Test
+    public void literalsOutsideOfGroups() {
+        assertEquals("Pause Young (", RequiredLiteral.of("Pause Young \\((\\w+)\\)"));
+        assertEquals("[1 CMS-remark: ", RequiredLiteral.of("\\[1 CMS-remark: (\\d+)K"));
+        assertEquals("Concurrent Mark From Roots", RequiredLiteral.of("^Concurrent Mark From Roots$"));
+        assertEquals(": Using ", RequiredLiteral.of("(\\d+\\.\\d+): Using (\\d+) workers"));
+    }
+
+    @Test
+    public void optionalAndRepeatedAtomsAreLeftOut() {
+        assertEquals("abc", RequiredLiteral.of("abcd?"));
+        assertEquals("abc", RequiredLiteral.of("abcd*"));
+        assertEquals("abc", RequiredLiteral.of("abcd{0,2}"));
+        assertEquals(" Register", RequiredLiteral.of("Regions+ Register"));
+        assertEquals("Pause", RequiredLiteral.of("Pause\\s+Young"));
+        assertEquals(" secs", RequiredLiteral.of("[0-9]+ secs\\.?"));
+    }
+
+    @Test
+    public void noLiteral() {
+        assertNull(RequiredLiteral.of("Pause Young|Pause Full"));
+        assertNull(RequiredLiteral.of("(?i)pause young"));
+        assertNull(RequiredLiteral.of("\\QPause Young\\E"));
+        assertNull(RequiredLiteral.of("(Pause Young)"));
+        assertNull(RequiredLiteral.of("ab\\d+"));
+        assertNull(RequiredLiteral.of("\\u0050ause"));
+    }
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("\"((?:[^\"\\\\]++|\\\\.)++)\"");
+
+    /**
+     * Log lines found in the parser tests, along with the example G1 lines kept at the root of the project.
+     */
+    private List<String> sampleLines() throws IOException {
+        List<String> lines = new ArrayList<>();
+        Path examples = Paths.get("..", "unifiedg1rules.txt");
+        if (Files.exists(examples))
+            lines.addAll(Files.readAllLines(examples));
+        try (Stream<Path> tests = Files.walk(Paths.get("src", "test", "java"))) {
+            for (Path test : tests.filter(path -> path.toString().endsWith(".java")).collect(Collectors.toList())) {
+                Matcher matcher = STRING_LITERAL.matcher(Files.readString(test));
+                while (matcher.find())
+                    lines.add(matcher.group(1).replace("\\\"", "\"").replace("\\\\", "\\"));
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * Turning lines away on the required literal must never change whether a rule matches.
+     */
+    @Test
+    public void rulesMatchTheSameLines() throws IOException, IllegalAccessException {
+        List<String> lines = sampleLines();
+        assertTrue(lines.size() > 1000);
+        int filtered = 0;
+        for (GCParseRule rule : GCParseRuleTest.declaredRules()) {
+            if (rule.requiredLiteral() != null)
+                filtered++;
+            for (String line : lines)
+                assertEquals(rule.pattern().matcher(line).find(), rule.parse(line) != null, rule + " on " + line);
+        }
+        assertTrue(filtered > 100);
+    }
+}
@@ -0,0 +1,79 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.parser;
+
+import com.microsoft.gctoolkit.jvm.Diarizer;
+import com.microsoft.gctoolkit.jvm.RuleProfile;
+import com.microsoft.gctoolkit.parser.jvm.UnifiedDiarizer;
+import com.microsoft.gctoolkit.parser.unified.UnifiedG1GCPatterns;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RuleProfileTest extends ParserTest {
+
+    @Override
+    protected Diarizer diarizer() {
+        return new UnifiedDiarizer();
+    }
+
+    @Override
+    protected GCLogParser parser() {
+        return new UnifiedG1GCParser(0);
+    }
+
+    private RuleProfile parse(GCLogParser parser, String[] lines, boolean profiled) {
+        RuleProfile ruleProfile = new RuleProfile();
+        if (profiled)
+            parser.profileRulesTo(ruleProfile);
+        feedParser(parser, lines);
+        return ruleProfile;
+    }
+
+    private RuleProfile.Rule rule(RuleProfile ruleProfile, GCParseRule rule) {
+        return ruleProfile.getRules().stream()
+                .filter(candidate -> candidate.getRule().equals(rule.getName()))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    @Test
+    public void everyRuleTriedIsProfiled() {
+        String[] lines = UnifiedG1GCTestLog.lines();
+        long cpuLines = Arrays.stream(lines).filter(line -> line.contains("User=")).count();
+        GCLogParser parser = new UnifiedG1GCParser(0);
+        RuleProfile ruleProfile = parse(parser, lines, true);
+
+        assertTrue(ruleProfile.getRules().size() > 10);
+        for (RuleProfile.Rule rule : ruleProfile.getRules()) {
+            assertEquals(parser.getName(), rule.getParser());
+            assertEquals(rule.getAttempts(), rule.getHits() + rule.getMisses());
+            assertTrue(rule.getHits() > 0 || rule.getHandlerNanos() == 0L);
+        }
+        RuleProfile.Rule cpuBreakout = rule(ruleProfile, UnifiedG1GCPatterns.CPU_BREAKOUT);
+        assertEquals(cpuLines, cpuBreakout.getHits());
+        assertTrue(cpuBreakout.getMatchNanos() > 0L);
+        assertTrue(cpuBreakout.getHandlerNanos() > 0L);
+        assertTrue(ruleProfile.toString().contains(UnifiedG1GCPatterns.CPU_BREAKOUT.getName()));
+    }
+
+    @Test
+    public void shardParsersRecordToTheOwnersProfile() {
+        String[] lines = UnifiedG1GCTestLog.lines();
+        RuleProfile sequential = parse(new UnifiedG1GCParser(0), lines, true);
+        RuleProfile sharded = parse(new UnifiedG1GCParser(7), lines, true);
+        // seams are parsed twice
+        long hits = rule(sequential, UnifiedG1GCPatterns.CPU_BREAKOUT).getHits();
+        assertTrue(rule(sharded, UnifiedG1GCPatterns.CPU_BREAKOUT).getHits() >= hits);
+    }
+
+    @Test
+    public void rulesAreNotProfiledUnlessAsked() {
+        String[] lines = UnifiedG1GCTestLog.lines();
+        assertTrue(parse(new UnifiedG1GCParser(0), lines, false).isEmpty());
+        assertTrue(parse(new UnifiedG1GCParser(7), lines, false).isEmpty());
+    }
+}
@@ -0,0 +1,112 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.parser;
+
+import com.microsoft.gctoolkit.event.g1gc.G1GCConcurrentEvent;
+import com.microsoft.gctoolkit.event.g1gc.G1Young;
+import com.microsoft.gctoolkit.event.jvm.JVMEvent;
+import com.microsoft.gctoolkit.event.jvm.JVMTermination;
+import com.microsoft.gctoolkit.event.jvm.SurvivorRecord;
+import com.microsoft.gctoolkit.jvm.Diarizer;
+import com.microsoft.gctoolkit.jvm.RuleProfile;
+import com.microsoft.gctoolkit.jvm.UnmatchedLines;
+import com.microsoft.gctoolkit.parser.jvm.UnifiedDiarizer;
+import com.microsoft.gctoolkit.parser.unified.UnifiedG1GCPatterns;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class UnifiedG1GCParserDemandTest extends ParserTest {
+
+    @Override
+    protected Diarizer diarizer() {
+        return new UnifiedDiarizer();
+    }
+
+    @Override
+    protected GCLogParser parser() {
+        return new UnifiedG1GCParser(0);
+    }
+
+    private List<JVMEvent> parse(GCLogParser parser, Set<Class<? extends JVMEvent>> eventTypes, String[] lines) {
+        parser.consumes(eventTypes);
+        return feedParser(parser, lines);
+    }
+
+    private List<JVMEvent> consumed(List<JVMEvent> events, Class<? extends JVMEvent> eventType) {
+        return events.stream()
+                .filter(event -> eventType.isInstance(event) || event instanceof JVMTermination)
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    public void onlyConsumedPausesArePublished() {
+        String[] lines = UnifiedG1GCTestLog.lines();
+        List<JVMEvent> expected = consumed(feedParser(lines), G1Young.class);
+        assertTrue(expected.size() > 10);
+        for (int shardSize : new int[] { 0, 7, 100_000 })
+            assertEventsMatch(expected, parse(new UnifiedG1GCParser(shardSize), Set.of(G1Young.class), lines));
+    }
+
+    @Test
+    public void concurrentPhasesAreParsedWithoutPauseDetails() {
+        String[] lines = UnifiedG1GCTestLog.lines();
+        List<JVMEvent> expected = consumed(feedParser(lines), G1GCConcurrentEvent.class);
+        assertTrue(expected.size() > 10);
+        for (int shardSize : new int[] { 0, 7, 100_000 })
+            assertEventsMatch(expected, parse(new UnifiedG1GCParser(shardSize), Set.of(G1GCConcurrentEvent.class), lines));
+    }
+
+    @Test
+    public void pauseDetailsAreNotMatchedUnlessPausesAreConsumed() {
+        String[] lines = UnifiedG1GCTestLog.lines();
+        UnmatchedLines everything = new UnmatchedLines();
+        UnifiedG1GCParser parser = new UnifiedG1GCParser(0);
+        parser.reportUnmatchedLinesTo(everything);
+        feedParser(parser, lines);
+
+        UnmatchedLines concurrent = new UnmatchedLines();
+        RuleProfile ruleProfile = new RuleProfile();
+        parser = new UnifiedG1GCParser(0);
+        parser.reportUnmatchedLinesTo(concurrent);
+        parser.profileRulesTo(ruleProfile);
+        parse(parser, Set.of(G1GCConcurrentEvent.class), lines);
+        Set<String> tried = ruleProfile.getRules().stream().map(RuleProfile.Rule::getRule).collect(Collectors.toSet());
+        assertTrue(tried.contains(UnifiedG1GCPatterns.CPU_BREAKOUT.getName()));
+        assertFalse(tried.contains(UnifiedG1GCPatterns.OTHER.getName()));
+        assertFalse(tried.contains(UnifiedG1GCPatterns.REGION_SUMMARY.getName()));
+        // the lines of the details are skipped, not reported as unmatched
+        assertEquals(everything.getCount(), concurrent.getCount());
+    }
+
+    @Test
+    public void consumingEverythingChangesNothing() {
+        String[] lines = UnifiedG1GCTestLog.lines();
+        assertEventsMatch(feedParser(lines), parse(new UnifiedG1GCParser(0), Set.of(JVMEvent.class), lines));
+    }
+
+    @Test
+    public void testLogParsesWithoutWarnings() {
+        String[] lines = UnifiedG1GCTestLog.lines();
+        assertEquals(List.of(), warningsLoggedBy(UnifiedG1GCParser.class, () -> feedParser(new UnifiedG1GCParser(0), lines)));
+        assertEquals(List.of(), warningsLoggedBy(UnifiedG1GCParser.class,
+                () -> parse(new UnifiedG1GCParser(0), Set.of(G1GCConcurrentEvent.class), lines)));
+    }
+
+    @Test
+    public void parserWithoutConsumersOnlyTerminates() {
+        String[] lines = UnifiedG1GCTestLog.lines();
+        UnifiedG1GCParser parser = new UnifiedG1GCParser(7);
+        List<JVMEvent> events = parse(parser, Set.of(SurvivorRecord.class), lines);
+        assertTrue(parser.isIdle());
+        assertEquals(1, events.size());
+        assertTrue(events.get(0) instanceof JVMTermination);
+        assertFalse(parser.isConsumed(G1Young.class));
+    }
+}
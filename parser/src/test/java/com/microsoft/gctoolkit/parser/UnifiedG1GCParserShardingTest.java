@@ -0,0 +1,76 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.parser;
+
+import com.microsoft.gctoolkit.event.jvm.JVMEvent;
+import com.microsoft.gctoolkit.event.jvm.JVMTermination;
+import com.microsoft.gctoolkit.jvm.Diarizer;
+import com.microsoft.gctoolkit.parser.jvm.UnifiedDiarizer;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class UnifiedG1GCParserShardingTest extends ParserTest {
+
+    @Override
+    protected Diarizer diarizer() {
+        return new UnifiedDiarizer();
+    }
+
+    @Override
+    protected GCLogParser parser() {
+        return new UnifiedG1GCParser(0);
+    }
+
+    @Test
+    public void shardedParsingMatchesSequentialParsing() {
+        String[] lines = UnifiedG1GCTestLog.lines();
+        List<JVMEvent> sequential = feedParser(lines);
+        assertTrue(sequential.size() > 20);
+        assertTrue(sequential.get(sequential.size() - 1) instanceof JVMTermination);
+        for (int shardSize : new int[] { 1, 7, 40, 100, 100_000 })
+            assertEventsMatch(sequential, feedParser(new UnifiedG1GCParser(shardSize), lines));
+    }
+
+    @Test
+    public void shardedParsingWarnsAsSequentialParsingDoes() {
+        // a cpu line of a collection whose other lines are missing, which is the only line warned about
+        List<String> log = new ArrayList<>(Arrays.asList(UnifiedG1GCTestLog.lines()));
+        String last = log.get(log.size() - 2);
+        log.add(log.size() - 1, last.substring(0, last.indexOf(']') + 1) + "[info][gc,cpu      ] GC(100) User=0.00s Sys=0.00s Real=0.00s");
+        String[] lines = log.toArray(new String[0]);
+        List<String> sequential = warningsLoggedBy(UnifiedG1GCParser.class, () -> feedParser(new UnifiedG1GCParser(0), lines));
+        assertEquals(1, sequential.size());
+        // speculative parsers that start part way through a concurrent cycle don't warn about the cycle
+        for (int shardSize : new int[] { 1, 7, 40, 100_000 })
+            assertEquals(sequential, warningsLoggedBy(UnifiedG1GCParser.class, () -> feedParser(new UnifiedG1GCParser(shardSize), lines)));
+    }
+
+    @Test
+    public void segmentedParsingMatchesSequentialParsing() {
+        String[] lines = UnifiedG1GCTestLog.lines();
+        List<JVMEvent> sequential = feedParser(lines);
+        for (int segmentLength : new int[] { 5, 13, 50 })
+            assertEventsMatch(sequential, feedParserInSegments(new UnifiedG1GCParser(100_000), lines, segmentLength));
+    }
+
+    @Test
+    public void shardsAreCutWithoutTheEndOfACycle() {
+        // the first concurrent cycle never ends, so there is no safe place to cut after it starts
+        String[] lines = Arrays.stream(UnifiedG1GCTestLog.lines())
+                .filter(line -> !line.endsWith("GC(4) Concurrent Mark Cycle 30.000ms"))
+                .toArray(String[]::new);
+        assertEquals(UnifiedG1GCTestLog.lines().length - 1, lines.length);
+        List<JVMEvent> sequential = feedParser(lines);
+        for (int shardSize : new int[] { 7, 40 }) {
+            UnifiedG1GCParser parser = new UnifiedG1GCParser(shardSize);
+            assertEventsMatch(sequential, feedParser(parser, lines));
+            assertTrue(parser.shards().largestShard() <= ParallelShards.MAXIMUM_SHARD_SIZES * shardSize);
+        }
+    }
+}
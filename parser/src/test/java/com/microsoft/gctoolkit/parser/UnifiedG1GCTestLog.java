@@ -0,0 +1,97 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.parser;
+
+import com.microsoft.gctoolkit.io.GCLogFile;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * A unified G1 log of young collections and concurrent cycles, in which a young collection runs during concurrent
+ * marking, for the tests that parse a log in more than one way and compare the events.
+ */
+final class UnifiedG1GCTestLog {
+
+    private final List<String> lines = new ArrayList<>();
+    private double uptime = 0.250d;
+
+    private UnifiedG1GCTestLog() {
+    }
+
+    /**
+     * @return the lines of the log, ending with the end of data
+     */
+    static String[] lines() {
+        return new UnifiedG1GCTestLog().log();
+    }
+
+    private String[] log() {
+        line("gc,init", -1, "Version: 17.0.2+8-86 (release)");
+        line("gc", -1, "Using G1");
+        line("gc,init", -1, "Heap Region Size: 1M");
+        line("gc,init", -1, "Heap Min Capacity: 8M");
+        line("gc,init", -1, "Heap Initial Capacity: 104M");
+        line("gc,init", -1, "Heap Max Capacity: 1634M");
+        int gcId = 0;
+        for (int i = 0; i < 20; i++) {
+            if (i % 5 == 3) {
+                concurrentCycle(gcId);
+                gcId += 3;
+            } else
+                youngCollection(gcId++, "Normal");
+        }
+        lines.add(GCLogFile.END_OF_DATA_SENTINEL);
+        return lines.toArray(new String[0]);
+    }
+
+    private void line(String tags, int gcId, String message) {
+        uptime += 0.001d;
+        String gc = (gcId < 0) ? "" : "GC(" + gcId + ") ";
+        lines.add(String.format(Locale.US, "[%.3fs][info][%-12s] %s%s", uptime, tags, gc, message));
+    }
+
+    private void youngCollection(int gcId, String type) {
+        line("gc,start", gcId, "Pause Young (" + type + ") (G1 Evacuation Pause)");
+        line("gc,task", gcId, "Using 2 workers of 2 for evacuation");
+        line("gc,phases", gcId, "  Pre Evacuate Collection Set: 0.1ms");
+        line("gc,phases", gcId, "  Merge Heap Roots: 0.0ms");
+        line("gc,phases", gcId, "  Evacuate Collection Set: 4.3ms");
+        line("gc,phases", gcId, "  Post Evacuate Collection Set: 0.3ms");
+        line("gc,phases", gcId, "  Other: 0.1ms");
+        line("gc,heap", gcId, "Eden regions: 8->0(60)");
+        line("gc,heap", gcId, "Survivor regions: 1->2(2)");
+        line("gc,heap", gcId, "Old regions: " + gcId + "->" + (gcId + 1));
+        line("gc,heap", gcId, "Humongous regions: 3->3");
+        line("gc,metaspace", gcId, "Metaspace: 3551K(3712K)->3551K(3712K) NonClass: 3113K(3200K)->3113K(3200K) Class: 438K(512K)->438K(512K)");
+        line("gc", gcId, "Pause Young (" + type + ") (G1 Evacuation Pause) " + (12 + gcId) + "M->5M(106M) 4.985ms");
+        line("gc,cpu", gcId, "User=0.00s Sys=0.00s Real=0.00s");
+    }
+
+    private void concurrentCycle(int gcId) {
+        youngCollection(gcId, "Concurrent Start");
+        int cycle = gcId + 1;
+        line("gc", cycle, "Concurrent Mark Cycle");
+        line("gc,marking", cycle, "Concurrent Clear Claimed Marks");
+        line("gc,marking", cycle, "Concurrent Clear Claimed Marks 0.010ms");
+        line("gc,marking", cycle, "Concurrent Scan Root Regions");
+        line("gc,marking", cycle, "Concurrent Scan Root Regions 1.000ms");
+        line("gc,marking", cycle, "Concurrent Mark (0.300s)");
+        line("gc,marking", cycle, "Concurrent Mark From Roots");
+        youngCollection(cycle + 1, "Normal");
+        line("gc,marking", cycle, "Concurrent Mark From Roots 10.000ms");
+        line("gc,marking", cycle, "Concurrent Mark (0.300s, 0.310s) 10.100ms");
+        line("gc,start", cycle, "Pause Remark");
+        line("gc", cycle, "Pause Remark 41M->41M(106M) 1.000ms");
+        line("gc,cpu", cycle, "User=0.00s Sys=0.00s Real=0.00s");
+        line("gc,marking", cycle, "Concurrent Rebuild Remembered Sets");
+        line("gc,marking", cycle, "Concurrent Rebuild Remembered Sets 2.000ms");
+        line("gc,start", cycle, "Pause Cleanup");
+        line("gc", cycle, "Pause Cleanup 41M->41M(106M) 0.100ms");
+        line("gc,cpu", cycle, "User=0.00s Sys=0.00s Real=0.00s");
+        line("gc,marking", cycle, "Concurrent Cleanup for Next Mark");
+        line("gc,marking", cycle, "Concurrent Cleanup for Next Mark 0.500ms");
+        line("gc", cycle, "Concurrent Mark Cycle 30.000ms");
+    }
+}
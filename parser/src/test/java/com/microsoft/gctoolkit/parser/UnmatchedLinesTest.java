@@ -0,0 +1,100 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.parser;
+
+import com.microsoft.gctoolkit.jvm.Diarizer;
+import com.microsoft.gctoolkit.jvm.UnmatchedLines;
+import com.microsoft.gctoolkit.parser.jvm.UnifiedDiarizer;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class UnmatchedLinesTest extends ParserTest {
+
+    private static final String UNKNOWN = "%s[info][gc,phases   ] GC(%s) Unknown Phase %d.%03dms";
+    private static final Pattern GC_ID = Pattern.compile("GC\\((\\d+)\\)");
+
+    @Override
+    protected Diarizer diarizer() {
+        return new UnifiedDiarizer();
+    }
+
+    @Override
+    protected GCLogParser parser() {
+        return new UnifiedG1GCParser(0);
+    }
+
+    /**
+     * The G1 test log with a line no rule matches after every tenth line. The line has the uptime and the
+     * GC id of the line before it, so that it doesn't move the clock or start a collection.
+     */
+    private String[] log() {
+        List<String> lines = new ArrayList<>(Arrays.asList(UnifiedG1GCTestLog.lines()));
+        for (int i = lines.size() - 2; i > 0; i--) {
+            if (i % 10 != 0)
+                continue;
+            String previous = lines.get(i - 1);
+            Matcher gcId = GC_ID.matcher(previous);
+            if (gcId.find())
+                lines.add(i, String.format(UNKNOWN, previous.substring(0, previous.indexOf(']') + 1), gcId.group(1), i % 7, i % 1000));
+        }
+        return lines.toArray(new String[0]);
+    }
+
+    private UnmatchedLines parse(GCLogParser parser, String[] lines) {
+        UnmatchedLines unmatchedLines = new UnmatchedLines();
+        parser.reportUnmatchedLinesTo(unmatchedLines);
+        feedParser(parser, lines);
+        return unmatchedLines;
+    }
+
+    @Test
+    public void unmatchedLinesAreGroupedByShape() {
+        String[] lines = log();
+        List<String> unknown = Arrays.stream(lines).filter(line -> line.contains("Unknown Phase")).collect(Collectors.toList());
+        UnmatchedLines before = parse(new UnifiedG1GCParser(0), UnifiedG1GCTestLog.lines());
+        UnmatchedLines unmatchedLines = parse(new UnifiedG1GCParser(0), lines);
+        assertEventsMatch(feedParser(new UnifiedG1GCParser(0), UnifiedG1GCTestLog.lines()), feedParser(new UnifiedG1GCParser(0), lines));
+
+        assertEquals(before.getCount() + unknown.size(), unmatchedLines.getCount());
+        assertEquals(before.getShapes().size() + 1, unmatchedLines.getShapes().size());
+        UnmatchedLines.Shape shape = unmatchedLines.getShapes().stream()
+                .filter(candidate -> candidate.getShape().equals("[#.#s][info][gc,phases ] GC(#) Unknown Phase #.#ms"))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(unknown.size(), shape.getCount());
+        assertEquals(unknown.subList(0, UnmatchedLines.MAXIMUM_EXAMPLES), shape.getExamples());
+        assertTrue(unmatchedLines.toString().startsWith(unmatchedLines.getCount() + " unmatched lines"));
+    }
+
+    @Test
+    public void shardedParsingReportsEachLineOnce() {
+        String[] lines = log();
+        UnmatchedLines sequential = parse(new UnifiedG1GCParser(0), lines);
+        for (int shardSize : new int[] { 1, 7, 40, 100_000 }) {
+            UnmatchedLines sharded = parse(new UnifiedG1GCParser(shardSize), lines);
+            assertEquals(sequential.getCount(), sharded.getCount());
+            assertEquals(sequential.getShapes().get(0).getExamples(), sharded.getShapes().get(0).getExamples());
+        }
+    }
+
+    @Test
+    public void shapesAreLimited() {
+        UnmatchedLines unmatchedLines = new UnmatchedLines();
+        // digits don't make a shape, so tell the lines apart by letters
+        for (int i = 0; i < UnmatchedLines.MAXIMUM_SHAPES + 10; i++)
+            unmatchedLines.record("test", "line " + (char) ('a' + i / 26 / 26) + (char) ('a' + i / 26 % 26) + (char) ('a' + i % 26));
+        unmatchedLines.record("test", "line aaa");
+        assertEquals(UnmatchedLines.MAXIMUM_SHAPES + 11, unmatchedLines.getCount());
+        assertEquals(UnmatchedLines.MAXIMUM_SHAPES, unmatchedLines.getShapes().size());
+        assertEquals(2, unmatchedLines.getShapes().get(0).getCount());
+    }
+}
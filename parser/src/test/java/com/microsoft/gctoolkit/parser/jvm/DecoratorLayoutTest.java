@@ -0,0 +1,101 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.parser.jvm;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.ZonedDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DecoratorLayoutTest {
+
+    private static final String[] decoratorsLines = {
+            "Using G1",
+            "[gc] Using G1",
+            "[info][gc] Using G1",
+            "[7427][info][gc] Using G1",
+            "[1375][7427][info][gc] Using G1",
+            "[17738937ns][1375][7427][info][gc] Using G1",
+            "[10026341461044ns][17738937ns][1375][7427][info][gc] Using G1",
+            "[18ms][10026341461044ns][17738937ns][1375][7427][info][gc] Using G1",
+            "[1522825800586ms][18ms][10026341461044ns][17738937ns][1375][7427][info][gc] Using G1",
+            "[0.018s][1522825800586ms][18ms][10026341461044ns][17738937ns][1375][7427][info][gc] Using G1",
+            "[2018-04-04T09:10:00.586-0100][0.018s][1522825800586ms][18ms][10026341461044ns][17738937ns][1375][7427][info][gc] Using G1"
+    };
+
+    private static final String[] logFragment = {
+            "[0.025s][info][gc] Using G1",
+            "[1.023s][info][gc,init] Version: 17+35 (release)",
+            "[1.338s][info][gc,start    ] GC(0) Pause Young (Normal) (G1 Evacuation Pause)",
+            "[1.338s][debug][gc,age      ] GC(0) Desired survivor size 268435456 bytes, new threshold 15 (max threshold 15)",
+            "[1.361s][info ][gc,phases   ] GC(0)   Pre Evacuate Collection Set: 0.1ms",
+            "[12,361s][info ][gc,heap     ] GC(0) Eden regions: 24->0(23)",
+            "[0.081s][trace][safepoint] Thread: 0x00007fd0d2006800  [0x1f03] State: _at_safepoint _has_called_back 0 _at_poll_safepoint 0",
+            "[1.361s][info ][gc          ] GC(0) Pause Young (Normal) (G1 Evacuation Pause) 2574M->1040M(81920M) 23.208ms"
+    };
+
+    @Test
+    public void learnDecoratorCounts() {
+        assertNull(DecoratorLayout.learn(decoratorsLines[0]));
+        for (int i = 1; i < decoratorsLines.length; i++) {
+            DecoratorLayout layout = DecoratorLayout.learn(decoratorsLines[i]);
+            assertEquals(i, layout.getNumberOfDecorators(), decoratorsLines[i]);
+            assertEquals(new Decorators(decoratorsLines[i]).getNumberOfDecorators(), layout.getNumberOfDecorators());
+        }
+    }
+
+    @Test
+    public void learnAllDecorators() {
+        String line = decoratorsLines[decoratorsLines.length - 1];
+        DecoratorLayout layout = DecoratorLayout.learn(line);
+        assertEquals("time,uptime,timemillis,uptimemillis,timenanos,uptimenanos,pid,tid,level,tags", layout.toString());
+        assertEquals(ZonedDateTime.parse("2018-04-04T09:10:00.586-01:00"), layout.getDateStamp(line));
+        assertEquals(0.018d, layout.getUpTime(line));
+        assertEquals("info", layout.getLogLevel(line).orElseThrow(IllegalArgumentException::new).toString());
+        assertEquals("gc", layout.getTags(line));
+    }
+
+    @Test
+    public void distinguishClocksWhenOnlyOneIsPresent() {
+        assertEquals("time,uptime,timemillis,timenanos,pid,tid,level,tags",
+                DecoratorLayout.learn("[2018-04-04T09:10:00.586-0100][0.018s][1522825800586ms][10026341461044ns][1375][7427][info][gc] Using G1").toString());
+        assertEquals("time,uptime,uptimemillis,uptimenanos,pid,tid,level,tags",
+                DecoratorLayout.learn("[2018-04-04T09:10:00.586-0100][0.018s][18ms][17738937ns][1375][7427][info][gc] Using G1").toString());
+    }
+
+    @Test
+    public void roundTripThroughDiary() {
+        DecoratorLayout layout = DecoratorLayout.learn(logFragment[0]);
+        assertEquals("uptime,level,tags", layout.toString());
+        DecoratorLayout compiled = DecoratorLayout.of(layout.toString());
+        assertEquals(layout.toString(), compiled.toString());
+        assertTrue(compiled.contains(DecoratorLayout.Decorator.uptime));
+        assertFalse(compiled.contains(DecoratorLayout.Decorator.time));
+        assertNull(DecoratorLayout.of(null));
+    }
+
+    @Test
+    public void learnedLayoutAgreesWithDecorators() {
+        DecoratorLayout layout = DecoratorLayout.learn(logFragment[0]);
+        for (String line : logFragment) {
+            Decorators decorators = new Decorators(line);
+            assertEquals(decorators.getUpTime(), layout.getUpTime(line), line);
+            assertEquals(decorators.getDateStamp(), layout.getDateStamp(line), line);
+            assertEquals(decorators.getLogLevel(), layout.getLogLevel(line), line);
+            assertEquals(decorators.getTags(), layout.getTags(line), line);
+            assertEquals(decorators.getDateTimeStamp(), layout.getDateTimeStamp(line), line);
+        }
+    }
+
+    @Test
+    public void undecoratedLines() {
+        DecoratorLayout layout = DecoratorLayout.learn(logFragment[0]);
+        assertNull(layout.getDateTimeStamp("   Heap region size: 1M"));
+        assertNull(layout.getTags("[0.025s] Using G1"));
+        assertEquals(-1.0d, layout.getUpTime("[info][gc] Using G1"));
+    }
+}
@@ -0,0 +1,92 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.parser.jvm;
+
+import com.microsoft.gctoolkit.io.GCLogFile;
+import com.microsoft.gctoolkit.jvm.Diary;
+import com.microsoft.gctoolkit.message.LogRecord;
+import com.microsoft.gctoolkit.time.DateTimeStamp;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LogRecordDecoderTest {
+
+    private static final String[] unifiedLines = {
+            "[0.025s][info][gc] Using G1",
+            "[1.338s][info][gc,start    ] GC(0) Pause Young (Normal) (G1 Evacuation Pause)",
+            "[1.361s][debug][gc,phases   ] GC(12)     Prepare TLABs: 0.0ms",
+            "   Heap region size: 1M"
+    };
+
+    private UnifiedLogRecordDecoder unifiedDecoder() {
+        UnifiedLogRecordDecoder decoder = new UnifiedLogRecordDecoder();
+        Diary diary = new Diary();
+        diary.setDecorators("uptime,level,tags");
+        decoder.diary(diary);
+        return decoder;
+    }
+
+    @Test
+    public void decodeUnifiedLineWithoutGcId() {
+        LogRecord record = unifiedDecoder().decode(unifiedLines[0]);
+        assertTrue(record.isDecoded());
+        assertEquals(new DateTimeStamp(0.025d), record.getDateTimeStamp());
+        assertEquals("info", record.getLevel());
+        assertEquals("gc", record.getTags());
+        assertFalse(record.hasGcId());
+        assertEquals("Using G1", record.getBody());
+    }
+
+    @Test
+    public void decodeUnifiedLineWithGcId() {
+        UnifiedLogRecordDecoder decoder = unifiedDecoder();
+        LogRecord record = decoder.decode(unifiedLines[1]);
+        assertEquals(0, record.getGcId());
+        assertEquals("gc,start", record.getTags());
+        assertEquals("Pause Young (Normal) (G1 Evacuation Pause)", record.getBody());
+
+        record = decoder.decode(unifiedLines[2]);
+        assertEquals(12, record.getGcId());
+        assertEquals("debug", record.getLevel());
+        assertEquals("    Prepare TLABs: 0.0ms", record.getBody());
+    }
+
+    @Test
+    public void decodeUndecoratedLine() {
+        LogRecord record = unifiedDecoder().decode(unifiedLines[3]);
+        assertNull(record.getDateTimeStamp());
+        assertFalse(record.hasGcId());
+        assertEquals(unifiedLines[3], record.getLine());
+    }
+
+    @Test
+    public void learnLayoutWhenDiaryHasNone() {
+        UnifiedLogRecordDecoder decoder = new UnifiedLogRecordDecoder();
+        decoder.diary(new Diary());
+        LogRecord record = decoder.decode(unifiedLines[1]);
+        assertEquals(new DateTimeStamp(1.338d), record.getDateTimeStamp());
+        assertEquals(0, record.getGcId());
+    }
+
+    @Test
+    public void decodePreUnifiedLine() {
+        PreUnifiedLogRecordDecoder decoder = new PreUnifiedLogRecordDecoder();
+        LogRecord record = decoder.decode("2017-09-07T09:00:12.795+0200: 0.716: [GC (Allocation Failure) [PSYoungGen: 33280K->5104K(38400K)] 33280K->5112K(125952K), 0.0052840 secs]");
+        assertEquals(0.716d, record.getDateTimeStamp().getTimeStamp());
+        assertFalse(record.hasGcId());
+        assertEquals(0, record.getBodyOffset());
+        assertNull(decoder.decode("Heap").getDateTimeStamp());
+    }
+
+    @Test
+    public void endOfData() {
+        assertTrue(unifiedDecoder().decode(GCLogFile.END_OF_DATA_SENTINEL).isEndOfData());
+        assertTrue(new PreUnifiedLogRecordDecoder().decode(GCLogFile.END_OF_DATA_SENTINEL).isEndOfData());
+        assertTrue(LogRecord.of(GCLogFile.END_OF_DATA_SENTINEL).isEndOfData());
+        assertFalse(LogRecord.of(GCLogFile.END_OF_DATA_SENTINEL).isDecoded());
+    }
+}
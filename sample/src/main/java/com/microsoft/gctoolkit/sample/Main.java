@@ -83,6 +83,7 @@ public class Main {
             System.out.printf("Total pause time  : %.4f\n", pauseTimeSummary.getTotalPauseTime());
             System.out.printf("Total run time    : %.4f\n", pauseTimeSummary.getTotalPauseTime());
             System.out.printf("Percent pause time: %.2f\n", pauseTimeSummary.getPercentPaused());
+            System.out.printf("p99 pause time    : %.4f\n", pauseTimeSummary.getPauseTimePercentile(99.0d));
         });
 
     }
@@ -1,5 +1,6 @@
 package com.microsoft.gctoolkit.sample.aggregation;
 
+import com.microsoft.gctoolkit.aggregator.MergeableAggregation;
 import com.microsoft.gctoolkit.event.GarbageCollectionTypes;
 
 import java.io.PrintStream;
@@ -7,7 +8,7 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
 
-public class CollectionCycleCountsSummary extends CollectionCycleCountsAggregation {
+public class CollectionCycleCountsSummary extends CollectionCycleCountsAggregation implements MergeableAggregation<CollectionCycleCountsSummary> {
 
     private final Map<GarbageCollectionTypes, AtomicInteger> collectionCycleCounts = new HashMap<>();
 
@@ -16,6 +17,13 @@ public class CollectionCycleCountsSummary extends CollectionCycleCountsAggregati
         collectionCycleCounts.computeIfAbsent(gcType, key -> new AtomicInteger()).incrementAndGet();
     }
 
+    @Override
+    public void merge(CollectionCycleCountsSummary other) {
+        mergeTimeSpan(other);
+        other.collectionCycleCounts.forEach((gcType, count) ->
+                collectionCycleCounts.computeIfAbsent(gcType, key -> new AtomicInteger()).addAndGet(count.get()));
+    }
+
     private static final String FORMAT = "%s : %s%n";
 
     public void printOn(PrintStream printStream) {
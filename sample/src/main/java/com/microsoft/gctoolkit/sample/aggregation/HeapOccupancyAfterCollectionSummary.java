@@ -1,5 +1,6 @@
 package com.microsoft.gctoolkit.sample.aggregation;
 
+import com.microsoft.gctoolkit.aggregator.MergeableAggregation;
 import com.microsoft.gctoolkit.event.GarbageCollectionTypes;
 import com.microsoft.gctoolkit.sample.collections.XYDataSet;
 import com.microsoft.gctoolkit.time.DateTimeStamp;
@@ -7,7 +8,7 @@ import com.microsoft.gctoolkit.time.DateTimeStamp;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
-public class HeapOccupancyAfterCollectionSummary extends HeapOccupancyAfterCollectionAggregation {
+public class HeapOccupancyAfterCollectionSummary extends HeapOccupancyAfterCollectionAggregation implements MergeableAggregation<HeapOccupancyAfterCollectionSummary> {
 
     private final Map<GarbageCollectionTypes, XYDataSet> aggregations = new ConcurrentHashMap<>();
 
@@ -17,6 +18,12 @@ public class HeapOccupancyAfterCollectionSummary extends HeapOccupancyAfterColle
         aggregations.computeIfAbsent(gcType, key -> new XYDataSet()).add(timeStamp.getTimeStamp(),heapOccupancy);
     }
 
+    @Override
+    public void merge(HeapOccupancyAfterCollectionSummary other) {
+        mergeTimeSpan(other);
+        other.aggregations.forEach((gcType, series) -> aggregations.computeIfAbsent(gcType, key -> new XYDataSet()).merge(series));
+    }
+
     public Map<GarbageCollectionTypes, XYDataSet> get() {
         return aggregations;
     }
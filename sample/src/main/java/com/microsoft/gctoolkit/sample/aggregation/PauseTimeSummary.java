@@ -1,14 +1,18 @@
 package com.microsoft.gctoolkit.sample.aggregation;
 
+import com.microsoft.gctoolkit.aggregator.MergeableAggregation;
+import com.microsoft.gctoolkit.online.statistics.TDigest;
+
 /**
  * An implementation of PauseTimeAggregation which simply accumulates pause times, and
- * provides methods for getting the total pause time and the percentage of time the
- * application was paused. This is an instance of RuntimeAggregation, which gives us
+ * provides methods for getting the total pause time, the percentage of time the
+ * application was paused, and the percentiles of the pause times. This is an instance of RuntimeAggregation, which gives us
  * the run time represented by the GC log.
  */
-public class PauseTimeSummary extends PauseTimeAggregation {
+public class PauseTimeSummary extends PauseTimeAggregation implements MergeableAggregation<PauseTimeSummary> {
 
     private double totalPauseTime;
+    private final TDigest pauseTimes = new TDigest();
 
     @Override
     public boolean hasWarning() {
@@ -23,6 +27,14 @@ public class PauseTimeSummary extends PauseTimeAggregation {
     @Override
     public void recordPauseDuration(double duration) {
         totalPauseTime += duration;
+        pauseTimes.update(duration);
+    }
+
+    @Override
+    public void merge(PauseTimeSummary other) {
+        mergeTimeSpan(other);
+        totalPauseTime += other.totalPauseTime;
+        pauseTimes.merge(other.pauseTimes);
     }
 
     /**
@@ -40,4 +52,13 @@ public class PauseTimeSummary extends PauseTimeAggregation {
     public double getPercentPaused() {
         return (totalPauseTime / super.estimatedRuntime()) * 100.0D;
     }
+
+    /**
+     * Get an estimate of a percentile of the pause times, such as the 99th.
+     * @param percentile The percentile, from 0 to 100.
+     * @return The pause time at the percentile, or 0 if there were no pauses.
+     */
+    public double getPauseTimePercentile(double percentile) {
+        return pauseTimes.getCount() == 0L ? 0.0d : pauseTimes.getQuantile(percentile / 100.0d);
+    }
 }
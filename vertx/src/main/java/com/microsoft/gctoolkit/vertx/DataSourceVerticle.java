@@ -2,8 +2,8 @@
 // Licensed under the MIT License.
 package com.microsoft.gctoolkit.vertx;
 
-import com.microsoft.gctoolkit.io.GCLogFile;
 import com.microsoft.gctoolkit.message.DataSourceChannelListener;
+import com.microsoft.gctoolkit.message.LogRecord;
 import io.vertx.core.AbstractVerticle;
 import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
@@ -55,9 +55,9 @@ public class DataSourceVerticle extends AbstractVerticle {
     @Override
     public void start(Promise<Void> promise) {
         try {
-            vertx.eventBus().<String>consumer(inbox, message -> {
+            vertx.eventBus().<LogRecord>consumer(inbox, message -> {
                 processor.receive(message.body());
-                if (GCLogFile.END_OF_DATA_SENTINEL.equals(message.body())) {
+                if (message.body().isEndOfData()) {
                     vertx.undeploy(id);
                 }
             }).completionHandler(result -> {promise.complete();});
@@ -57,7 +57,8 @@ public class JVMEventVerticle extends AbstractVerticle {
         vertx.eventBus().<JVMEvent>consumer(inbox, message -> {
             JVMEvent event = message.body();
             try {
-                processor.receive(event);
+                if (processor.accepts(event))
+                    processor.receive(event);
             } catch (Throwable t) {
                 // Throwable is caught because we don't want the processor to blow up the message bus.
                 LOGGER.log(Level.WARNING, "Vertx: processing JVMEvent failed", t);
@@ -3,7 +3,9 @@
 package com.microsoft.gctoolkit.vertx;
 
 import com.microsoft.gctoolkit.event.jvm.JVMEvent;
+import com.microsoft.gctoolkit.message.LogRecord;
 import com.microsoft.gctoolkit.vertx.io.JVMEventCodec;
+import com.microsoft.gctoolkit.vertx.io.LogRecordCodec;
 import io.vertx.core.Vertx;
 
 import java.util.logging.Level;
@@ -27,6 +29,7 @@ public class VertxChannel {
         System.setProperty("vertx.disableFileCaching", "true");
         vertx = Vertx.vertx();
         vertx.eventBus().registerDefaultCodec(JVMEvent.class, new JVMEventCodec());
+        vertx.eventBus().registerDefaultCodec(LogRecord.class, new LogRecordCodec());
     }
 
     /**
@@ -5,6 +5,7 @@ package com.microsoft.gctoolkit.vertx;
 import com.microsoft.gctoolkit.message.ChannelName;
 import com.microsoft.gctoolkit.message.DataSourceChannel;
 import com.microsoft.gctoolkit.message.DataSourceParser;
+import com.microsoft.gctoolkit.message.LogRecord;
 
 import java.util.concurrent.CountDownLatch;
 
@@ -46,7 +47,7 @@ public class VertxDataSourceChannel extends VertxChannel implements DataSourceCh
      * @param message the message to publish.
      */
     @Override
-    public void publish(ChannelName channel, String message) {
+    public void publish(ChannelName channel, LogRecord message) {
         vertx().eventBus().publish(channel.getName(), message);
     }
 
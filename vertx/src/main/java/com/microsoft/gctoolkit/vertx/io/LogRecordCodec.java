@@ -0,0 +1,37 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+package com.microsoft.gctoolkit.vertx.io;
+
+import com.microsoft.gctoolkit.message.LogRecord;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.eventbus.MessageCodec;
+
+public class LogRecordCodec implements MessageCodec<LogRecord, LogRecord> {
+
+    public static String NAME = "LogRecord";
+
+    @Override
+    public void encodeToWire(Buffer buffer, LogRecord logRecord) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public LogRecord decodeFromWire(int i, Buffer buffer) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public LogRecord transform(LogRecord logRecord) {
+        return logRecord;
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public byte systemCodecID() {
+        return -1;
+    }
+}
@@ -13,6 +13,7 @@ import com.microsoft.gctoolkit.jvm.Diary;
 import com.microsoft.gctoolkit.message.ChannelName;
 import com.microsoft.gctoolkit.message.DataSourceParser;
 import com.microsoft.gctoolkit.message.JVMEventChannel;
+import com.microsoft.gctoolkit.message.LogRecord;
 import com.microsoft.gctoolkit.time.DateTimeStamp;
 import com.microsoft.gctoolkit.vertx.VertxDataSourceChannel;
 import org.junit.jupiter.api.Test;
@@ -29,8 +30,6 @@ import static org.junit.jupiter.api.Assertions.fail;
 
 public class GarbageCollectionEventSourceTest {
 
-    private static final String END_OF_DATA_SENTINEL = GCLogFile.END_OF_DATA_SENTINEL;
-
     private GCLogFile loadLogFile(Path path, boolean rotating) {
         return rotating ? new RotatingGCLogFile(path) : new SingleGCLogFile(path);
     }
@@ -95,7 +94,7 @@ public class GarbageCollectionEventSourceTest {
         try {
             logFile.stream().forEach(message -> {
                 observedNumberOfLines[0]++;
-                channel.publish(ChannelName.DATA_SOURCE, message);
+                channel.publish(ChannelName.DATA_SOURCE, LogRecord.of(message));
             });
         } catch (IOException e) {
             fail(e.getMessage());
@@ -116,9 +115,9 @@ public class GarbageCollectionEventSourceTest {
         }
 
         @Override
-        public void receive(String payload) {
+        public void receive(LogRecord payload) {
             eventCount++;
-            if ( END_OF_DATA_SENTINEL.equals(payload)) {
+            if ( payload.isEndOfData()) {
                     eof.countDown();
             }
         }